@@ -0,0 +1,59 @@
+package org.iota.jota.benchmarks;
+
+import java.util.Random;
+
+import org.iota.jota.model.Bundle;
+import org.iota.jota.utils.Constants;
+
+/**
+ * Deterministic input data for the benchmarks, so runs can be compared with each other.
+ */
+public final class BenchmarkData {
+
+    private static final long SEED = 42L;
+
+    private BenchmarkData() {
+        throw new AssertionError("Do not instantiate!");
+    }
+
+    /**
+     * Creates random trytes of the given length
+     *
+     * @param length The amount of trytes
+     * @param salt Changes the result for the same length
+     * @return The trytes
+     */
+    public static String trytes(int length, int salt) {
+        Random random = new Random(SEED + salt);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(Constants.TRYTE_ALPHABET.charAt(random.nextInt(Constants.TRYTE_ALPHABET.length())));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Creates the trytes of a random, unattached transaction
+     *
+     * @param salt Changes the result
+     * @return 2673 trytes
+     */
+    public static String transactionTrytes(int salt) {
+        return trytes(Constants.TRANSACTION_LENGTH, salt);
+    }
+
+    /**
+     * Creates an unfinalized bundle of zero value transactions to random addresses
+     *
+     * @param transactions The amount of transactions
+     * @param salt Changes the result
+     * @return The bundle
+     */
+    public static Bundle bundle(int transactions, int salt) {
+        Bundle bundle = new Bundle();
+        for (int i = 0; i < transactions; i++) {
+            bundle.addEntry(1, trytes(Constants.ADDRESS_LENGTH_WITHOUT_CHECKSUM, salt + i), 0, trytes(Constants.TAG_LENGTH, salt), 1500000000L);
+        }
+        return bundle;
+    }
+}
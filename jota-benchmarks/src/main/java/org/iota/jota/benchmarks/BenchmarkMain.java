@@ -0,0 +1,38 @@
+package org.iota.jota.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.Main;
+
+/**
+ * Runs the benchmarks like the JMH command line does, but writes the results as JSON by default,
+ * so runs can be compared by tools and regressions can be caught before a release.
+ *
+ * Passing <code>-rf</code> or <code>-rff</code> overrides the format or the file.
+ */
+public final class BenchmarkMain {
+
+    /**
+     * The file results are written to, unless <code>-rff</code> is passed
+     */
+    public static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkMain() {
+        throw new AssertionError("Do not instantiate!");
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        if (!arguments.contains("-rf")) {
+            arguments.add("-rf");
+            arguments.add("json");
+        }
+        if (!arguments.contains("-rff")) {
+            arguments.add("-rff");
+            arguments.add(DEFAULT_RESULT_FILE);
+        }
+        Main.main(arguments.toArray(new String[0]));
+    }
+}
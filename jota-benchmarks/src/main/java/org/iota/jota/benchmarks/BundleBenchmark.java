@@ -0,0 +1,49 @@
+package org.iota.jota.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.iota.jota.model.Bundle;
+import org.iota.jota.pow.ICurl;
+import org.iota.jota.pow.SpongeFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures finalizing a bundle, which hashes the essence of every transaction with Kerl.
+ * The bundle is created in the benchmark, since finalizing changes it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BundleBenchmark {
+
+    @Param({"1", "4"})
+    int transactions;
+
+    private ICurl curl;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        curl = SpongeFactory.create(SpongeFactory.Mode.KERL);
+    }
+
+    @Benchmark
+    public Bundle finalizeBundle() {
+        Bundle bundle = BenchmarkData.bundle(transactions, 5);
+        bundle.finalize(curl);
+        return bundle;
+    }
+}
@@ -0,0 +1,60 @@
+package org.iota.jota.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.iota.jota.utils.Converter;
+import org.iota.jota.utils.TritBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures converting the trytes of a whole transaction to trits and back.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ConverterBenchmark {
+
+    private String trytes;
+    private int[] trits;
+    private TritBuffer packedTrits;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        trytes = BenchmarkData.transactionTrytes(0);
+        trits = Converter.trits(trytes);
+        packedTrits = Converter.tritBuffer(trytes);
+    }
+
+    @Benchmark
+    public int[] trits() {
+        return Converter.trits(trytes);
+    }
+
+    @Benchmark
+    public String trytes() {
+        return Converter.trytes(trits);
+    }
+
+    @Benchmark
+    public TritBuffer packedTrits() {
+        return Converter.tritBuffer(trytes);
+    }
+
+    @Benchmark
+    public String packedTrytes() {
+        return Converter.trytes(packedTrits);
+    }
+}
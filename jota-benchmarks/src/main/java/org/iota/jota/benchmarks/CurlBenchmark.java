@@ -0,0 +1,60 @@
+package org.iota.jota.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.iota.jota.pow.ICurl;
+import org.iota.jota.pow.SpongeFactory;
+import org.iota.jota.utils.Converter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a single Curl transform, and hashing a whole transaction.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CurlBenchmark {
+
+    private static final int HASH_LENGTH = 243;
+
+    @Param({"CURL_P27", "CURL_P81"})
+    SpongeFactory.Mode mode;
+
+    private ICurl curl;
+    private int[] transactionTrits;
+    private int[] hash;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        curl = SpongeFactory.create(mode);
+        transactionTrits = Converter.trits(BenchmarkData.transactionTrytes(0));
+        hash = new int[HASH_LENGTH];
+    }
+
+    @Benchmark
+    public ICurl transform() {
+        return curl.transform();
+    }
+
+    @Benchmark
+    public int[] transactionHash() {
+        curl.reset();
+        curl.absorb(transactionTrits, 0, transactionTrits.length);
+        curl.squeeze(hash, 0, HASH_LENGTH);
+        return hash;
+    }
+}
@@ -0,0 +1,80 @@
+package org.iota.jota.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.iota.jota.pow.Kerl;
+import org.iota.jota.pow.SpongeFactory;
+import org.iota.jota.utils.Converter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares hashing with {@link Kerl} against {@link LegacyKerl}, which allocates for every chunk.
+ * 27 chunks is the size of a key fragment, the bytes variant skips the trit conversion of the input.
+ * Run with <code>-prof gc</code> to see the allocation rate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class KerlBenchmark {
+
+    private static final int HASH_LENGTH = 243;
+
+    @Param({"1", "27"})
+    int chunks;
+
+    private int[] input;
+    private byte[] inputBytes;
+    private int[] hash;
+
+    private Kerl kerl;
+    private LegacyKerl legacy;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        input = Converter.trits(BenchmarkData.trytes(chunks * HASH_LENGTH / 3, 1));
+        inputBytes = new byte[chunks * 48];
+        for (int i = 0; i < chunks; i++) {
+            int[] chunk = new int[HASH_LENGTH];
+            System.arraycopy(input, i * HASH_LENGTH, chunk, 0, HASH_LENGTH - 1);
+            System.arraycopy(Kerl.convertTritsToBytes(chunk), 0, inputBytes, i * 48, 48);
+        }
+        hash = new int[HASH_LENGTH];
+        kerl = (Kerl) SpongeFactory.create(SpongeFactory.Mode.KERL);
+        legacy = new LegacyKerl();
+    }
+
+    @Benchmark
+    public int[] kerl() {
+        kerl.reset();
+        kerl.absorb(input, 0, input.length);
+        return kerl.squeeze(hash, 0, HASH_LENGTH);
+    }
+
+    @Benchmark
+    public int[] kerlBytes() {
+        kerl.reset();
+        kerl.absorbBytes(inputBytes, 0, inputBytes.length);
+        return kerl.squeeze(hash, 0, HASH_LENGTH);
+    }
+
+    @Benchmark
+    public int[] legacyKerl() {
+        legacy.reset();
+        legacy.absorb(input, 0, input.length);
+        return legacy.squeeze(hash, 0, HASH_LENGTH);
+    }
+}
@@ -0,0 +1,103 @@
+package org.iota.jota.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.iota.jota.pow.pearldiver.PearlDiver;
+import org.iota.jota.pow.pearldiver.PearlDiverLocalPoW;
+import org.iota.jota.pow.pearldiver.PearlDiverPool;
+import org.iota.jota.pow.pearldiver.WidePearlDiverLocalPoW;
+import org.iota.jota.utils.Converter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares nonce searches on a long-lived {@link PearlDiverPool} against spawning threads for every search,
+ * and a single lane bank against two lane banks per worker.
+ * {@link WidePearlDiverLocalPoW} is compared against {@link PearlDiverLocalPoW} as well, 
+ * it only uses two banks when its own measurement found them faster on this machine.
+ * Low weight magnitudes show the per-search overhead, higher ones the raw search speed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PearlDiverBenchmark {
+
+    @Param({"1", "9", "13"})
+    int minWeightMagnitude;
+
+    private String transactionTrytes;
+    private int[] transactionTrits;
+
+    private PearlDiverPool pool;
+    private PearlDiver pooled;
+    private PearlDiver pooledPair;
+    private LegacyPearlDiver legacy;
+    private PearlDiverLocalPoW localPoW;
+    private WidePearlDiverLocalPoW wideLocalPoW;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        transactionTrytes = BenchmarkData.transactionTrytes(0);
+        transactionTrits = Converter.trits(transactionTrytes);
+        pool = new PearlDiverPool(0);
+        pooled = new PearlDiver(pool);
+        pooledPair = new PearlDiver(pool, 2);
+        legacy = new LegacyPearlDiver();
+
+        // Without the prefix cache, both absorb the whole transaction every time
+        localPoW = new PearlDiverLocalPoW(pool);
+        localPoW.setPrefixCache(null);
+        wideLocalPoW = new WidePearlDiverLocalPoW(pool, WidePearlDiverLocalPoW.DEFAULT_LANE_BANKS);
+        wideLocalPoW.setPrefixCache(null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int[] pooledWorkers() {
+        int[] trits = transactionTrits.clone();
+        pooled.search(trits, minWeightMagnitude, 0);
+        return trits;
+    }
+
+    @Benchmark
+    public int[] pooledWorkersTwoLaneBanks() {
+        int[] trits = transactionTrits.clone();
+        pooledPair.search(trits, minWeightMagnitude, 0);
+        return trits;
+    }
+
+    @Benchmark
+    public int[] threadPerSearch() {
+        int[] trits = transactionTrits.clone();
+        legacy.search(trits, minWeightMagnitude, 0);
+        return trits;
+    }
+
+    @Benchmark
+    public String localPoW() {
+        return localPoW.performPoW(transactionTrytes, minWeightMagnitude);
+    }
+
+    @Benchmark
+    public String wideLocalPoW() {
+        return wideLocalPoW.performPoW(transactionTrytes, minWeightMagnitude);
+    }
+}
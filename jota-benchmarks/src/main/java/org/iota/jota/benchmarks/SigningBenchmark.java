@@ -0,0 +1,81 @@
+package org.iota.jota.benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.iota.jota.pow.SpongeFactory;
+import org.iota.jota.utils.Constants;
+import org.iota.jota.utils.Converter;
+import org.iota.jota.utils.Signing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the steps of deriving an address and signing with its key, per security level.
+ * Together, key, digests and address are the cost of a single new address.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SigningBenchmark {
+
+    private static final int INDEX = 100000;
+
+    @Param({"1", "2", "3"})
+    int security;
+
+    private Signing signing;
+    private int[] seed;
+    private int[] key;
+    private int[] digests;
+    private int[] keyFragment;
+    private int[] normalizedBundleFragment;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        signing = new Signing(SpongeFactory.create(SpongeFactory.Mode.KERL));
+        seed = Converter.trits(BenchmarkData.trytes(Constants.SEED_LENGTH_MAX, 2));
+        key = signing.key(seed, INDEX, security);
+        digests = signing.digests(key);
+        keyFragment = Arrays.copyOf(key, Constants.KEY_LENGTH);
+        normalizedBundleFragment = Arrays.copyOf(signing.normalizedBundle(BenchmarkData.trytes(81, 3)), 27);
+    }
+
+    @Benchmark
+    public int[] subseed() {
+        return signing.subseed(seed, INDEX);
+    }
+
+    @Benchmark
+    public int[] key() {
+        return signing.key(seed, INDEX, security);
+    }
+
+    @Benchmark
+    public int[] digests() {
+        return signing.digests(key);
+    }
+
+    @Benchmark
+    public int[] address() {
+        return signing.address(digests);
+    }
+
+    @Benchmark
+    public int[] signatureFragment() {
+        return signing.signatureFragment(normalizedBundleFragment, keyFragment);
+    }
+}
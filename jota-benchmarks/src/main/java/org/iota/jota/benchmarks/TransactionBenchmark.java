@@ -0,0 +1,59 @@
+package org.iota.jota.benchmarks;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.iota.jota.model.Bundle;
+import org.iota.jota.model.Transaction;
+import org.iota.jota.pow.ICurl;
+import org.iota.jota.pow.SpongeFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures serializing a transaction to trytes, and parsing trytes including the transaction hash.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TransactionBenchmark {
+
+    private ICurl curl;
+    private Transaction transaction;
+    private String trytes;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        curl = SpongeFactory.create(SpongeFactory.Mode.CURL_P81);
+
+        Bundle bundle = BenchmarkData.bundle(1, 4);
+        bundle.finalize(SpongeFactory.create(SpongeFactory.Mode.KERL));
+        bundle.addTrytes(Collections.emptyList());
+        transaction = bundle.getTransactions().get(0);
+        trytes = transaction.toTrytes();
+    }
+
+    @Benchmark
+    public String toTrytes() {
+        return transaction.toTrytes();
+    }
+
+    @Benchmark
+    public Transaction transactionObject() {
+        Transaction parsed = new Transaction(curl);
+        parsed.transactionObject(trytes);
+        return parsed;
+    }
+}
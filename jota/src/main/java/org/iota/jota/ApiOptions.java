@@ -7,6 +7,8 @@ import org.apache.commons.lang3.builder.ToStringStyle;
 import org.iota.jota.builder.ApiBuilderSettings;
 import org.iota.jota.config.options.ApiConfig;
 import org.iota.jota.connection.Connection;
+import org.iota.jota.connection.HttpTransport;
+import org.iota.jota.connection.NodeSelector;
 import org.iota.jota.pow.ICurl;
 
 /**
@@ -23,6 +25,24 @@ public class ApiOptions implements ApiConfig, ApiBuilderSettings {
 
     private ICurl customCurl;
     private IotaPoW localPoW;
+    private int powThreads;
+    private NodeSelector nodeSelector;
+    private int coalesceWindow;
+    private int healthCheckInterval;
+    private int maxMilestoneLag;
+    private double hedgePercentile;
+    private double hedgeBudget;
+    private double rateLimit;
+    private int rateLimitBurst;
+    private int maxRequestsInFlight;
+    private int rateLimitWait;
+    private int cacheSize;
+    
+    private HttpTransport httpTransport;
+    private int maxIdleConnections;
+    private int keepAlive;
+    private int maxRequests;
+    private int maxRequestsPerHost;
     
     //Nodes are not active
     private List<Connection> nodes;
@@ -30,7 +50,24 @@ public class ApiOptions implements ApiConfig, ApiBuilderSettings {
     
     public ApiOptions(IotaAPI.Builder builder) {
         localPoW = builder.getLocalPoW();
+        powThreads = builder.getPowThreads();
         customCurl = builder.getCustomCurl();
+        nodeSelector = builder.getNodeSelector();
+        coalesceWindow = builder.getCoalesceWindow();
+        healthCheckInterval = builder.getHealthCheckInterval();
+        maxMilestoneLag = builder.getMaxMilestoneLag();
+        hedgePercentile = builder.getHedgePercentile();
+        hedgeBudget = builder.getHedgeBudget();
+        rateLimit = builder.getRateLimit();
+        rateLimitBurst = builder.getRateLimitBurst();
+        maxRequestsInFlight = builder.getMaxRequestsInFlight();
+        rateLimitWait = builder.getRateLimitWait();
+        cacheSize = builder.getCacheSize();
+        httpTransport = builder.getHttpTransport();
+        maxIdleConnections = builder.getMaxIdleConnections();
+        keepAlive = builder.getKeepAlive();
+        maxRequests = builder.getMaxRequests();
+        maxRequestsPerHost = builder.getMaxRequestsPerHost();
         legacyProtocol = builder.getProtocol();
         legacyHost = builder.getHost();
         legacyPort =  builder.getPort();
@@ -102,6 +139,111 @@ public class ApiOptions implements ApiConfig, ApiBuilderSettings {
         this.localPoW = localPoW;
     }
     
+    @Override
+    public NodeSelector getNodeSelector() {
+        return nodeSelector;
+    }
+
+
+    public void setNodeSelector(NodeSelector nodeSelector) {
+        this.nodeSelector = nodeSelector;
+    }
+    
+    @Override
+    public int getCoalesceWindow() {
+        return coalesceWindow;
+    }
+
+
+    public void setCoalesceWindow(int coalesceWindow) {
+        this.coalesceWindow = coalesceWindow;
+    }
+    
+    @Override
+    public int getHealthCheckInterval() {
+        return healthCheckInterval;
+    }
+    
+    @Override
+    public int getMaxMilestoneLag() {
+        return maxMilestoneLag;
+    }
+    
+    @Override
+    public double getHedgePercentile() {
+        return hedgePercentile;
+    }
+    
+    @Override
+    public double getHedgeBudget() {
+        return hedgeBudget;
+    }
+    
+    @Override
+    public double getRateLimit() {
+        return rateLimit;
+    }
+    
+    @Override
+    public int getRateLimitBurst() {
+        return rateLimitBurst;
+    }
+    
+    @Override
+    public int getMaxRequestsInFlight() {
+        return maxRequestsInFlight;
+    }
+    
+    @Override
+    public int getRateLimitWait() {
+        return rateLimitWait;
+    }
+    
+    @Override
+    public int getCacheSize() {
+        return cacheSize;
+    }
+    
+    @Override
+    public HttpTransport getHttpTransport() {
+        return httpTransport;
+    }
+
+
+    public void setHttpTransport(HttpTransport httpTransport) {
+        this.httpTransport = httpTransport;
+    }
+    
+    @Override
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+    
+    @Override
+    public int getKeepAlive() {
+        return keepAlive;
+    }
+    
+    @Override
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+    
+    @Override
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+    
+    @Override
+    public int getPowThreads() {
+        return powThreads;
+    }
+
+
+    public void setPowThreads(int powThreads) {
+        this.powThreads = powThreads;
+    }
+    
     @Override
     public int getConnectionTimeout() {
         return timeout;
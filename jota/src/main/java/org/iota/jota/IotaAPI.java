@@ -20,7 +20,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.stream.IntStream;
+import java.util.function.Consumer;
 
 /**
  * IotaAPI Builder. Usage:
@@ -38,6 +38,9 @@ public class IotaAPI extends IotaAPICore {
 
     private static final Logger log = LoggerFactory.getLogger(IotaAPI.class);
 
+    // Most addresses we derive at once while we check them one after the other
+    private static final int MAX_ADDRESS_BATCH = 32;
+
     protected IotaAPI(ApiOptions options) {
         super(options);
     }
@@ -90,30 +93,32 @@ public class IotaAPI extends IotaAPICore {
     }
 
     private String getFirstUnusedAddress(String seed, int securityLevel, int index, boolean checksum) {
-        int mIndex = index;
-        do {
-            final String newAddress = IotaAPIUtils.newAddress(seed, securityLevel, mIndex, checksum, getCurl());
-            if (!isAddressSpent(newAddress, checksum)) {
-                return newAddress;
+        // The first address is often unused, so we derive more in parallel each time we did not find one
+        for (int mIndex = index, batch = 1; ; mIndex += batch, batch = Math.min(batch * 2, MAX_ADDRESS_BATCH)) {
+            for (String newAddress : IotaAPIUtils.newAddresses(seed, securityLevel, mIndex, mIndex + batch, checksum, getCurl())) {
+                if (!isAddressSpent(newAddress, checksum)) {
+                    return newAddress;
+                }
             }
-
-            mIndex++;
-        } while (true);
+        }
     }
 
     private List<String> getAddresses(String seed, int securityLevel, int index, boolean checksum, int amount,
                                       boolean addSpendAddresses) {
         List<String> addresses = new ArrayList<>();
 
-        for (int i = index, numUnspentFound = 0; numUnspentFound < amount; i++) {
-
-            final String newAddress = IotaAPIUtils.newAddress(seed, securityLevel, i, checksum, getCurl());
-            if (!isAddressSpent(newAddress, checksum)) {
-                addresses.add(newAddress);
-                numUnspentFound++;
-            } else if (addSpendAddresses) {
-                addresses.add(newAddress);
+        for (int i = index, numUnspentFound = 0; numUnspentFound < amount; ) {
+            // We need at least this many more, so none of them are derived for nothing
+            int batch = Math.min(amount - numUnspentFound, MAX_ADDRESS_BATCH);
+            for (String newAddress : IotaAPIUtils.newAddresses(seed, securityLevel, i, i + batch, checksum, getCurl())) {
+                if (!isAddressSpent(newAddress, checksum)) {
+                    addresses.add(newAddress);
+                    numUnspentFound++;
+                } else if (addSpendAddresses) {
+                    addresses.add(newAddress);
+                }
             }
+            i += batch;
         }
 
         return addresses;
@@ -131,10 +136,7 @@ public class IotaAPI extends IotaAPICore {
     public GetNewAddressResponse getAddressesUnchecked(AddressRequest addressRequest) throws ArgumentException {
         StopWatch stopWatch = new StopWatch();
 
-        List<String> allAddresses = IntStream
-                .range(addressRequest.getIndex(), addressRequest.getIndex() + addressRequest.getAmount())
-                .mapToObj(mIndex -> IotaAPIUtils.newAddress(addressRequest, mIndex, getCurl()))
-                .collect(toList());
+        List<String> allAddresses = IotaAPIUtils.newAddresses(addressRequest, getCurl());
 
         return GetNewAddressResponse.create(allAddresses, stopWatch.getElapsedTimeMili());
     }
@@ -340,6 +342,7 @@ public class IotaAPI extends IotaAPICore {
      * @return {@link Transaction} objects.
      * @throws ArgumentException if hashes is not a valid array of hashes
      * @see #getTrytes(String...)
+     * @see #findTransactionsObjectsByHashes(int, Consumer, String...)
      **/
     @Document
     public List<Transaction> findTransactionsObjectsByHashes(String... hashes) throws ArgumentException {
@@ -358,6 +361,34 @@ public class IotaAPI extends IotaAPICore {
         return trxs;
     }
 
+    /**
+     * Wrapper function: get trytes and turns into {@link Transaction} objects, 
+     * which are passed on in batches while the response of the node is received.
+     * Only a batch of transactions is in memory at once, as long as the consumer does not keep them.
+     * Chunks of an oversized request are sent one after the other.
+     *
+     * @param batchSize The maximum amount of transactions passed to the consumer at once
+     * @param consumer  Receives the transactions, in the order of the hashes
+     * @param hashes    The hashes of the transactions we want to get the transactions from
+     * @return The amount of transactions received
+     * @throws ArgumentException if hashes is not a valid array of hashes
+     * @see #getTrytesStream(int, Consumer, String...)
+     **/
+    public int findTransactionsObjectsByHashes(int batchSize, Consumer<List<Transaction>> consumer, String... hashes) throws ArgumentException {
+
+        if (!InputValidator.isArrayOfHashes(hashes)) {
+            throw new IllegalStateException(Constants.INVALID_HASHES_INPUT_ERROR);
+        }
+
+        return getTrytesStream(batchSize, batch -> {
+            final List<Transaction> trxs = new ArrayList<>(batch.length);
+            for (final String tryte : batch) {
+                trxs.add(new Transaction(tryte, SpongeFactory.create(SpongeFactory.Mode.CURL_P81)));
+            }
+            consumer.accept(trxs);
+        }, hashes);
+    }
+
     /**
      * Wrapper function: Finds transactions, gets trytes and turns it into {@link Transaction} objects.
      *
@@ -690,12 +721,7 @@ public class IotaAPI extends IotaAPICore {
         //  and call getBalances
         if (end != 0) {
 
-            List<String> allAddresses = new ArrayList<>();
-
-            for (int i = start; i < end; i++) {
-                String address = IotaAPIUtils.newAddress(seed, security, i, true, getCurl());
-                allAddresses.add(address);
-            }
+            List<String> allAddresses = IotaAPIUtils.newAddresses(seed, security, start, end, true, getCurl());
 
             return getBalanceAndFormat(allAddresses, tipsList, threshold, start, stopWatch, security);
         }
@@ -708,38 +734,42 @@ public class IotaAPI extends IotaAPICore {
             boolean thresholdReached = true;
             long currentTotal = 0;
 
-            for (int i=start; thresholdReached; i++) {
-                String address = IotaAPIUtils.newAddress(seed, security, i, true, getCurl());
-
-                // Received input, this epoch or previous
-                GetBalancesResponse response = getBalances(Collections.singletonList(address), tipsList);
-                long balance;
-                try {
-                    balance = Long.parseLong(response.getBalances()[0]);
-                } catch (NumberFormatException e) {
-                    throw new ArgumentException(e.getMessage());
-                }
-
-                if (balance > 0) {
-                    // Is it already spent from?
-                    WereAddressesSpentFromResponse wasSpent = this.wereAddressesSpentFrom(address);
-                    if (wasSpent.getStates().length > 0 && !wasSpent.getStates()[0]) {
-                        // We can use this!
-                        allInputs.add(new Input(address, balance, i, security));
-                        currentTotal += balance;
+            for (int i = start, batch = 1; thresholdReached; batch = Math.min(batch * 2, MAX_ADDRESS_BATCH)) {
+                // Addresses are derived in parallel, in growing batches as we keep finding activity
+                List<String> addresses = IotaAPIUtils.newAddresses(seed, security, i, i + batch, true, getCurl());
+                for (int j = 0; j < addresses.size() && thresholdReached; j++, i++) {
+                    String address = addresses.get(j);
+
+                    // Received input, this epoch or previous
+                    GetBalancesResponse response = getBalances(Collections.singletonList(address), tipsList);
+                    long balance;
+                    try {
+                        balance = Long.parseLong(response.getBalances()[0]);
+                    } catch (NumberFormatException e) {
+                        throw new ArgumentException(e.getMessage());
+                    }
 
-                        if (threshold != 0 && threshold <= currentTotal) {
-                            // Stop because we found threshold
+                    if (balance > 0) {
+                        // Is it already spent from?
+                        WereAddressesSpentFromResponse wasSpent = this.wereAddressesSpentFrom(address);
+                        if (wasSpent.getStates().length > 0 && !wasSpent.getStates()[0]) {
+                            // We can use this!
+                            allInputs.add(new Input(address, balance, i, security));
+                            currentTotal += balance;
+
+                            if (threshold != 0 && threshold <= currentTotal) {
+                                // Stop because we found threshold
+                                thresholdReached = false;
+                            }
+                        }
+                    } else {
+                        // Check if there was any activity at all
+                        FindTransactionResponse tx = findTransactionsByAddresses(address);
+                        if (tx.getHashes().length == 0 || i-start > 500) {
+                            // Stop because we reached our limit or no activity
                             thresholdReached = false;
                         }
                     }
-                } else {
-                    // Check if there was any activity at all
-                    FindTransactionResponse tx = findTransactionsByAddresses(address);
-                    if (tx.getHashes().length == 0 || i-start > 500) {
-                        // Stop because we reached our limit or no activity
-                        thresholdReached = false;
-                    }
                 }
             }
 
@@ -6,32 +6,34 @@ package org.iota.jota;
  */
 public enum IotaAPICommand {
 
-    GET_NODE_INFO("getNodeInfo"),
-    GET_NODE_API_CONFIGURATION("getNodeAPIConfiguration"),
-    GET_NEIGHBORS("getNeighbors"),
-    ADD_NEIGHBORS("addNeighbors"),
-    REMOVE_NEIGHBORS("removeNeighbors"),
-    GET_TIPS("getTips"),
-    FIND_TRANSACTIONS("findTransactions"),
-    GET_TRYTES("getTrytes"),
-    GET_INCLUSIONS_STATES("getInclusionStates"),
-    GET_BALANCES("getBalances"),
-    GET_TRANSACTIONS_TO_APPROVE("getTransactionsToApprove"),
-    ATTACH_TO_TANGLE("attachToTangle"),
-    INTERRUPT_ATTACHING_TO_TANGLE("interruptAttachingToTangle"),
-    BROADCAST_TRANSACTIONS("broadcastTransactions"),
-    STORE_TRANSACTIONS("storeTransactions"),
-    CHECK_CONSISTENCY("checkConsistency"),
-    WERE_ADDRESSES_SPENT_FROM("wereAddressesSpentFrom"),
-    CUSTOM_IXI("IXI");
+    GET_NODE_INFO("getNodeInfo", true),
+    GET_NODE_API_CONFIGURATION("getNodeAPIConfiguration", true),
+    GET_NEIGHBORS("getNeighbors", true),
+    ADD_NEIGHBORS("addNeighbors", false),
+    REMOVE_NEIGHBORS("removeNeighbors", false),
+    GET_TIPS("getTips", true),
+    FIND_TRANSACTIONS("findTransactions", true),
+    GET_TRYTES("getTrytes", true),
+    GET_INCLUSIONS_STATES("getInclusionStates", true),
+    GET_BALANCES("getBalances", true),
+    GET_TRANSACTIONS_TO_APPROVE("getTransactionsToApprove", true),
+    ATTACH_TO_TANGLE("attachToTangle", false),
+    INTERRUPT_ATTACHING_TO_TANGLE("interruptAttachingToTangle", false),
+    BROADCAST_TRANSACTIONS("broadcastTransactions", false),
+    STORE_TRANSACTIONS("storeTransactions", false),
+    CHECK_CONSISTENCY("checkConsistency", true),
+    WERE_ADDRESSES_SPENT_FROM("wereAddressesSpentFrom", true),
+    CUSTOM_IXI("IXI", false);
 
     private String command;
+    private boolean idempotent;
 
     /**
      * Initializes a new instance of the IotaAPICommand class.
      */
-    IotaAPICommand(String command) {
+    IotaAPICommand(String command, boolean idempotent) {
         this.command = command;
+        this.idempotent = idempotent;
     }
 
     /**
@@ -43,5 +45,14 @@ public enum IotaAPICommand {
         return command;
     }
 
+    /**
+     * Gets if the command only reads from the node, and can be sent again to another node when it fails.
+     *
+     * @return <code>true</code> if the command has no side effects
+     */
+    public boolean isIdempotent() {
+        return idempotent;
+    }
+
 }
 
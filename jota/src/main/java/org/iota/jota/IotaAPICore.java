@@ -11,19 +11,44 @@ import static org.iota.jota.utils.Constants.INVALID_TRYTES_INPUT_ERROR;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.iota.jota.connection.Connection;
+import org.iota.jota.connection.HttpConnector;
+import org.iota.jota.connection.HttpTransport;
+import org.iota.jota.connection.IotaNodeStreamingApi;
+import org.iota.jota.connection.JsonArrayStream;
+import org.iota.jota.connection.NodeHealthMonitor;
+import org.iota.jota.connection.NodeLimits;
+import org.iota.jota.connection.NodeRateLimiter;
+import org.iota.jota.connection.NodeSelector;
+import org.iota.jota.connection.RequestChunker;
+import org.iota.jota.connection.RequestCoalescer;
+import org.iota.jota.connection.RequestHedger;
+import org.iota.jota.connection.TangleCache;
 import org.iota.jota.dto.request.*;
 import org.iota.jota.dto.response.*;
 import org.iota.jota.error.ArgumentException;
 import org.iota.jota.model.Transaction;
 import org.iota.jota.pow.ICurl;
 import org.iota.jota.pow.SpongeFactory;
+import org.iota.jota.pow.pearldiver.PearlDiver;
+import org.iota.jota.pow.pearldiver.PearlDiverLocalPoW;
 import org.iota.jota.utils.Checksum;
+import org.iota.jota.utils.Constants;
+import org.iota.jota.utils.Converter;
 import org.iota.jota.utils.InputValidator;
 import org.iota.mddoclet.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * This class provides access to the Iota core API
@@ -32,16 +57,154 @@ import java.util.*;
 public class IotaAPICore {
     private static final Logger log = LoggerFactory.getLogger(IotaAPICore.class);
 
+    private static final int ATTACH_PREFIX_TRYTES = PearlDiver.PREFIX_LENGTH / 3;
+
     private ApiOptions options;
 
     protected final List<Connection> nodes = new ArrayList<>();
 
+    // Only set when request coalescing is enabled
+    private RequestCoalescer<GetBalancesResponse> balancesCoalescer;
+    private RequestCoalescer<GetTrytesResponse> trytesCoalescer;
+    private RequestCoalescer<GetInclusionStateResponse> inclusionStatesCoalescer;
+    private RequestCoalescer<WereAddressesSpentFromResponse> spentFromCoalescer;
+    private Map<Set<String>, CompletableFuture<FindTransactionResponse>> pendingFindTransactions;
+
+    // Only set when health checks are enabled
+    private NodeHealthMonitor healthMonitor;
+
+    // Only set when hedging is enabled
+    private RequestHedger hedger;
+
+    // Only set when requests are limited
+    private NodeRateLimiter rateLimiter;
+
+    // Only set when caching is enabled
+    private TangleCache cache;
+
+    private final NodeLimits nodeLimits = new NodeLimits();
+
+    private volatile IotaAPICoreAsync async;
+
     protected IotaAPICore(ApiOptions options) {
         this.options = options;
 
         for (Connection c : options.getNodes()) {
             addNode(c);
         }
+
+        if (options.getCoalesceWindow() > 0) {
+            enableCoalescing(options.getCoalesceWindow());
+        }
+
+        if (options.getHealthCheckInterval() > 0) {
+            enableHealthChecks(options.getHealthCheckInterval(), options.getMaxMilestoneLag());
+        }
+
+        if (options.getRateLimit() > 0 || options.getMaxRequestsInFlight() > 0) {
+            int burst = options.getRateLimitBurst() > 0 ? options.getRateLimitBurst() : (int) Math.ceil(options.getRateLimit());
+            rateLimiter = new NodeRateLimiter(options.getRateLimit(), burst, options.getMaxRequestsInFlight(), options.getRateLimitWait());
+        }
+
+        if (options.getHedgePercentile() > 0) {
+            hedger = new RequestHedger(options.getHedgePercentile(), options.getHedgeBudget());
+        }
+
+        if (options.getCacheSize() > 0) {
+            cache = new TangleCache(options.getCacheSize());
+        }
+    }
+
+    /**
+     * Checks the health of all nodes periodically, and stops sending requests to nodes which fail or are out of sync.
+     * Failed requests of idempotent commands are sent again to the next healthy node.
+     *
+     * @param interval The time in seconds between checks
+     * @param maxMilestoneLag The milestones a node can be behind before it is out of sync
+     */
+    private void enableHealthChecks(int interval, int maxMilestoneLag) {
+        healthMonitor = new NodeHealthMonitor(this::getNodeList, maxMilestoneLag);
+        healthMonitor.start(TimeUnit.SECONDS.toMillis(interval));
+    }
+
+    /**
+     * Gets the health of the nodes, when health checks are enabled.
+     *
+     * @return The monitor, or <code>null</code> if health checks are disabled
+     */
+    public NodeHealthMonitor getHealthMonitor() {
+        return healthMonitor;
+    }
+
+    /**
+     * Stops the background work of this api, the periodic health checks.
+     * Call this once the api is not used anymore. Requests can still be sent afterwards, without checks.
+     * An api which is collected without being shut down stops its checks as well, but only after the next check.
+     */
+    public void shutdown() {
+        if (null != healthMonitor) {
+            healthMonitor.stop();
+        }
+    }
+
+    /**
+     * Gets the hedging of slow reads, when enabled.
+     *
+     * @return The hedger, or <code>null</code> if hedging is disabled
+     */
+    public RequestHedger getRequestHedger() {
+        return hedger;
+    }
+
+    /**
+     * Gets the limits of requests per node, when enabled.
+     *
+     * @return The limiter, or <code>null</code> if requests are not limited
+     */
+    public NodeRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Gets the cache of trytes and confirmed inclusion states, when enabled.
+     *
+     * @return The cache, or <code>null</code> if caching is disabled
+     */
+    public TangleCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Merges concurrent requests for balances, trytes, inclusion states and spent states into single node requests.
+     * Concurrent <tt>findTransactions</tt> requests for the same addresses share a single node request,
+     * because the node does not tell which address a transaction belongs to.
+     *
+     * @param window The time in milliseconds the first request waits for others
+     */
+    private void enableCoalescing(long window) {
+        int max = RequestCoalescer.DEFAULT_MAX_KEYS;
+
+        balancesCoalescer = new RequestCoalescer<>(
+                addresses -> requestBalances(addresses, null),
+                (res, indexes) -> GetBalancesResponse.create(select(res.getBalances(), indexes), res.getReferences(), res.getMilestoneIndex(), durationOf(res)),
+                window, max);
+
+        trytesCoalescer = new RequestCoalescer<>(
+                this::requestTrytes,
+                (res, indexes) -> GetTrytesResponse.create(select(res.getTrytes(), indexes), durationOf(res)),
+                window, max);
+
+        inclusionStatesCoalescer = new RequestCoalescer<>(
+                this::requestInclusionStates,
+                (res, indexes) -> GetInclusionStateResponse.create(select(res.getStates(), indexes), durationOf(res)),
+                window, max);
+
+        spentFromCoalescer = new RequestCoalescer<>(
+                this::requestSpentFrom,
+                (res, indexes) -> WereAddressesSpentFromResponse.create(select(res.getStates(), indexes), durationOf(res)),
+                window, max);
+
+        pendingFindTransactions = new ConcurrentHashMap<>();
     }
 
     public boolean hasNodes() {
@@ -53,7 +216,7 @@ public class IotaAPICore {
             return null;
         }
 
-        int randomNodeIndex = new Random().nextInt(nodes.size());
+        int randomNodeIndex = ThreadLocalRandom.current().nextInt(nodes.size());
         return nodes.get(randomNodeIndex);
     }
 
@@ -75,9 +238,17 @@ public class IotaAPICore {
                     }
                 }
 
+                // Nodes on the default transport share the connections of this api instead
+                if (n instanceof HttpConnector && options.getHttpTransport() != null
+                        && ((HttpConnector) n).getTransport() == HttpTransport.shared()) {
+                    ((HttpConnector) n).setTransport(options.getHttpTransport());
+                }
+
                 boolean started = n.start();
                 if (started) {
                     nodes.add(n);
+                    // Requested now, so chunked requests do not have to wait for them
+                    nodeLimits.fetch(n);
                     log.debug("Added node: " + n.toString());
                 }
 
@@ -96,6 +267,13 @@ public class IotaAPICore {
                 if (c.equals(n)) {
                     c.stop();
                     nodes.remove(i);
+                    if (null != healthMonitor) {
+                        healthMonitor.remove(c);
+                    }
+                    if (null != rateLimiter) {
+                        rateLimiter.remove(c);
+                    }
+                    nodeLimits.remove(c);
                     return true;
                 }
             }
@@ -125,19 +303,237 @@ public class IotaAPICore {
     }
 
     /**
-     * Finds the proper connection for a request
+     * Gets the non-blocking variant of this api, which shares the nodes and options of this api
+     *
+     * @return The asynchronous api
+     */
+    public IotaAPICoreAsync async() {
+        IotaAPICoreAsync api = async;
+        if (null == api) {
+            synchronized (this) {
+                if (null == async) {
+                    async = new IotaAPICoreAsync(this);
+                }
+                api = async;
+            }
+        }
+        return api;
+    }
+
+    public NodeSelector getNodeSelector() {
+        return getOptions().getNodeSelector();
+    }
+
+    public void setNodeSelector(NodeSelector nodeSelector) {
+        getOptions().setNodeSelector(nodeSelector);
+    }
+
+    /**
+     * Finds the proper connection for a request using the {@link NodeSelector} defined in {@link ApiOptions}
      *
      * @param cmd The request we are going to make on the node
      *            If this is <code>null</code>, the primary node will be returned (first node)
      * @return A node connection
+     * @throws IllegalStateException if no node can handle the request
      */
-    private Connection getNodeFor(IotaAPICommand cmd) {
-        if (null == cmd) {
-            return nodes.get(0);
+    Connection getNodeFor(IotaAPICommand cmd) {
+        return getNodeFor(cmd, Collections.emptySet());
+    }
+
+    /**
+     * Finds the proper connection for a request, leaving out nodes which already failed this request.
+     * When health checks are enabled, only healthy nodes are considered, unless none are left.
+     *
+     * @param cmd The request we are going to make on the node
+     * @param exclude The nodes we do not want
+     * @return A node connection
+     * @throws IllegalStateException if no node can handle the request
+     */
+    Connection getNodeFor(IotaAPICommand cmd, Set<Connection> exclude) {
+        List<Connection> candidates;
+        synchronized (nodes) {
+            if (nodes.isEmpty()) {
+                throw new IllegalStateException("No nodes available for " + cmd);
+            }
+
+            if (null == cmd) {
+                return nodes.get(0);
+            }
+
+            candidates = new ArrayList<>(nodes);
         }
 
-        //TODO switch based on cmd
-        return nodes.get(0);
+        candidates.removeAll(exclude);
+        if (null != healthMonitor && !candidates.isEmpty()) {
+            candidates = healthMonitor.available(candidates);
+        }
+
+        Connection node = candidates.isEmpty() ? null : getNodeSelector().select(cmd, candidates);
+        // Only one request tries a half open node, the others go elsewhere if they can
+        while (null != node && null != healthMonitor && !healthMonitor.tryAcquire(node) && candidates.size() > 1) {
+            candidates.remove(node);
+            node = getNodeSelector().select(cmd, candidates);
+        }
+        if (null == node) {
+            throw new IllegalStateException("No nodes available for " + cmd);
+        }
+        return node;
+    }
+
+    /**
+     * Sends a request to the node selected for the command, 
+     * and reports the time it took back to the {@link NodeSelector}.
+     * With health checks enabled, idempotent commands are retried on the next healthy node when a node fails.
+     * With hedging enabled, slow reads are also sent to a second node.
+     *
+     * @param cmd The request we are going to make on the node
+     * @param request The call on the node
+     * @return The response of the node
+     */
+    private <T> T call(IotaAPICommand cmd, Function<Connection, T> request) {
+        return call(cmd, cmd.isIdempotent(), request);
+    }
+
+    /**
+     * Sends a request to the node selected for the command
+     *
+     * @param cmd The request we are going to make on the node
+     * @param repeatable If we can send the request to another node as well
+     * @param request The call on the node
+     * @return The response of the node
+     */
+    private <T> T call(IotaAPICommand cmd, boolean repeatable, Function<Connection, T> request) {
+        Connection node = getNodeFor(cmd);
+        Set<Connection> failed = null;
+        while (true) {
+            try {
+                if (null != hedger && repeatable && hedger.hedges(cmd)) {
+                    if (null == failed) {
+                        // Hedges add the nodes which failed them from another thread
+                        failed = ConcurrentHashMap.newKeySet();
+                    }
+                    return callHedged(cmd, node, request, failed);
+                }
+                return callNode(node, request);
+            } catch (RuntimeException e) {
+                if (null == healthMonitor || !repeatable || !NodeHealthMonitor.isNodeFailure(e)) {
+                    throw e;
+                }
+
+                if (null == failed) {
+                    failed = new HashSet<>();
+                }
+                failed.add(node);
+
+                Connection next;
+                try {
+                    next = getNodeFor(cmd, failed);
+                } catch (IllegalStateException noNodesLeft) {
+                    throw e;
+                }
+
+                log.warn("Request " + cmd.command() + " failed on " + node + ", retrying on " + next + ": " + e.getMessage());
+                node = next;
+            }
+        }
+    }
+
+    /**
+     * Reports the result of a request on a node to the health monitor, if health checks are enabled
+     *
+     * @param node The node
+     * @param failure The exception of the request, <code>null</code> if it succeeded
+     */
+    void reportResult(Connection node, Throwable failure) {
+        if (null == healthMonitor) {
+            return;
+        }
+
+        if (failure instanceof CompletionException && null != failure.getCause()) {
+            failure = failure.getCause();
+        }
+
+        if (NodeHealthMonitor.isNodeFailure(failure)) {
+            healthMonitor.onFailure(node);
+        } else {
+            // The node answered, even if it refused the request
+            healthMonitor.onSuccess(node);
+        }
+    }
+
+    /**
+     * Sends a request to the node, and hedges it on another node when it is slow
+     *
+     * @param cmd The request we are going to make on the node
+     * @param node The node
+     * @param request The call on the node
+     * @param failed The nodes which failed this request before, a failed hedge adds its node
+     * @return The first successful response
+     */
+    private <T> T callHedged(IotaAPICommand cmd, Connection node, Function<Connection, T> request, Set<Connection> failed) {
+        return hedger.execute(cmd, () -> callNode(cmd, node, request), () -> {
+            Set<Connection> exclude = new HashSet<>(failed);
+            exclude.add(node);
+
+            Connection backup;
+            try {
+                backup = getNodeFor(cmd, exclude);
+            } catch (IllegalStateException noOtherNode) {
+                return null;
+            }
+            return () -> {
+                try {
+                    return callNode(cmd, backup, request);
+                } catch (RuntimeException e) {
+                    if (NodeHealthMonitor.isNodeFailure(e)) {
+                        failed.add(backup);
+                    }
+                    throw e;
+                }
+            };
+        });
+    }
+
+    private <T> T callNode(Connection node, Function<Connection, T> request) {
+        return callNode(null, node, request);
+    }
+
+    /**
+     * Sends a request to the node, and reports the time it took
+     *
+     * @param cmd The command, when its latency is measured for hedging
+     * @param node The node
+     * @param request The call on the node
+     * @return The response of the node
+     */
+    private <T> T callNode(IotaAPICommand cmd, Connection node, Function<Connection, T> request) {
+        // Waiting for the limits does not count as latency of the node
+        if (null != rateLimiter) {
+            rateLimiter.acquire(node);
+        }
+
+        NodeSelector selector = getNodeSelector();
+        selector.onRequestStarted(node);
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            T response = request.apply(node);
+            success = true;
+            reportResult(node, null);
+            return response;
+        } catch (RuntimeException e) {
+            reportResult(node, e);
+            throw e;
+        } finally {
+            long latency = System.nanoTime() - start;
+            selector.onRequestFinished(node, latency, success);
+            if (success && null != cmd) {
+                hedger.record(cmd, latency);
+            }
+            if (null != rateLimiter) {
+                rateLimiter.release(node);
+            }
+        }
     }
 
     /**
@@ -148,7 +544,7 @@ public class IotaAPICore {
      */
     @Document
     public GetNodeInfoResponse getNodeInfo() throws ArgumentException {
-        return getNodeFor(IotaAPICommand.GET_NODE_INFO).getNodeInfo(IotaCommandRequest.createNodeInfoRequest());
+        return call(IotaAPICommand.GET_NODE_INFO, node -> node.getNodeInfo(IotaCommandRequest.createNodeInfoRequest()));
     }
 
     /**
@@ -159,7 +555,7 @@ public class IotaAPICore {
      */
     @Document
     public GetNodeAPIConfigurationResponse getNodeAPIConfiguration() throws ArgumentException {
-        return getNodeFor(IotaAPICommand.GET_NODE_API_CONFIGURATION).getNodeAPIConfiguration(IotaCommandRequest.createGetNodeAPIConfiguration());
+        return call(IotaAPICommand.GET_NODE_API_CONFIGURATION, node -> node.getNodeAPIConfiguration(IotaCommandRequest.createGetNodeAPIConfiguration()));
     }
 
     /**
@@ -171,7 +567,7 @@ public class IotaAPICore {
      */
     @Document
     public GetNeighborsResponse getNeighbors() throws ArgumentException {
-        return getNodeFor(IotaAPICommand.GET_NEIGHBORS).getNeighbors(IotaCommandRequest.createGetNeighborsRequest());
+        return call(IotaAPICommand.GET_NEIGHBORS, node -> node.getNeighbors(IotaCommandRequest.createGetNeighborsRequest()));
     }
 
     /**
@@ -190,7 +586,7 @@ public class IotaAPICore {
      */
     @Document
     public AddNeighborsResponse addNeighbors(String... uris) throws ArgumentException {
-        return getNodeFor(IotaAPICommand.ADD_NEIGHBORS).addNeighbors(IotaNeighborsRequest.createAddNeighborsRequest(uris));
+        return call(IotaAPICommand.ADD_NEIGHBORS, node -> node.addNeighbors(IotaNeighborsRequest.createAddNeighborsRequest(uris)));
     }
 
     /**
@@ -208,7 +604,7 @@ public class IotaAPICore {
      */
     @Document
     public RemoveNeighborsResponse removeNeighbors(String... uris) throws ArgumentException {
-        return getNodeFor(IotaAPICommand.REMOVE_NEIGHBORS).removeNeighbors(IotaNeighborsRequest.createRemoveNeighborsRequest(uris));
+        return call(IotaAPICommand.REMOVE_NEIGHBORS, node -> node.removeNeighbors(IotaNeighborsRequest.createRemoveNeighborsRequest(uris)));
     }
 
     /**
@@ -219,7 +615,7 @@ public class IotaAPICore {
      */
     @Document
     public GetTipsResponse getTips() throws ArgumentException {
-        return getNodeFor(IotaAPICommand.GET_TIPS).getTips(IotaCommandRequest.createGetTipsRequest());
+        return call(IotaAPICommand.GET_TIPS, node -> node.getTips(IotaCommandRequest.createGetTipsRequest()));
     }
 
 
@@ -244,6 +640,23 @@ public class IotaAPICore {
     @Document
     public FindTransactionResponse findTransactions(String[] addresses, String[] tags, String[] approvees, String[] bundles) throws ArgumentException {
 
+        String[][] fields = findTransactionsFields(addresses, tags, approvees, bundles);
+        String[] addressesWithoutChecksum = fields[0];
+        if (null != pendingFindTransactions && ArrayUtils.isNotEmpty(addressesWithoutChecksum) && ArrayUtils.isEmpty(tags) 
+                && ArrayUtils.isEmpty(approvees) && ArrayUtils.isEmpty(bundles)) {
+            return findTransactionsShared(addressesWithoutChecksum, () -> requestFindTransactions(fields));
+        }
+
+        return requestFindTransactions(fields);
+    }
+
+    /**
+     * Validates the fields of a <tt>findTransactions</tt> request
+     *
+     * @return The addresses without checksum, tags, approvees and bundles
+     * @throws ArgumentException If any of the parameters are not empty but have invalid values
+     */
+    private String[][] findTransactionsFields(String[] addresses, String[] tags, String[] approvees, String[] bundles) throws ArgumentException {
         String[] addressesWithoutChecksum;
         if (ArrayUtils.isNotEmpty(addresses)) {
             validateAddresses(addresses);
@@ -264,14 +677,225 @@ public class IotaAPICore {
             validateApprovees(approvees);
         }
 
-        final IotaFindTransactionsRequest findTransRequest = IotaFindTransactionsRequest
+        return new String[][] { addressesWithoutChecksum, tags, approvees, bundles };
+    }
+
+    /**
+     * Finds transactions like {@link #findTransactions(String[], String[], String[], String[])},
+     * but passes the hashes on in batches while the response of the node is received.
+     * Use this for addresses or bundles with a large amount of transactions, so the hashes never have to be in memory at once.
+     * Requests are not coalesced, and chunks of an oversized request are sent one after the other.
+     *
+     * @param addresses Array of hashes from addresses, must contain checksums
+     * @param tags      Array of tags
+     * @param approvees Array of transaction hashes
+     * @param bundles   Array of bundle hashes
+     * @param batchSize The maximum amount of hashes passed to the consumer at once
+     * @param consumer  Receives the transaction hashes
+     * @return The amount of hashes found
+     * @throws ArgumentException The request was considered wrong in any way by the node
+     * @throws ArgumentException If any of the parameters are not empty but have invalid values
+     */
+    public int findTransactionsStream(String[] addresses, String[] tags, String[] approvees, String[] bundles,
+            int batchSize, Consumer<String[]> consumer) throws ArgumentException {
+
+        String[][] fields = findTransactionsFields(addresses, tags, approvees, bundles);
+        List<String[][]> chunks = findTransactionsChunks(fields,
+                chunkSize(IotaAPICommand.FIND_TRANSACTIONS, longestField(fields)));
+        if (null == fields[2] || fields[2].length <= 1) {
+            int found = 0;
+            for (String[][] chunk : chunks) {
+                found += streamFindTransactions(chunk, batchSize, consumer);
+            }
+            return found;
+        }
+
+        // Approvees in different requests can be approved by the same transaction
+        Set<String> seen = new HashSet<>();
+        Consumer<String[]> unseen = batch -> {
+            String[] fresh = Arrays.stream(batch).filter(seen::add).toArray(String[]::new);
+            if (fresh.length > 0) {
+                consumer.accept(fresh);
+            }
+        };
+        for (String[][] chunk : chunks) {
+            streamFindTransactions(chunk, batchSize, unseen);
+        }
+        return seen.size();
+    }
+
+    private int streamFindTransactions(String[][] fields, int batchSize, Consumer<String[]> consumer) {
+        IotaFindTransactionsRequest request = findTransactionsRequest(fields);
+        try {
+            // Hashes passed on before a failure cannot be taken back, so we do not retry on another node
+            return call(IotaAPICommand.FIND_TRANSACTIONS, false, node -> node instanceof IotaNodeStreamingApi
+                    ? ((IotaNodeStreamingApi) node).findTransactionsStream(request, batchSize, consumer)
+                    : JsonArrayStream.emit(node.findTransactions(request).getHashes(), batchSize, consumer));
+        } catch (ArgumentException e) {
+            // The node refuses before it sends any hash
+            String[][][] halves = halveFindTransactions(fields, e);
+            return streamFindTransactions(halves[0], batchSize, consumer)
+                    + streamFindTransactions(halves[1], batchSize, consumer);
+        }
+    }
+
+    private static int longestField(String[][] fields) {
+        int longest = 0;
+        for (String[] field : fields) {
+            longest = Math.max(longest, null == field ? 0 : field.length);
+        }
+        return longest;
+    }
+
+    /**
+     * Finds transactions, in chunks if fields have more values than the node accepts.
+     *
+     * @param fields The addresses, tags, approvees and bundles
+     * @return The response
+     */
+    private FindTransactionResponse requestFindTransactions(String[][] fields) {
+        List<String[][]> chunks = findTransactionsChunks(fields,
+                chunkSize(IotaAPICommand.FIND_TRANSACTIONS, longestField(fields)));
+        if (chunks.size() == 1) {
+            return findTransactionsWithinMax(fields);
+        }
+        return mergeFindTransactions(RequestChunker.dispatch(chunks, this::findTransactionsWithinMax));
+    }
+
+    /**
+     * Finds transactions, and splits the request again when the node found more transactions than it may return.
+     *
+     * @param fields The addresses, tags, approvees and bundles
+     * @return The response
+     */
+    private FindTransactionResponse findTransactionsWithinMax(String[][] fields) {
+        try {
+            return call(IotaAPICommand.FIND_TRANSACTIONS, node -> node.findTransactions(findTransactionsRequest(fields)));
+        } catch (ArgumentException e) {
+            String[][][] halves = halveFindTransactions(fields, e);
+            List<FindTransactionResponse> parts = new ArrayList<>(2);
+            parts.add(findTransactionsWithinMax(halves[0]));
+            parts.add(findTransactionsWithinMax(halves[1]));
+            return mergeFindTransactions(parts);
+        }
+    }
+
+    /**
+     * Splits a <tt>findTransactions</tt> request in requests which the node accepts.
+     * The node intersects the fields, so every chunk of a field is combined with every chunk of the other fields.
+     *
+     * @param fields The addresses, tags, approvees and bundles
+     * @param limit The maximum amount of values in a field, <code>0</code> or less for no limit
+     * @return The fields of every request
+     */
+    static List<String[][]> findTransactionsChunks(String[][] fields, int limit) {
+        List<String[][]> chunks = new ArrayList<>();
+        chunks.add(fields);
+        for (int i = 0; i < fields.length; i++) {
+            if (null == fields[i] || limit <= 0 || fields[i].length <= limit) {
+                continue;
+            }
+
+            List<String[][]> split = new ArrayList<>();
+            for (String[][] chunk : chunks) {
+                for (String[] values : RequestChunker.split(fields[i], limit)) {
+                    String[][] chunkFields = chunk.clone();
+                    chunkFields[i] = values;
+                    split.add(chunkFields);
+                }
+            }
+            chunks = split;
+        }
+        return chunks;
+    }
+
+    /**
+     * Splits the longest field of a <tt>findTransactions</tt> request in two,
+     * when the node refused it because it found more transactions than it may return.
+     *
+     * @param fields The addresses, tags, approvees and bundles
+     * @param e The error of the node
+     * @return The fields of both halves
+     * @throws ArgumentException The error of the node, when it has another cause or a single value already finds too much
+     */
+    String[][][] halveFindTransactions(String[][] fields, ArgumentException e) throws ArgumentException {
+        if (!isOverMaxFindTransactions(e)) {
+            throw e;
+        }
+
+        int longest = -1;
+        for (int i = 0; i < fields.length; i++) {
+            if (null != fields[i] && fields[i].length > 1 && (longest == -1 || fields[i].length > fields[longest].length)) {
+                longest = i;
+            }
+        }
+        if (longest == -1) {
+            throw new ArgumentException("A single value finds more than the "
+                    + nodeLimits.maxFindTransactions(getNodeList()) + " transactions the node returns: " + e.getMessage());
+        }
+
+        String[] values = fields[longest];
+        String[][][] halves = { fields.clone(), fields.clone() };
+        halves[0][longest] = Arrays.copyOfRange(values, 0, values.length / 2);
+        halves[1][longest] = Arrays.copyOfRange(values, values.length / 2, values.length);
+        return halves;
+    }
+
+    /**
+     * 
+     * @param e The error of the node
+     * @return <code>true</code> if the node found more transactions than its <tt>maxFindTransactions</tt>
+     */
+    static boolean isOverMaxFindTransactions(ArgumentException e) {
+        // IRI does not tell us why, but this is the only cause it reports like this
+        String message = e.getMessage();
+        return null != message && (message.contains("Could not complete request")
+                || message.contains("maxFindTransactions"));
+    }
+
+    static FindTransactionResponse mergeFindTransactions(List<FindTransactionResponse> parts) {
+        // Approvees in different chunks can be approved by the same transaction
+        Set<String> hashes = new LinkedHashSet<>();
+        for (FindTransactionResponse part : parts) {
+            hashes.addAll(Arrays.asList(part.getHashes()));
+        }
+        return FindTransactionResponse.create(hashes.toArray(new String[0]), maxDuration(parts));
+    }
+
+    static IotaFindTransactionsRequest findTransactionsRequest(String[][] fields) {
+        return IotaFindTransactionsRequest
                 .createFindTransactionRequest()
-                .byAddresses(addressesWithoutChecksum)
-                .byTags(tags)
-                .byApprovees(approvees)
-                .byBundles(bundles);
+                .byAddresses(fields[0])
+                .byTags(fields[1])
+                .byApprovees(fields[2])
+                .byBundles(fields[3]);
+    }
+
+    private FindTransactionResponse findTransactionsShared(String[] addresses, Supplier<FindTransactionResponse> request) {
+        Set<String> key = new HashSet<>(Arrays.asList(addresses));
+        CompletableFuture<FindTransactionResponse> own = new CompletableFuture<>();
+        CompletableFuture<FindTransactionResponse> pending = pendingFindTransactions.putIfAbsent(key, own);
+        if (null != pending) {
+            try {
+                return pending.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
 
-        return getNodeFor(IotaAPICommand.FIND_TRANSACTIONS).findTransactions(findTransRequest);
+        try {
+            FindTransactionResponse response = request.get();
+            own.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            pendingFindTransactions.remove(key, own);
+        }
     }
 
     /**
@@ -286,7 +910,7 @@ public class IotaAPICore {
     public IotaCustomResponse callIxi(String module, Map<String, Object> params) throws ArgumentException {
         final IotaCustomRequest ixiRequest = IotaCustomRequest.createCustomRequest(module, params);
 
-        return getNodeFor(IotaAPICommand.CUSTOM_IXI).customRequest(ixiRequest);
+        return call(IotaAPICommand.CUSTOM_IXI, node -> node.customRequest(ixiRequest));
     }
 
     /**
@@ -379,8 +1003,59 @@ public class IotaAPICore {
             throw new ArgumentException(INVALID_HASHES_INPUT_ERROR);
         }
 
-        return getNodeFor(IotaAPICommand.GET_INCLUSIONS_STATES).getInclusionStates(IotaGetInclusionStateRequest
-                .createGetInclusionStateRequest(transactions));
+        if (null == cache) {
+            return fetchInclusionStates(transactions);
+        }
+
+        // Only confirmed states never change
+        boolean[] states = new boolean[transactions.length];
+        List<String> unknown = new ArrayList<>();
+        for (int i = 0; i < transactions.length; i++) {
+            states[i] = cache.isConfirmed(transactions[i]);
+            if (!states[i]) {
+                unknown.add(transactions[i]);
+            }
+        }
+
+        if (unknown.isEmpty()) {
+            return GetInclusionStateResponse.create(states, 0);
+        }
+
+        GetInclusionStateResponse res = fetchInclusionStates(unknown.toArray(new String[0]));
+        boolean[] fetched = res.getStates();
+        for (int i = 0, j = 0; i < transactions.length; i++) {
+            if (!states[i]) {
+                states[i] = fetched[j++];
+                if (states[i]) {
+                    cache.putConfirmed(transactions[i]);
+                }
+            }
+        }
+        return GetInclusionStateResponse.create(states, durationOf(res));
+    }
+
+    private GetInclusionStateResponse fetchInclusionStates(String[] transactions) {
+        if (null != inclusionStatesCoalescer) {
+            return inclusionStatesCoalescer.request(transactions);
+        }
+
+        return requestInclusionStates(transactions);
+    }
+
+    private GetInclusionStateResponse requestInclusionStates(String[] transactions) {
+        List<GetInclusionStateResponse> parts = RequestChunker.dispatch(transactions, 
+                chunkSize(IotaAPICommand.GET_INCLUSIONS_STATES, transactions.length),
+                chunk -> call(IotaAPICommand.GET_INCLUSIONS_STATES, node -> node.getInclusionStates(IotaGetInclusionStateRequest
+                        .createGetInclusionStateRequest(chunk))));
+
+        return mergeInclusionStates(parts);
+    }
+
+    static GetInclusionStateResponse mergeInclusionStates(List<GetInclusionStateResponse> parts) {
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+        return GetInclusionStateResponse.create(RequestChunker.concatStates(collect(parts, GetInclusionStateResponse::getStates)), maxDuration(parts));
     }
 
     /**
@@ -400,7 +1075,182 @@ public class IotaAPICore {
             throw new ArgumentException(INVALID_HASHES_INPUT_ERROR);
         }
 
-        return getNodeFor(IotaAPICommand.GET_TRYTES).getTrytes(IotaGetTrytesRequest.createGetTrytesRequest(hashes));
+        if (null == cache) {
+            return fetchTrytes(hashes);
+        }
+
+        String[] trytes = new String[hashes.length];
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < hashes.length; i++) {
+            trytes[i] = cache.getTrytes(hashes[i]);
+            if (null == trytes[i]) {
+                missing.add(hashes[i]);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return GetTrytesResponse.create(trytes, 0);
+        }
+
+        GetTrytesResponse res = fetchTrytes(missing.toArray(new String[0]));
+        String[] fetched = res.getTrytes();
+        for (int i = 0, j = 0; i < hashes.length; i++) {
+            if (null == trytes[i]) {
+                trytes[i] = fetched[j++];
+                cache.putTrytes(hashes[i], trytes[i]);
+            }
+        }
+        return GetTrytesResponse.create(trytes, durationOf(res));
+    }
+
+    private GetTrytesResponse fetchTrytes(String[] hashes) {
+        if (null != trytesCoalescer) {
+            return trytesCoalescer.request(hashes);
+        }
+
+        return requestTrytes(hashes);
+    }
+
+    /**
+     * Gets the trytes like {@link #getTrytes(String...)},
+     * but passes them on in batches while the response of the node is received.
+     * Only a batch of trytes is in memory at once, instead of the full response.
+     * Chunks of an oversized request are sent one after the other.
+     * When request coalescing is enabled, the coalesced response is passed on in batches instead.
+     * When caching is enabled, only the trytes we do not have yet are requested.
+     *
+     * @param batchSize The maximum amount of trytes passed to the consumer at once
+     * @param consumer  Receives the trytes, in the order of the hashes
+     * @param hashes    The transaction hashes you want to get trytes from.
+     * @return The amount of trytes received
+     * @throws ArgumentException The request was considered wrong in any way by the node
+     * @throws ArgumentException when a transaction hash is invalid
+     */
+    public int getTrytesStream(int batchSize, Consumer<String[]> consumer, String... hashes) throws ArgumentException {
+
+        if (!InputValidator.isArrayOfHashes(hashes)) {
+            throw new ArgumentException(INVALID_HASHES_INPUT_ERROR);
+        }
+
+        if (null == cache) {
+            return streamTrytesChunked(hashes, batchSize, consumer);
+        }
+
+        String[] cached = new String[hashes.length];
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < hashes.length; i++) {
+            cached[i] = cache.getTrytes(hashes[i]);
+            if (null == cached[i]) {
+                missing.add(hashes[i]);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return JsonArrayStream.emit(cached, batchSize, consumer);
+        }
+
+        CachedTrytesMerger merger = new CachedTrytesMerger(hashes, cached, batchSize, consumer);
+        streamTrytesChunked(missing.toArray(new String[0]), batchSize, merger);
+        return merger.finish();
+    }
+
+    private int streamTrytesChunked(String[] hashes, int batchSize, Consumer<String[]> consumer) {
+        if (null != trytesCoalescer) {
+            return JsonArrayStream.emit(trytesCoalescer.request(hashes).getTrytes(), batchSize, consumer);
+        }
+
+        int limit = chunkSize(IotaAPICommand.GET_TRYTES, hashes.length);
+        if (limit <= 0 || hashes.length <= limit) {
+            return streamTrytes(hashes, batchSize, consumer);
+        }
+
+        int received = 0;
+        for (int i = 0; i < hashes.length; i += limit) {
+            received += streamTrytes(Arrays.copyOfRange(hashes, i, Math.min(i + limit, hashes.length)), batchSize, consumer);
+        }
+        return received;
+    }
+
+    private int streamTrytes(String[] hashes, int batchSize, Consumer<String[]> consumer) {
+        IotaGetTrytesRequest request = IotaGetTrytesRequest.createGetTrytesRequest(hashes);
+        // Trytes passed on before a failure cannot be taken back, so we do not retry on another node
+        return call(IotaAPICommand.GET_TRYTES, false, node -> node instanceof IotaNodeStreamingApi
+                ? ((IotaNodeStreamingApi) node).getTrytesStream(request, batchSize, consumer)
+                : JsonArrayStream.emit(node.getTrytes(request).getTrytes(), batchSize, consumer));
+    }
+
+    /**
+     * Puts streamed trytes between the cached ones, in the order of the hashes, and caches them
+     */
+    private class CachedTrytesMerger implements Consumer<String[]> {
+
+        private final String[] hashes;
+        private final String[] cached;
+        private final int batchSize;
+        private final Consumer<String[]> consumer;
+
+        private final List<String> batch = new ArrayList<>();
+        private int next;
+        private int received;
+
+        CachedTrytesMerger(String[] hashes, String[] cached, int batchSize, Consumer<String[]> consumer) {
+            this.hashes = hashes;
+            this.cached = cached;
+            this.batchSize = Math.max(1, batchSize);
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void accept(String[] fetched) {
+            for (String trytes : fetched) {
+                skipCached();
+                if (next < hashes.length) {
+                    cache.putTrytes(hashes[next++], trytes);
+                }
+                add(trytes);
+            }
+        }
+
+        private void skipCached() {
+            while (next < hashes.length && null != cached[next]) {
+                add(cached[next++]);
+            }
+        }
+
+        private void add(String trytes) {
+            batch.add(trytes);
+            received++;
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (!batch.isEmpty()) {
+                consumer.accept(batch.toArray(new String[0]));
+                batch.clear();
+            }
+        }
+
+        int finish() {
+            skipCached();
+            flush();
+            return received;
+        }
+    }
+
+    private GetTrytesResponse requestTrytes(String[] hashes) {
+        List<GetTrytesResponse> parts = RequestChunker.dispatch(hashes, chunkSize(IotaAPICommand.GET_TRYTES, hashes.length),
+                chunk -> call(IotaAPICommand.GET_TRYTES, node -> node.getTrytes(IotaGetTrytesRequest.createGetTrytesRequest(chunk))));
+
+        return mergeTrytes(parts);
+    }
+
+    static GetTrytesResponse mergeTrytes(List<GetTrytesResponse> parts) {
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+        return GetTrytesResponse.create(RequestChunker.concat(collect(parts, GetTrytesResponse::getTrytes)), maxDuration(parts));
     }
 
     /**
@@ -425,7 +1275,7 @@ public class IotaAPICore {
             throw new ArgumentException(INVALID_APPROVE_DEPTH_ERROR);
         }
 
-        return getNodeFor(IotaAPICommand.GET_TRANSACTIONS_TO_APPROVE).getTransactionsToApprove(IotaGetTransactionsToApproveRequest.createIotaGetTransactionsToApproveRequest(depth, reference));
+        return call(IotaAPICommand.GET_TRANSACTIONS_TO_APPROVE, node -> node.getTransactionsToApprove(IotaGetTransactionsToApproveRequest.createIotaGetTransactionsToApproveRequest(depth, reference)));
     }
 
     /**
@@ -471,7 +1321,43 @@ public class IotaAPICore {
 
         String[] addressesWithoutChecksum = removeChecksumFromAddresses(addresses);
 
-        return getNodeFor(IotaAPICommand.GET_BALANCES).getBalances(IotaGetBalancesRequest.createIotaGetBalancesRequest(addressesWithoutChecksum, tips));
+        if (null != balancesCoalescer && null == tips) {
+            return balancesCoalescer.request(addressesWithoutChecksum);
+        }
+
+        return requestBalances(addressesWithoutChecksum, tips);
+    }
+
+    /**
+     * Gets balances, in chunks if there are more addresses than the node accepts.
+     * The first chunk decides the milestone, the other chunks are calculated through the same references
+     * so all balances are from the same point in time.
+     *
+     * @param addresses The addresses without checksum
+     * @param tips The tips, can be <code>null</code>
+     * @return The response
+     */
+    private GetBalancesResponse requestBalances(String[] addresses, String[] tips) {
+        int limit = chunkSize(IotaAPICommand.GET_BALANCES, addresses.length);
+        if (limit <= 0 || addresses.length <= limit) {
+            return call(IotaAPICommand.GET_BALANCES, node -> node.getBalances(IotaGetBalancesRequest.createIotaGetBalancesRequest(addresses, tips)));
+        }
+
+        GetBalancesResponse first = call(IotaAPICommand.GET_BALANCES, node -> node.getBalances(
+                IotaGetBalancesRequest.createIotaGetBalancesRequest(Arrays.copyOf(addresses, limit), tips)));
+        String[] references = null != tips ? tips : first.getReferences();
+
+        return mergeBalances(first, RequestChunker.dispatch(Arrays.copyOfRange(addresses, limit, addresses.length), limit,
+                chunk -> call(IotaAPICommand.GET_BALANCES, node -> node.getBalances(IotaGetBalancesRequest.createIotaGetBalancesRequest(chunk, references)))));
+    }
+
+    static GetBalancesResponse mergeBalances(GetBalancesResponse first, List<GetBalancesResponse> rest) {
+        List<GetBalancesResponse> parts = new ArrayList<>(rest.size() + 1);
+        parts.add(first);
+        parts.addAll(rest);
+
+        return GetBalancesResponse.create(RequestChunker.concat(collect(parts, GetBalancesResponse::getBalances)),
+                first.getReferences(), first.getMilestoneIndex(), maxDuration(parts));
     }
 
     /**
@@ -510,7 +1396,7 @@ public class IotaAPICore {
 
         String[] addressesWithoutChecksum = removeChecksumFromAddresses(addresses);
 
-        return getNodeFor(IotaAPICommand.GET_BALANCES).getBalances(IotaGetBalancesRequest.createIotaGetBalancesRequest(threshold, addressesWithoutChecksum, tips));
+        return call(IotaAPICommand.GET_BALANCES, node -> node.getBalances(IotaGetBalancesRequest.createIotaGetBalancesRequest(threshold, addressesWithoutChecksum, tips)));
     }
 
     /**
@@ -614,7 +1500,26 @@ public class IotaAPICore {
 
         String[] addressesWithoutChecksum = removeChecksumFromAddresses(addresses);
 
-        return getNodeFor(IotaAPICommand.WERE_ADDRESSES_SPENT_FROM).wereAddressesSpentFrom(IotaWereAddressesSpentFromRequest.create(addressesWithoutChecksum));
+        if (null != spentFromCoalescer) {
+            return spentFromCoalescer.request(addressesWithoutChecksum);
+        }
+
+        return requestSpentFrom(addressesWithoutChecksum);
+    }
+
+    private WereAddressesSpentFromResponse requestSpentFrom(String[] addresses) {
+        List<WereAddressesSpentFromResponse> parts = RequestChunker.dispatch(addresses, 
+                chunkSize(IotaAPICommand.WERE_ADDRESSES_SPENT_FROM, addresses.length),
+                chunk -> call(IotaAPICommand.WERE_ADDRESSES_SPENT_FROM, node -> node.wereAddressesSpentFrom(IotaWereAddressesSpentFromRequest.create(chunk))));
+
+        return mergeSpentFrom(parts);
+    }
+
+    static WereAddressesSpentFromResponse mergeSpentFrom(List<WereAddressesSpentFromResponse> parts) {
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+        return WereAddressesSpentFromResponse.create(RequestChunker.concatStates(collect(parts, WereAddressesSpentFromResponse::getStates)), maxDuration(parts));
     }
 
     /**
@@ -630,7 +1535,7 @@ public class IotaAPICore {
             throw new ArgumentException(INVALID_HASHES_INPUT_ERROR);
         }
 
-        return getNodeFor(IotaAPICommand.CHECK_CONSISTENCY).checkConsistency(IotaCheckConsistencyRequest.create(tails));
+        return call(IotaAPICommand.CHECK_CONSISTENCY, node -> node.checkConsistency(IotaCheckConsistencyRequest.create(tails)));
     }
 
     /**
@@ -689,7 +1594,7 @@ public class IotaAPICore {
         }
 
         IotaAttachToTangleRequest attachToTangleRequest = IotaAttachToTangleRequest.createAttachToTangleRequest(trunkTransaction, branchTransaction, minWeightMagnitude, trytes);
-        return getNodeFor(IotaAPICommand.ATTACH_TO_TANGLE).attachToTangle(attachToTangleRequest);
+        return call(IotaAPICommand.ATTACH_TO_TANGLE, node -> node.attachToTangle(attachToTangleRequest));
     }
 
     /**
@@ -753,21 +1658,30 @@ public class IotaAPICore {
         String previousTransaction = null;
 
         try {
+            // Everything in front of the trunk is independent of the previous transaction,
+            // so we prepare the next transaction while searching a nonce for the current one
+            CompletableFuture<PreparedTransaction> next = CompletableFuture.supplyAsync(() -> prepareForAttach(trytes[0], pow));
             for (int i = 0; i < resultTrytes.length; i++) {
-                Transaction txn = new Transaction(trytes[i]);
+                PreparedTransaction prepared = next.get();
+                if (i + 1 < resultTrytes.length) {
+                    String nextTrytes = trytes[i + 1];
+                    next = CompletableFuture.supplyAsync(() -> prepareForAttach(nextTrytes, pow));
+                }
+
+                Transaction txn = prepared.transaction;
                 txn.setTrunkTransaction(previousTransaction == null ? trunkTransaction : previousTransaction);
                 txn.setBranchTransaction(previousTransaction == null ? branchTransaction : trunkTransaction);
 
-                if (txn.getTag().isEmpty() || txn.getTag().matches("9*")) {
-                    txn.setTag(txn.getObsoleteTag());
-                }
-
                 txn.setAttachmentTimestamp(System.currentTimeMillis());
                 txn.setAttachmentTimestampLowerBound(0);
                 txn.setAttachmentTimestampUpperBound(3_812_798_742_493L);
 
-                resultTrytes[i] = pow.performPoW(txn.toTrytes(), minWeightMagnitude);
-                previousTransaction = new Transaction(resultTrytes[i], SpongeFactory.create(SpongeFactory.Mode.CURL_P81)).getHash();
+                if (pow instanceof PearlDiverLocalPoW) {
+                    resultTrytes[i] = ((PearlDiverLocalPoW) pow).performPoW(txn.toTrytes(), minWeightMagnitude, prepared.prefixState);
+                } else {
+                    resultTrytes[i] = pow.performPoW(txn.toTrytes(), minWeightMagnitude);
+                }
+                previousTransaction = hashFromPrefix(prepared.prefixState, resultTrytes[i]);
             }
             Collections.reverse(Arrays.asList(resultTrytes));
         } catch (Exception e) {
@@ -784,7 +1698,7 @@ public class IotaAPICore {
      */
     @Document
     public InterruptAttachingToTangleResponse interruptAttachingToTangle() throws ArgumentException {
-        return getNodeFor(IotaAPICommand.INTERRUPT_ATTACHING_TO_TANGLE).interruptAttachingToTangle(IotaCommandRequest.createInterruptAttachToTangleRequest());
+        return call(IotaAPICommand.INTERRUPT_ATTACHING_TO_TANGLE, node -> node.interruptAttachingToTangle(IotaCommandRequest.createInterruptAttachToTangleRequest()));
     }
 
     /**
@@ -802,7 +1716,7 @@ public class IotaAPICore {
             throw new ArgumentException(INVALID_ATTACHED_TRYTES_INPUT_ERROR);
         }
 
-        return getNodeFor(IotaAPICommand.BROADCAST_TRANSACTIONS).broadcastTransactions(IotaBroadcastTransactionRequest.createBroadcastTransactionsRequest(trytes));
+        return call(IotaAPICommand.BROADCAST_TRANSACTIONS, node -> node.broadcastTransactions(IotaBroadcastTransactionRequest.createBroadcastTransactionsRequest(trytes)));
     }
 
     /**
@@ -820,16 +1734,55 @@ public class IotaAPICore {
             throw new ArgumentException(INVALID_ATTACHED_TRYTES_INPUT_ERROR);
         }
 
-        return getNodeFor(IotaAPICommand.STORE_TRANSACTIONS).storeTransactions(IotaStoreTransactionsRequest.createStoreTransactionsRequest(trytes));
+        return call(IotaAPICommand.STORE_TRANSACTIONS, node -> node.storeTransactions(IotaStoreTransactionsRequest.createStoreTransactionsRequest(trytes)));
+    }
+
+    private static PreparedTransaction prepareForAttach(String trytes, IotaPoW pow) {
+        Transaction txn = new Transaction(trytes);
+        if (txn.getTag().isEmpty() || txn.getTag().matches("9*")) {
+            txn.setTag(txn.getObsoleteTag());
+        }
+
+        int[] prefixTrits = Converter.trits(txn.toTrytes().substring(0, ATTACH_PREFIX_TRYTES));
+        if (pow instanceof PearlDiverLocalPoW) {
+            // Reattaching the same bundle content hits its prefix cache
+            return new PreparedTransaction(txn, ((PearlDiverLocalPoW) pow).absorbPrefix(prefixTrits));
+        }
+        return new PreparedTransaction(txn, PearlDiver.absorbPrefix(prefixTrits));
+    }
+
+    /**
+     * Finishes the transaction hash from the absorbed prefix.
+     * PoW only changes the nonce, so the prefix of the result is the one we absorbed.
+     */
+    private static String hashFromPrefix(int[] prefixState, String attachedTrytes) {
+        int[] remainder = Converter.trits(attachedTrytes.substring(ATTACH_PREFIX_TRYTES));
+        int[] hash = new int[Constants.HASH_LENGTH_TRITS];
+
+        ICurl curl = SpongeFactory.create(SpongeFactory.Mode.CURL_P81);
+        curl.setState(prefixState.clone());
+        curl.absorb(remainder, 0, remainder.length);
+        curl.squeeze(hash, 0, hash.length);
+        return Converter.trytes(hash);
+    }
+
+    private static class PreparedTransaction {
+        private final Transaction transaction;
+        private final int[] prefixState;
+
+        PreparedTransaction(Transaction transaction, int[] prefixState) {
+            this.transaction = transaction;
+            this.prefixState = prefixState;
+        }
     }
 
-    private void validateAddresses(String[] addresses) {
+    void validateAddresses(String[] addresses) {
         if (ArrayUtils.isEmpty(addresses) || !InputValidator.isAddressesArrayValid(addresses)) {
             throw new ArgumentException(INVALID_ADDRESSES_INPUT_ERROR);
         }
     }
 
-    private String[] removeChecksumFromAddresses(String[] addresses) {
+    String[] removeChecksumFromAddresses(String[] addresses) {
         String[] addressesWithoutChecksum = new String[addresses.length];
 
         for (int i = 0; i < addresses.length; i++) {
@@ -839,19 +1792,84 @@ public class IotaAPICore {
         return addressesWithoutChecksum;
     }
 
-    private void validateTags(String[] tags) {
+    private static String[] select(String[] values, int[] indexes) {
+        String[] selected = new String[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            selected[i] = values[indexes[i]];
+        }
+        return selected;
+    }
+
+    private static boolean[] select(boolean[] values, int[] indexes) {
+        boolean[] selected = new boolean[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            selected[i] = values[indexes[i]];
+        }
+        return selected;
+    }
+
+    private static long durationOf(AbstractResponse response) {
+        return null == response.getDuration() ? 0 : response.getDuration();
+    }
+
+    static long maxDuration(List<? extends AbstractResponse> responses) {
+        long duration = 0;
+        for (AbstractResponse response : responses) {
+            duration = Math.max(duration, durationOf(response));
+        }
+        return duration;
+    }
+
+    static <R, T> List<T> collect(List<R> responses, Function<R, T> getter) {
+        return responses.stream().map(getter).collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the maximum amount of keys we can send to every node in a single request.
+     * The limits are requested from a node when it is added.
+     *
+     * @param cmd The command
+     * @param keys The amount of keys we want to send
+     * @return The maximum, <code>0</code> for no limit
+     */
+    private int chunkSize(IotaAPICommand cmd, int keys) {
+        if (keys <= 1) {
+            return 0;
+        }
+        return nodeLimits.maxKeys(cmd, getNodeList());
+    }
+
+    /**
+     *
+     * @return The limits of the nodes
+     */
+    NodeLimits getNodeLimits() {
+        return nodeLimits;
+    }
+
+    /**
+     *
+     * @return A copy of the nodes we currently use
+     */
+    List<Connection> getNodeList() {
+        synchronized (nodes) {
+            return new ArrayList<>(nodes);
+        }
+    }
+
+    void validateTags(String[] tags) {
         if (!InputValidator.areValidTags(tags)) {
             throw new ArgumentException(INVALID_TAG_INPUT_ERROR);
         }
     }
 
-    private void validateBundles(String[] bundles) {
+    void validateBundles(String[] bundles) {
         if (!InputValidator.isArrayOfHashes(bundles)) {
             throw new ArgumentException(INVALID_BUNDLE_HASH_ERROR);
         }
     }
 
-    private void validateApprovees(String[] bundles) {
+    void validateApprovees(String[] bundles) {
         if (!InputValidator.isArrayOfHashes(bundles)) {
             throw new ArgumentException(INVALID_BUNDLE_HASH_ERROR);
         }
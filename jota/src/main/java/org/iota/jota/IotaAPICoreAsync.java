@@ -0,0 +1,579 @@
+package org.iota.jota;
+
+import static org.iota.jota.utils.Constants.INVALID_APPROVE_DEPTH_ERROR;
+import static org.iota.jota.utils.Constants.INVALID_ATTACHED_TRYTES_INPUT_ERROR;
+import static org.iota.jota.utils.Constants.INVALID_HASHES_INPUT_ERROR;
+import static org.iota.jota.utils.Constants.INVALID_TRYTES_INPUT_ERROR;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.iota.jota.connection.BlockingAsyncConnection;
+import org.iota.jota.connection.Connection;
+import org.iota.jota.connection.IotaNodeAsyncApi;
+import org.iota.jota.connection.NodeRateLimiter;
+import org.iota.jota.connection.NodeSelector;
+import org.iota.jota.dto.request.*;
+import org.iota.jota.dto.response.*;
+import org.iota.jota.error.AccessLimitedException;
+import org.iota.jota.error.ArgumentException;
+import org.iota.jota.utils.InputValidator;
+import org.iota.jota.utils.NamedThreadFactory;
+
+/**
+ *
+ * The non-blocking variant of {@link IotaAPICore}, obtained through {@link IotaAPICore#async()}.
+ *
+ * Every method returns immediately. Node calls are sent with the asynchronous api of the connection
+ * (see {@link IotaNodeAsyncApi}), so no thread waits while the node is working.
+ * This lets a few threads keep thousands of node calls in flight, and calls can be composed with
+ * {@link CompletableFuture#thenCompose(Function)} instead of blocking in between.
+ *
+ * Invalid arguments and node errors complete the future exceptionally with the exception {@link IotaAPICore} would throw.
+ * Nodes, node selection, chunking by node limits and local PoW are shared with the blocking api.
+ * Requests are never coalesced.
+ *
+ */
+public class IotaAPICoreAsync {
+
+    private static final ExecutorService EXECUTOR;
+
+    static {
+        NamedThreadFactory names = new NamedThreadFactory("Jota-Async");
+        EXECUTOR = Executors.newCachedThreadPool(r -> {
+            Thread t = names.newThread(r);
+            // Only used for blocking connections and local PoW, never keep the application alive for it
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private final IotaAPICore api;
+
+    IotaAPICoreAsync(IotaAPICore api) {
+        this.api = api;
+    }
+
+    /**
+     *
+     * @return The blocking api this api shares its nodes and options with
+     */
+    public IotaAPICore blocking() {
+        return api;
+    }
+
+    /**
+     * Asynchronous {@link IotaAPICore#getNodeInfo()}
+     *
+     * @return The future {@link GetNodeInfoResponse}
+     */
+    public CompletableFuture<GetNodeInfoResponse> getNodeInfo() {
+        return call(IotaAPICommand.GET_NODE_INFO, node -> node.getNodeInfoAsync(IotaCommandRequest.createNodeInfoRequest()));
+    }
+
+    /**
+     * Asynchronous {@link IotaAPICore#getNodeAPIConfiguration()}
+     *
+     * @return The future {@link GetNodeAPIConfigurationResponse}
+     */
+    public CompletableFuture<GetNodeAPIConfigurationResponse> getNodeAPIConfiguration() {
+        return call(IotaAPICommand.GET_NODE_API_CONFIGURATION, node -> node.getNodeAPIConfigurationAsync(IotaCommandRequest.createGetNodeAPIConfiguration()));
+    }
+
+    /**
+     * Asynchronous {@link IotaAPICore#getNeighbors()}
+     *
+     * @return The future {@link GetNeighborsResponse}
+     */
+    public CompletableFuture<GetNeighborsResponse> getNeighbors() {
+        return call(IotaAPICommand.GET_NEIGHBORS, node -> node.getNeighborsAsync(IotaCommandRequest.createGetNeighborsRequest()));
+    }
+
+    /**
+     * Asynchronous {@link IotaAPICore#addNeighbors(String...)}
+     *
+     * @param uris list of neighbors to add
+     * @return The future {@link AddNeighborsResponse}
+     */
+    public CompletableFuture<AddNeighborsResponse> addNeighbors(String... uris) {
+        return call(IotaAPICommand.ADD_NEIGHBORS, node -> node.addNeighborsAsync(IotaNeighborsRequest.createAddNeighborsRequest(uris)));
+    }
+
+    /**
+     * Asynchronous {@link IotaAPICore#removeNeighbors(String...)}
+     *
+     * @param uris The URIs of the neighbors we want to remove.
+     * @return The future {@link RemoveNeighborsResponse}
+     */
+    public CompletableFuture<RemoveNeighborsResponse> removeNeighbors(String... uris) {
+        return call(IotaAPICommand.REMOVE_NEIGHBORS, node -> node.removeNeighborsAsync(IotaNeighborsRequest.createRemoveNeighborsRequest(uris)));
+    }
+
+    /**
+     * Asynchronous {@link IotaAPICore#getTips()}
+     *
+     * @return The future {@link GetTipsResponse}
+     */
+    public CompletableFuture<GetTipsResponse> getTips() {
+        return call(IotaAPICommand.GET_TIPS, node -> node.getTipsAsync(IotaCommandRequest.createGetTipsRequest()));
+    }
+
+    /**
+     * Asynchronous {@link IotaAPICore#findTransactions(String[], String[], String[], String[])}
+     *
+     * @param addresses Array of hashes from addresses, must contain checksums
+     * @param tags      Array of tags
+     * @param approvees Array of transaction hashes
+     * @param bundles   Array of bundle hashes
+     * @return The future {@link FindTransactionResponse}
+     */
+    public CompletableFuture<FindTransactionResponse> findTransactions(String[] addresses, String[] tags, String[] approvees, String[] bundles) {
+        return submit(() -> {
+            String[] addressesWithoutChecksum = addresses;
+            if (ArrayUtils.isNotEmpty(addresses)) {
+                api.validateAddresses(addresses);
+                addressesWithoutChecksum = api.removeChecksumFromAddresses(addresses);
+            }
+
+            if (ArrayUtils.isNotEmpty(tags)) {
+                api.validateTags(tags);
+            }
+
+            if (ArrayUtils.isNotEmpty(bundles)) {
+                api.validateBundles(bundles);
+            }
+
+            if (ArrayUtils.isNotEmpty(approvees)) {
+                api.validateApprovees(approvees);
+            }
+
+            String[][] fields = { addressesWithoutChecksum, tags, approvees, bundles };
+            int longest = 0;
+            for (String[] field : fields) {
+                longest = Math.max(longest, null == field ? 0 : field.length);
+            }
+
+            return chunkSize(IotaAPICommand.FIND_TRANSACTIONS, longest).thenCompose(limit -> {
+                List<CompletableFuture<FindTransactionResponse>> chunks = new ArrayList<>();
+                for (String[][] chunk : IotaAPICore.findTransactionsChunks(fields, limit)) {
+                    chunks.add(findTransactionsWithinMax(chunk));
+                }
+                return all(chunks).thenApply(IotaAPICore::mergeFindTransactions);
+            });
+        });
+    }
+
+    /**
+     * Finds transactions, and splits the request again when the node found more transactions than it may return
+     *
+     * @param fields The addresses, tags, approvees and bundles
+     * @return The future response
+     */
+    private CompletableFuture<FindTransactionResponse> findTransactionsWithinMax(String[][] fields) {
+        return call(IotaAPICommand.FIND_TRANSACTIONS, node -> node.findTransactionsAsync(IotaAPICore.findTransactionsRequest(fields)))
+                .handle((res, t) -> {
+                    if (null == t) {
+                        return CompletableFuture.completedFuture(res);
+                    }
+
+                    Throwable cause = t instanceof CompletionException && null != t.getCause() ? t.getCause() : t;
+                    if (!(cause instanceof ArgumentException)) {
+                        return IotaAPICoreAsync.<FindTransactionResponse>failed(cause);
+                    }
+
+                    String[][][] halves;
+                    try {
+                        halves = api.halveFindTransactions(fields, (ArgumentException) cause);
+                    } catch (ArgumentException e) {
+                        return IotaAPICoreAsync.<FindTransactionResponse>failed(e);
+                    }
+                    return findTransactionsWithinMax(halves[0]).thenCombine(findTransactionsWithinMax(halves[1]),
+                            (first, second) -> IotaAPICore.mergeFindTransactions(Arrays.asList(first, second)));
+                }).thenCompose(Function.identity());
+    }
+
+    /**
+     * Asynchronous {@link IotaAPICore#findTransactionsByAddresses(String...)}
+     *
+     * @param addresses An array of addresses, must contain checksums
+     * @return The future {@link FindTransactionResponse}
+     */
+    public CompletableFuture<FindTransactionResponse> findTransactionsByAddresses(String... addresses) {
+        return submit(() -> {
+            api.validateAddresses(addresses);
+            return findTransactions(addresses, null, null, null);
+        });
+    }
+
+    /**
+     * Asynchronous {@link IotaAPICore#findTransactionsByBundles(String...)}
+     *
+     * @param bundles An array of bundles.
+     * @return The future {@link FindTransactionResponse}
+     */
+    public CompletableFuture<FindTransactionResponse> findTransactionsByBundles(String... bundles) {
+        return findTransactions(null, null, null, bundles);
+    }
+
+    /**
+     * Asynchronous {@link IotaAPICore#findTransactionsByApprovees(String...)}
+     *
+     * @param approvees An array of approvees.
+     * @return The future {@link FindTransactionResponse}
+     */
+    public CompletableFuture<FindTransactionResponse> findTransactionsByApprovees(String... approvees) {
+        return findTransactions(null, null, approvees, null);
+    }
+
+    /**
+     * Asynchronous {@link IotaAPICore#findTransactionsByTags(String...)}
+     *
+     * @param tags A List of tags.
+     * @return The future {@link FindTransactionResponse}
+     */
+    public CompletableFuture<FindTransactionResponse> findTransactionsByTags(String... tags) {
+        return findTransactions(null, tags, null, null);
+    }
+
+    /**
+     * Asynchronous {@link IotaAPICore#getInclusionStates(String...)}
+     *
+     * @param transactions Array of transactions you want to get the inclusion state for.
+     * @return The future {@link GetInclusionStateResponse}
+     */
+    public CompletableFuture<GetInclusionStateResponse> getInclusionStates(String... transactions) {
+        return submit(() -> {
+            if (!InputValidator.isArrayOfHashes(transactions)) {
+                throw new ArgumentException(INVALID_HASHES_INPUT_ERROR);
+            }
+
+            return chunked(IotaAPICommand.GET_INCLUSIONS_STATES, transactions,
+                    chunk -> call(IotaAPICommand.GET_INCLUSIONS_STATES, node -> node.getInclusionStatesAsync(
+                            IotaGetInclusionStateRequest.createGetInclusionStateRequest(chunk))))
+                    .thenApply(IotaAPICore::mergeInclusionStates);
+        });
+    }
+
+    /**
+     * Asynchronous {@link IotaAPICore#getTrytes(String...)}
+     *
+     * @param hashes The transaction hashes you want to get trytes from.
+     * @return The future {@link GetTrytesResponse}
+     */
+    public CompletableFuture<GetTrytesResponse> getTrytes(String... hashes) {
+        return submit(() -> {
+            if (!InputValidator.isArrayOfHashes(hashes)) {
+                throw new ArgumentException(INVALID_HASHES_INPUT_ERROR);
+            }
+
+            return chunked(IotaAPICommand.GET_TRYTES, hashes,
+                    chunk -> call(IotaAPICommand.GET_TRYTES, node -> node.getTrytesAsync(IotaGetTrytesRequest.createGetTrytesRequest(chunk))))
+                    .thenApply(IotaAPICore::mergeTrytes);
+        });
+    }
+
+    /**
+     * Asynchronous {@link IotaAPICore#getTransactionsToApprove(Integer, String)}
+     *
+     * @param depth     Number of bundles to go back to determine the transactions for approval.
+     * @param reference Hash of transaction to start random-walk from. Can be <tt>null</tt>.
+     * @return The future {@link GetTransactionsToApproveResponse}
+     */
+    public CompletableFuture<GetTransactionsToApproveResponse> getTransactionsToApprove(Integer depth, String reference) {
+        return submit(() -> {
+            if (depth < 0) {
+                throw new ArgumentException(INVALID_APPROVE_DEPTH_ERROR);
+            }
+
+            return call(IotaAPICommand.GET_TRANSACTIONS_TO_APPROVE, node -> node.getTransactionsToApproveAsync(
+                    IotaGetTransactionsToApproveRequest.createIotaGetTransactionsToApproveRequest(depth, reference)));
+        });
+    }
+
+    /**
+     * Asynchronous {@link IotaAPICore#getTransactionsToApprove(Integer)}
+     *
+     * @param depth Number of bundles to go back to determine the transactions for approval.
+     * @return The future {@link GetTransactionsToApproveResponse}
+     */
+    public CompletableFuture<GetTransactionsToApproveResponse> getTransactionsToApprove(Integer depth) {
+        return getTransactionsToApprove(depth, null);
+    }
+
+    /**
+     * Asynchronous {@link IotaAPICore#getBalances(String[], String[])}
+     *
+     * @param addresses The addresses where we will find the balance for. Must contain the checksum.
+     * @param tips      The optional tips to find the balance through.
+     * @return The future {@link GetBalancesResponse}
+     */
+    public CompletableFuture<GetBalancesResponse> getBalances(String[] addresses, String[] tips) {
+        return submit(() -> {
+            if (null != tips && !InputValidator.isArrayOfHashes(tips)) {
+                throw new ArgumentException(INVALID_HASHES_INPUT_ERROR);
+            }
+
+            api.validateAddresses(addresses);
+            String[] addressesWithoutChecksum = api.removeChecksumFromAddresses(addresses);
+
+            return chunkSize(IotaAPICommand.GET_BALANCES, addressesWithoutChecksum.length).thenCompose(limit -> {
+                if (limit <= 0 || addressesWithoutChecksum.length <= limit) {
+                    return call(IotaAPICommand.GET_BALANCES, node -> node.getBalancesAsync(
+                            IotaGetBalancesRequest.createIotaGetBalancesRequest(addressesWithoutChecksum, tips)));
+                }
+
+                // Like the blocking api, all chunks are calculated through the references of the first
+                return call(IotaAPICommand.GET_BALANCES, node -> node.getBalancesAsync(
+                        IotaGetBalancesRequest.createIotaGetBalancesRequest(Arrays.copyOf(addressesWithoutChecksum, limit), tips)))
+                        .thenCompose(first -> {
+                            String[] references = null != tips ? tips : first.getReferences();
+                            return dispatch(Arrays.copyOfRange(addressesWithoutChecksum, limit, addressesWithoutChecksum.length), limit,
+                                    chunk -> call(IotaAPICommand.GET_BALANCES, node -> node.getBalancesAsync(
+                                            IotaGetBalancesRequest.createIotaGetBalancesRequest(chunk, references))))
+                                    .thenApply(rest -> IotaAPICore.mergeBalances(first, rest));
+                        });
+            });
+        });
+    }
+
+    /**
+     * Asynchronous {@link IotaAPICore#getBalances(List)}
+     *
+     * @param addresses The list of addresses you want to get the confirmed balance from. Must contain the checksum.
+     * @return The future {@link GetBalancesResponse}
+     */
+    public CompletableFuture<GetBalancesResponse> getBalances(List<String> addresses) {
+        return getBalances(null != addresses ? addresses.toArray(new String[0]) : null, null);
+    }
+
+    /**
+     * Asynchronous {@link IotaAPICore#wereAddressesSpentFrom(String...)}
+     *
+     * @param addresses List of addresses to check if they were ever spent from. Must contain the checksum.
+     * @return The future {@link WereAddressesSpentFromResponse}
+     */
+    public CompletableFuture<WereAddressesSpentFromResponse> wereAddressesSpentFrom(String... addresses) {
+        return submit(() -> {
+            api.validateAddresses(addresses);
+
+            return chunked(IotaAPICommand.WERE_ADDRESSES_SPENT_FROM, api.removeChecksumFromAddresses(addresses),
+                    chunk -> call(IotaAPICommand.WERE_ADDRESSES_SPENT_FROM, node -> node.wereAddressesSpentFromAsync(
+                            IotaWereAddressesSpentFromRequest.create(chunk))))
+                    .thenApply(IotaAPICore::mergeSpentFrom);
+        });
+    }
+
+    /**
+     * Asynchronous {@link IotaAPICore#checkConsistency(String...)}
+     *
+     * @param tails The tails describing the subtangle.
+     * @return The future {@link CheckConsistencyResponse}
+     */
+    public CompletableFuture<CheckConsistencyResponse> checkConsistency(String... tails) {
+        return submit(() -> {
+            if (!InputValidator.isArrayOfHashes(tails)) {
+                throw new ArgumentException(INVALID_HASHES_INPUT_ERROR);
+            }
+
+            return call(IotaAPICommand.CHECK_CONSISTENCY, node -> node.checkConsistencyAsync(IotaCheckConsistencyRequest.create(tails)));
+        });
+    }
+
+    /**
+     * Asynchronous {@link IotaAPICore#attachToTangle(String, String, Integer, String...)}.
+     * Local PoW runs on a separate thread, since it keeps the processor busy anyway.
+     *
+     * @param trunkTransaction   A reference to an external transaction (tip) used as trunk.
+     * @param branchTransaction  A reference to an external transaction (tip) used as branch.
+     * @param minWeightMagnitude The amount of work we should do to confirm this transaction.
+     * @param trytes             The list of trytes to prepare for network attachment, by doing proof of work.
+     * @return The future {@link GetAttachToTangleResponse}
+     */
+    public CompletableFuture<GetAttachToTangleResponse> attachToTangle(String trunkTransaction, String branchTransaction,
+            Integer minWeightMagnitude, String... trytes) {
+
+        if (null != api.getLocalPoW()) {
+            return CompletableFuture.supplyAsync(() -> api.attachToTangle(trunkTransaction, branchTransaction, minWeightMagnitude, trytes), EXECUTOR);
+        }
+
+        return submit(() -> {
+            if (!InputValidator.isHash(trunkTransaction) || !InputValidator.isHash(branchTransaction)) {
+                throw new ArgumentException(INVALID_HASHES_INPUT_ERROR);
+            }
+
+            if (!InputValidator.isArrayOfRawTransactionTrytes(trytes)) {
+                throw new ArgumentException(INVALID_TRYTES_INPUT_ERROR);
+            }
+
+            return call(IotaAPICommand.ATTACH_TO_TANGLE, node -> node.attachToTangleAsync(
+                    IotaAttachToTangleRequest.createAttachToTangleRequest(trunkTransaction, branchTransaction, minWeightMagnitude, trytes)));
+        });
+    }
+
+    /**
+     * Asynchronous {@link IotaAPICore#interruptAttachingToTangle()}
+     *
+     * @return The future {@link InterruptAttachingToTangleResponse}
+     */
+    public CompletableFuture<InterruptAttachingToTangleResponse> interruptAttachingToTangle() {
+        return call(IotaAPICommand.INTERRUPT_ATTACHING_TO_TANGLE, node -> node.interruptAttachingToTangleAsync(
+                IotaCommandRequest.createInterruptAttachToTangleRequest()));
+    }
+
+    /**
+     * Asynchronous {@link IotaAPICore#broadcastTransactions(String...)}
+     *
+     * @param trytes The list of transaction trytes to broadcast
+     * @return The future {@link BroadcastTransactionsResponse}
+     */
+    public CompletableFuture<BroadcastTransactionsResponse> broadcastTransactions(String... trytes) {
+        return submit(() -> {
+            if (!InputValidator.isArrayOfAttachedTrytes(trytes)) {
+                throw new ArgumentException(INVALID_ATTACHED_TRYTES_INPUT_ERROR);
+            }
+
+            return call(IotaAPICommand.BROADCAST_TRANSACTIONS, node -> node.broadcastTransactionsAsync(
+                    IotaBroadcastTransactionRequest.createBroadcastTransactionsRequest(trytes)));
+        });
+    }
+
+    /**
+     * Asynchronous {@link IotaAPICore#storeTransactions(String...)}
+     *
+     * @param trytes Transaction data to be stored.
+     * @return The future {@link StoreTransactionsResponse}
+     */
+    public CompletableFuture<StoreTransactionsResponse> storeTransactions(String... trytes) {
+        return submit(() -> {
+            if (!InputValidator.isArrayOfAttachedTrytes(trytes)) {
+                throw new ArgumentException(INVALID_ATTACHED_TRYTES_INPUT_ERROR);
+            }
+
+            return call(IotaAPICommand.STORE_TRANSACTIONS, node -> node.storeTransactionsAsync(
+                    IotaStoreTransactionsRequest.createStoreTransactionsRequest(trytes)));
+        });
+    }
+
+    /**
+     * Asynchronous {@link IotaAPICore#callIxi(String, Map)}
+     *
+     * @param module The module name, or the folder of the ixi on the node
+     * @param params Optional arguments for the IXI module,
+     * @return The future {@link IotaCustomResponse}
+     */
+    public CompletableFuture<IotaCustomResponse> callIxi(String module, Map<String, Object> params) {
+        return call(IotaAPICommand.CUSTOM_IXI, node -> node.customRequestAsync(IotaCustomRequest.createCustomRequest(module, params)));
+    }
+
+    /**
+     * Sends a request to the node selected for the command,
+     * and reports the time it took back to the {@link NodeSelector} once it completes
+     *
+     * @param cmd The request we are going to make on the node
+     * @param request The call on the node
+     * @return The future response of the node
+     */
+    private <T> CompletableFuture<T> call(IotaAPICommand cmd, Function<IotaNodeAsyncApi, CompletableFuture<T>> request) {
+        NodeSelector selector = api.getNodeSelector();
+        Connection node;
+        try {
+            node = api.getNodeFor(cmd);
+        } catch (RuntimeException e) {
+            return failed(e);
+        }
+
+        // Asynchronous requests never wait for the limits of a node
+        NodeRateLimiter limiter = api.getRateLimiter();
+        if (null != limiter) {
+            try {
+                limiter.acquireNow(node);
+            } catch (AccessLimitedException e) {
+                return failed(e);
+            }
+        }
+
+        selector.onRequestStarted(node);
+        long start = System.nanoTime();
+        CompletableFuture<T> response;
+        try {
+            response = request.apply(BlockingAsyncConnection.of(node, EXECUTOR));
+        } catch (RuntimeException e) {
+            selector.onRequestFinished(node, System.nanoTime() - start, false);
+            api.reportResult(node, e);
+            if (null != limiter) {
+                limiter.release(node);
+            }
+            return failed(e);
+        }
+
+        return response.whenComplete((res, t) -> {
+            selector.onRequestFinished(node, System.nanoTime() - start, null == t);
+            api.reportResult(node, t);
+            if (null != limiter) {
+                limiter.release(node);
+            }
+        });
+    }
+
+    /**
+     * Gets the maximum amount of keys per request, like the blocking api does.
+     * Waits for the limits of nodes which are still being requested, without blocking.
+     *
+     * @param cmd The command
+     * @param keys The amount of keys we want to send
+     * @return The future maximum, <code>0</code> for no limit
+     */
+    private CompletableFuture<Integer> chunkSize(IotaAPICommand cmd, int keys) {
+        if (keys <= 1) {
+            return CompletableFuture.completedFuture(0);
+        }
+
+        return api.getNodeLimits().maxKeysAsync(cmd, api.getNodeList());
+    }
+
+    private <R> CompletableFuture<List<R>> chunked(IotaAPICommand cmd, String[] keys, Function<String[], CompletableFuture<R>> request) {
+        return chunkSize(cmd, keys.length).thenCompose(limit -> dispatch(keys, limit, request));
+    }
+
+    private static <R> CompletableFuture<List<R>> dispatch(String[] keys, int chunkSize, Function<String[], CompletableFuture<R>> request) {
+        if (chunkSize <= 0 || keys.length <= chunkSize) {
+            return request.apply(keys).thenApply(Collections::singletonList);
+        }
+
+        List<CompletableFuture<R>> chunks = new ArrayList<>();
+        for (int i = 0; i < keys.length; i += chunkSize) {
+            chunks.add(request.apply(Arrays.copyOfRange(keys, i, Math.min(keys.length, i + chunkSize))));
+        }
+        return all(chunks);
+    }
+
+    private static <R> CompletableFuture<List<R>> all(List<CompletableFuture<R>> chunks) {
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0]))
+                .thenApply(done -> chunks.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+    }
+
+    private static <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> request) {
+        try {
+            return request.get();
+        } catch (RuntimeException e) {
+            return failed(e);
+        }
+    }
+
+    private static <T> CompletableFuture<T> failed(Throwable t) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(t);
+        return future;
+    }
+}
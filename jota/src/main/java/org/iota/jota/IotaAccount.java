@@ -14,6 +14,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import org.apache.commons.lang3.StringUtils;
 import org.iota.jota.account.Account;
 import org.iota.jota.account.AccountBalanceCache;
+import org.iota.jota.account.AccountHost;
 import org.iota.jota.account.AccountOptions;
 import org.iota.jota.account.AccountState;
 import org.iota.jota.account.AccountStateManager;
@@ -168,7 +169,10 @@ public class IotaAccount implements Account, EventListener {
         String accountId = buildAccountId();
         
         // TODO make this nicer
-        if (options.getStore() instanceof TaskService) {
+        if (null != getHost()) {
+            // Loads the shared store once
+            getHost().start();
+        } else if (options.getStore() instanceof TaskService) {
             try {
                 ((TaskService)options.getStore()).load();
             } catch (Exception e) {
@@ -198,9 +202,18 @@ public class IotaAccount implements Account, EventListener {
         accountManager = new AccountStateManager(balanceCache, accountId, strategy, state, addressService, options, getStore());
         
         //All plugins do their startup tasks on load();
-        addTask(new PromoterReattacherImpl(eventManager, getApi(), accountManager, options));
-        addTask(new IncomingTransferCheckerImpl(eventManager, getApi(), accountManager, addressService, balanceCache, true));
-        addTask(new OutgoingTransferCheckerImpl(eventManager, getApi(), accountManager));
+        if (null != getHost()) {
+            // Run on the threads and deposit checks of the host instead of our own
+            addTask(new PromoterReattacherImpl(eventManager, getApi(), accountManager, options, 
+                    getHost().getScheduler()));
+            addTask(new IncomingTransferCheckerImpl(eventManager, getApi(), accountManager, addressService, balanceCache, 
+                    true, getHost().getIncomingScanner()));
+            addTask(new OutgoingTransferCheckerImpl(eventManager, getApi(), accountManager, getHost().getScheduler()));
+        } else {
+            addTask(new PromoterReattacherImpl(eventManager, getApi(), accountManager, options));
+            addTask(new IncomingTransferCheckerImpl(eventManager, getApi(), accountManager, addressService, balanceCache, true));
+            addTask(new OutgoingTransferCheckerImpl(eventManager, getApi(), accountManager));
+        }
         
         if (options.getPlugins() != null) {
             for (Plugin customPlugin : options.getPlugins()) {
@@ -208,13 +221,18 @@ public class IotaAccount implements Account, EventListener {
             }
         }
         
-        shutdownHook();
-        
-        try {
-            // Call to nodeInfo to ensure were connected
-            getApi().getNodeInfo();
-        } catch (ArgumentException e) {
-            throw new AccountLoadError(e);
+        if (null != getHost()) {
+            // The host has the shutdown hook, and checked the node when it started
+            getHost().addAccount(this);
+        } else {
+            shutdownHook();
+            
+            try {
+                // Call to nodeInfo to ensure were connected
+                getApi().getNodeInfo();
+            } catch (ArgumentException e) {
+                throw new AccountLoadError(e);
+            }
         }
         
         loaded = true;
@@ -236,7 +254,7 @@ public class IotaAccount implements Account, EventListener {
      */
     private void unload(boolean clearTasks) {
         //TODO Improve
-        if (options.getStore() instanceof TaskService) {
+        if (null == getHost() && options.getStore() instanceof TaskService) {
             ((TaskService)options.getStore()).shutdown();
         }
         
@@ -286,7 +304,7 @@ public class IotaAccount implements Account, EventListener {
     @Override
     public boolean start() throws AccountError {
         //TODO Improve
-        if (options.getStore() instanceof TaskService) {
+        if (null == getHost() && options.getStore() instanceof TaskService) {
             if (!((TaskService)options.getStore()).start()) {
                 throw new AccountError("Store failed to start");
             }
@@ -310,6 +328,9 @@ public class IotaAccount implements Account, EventListener {
     public void shutdown() throws AccountError {
         Date now = options.getTime().time();
         unload(true);
+        if (null != getHost()) {
+            getHost().removeAccount(this);
+        }
         
         eventManager.emit(new EventShutdown(now));
     }
@@ -815,6 +836,10 @@ public class IotaAccount implements Account, EventListener {
         return options.getApi();
     }
     
+    private AccountHost getHost(){
+        return options.getHost();
+    }
+    
     public EventManager getEventManager() {
         return eventManager;
     }
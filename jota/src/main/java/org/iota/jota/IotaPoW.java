@@ -5,4 +5,23 @@ package org.iota.jota;
  */
 public interface IotaPoW {
     String performPoW(String trytes, int minWeightMagnitude);
+
+    /**
+     * Performs PoW on many independent transactions, like separate promotions.
+     * Transactions in a bundle reference each other and can not be done in one batch.
+     *
+     * The default implementation does them one after another,
+     * implementations which can search in parallel should override this.
+     *
+     * @param trytes The transaction trytes
+     * @param minWeightMagnitude The minimum weight magnitude for all transactions
+     * @return The trytes including their nonce, in the same order as <tt>trytes</tt>
+     */
+    default String[] performPoW(String[] trytes, int minWeightMagnitude) {
+        String[] result = new String[trytes.length];
+        for (int i = 0; i < trytes.length; i++) {
+            result[i] = performPoW(trytes[i], minWeightMagnitude);
+        }
+        return result;
+    }
 }
@@ -0,0 +1,245 @@
+package org.iota.jota.account;
+
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.iota.jota.IotaAPI;
+import org.iota.jota.IotaAccount;
+import org.iota.jota.account.errors.AccountError;
+import org.iota.jota.account.errors.AccountLoadError;
+import org.iota.jota.account.plugins.transferchecker.SharedIncomingTransferScanner;
+import org.iota.jota.builder.AccountBuilder;
+import org.iota.jota.error.ArgumentException;
+import org.iota.jota.utils.NamedThreadFactory;
+import org.iota.jota.utils.thread.TaskService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs many accounts in one application, on resources they share.
+ *
+ * Every account on its own creates thread pools for its plugins, checks its deposit addresses separately,
+ * registers a shutdown hook and calls the node when it loads.
+ * Accounts built with {@link AccountBuilder#host(AccountHost)} instead use the api, store and scheduler of the host,
+ * and their deposit addresses are checked together by a single {@link SharedIncomingTransferScanner}.
+ * What remains per account is its state and its event listeners.
+ *
+ * The host loads and starts the store and checks the node once, when the first account loads.
+ */
+public class AccountHost {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountHost.class);
+
+    /**
+     * Threads shared by all accounts, they only run short checks and node calls
+     */
+    public static final int DEFAULT_THREADS = 4;
+
+    private static final long CHECK_INCOMING_DELAY = 10000;
+
+    private final IotaAPI api;
+    private final AccountStore store;
+
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final SharedIncomingTransferScanner incomingScanner;
+
+    private final Set<IotaAccount> accounts = ConcurrentHashMap.newKeySet();
+
+    // Guarded by this
+    private boolean started;
+    private ScheduledFuture<?> incomingTask;
+    private Thread shutdownHook;
+
+    /**
+     * Creates a host with the default amount of threads
+     *
+     * @param api The api all accounts use
+     * @param store The store all accounts use
+     */
+    public AccountHost(IotaAPI api, AccountStore store) {
+        this(api, store, DEFAULT_THREADS);
+    }
+
+    /**
+     *
+     * @param api The api all accounts use
+     * @param store The store all accounts use
+     * @param threads The amount of threads for the scheduled tasks of all accounts
+     */
+    public AccountHost(IotaAPI api, AccountStore store, int threads) {
+        if (null == api || null == store) {
+            throw new AccountError("A host needs an api and a store");
+        }
+
+        this.api = api;
+        this.store = store;
+
+        NamedThreadFactory names = new NamedThreadFactory("Jota-Account");
+        this.scheduler = new ScheduledThreadPoolExecutor(Math.max(1, threads), r -> {
+            Thread t = names.newThread(r);
+            // The shutdown hook stops the accounts
+            t.setDaemon(true);
+            return t;
+        });
+        // Accounts cancel their tasks when they shut down, do not keep those in the queue
+        this.scheduler.setRemoveOnCancelPolicy(true);
+
+        this.incomingScanner = new SharedIncomingTransferScanner(api);
+    }
+
+    /**
+     * Starts building an account on this host
+     *
+     * @param seed The seed of the account
+     * @return The builder, using the api and store of this host
+     * @throws ArgumentException When an invalid seed is provided
+     */
+    public AccountBuilder account(String seed) throws ArgumentException {
+        return new AccountBuilder(seed).host(this);
+    }
+
+    /**
+     * Loads and starts the store, checks the node and starts scanning for deposits.
+     * Called by every account when it loads, only the first call does anything.
+     *
+     * @throws AccountError When the store failed to load or start
+     * @throws AccountLoadError When we could not reach the node
+     */
+    public synchronized void start() throws AccountError {
+        if (started) {
+            return;
+        }
+
+        if (store instanceof TaskService) {
+            try {
+                ((TaskService) store).load();
+            } catch (Exception e) {
+                throw new AccountError(e);
+            }
+
+            if (!((TaskService) store).start()) {
+                throw new AccountError("Store failed to start");
+            }
+        }
+
+        try {
+            // Call to nodeInfo to ensure were connected
+            api.getNodeInfo();
+        } catch (ArgumentException e) {
+            throw new AccountLoadError(e);
+        }
+
+        incomingTask = scheduler.scheduleAtFixedRate(incomingScanner, 0, CHECK_INCOMING_DELAY, TimeUnit.MILLISECONDS);
+
+        shutdownHook = new Thread(() -> {
+            log.info("Shutting down IOTA Accounts, please hold tight...");
+            try {
+                shutdown();
+            } catch (Exception e) {
+                log.error("Exception occurred shutting down accounts module: ", e);
+            }
+        }, "Shutdown Hook");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+
+        started = true;
+    }
+
+    /**
+     * Shuts down all accounts on this host, stops scanning for deposits and shuts down the store.
+     * The host can be started again afterwards, by loading an account.
+     */
+    public void shutdown() {
+        for (IotaAccount account : new ArrayList<>(accounts)) {
+            try {
+                account.shutdown();
+            } catch (Exception e) {
+                log.error("Failed to shut down account " + account.getId(), e);
+            }
+        }
+        accounts.clear();
+
+        synchronized (this) {
+            if (!started) {
+                return;
+            }
+
+            incomingTask.cancel(false);
+            if (store instanceof TaskService) {
+                ((TaskService) store).shutdown();
+            }
+
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // Already shutting down, this might be the hook
+            }
+            started = false;
+        }
+    }
+
+    /**
+     * Adds an account which runs on this host, so it is shut down with the host.
+     * Called by the account when it loads.
+     *
+     * @param account The account
+     */
+    public void addAccount(IotaAccount account) {
+        accounts.add(account);
+    }
+
+    /**
+     * Removes an account from this host.
+     * Called by the account when it shuts down.
+     *
+     * @param account The account
+     * @return <code>true</code> if the account was running on this host
+     */
+    public boolean removeAccount(IotaAccount account) {
+        return accounts.remove(account);
+    }
+
+    /**
+     *
+     * @return The amount of accounts running on this host
+     */
+    public int getAccountCount() {
+        return accounts.size();
+    }
+
+    /**
+     *
+     * @return <code>true</code> if the host is started
+     */
+    public synchronized boolean isStarted() {
+        return started;
+    }
+
+    public IotaAPI getApi() {
+        return api;
+    }
+
+    public AccountStore getStore() {
+        return store;
+    }
+
+    /**
+     *
+     * @return The scheduler the plugins of all accounts run on
+     */
+    public ScheduledExecutorService getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     *
+     * @return The scanner which checks the deposit addresses of all accounts
+     */
+    public SharedIncomingTransferScanner getIncomingScanner() {
+        return incomingScanner;
+    }
+}
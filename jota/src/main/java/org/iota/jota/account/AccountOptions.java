@@ -26,6 +26,8 @@ public class AccountOptions implements AccountSettings {
     
     private List<Plugin> customPlugins;
     
+    private AccountHost host;
+    
     public AccountOptions(AccountBuilder builder) {
         mwm = builder.getMwm();
         depth = builder.getDepth();
@@ -35,6 +37,7 @@ public class AccountOptions implements AccountSettings {
         seed = builder.getSeed();
         clock = builder.getTime();
         customPlugins = builder.getPlugins();
+        host = builder.getHost();
     }
     
     @Override
@@ -81,4 +84,9 @@ public class AccountOptions implements AccountSettings {
     public List<Plugin> getPlugins() {
         return customPlugins;
     }
+
+    @Override
+    public AccountHost getHost() {
+        return host;
+    }
 }
@@ -1,9 +1,11 @@
 package org.iota.jota.account;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.iota.jota.account.addressgenerator.AddressGeneratorService;
 import org.iota.jota.account.deposits.DepositRequest;
@@ -15,6 +17,7 @@ import org.iota.jota.model.Input;
 import org.iota.jota.types.Address;
 import org.iota.jota.types.Hash;
 import org.iota.jota.types.Trytes;
+import org.iota.jota.utils.Constants;
 
 public class AccountStateManager {
 
@@ -32,6 +35,12 @@ public class AccountStateManager {
     private String accountId;
     private AccountBalanceCache cache;
     
+    // Address hash without checksum, to our address. Built on first use, updated with the deposit requests afterwards
+    private volatile Map<String, Address> ownAddresses;
+    // Key index, to the address hash. Guarded by ownAddressLock, published together with ownAddresses
+    private Map<Integer, String> ownAddressHashes;
+    private final Object ownAddressLock = new Object();
+    
     public AccountStateManager(AccountBalanceCache cache,
                                String accountId,
                                InputSelectionStrategy inputSelector, 
@@ -126,7 +135,7 @@ public class AccountStateManager {
         
         
             for (Input i : inputs) {
-                store.removeDepositAddress(accountId, i.getKeyIndex());
+                removeDepositRequest(i.getKeyIndex());
                 cache.removeInput(i);
             }
 
@@ -164,10 +173,27 @@ public class AccountStateManager {
     
     public void addDepositRequest(int index, StoredDepositAddress request) {
         store.addDepositAddress(accountId, index, request);
+        
+        synchronized (ownAddressLock) {
+            if (null != ownAddresses) {
+                indexOwnAddress(ownAddresses, ownAddressHashes, addressService.get(index, request.getSecurityLevel()));
+            }
+        }
     }
     
     public void removeDepositRequest(int index) {
         store.removeDepositAddress(accountId, index);
+        
+        synchronized (ownAddressLock) {
+            if (null == ownAddresses) {
+                // Not built yet, it will not contain this request
+                return;
+            }
+            String hash = ownAddressHashes.remove(index);
+            if (null != hash) {
+                ownAddresses.remove(hash);
+            }
+        }
     }
     
     /**
@@ -199,14 +225,68 @@ public class AccountStateManager {
         return store.getPendingTransfers(accountId);
     }
 
+    /**
+     * Checks if an address belongs to one of our deposit requests.
+     * The addresses are generated once, on the first check.
+     * 
+     * @param hash The address, with or without checksum
+     * @return <code>true</code> if this is one of our addresses
+     */
     public boolean isOwnAddress(String hash) {
-        for (Entry<Integer, StoredDepositAddress> entry : getDepositRequests().entrySet()) {
-            if (addressService.get(entry.getKey(), entry.getValue().getSecurityLevel())
-                    .getAddress().getHash().equals(hash)) {
-                
-                return true;
+        return null != getOwnAddress(hash);
+    }
+    
+    /**
+     * Finds our address, with its key index and security level
+     * 
+     * @param hash The address, with or without checksum
+     * @return The address, or <code>null</code> if it does not belong to one of our deposit requests
+     */
+    public Address getOwnAddress(String hash) {
+        if (null == hash) {
+            return null;
+        }
+        if (hash.length() > Constants.ADDRESS_LENGTH_WITHOUT_CHECKSUM) {
+            hash = hash.substring(0, Constants.ADDRESS_LENGTH_WITHOUT_CHECKSUM);
+        }
+        return ownAddresses().get(hash);
+    }
+    
+    private Map<String, Address> ownAddresses() {
+        Map<String, Address> addresses = ownAddresses;
+        if (null != addresses) {
+            return addresses;
+        }
+        
+        synchronized (ownAddressLock) {
+            if (null == ownAddresses) {
+                // Only publish the index once it is complete, lookups without the lock would miss addresses
+                Map<String, Address> index = new ConcurrentHashMap<>();
+                Map<Integer, String> hashes = new HashMap<>();
+                // Derive the addresses per security level, so consecutive indexes are derived in parallel
+                Map<Integer, List<Integer>> indexesBySecurity = new HashMap<>();
+                for (Entry<Integer, StoredDepositAddress> entry : getDepositRequests().entrySet()) {
+                    indexesBySecurity.computeIfAbsent(entry.getValue().getSecurityLevel(), k -> new ArrayList<>())
+                            .add(entry.getKey());
+                }
+                for (Entry<Integer, List<Integer>> entry : indexesBySecurity.entrySet()) {
+                    for (Address address : addressService.getAll(entry.getValue(), entry.getKey())) {
+                        indexOwnAddress(index, hashes, address);
+                    }
+                }
+                ownAddressHashes = hashes;
+                ownAddresses = index;
             }
+            return ownAddresses;
+        }
+    }
+    
+    private static void indexOwnAddress(Map<String, Address> addresses, Map<Integer, String> hashes, Address address) {
+        String hash = address.getAddress().getHash();
+        String previous = hashes.put(address.getIndex(), hash);
+        if (null != previous && !previous.equals(hash)) {
+            addresses.remove(previous);
         }
-        return false;
+        addresses.put(hash, address);
     }
 }
@@ -1,5 +1,9 @@
 package org.iota.jota.account.addressgenerator;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import org.iota.jota.account.errors.AddressGenerationError;
 import org.iota.jota.types.Address;
 
@@ -23,4 +27,40 @@ public interface AddressGeneratorService {
      * @throws AddressGenerationError
      */
     Address get(int index, int securityLevel) throws AddressGenerationError;
+    
+    /**
+     * Gets the addresses of indexes <code>[start, end)</code>, deriving them in parallel where needed.
+     * 
+     * @param start the first index
+     * @param end the index after the last address
+     * @param securityLevel the security level of the addresses
+     * @return the addresses, ordered by index
+     * @throws AddressGenerationError
+     */
+    List<Address> getRange(int start, int end, int securityLevel) throws AddressGenerationError;
+    
+    /**
+     * Gets the addresses of the provided indexes, deriving every consecutive run of indexes with {@link #getRange(int, int, int)}.
+     * 
+     * @param indexes the indexes
+     * @param securityLevel the security level of the addresses
+     * @return the addresses, ordered by index
+     * @throws AddressGenerationError
+     */
+    default List<Address> getAll(Collection<Integer> indexes, int securityLevel) throws AddressGenerationError {
+        List<Integer> sorted = new ArrayList<>(indexes);
+        sorted.sort(null);
+        
+        List<Address> addresses = new ArrayList<>(sorted.size());
+        int i = 0;
+        while (i < sorted.size()) {
+            int start = sorted.get(i);
+            int end = start + 1;
+            for (i++; i < sorted.size() && sorted.get(i) <= end; i++) {
+                end = Math.max(end, sorted.get(i) + 1);
+            }
+            addresses.addAll(getRange(start, end, securityLevel));
+        }
+        return addresses;
+    }
 }
@@ -1,5 +1,7 @@
 package org.iota.jota.account.addressgenerator;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -9,6 +11,7 @@ import org.iota.jota.error.ArgumentException;
 import org.iota.jota.types.Address;
 import org.iota.jota.types.Hash;
 import org.iota.jota.utils.IotaAPIUtils;
+import org.iota.jota.utils.ParallelAddressGenerator;
 
 public class AddressGeneratorServiceImpl implements AddressGeneratorService {
     
@@ -61,6 +64,42 @@ public class AddressGeneratorServiceImpl implements AddressGeneratorService {
         }
     }
     
+    @Override
+    public List<Address> getRange(int start, int end, int securityLevel) throws AddressGenerationError {
+        try {
+            // Only derive the part of the range we do not know yet
+            int from = start, to = end;
+            if (null != map) {
+                while (from < to && map.containsKey(new IndexSec(from, securityLevel))) {
+                    from++;
+                }
+                while (to > from && map.containsKey(new IndexSec(to - 1, securityLevel))) {
+                    to--;
+                }
+            }
+            
+            List<String> generated = new ParallelAddressGenerator(options.getApi().getCurl())
+                    .generate(options.getSeed().getSeed().getTrytesString(), securityLevel, from, to, false);
+            
+            List<Address> addresses = new ArrayList<>(Math.max(end - start, 0));
+            for (int index = start; index < end; index++) {
+                Hash hash;
+                if (index >= from && index < to) {
+                    hash = new Hash(generated.get(index - from));
+                    if (null != map) {
+                        map.put(new IndexSec(index, securityLevel), hash);
+                    }
+                } else {
+                    hash = map.get(new IndexSec(index, securityLevel));
+                }
+                addresses.add(new Address(hash, index, securityLevel));
+            }
+            return addresses;
+        } catch (ArgumentException e) {
+            throw new AddressGenerationError(e);
+        }
+    }
+    
     @Override
     public int getSecurityLevel() {
         return options.getSecurityLevel();
@@ -25,6 +25,7 @@ import org.slf4j.LoggerFactory;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -43,7 +44,8 @@ public class PromoterReattacherImpl extends AccountPlugin implements PromoterRea
 
     private AccountOptions options;
     
-    private UnboundScheduledExecutorService service;
+    private ScheduledExecutorService service;
+    private boolean sharedService;
     
     //TODO: Find a better structure for this, or a different object
     /**
@@ -57,10 +59,26 @@ public class PromoterReattacherImpl extends AccountPlugin implements PromoterRea
     private Map<String, List<Transaction>> bundleTails;
     
     public PromoterReattacherImpl(EventManager eventManager, IotaAPI api, AccountStateManager manager, AccountOptions options) {
+        this(eventManager, api, manager, options, null);
+    }
+    
+    /**
+     * 
+     * @param eventManager
+     * @param api
+     * @param manager
+     * @param options
+     * @param service The service we schedule our promotions on, shared with other accounts. 
+     *                <code>null</code> to create our own.
+     */
+    public PromoterReattacherImpl(EventManager eventManager, IotaAPI api, AccountStateManager manager, AccountOptions options, 
+            ScheduledExecutorService service) {
         this.eventManager = eventManager;
         this.api = api;
         this.manager = manager;
         this.options = options;
+        this.service = service;
+        this.sharedService = null != service;
     }
     
     @Override
@@ -68,7 +86,9 @@ public class PromoterReattacherImpl extends AccountPlugin implements PromoterRea
         unconfirmedBundles = new ConcurrentHashMap<>();
         bundleTails = new ConcurrentHashMap<>();
         
-        service = new UnboundScheduledExecutorService();
+        if (!sharedService) {
+            service = new UnboundScheduledExecutorService();
+        }
         
         for (Entry<String, PendingTransfer> entry : manager.getPendingTransfers().entrySet()) {
             // Recreate the bundle
@@ -91,7 +111,15 @@ public class PromoterReattacherImpl extends AccountPlugin implements PromoterRea
 
     @Override
     public void shutdown(){
-        service.shutdownNow();
+        if (sharedService) {
+            // Only stop our own promotions
+            for (ScheduledFuture<?> runnable : unconfirmedBundles.values()) {
+                runnable.cancel(true);
+            }
+            unconfirmedBundles.clear();
+        } else {
+            service.shutdownNow();
+        }
     }
     
     @AccountEvent
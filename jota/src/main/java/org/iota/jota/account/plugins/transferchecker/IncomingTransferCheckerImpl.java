@@ -1,8 +1,8 @@
 package org.iota.jota.account.plugins.transferchecker;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map.Entry;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.iota.jota.IotaAPI;
@@ -30,8 +30,11 @@ public class IncomingTransferCheckerImpl extends TransferCheckerImpl implements
     private IotaAPI api;
     private AccountStateManager accountManager;
     
-    private ConcurrentHashMap<String, ScheduledFuture<?>> unconfirmedBundles;
+    private IncomingTransferScanner scanner;
     private UnboundScheduledExecutorService service;
+    
+    // Runs our scanner together with those of other accounts, when set
+    private SharedIncomingTransferScanner sharedScanner;
 
     private AddressGeneratorService addressGen;
 
@@ -46,6 +49,23 @@ public class IncomingTransferCheckerImpl extends TransferCheckerImpl implements
     
     public IncomingTransferCheckerImpl(EventManager eventManager, IotaAPI api, AccountStateManager accountManager, 
             AddressGeneratorService addressGen, AccountBalanceCache cache, boolean skipFirst) {
+        this(eventManager, api, accountManager, addressGen, cache, skipFirst, null);
+    }
+    
+    /**
+     * 
+     * @param eventManager
+     * @param api
+     * @param accountManager
+     * @param addressGen
+     * @param cache
+     * @param skipFirst If we skip the events of the first check
+     * @param sharedScanner The scanner we check our addresses with, 
+     *                      or <code>null</code> to check them on our own
+     */
+    public IncomingTransferCheckerImpl(EventManager eventManager, IotaAPI api, AccountStateManager accountManager, 
+            AddressGeneratorService addressGen, AccountBalanceCache cache, boolean skipFirst, 
+            SharedIncomingTransferScanner sharedScanner) {
         
         this.addressGen = addressGen;
         this.eventManager = eventManager;
@@ -54,45 +74,44 @@ public class IncomingTransferCheckerImpl extends TransferCheckerImpl implements
         this.cache = cache;
         
         this.skipFirst = skipFirst;
+        this.sharedScanner = sharedScanner;
     }
 
     @Override
     public void load() {
-        unconfirmedBundles = new ConcurrentHashMap<>();
-        service = new UnboundScheduledExecutorService();
+        scanner = new IncomingTransferScanner(api, eventManager, accountManager, skipFirst);
+        if (null == sharedScanner) {
+            service = new UnboundScheduledExecutorService();
+        }
     }
     
     @Override
     public boolean start() {
+        List<Integer> indexes = new ArrayList<>();
         for (Entry<Integer, StoredDepositAddress> entry : accountManager.getDepositRequests().entrySet()) {
             if (entry.getValue().getSecurityLevel() != addressGen.getSecurityLevel()) {
                 // Different security level request, ignoring for now
                 continue;
             }
-            Address address = addressGen.get(entry.getKey());
-            addUnconfirmedBundle(address);
+            indexes.add(entry.getKey());
+        }
+        for (Address address : addressGen.getAll(indexes, addressGen.getSecurityLevel())) {
+            scanner.addLoadedAddress(address);
         }
         
-        //Only optionally skip first for those we loaded, not the new ones
-        skipFirst = false;
+        // A single scanner checks all addresses, until a run succeeds it optionally skips events for those we loaded
+        if (null != sharedScanner) {
+            sharedScanner.register(scanner);
+        } else {
+            service.scheduleAtFixedRate(scanner, 0, CHECK_INCOMING_DELAY, TimeUnit.MILLISECONDS);
+        }
         
         return true;
     }
     
-    /**
-     * Adds a new {@link IncomingTransferCheckerTask} for each address
-     * @param address
-     */
-    private void addUnconfirmedBundle(Address address) {
-        ScheduledFuture<?> task = service.scheduleAtFixedRate(
-                new IncomingTransferCheckerTask(address, api, eventManager, skipFirst, accountManager), 
-                0, CHECK_INCOMING_DELAY, TimeUnit.MILLISECONDS);
-        unconfirmedBundles.put(address.getAddress().getHash(), task);
-    }
-    
     @AccountEvent
     public void newInput(EventNewInput event) {
-        addUnconfirmedBundle(event.getAddress());
+        scanner.addAddress(event.getAddress());
     }
     
     @AccountEvent
@@ -116,18 +135,18 @@ public class IncomingTransferCheckerImpl extends TransferCheckerImpl implements
             if (t.getValue() < 0) {
                 //We spent this address, remove from searching for incoming
                 
-                ScheduledFuture<?> runnable = unconfirmedBundles.get(t.getAddress());
-                if (null != runnable) {
-                    runnable.cancel(true);
-                    unconfirmedBundles.remove(t.getAddress());
-                }
+                scanner.removeAddress(t.getAddress());
             }
         }
     }
 
     @Override
     public void shutdown() {
-        service.shutdownNow();
+        if (null != sharedScanner) {
+            sharedScanner.unregister(scanner);
+        } else {
+            service.shutdownNow();
+        }
     }
 
     @Override
@@ -0,0 +1,433 @@
+package org.iota.jota.account.plugins.transferchecker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.iota.jota.IotaAPI;
+import org.iota.jota.account.AccountStateManager;
+import org.iota.jota.account.event.Event;
+import org.iota.jota.account.event.EventManager;
+import org.iota.jota.account.event.events.EventReceivedDeposit;
+import org.iota.jota.account.event.events.EventReceivedMessage;
+import org.iota.jota.account.event.events.EventReceivingDeposit;
+import org.iota.jota.dto.response.GetBundleResponse;
+import org.iota.jota.error.ArgumentException;
+import org.iota.jota.model.Bundle;
+import org.iota.jota.model.Transaction;
+import org.iota.jota.types.Address;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Checks all deposit addresses for incoming transfers at once.
+ *
+ * Every run sends a single <tt>findTransactions</tt> for all addresses, which the api splits in chunks when needed.
+ * Only transactions which were not found in the previous run are requested and turned into bundles,
+ * so the cost of a run depends on the new activity instead of the amount of addresses.
+ * Deposits which are not confirmed yet are checked with a single <tt>getInclusionStates</tt> for all of them.
+ */
+public class IncomingTransferScanner implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(IncomingTransferScanner.class);
+
+    /**
+     * Runs we look for the tail of a bundle before we give up on it
+     */
+    static final int MAX_INCOMPLETE_RETRIES = 30;
+
+    private IotaAPI api;
+    private EventManager eventManager;
+    private AccountStateManager accountManager;
+
+    private volatile boolean skipFirst;
+
+    // Address hashes of the loaded addresses we do not emit events for until a run succeeded
+    private Set<String> silentAddresses = ConcurrentHashMap.newKeySet();
+
+    // Address hash without checksum, to the address
+    private Map<String, Address> addresses = new ConcurrentHashMap<>();
+
+    // Only used by the thread running the scan
+    private Set<String> seenTransactions = Collections.emptySet();
+
+    // Bundle hash
+    private Set<String> receivedBundles = new HashSet<>();
+    private Map<String, PendingDeposit> receivingBundles = new LinkedHashMap<>();
+
+    // We cache the invalid bundles, so we do not request them again
+    private Set<String> invalidBundles = new HashSet<>();
+
+    // Bundle hash, to the runs we did not find its tail
+    private Map<String, Integer> incompleteBundles = new HashMap<>();
+
+    public IncomingTransferScanner(IotaAPI api, EventManager eventManager, AccountStateManager accountManager,
+            boolean skipFirst) {
+
+        this.api = api;
+        this.eventManager = eventManager;
+        this.accountManager = accountManager;
+        this.skipFirst = skipFirst;
+    }
+
+    /**
+     * Starts checking an address for incoming transfers, from the next run on
+     *
+     * @param address The address
+     */
+    public void addAddress(Address address) {
+        addresses.put(address.getAddress().getHash(), address);
+    }
+
+    /**
+     * Starts checking an address we loaded, from the next run on.
+     * When we skip the first run, the activity found before a run succeeded does not emit events for this address.
+     *
+     * @param address The address
+     */
+    public void addLoadedAddress(Address address) {
+        if (skipFirst) {
+            silentAddresses.add(address.getAddress().getHash());
+        }
+        addAddress(address);
+    }
+
+    /**
+     * Stops checking an address
+     *
+     * @param address The address hash, without checksum
+     * @return <code>true</code> if we were checking the address
+     */
+    public boolean removeAddress(String address) {
+        return null != addresses.remove(address);
+    }
+
+    /**
+     *
+     * @return The amount of addresses we check
+     */
+    public int getAddressCount() {
+        return addresses.size();
+    }
+
+    /**
+     *
+     * @return The addresses we check
+     */
+    Collection<Address> getAddresses() {
+        return addresses.values();
+    }
+
+    @Override
+    public void run() {
+        try {
+            scan();
+        } catch (Exception e) {
+            // http call closed?, could be a problem so we log, could also be a timeout
+            if (!Thread.interrupted()) {
+                log.warn(e.getMessage(), e);
+            }
+        }
+    }
+
+    private void scan() throws ArgumentException {
+        if (!addresses.isEmpty()) {
+            String[] hashes = addresses.values().stream()
+                    .map(address -> address.getAddress().getHashCheckSum())
+                    .toArray(String[]::new);
+
+            Set<String> found = new HashSet<>(Arrays.asList(api.findTransactionsByAddresses(hashes).getHashes()));
+            List<String> newTransactions = new ArrayList<>();
+            for (String hash : found) {
+                if (!seenTransactions.contains(hash)) {
+                    newTransactions.add(hash);
+                }
+            }
+
+            if (!newTransactions.isEmpty()) {
+                // Transactions of bundles we could not get yet are new again next run
+                found.removeAll(processNewTransactions(
+                        api.findTransactionsObjectsByHashes(newTransactions.toArray(new String[0]))));
+            }
+            seenTransactions = found;
+        } else {
+            seenTransactions = Collections.emptySet();
+        }
+
+        checkReceiving();
+        endRun();
+    }
+
+    /**
+     * Marks the end of a successful run, events of later runs are emitted for the loaded addresses as well
+     */
+    void endRun() {
+        skipFirst = false;
+        silentAddresses.clear();
+    }
+
+    /**
+     * Turns new transactions into bundles, and emits the events for them
+     *
+     * Bundles of which we cannot find the tail yet are tried again, at most {@value #MAX_INCOMPLETE_RETRIES} runs.
+     * Bundles which have a tail but are invalid are remembered and skipped from then on.
+     *
+     * @param transactions The new transactions
+     * @return The hashes of the transactions we have to try again
+     * @throws ArgumentException When a hash is invalid
+     */
+    Set<String> processNewTransactions(List<Transaction> transactions) throws ArgumentException {
+        Map<String, List<String>> transactionsPerBundle = new HashMap<>();
+        Map<String, String> tails = new LinkedHashMap<>();
+        Set<String> bundlesWithTail = new HashSet<>();
+        Set<String> bundlesWithoutTail = new LinkedHashSet<>();
+
+        for (Transaction t : transactions) {
+            if (receivedBundles.contains(t.getBundle()) || invalidBundles.contains(t.getBundle())) {
+                continue;
+            }
+
+            transactionsPerBundle.computeIfAbsent(t.getBundle(), b -> new ArrayList<>()).add(t.getHash());
+            if (t.getCurrentIndex() == 0) {
+                bundlesWithTail.add(t.getBundle());
+                if (!isReceivingTail(t)) {
+                    tails.put(t.getHash(), t.getBundle());
+                }
+            } else {
+                bundlesWithoutTail.add(t.getBundle());
+            }
+        }
+        bundlesWithoutTail.removeAll(bundlesWithTail);
+
+        if (!bundlesWithoutTail.isEmpty()) {
+            for (Transaction t : api.findTransactionObjectsByBundle(bundlesWithoutTail.toArray(new String[0]))) {
+                if (t.getCurrentIndex() == 0) {
+                    bundlesWithTail.add(t.getBundle());
+                    if (!isReceivingTail(t)) {
+                        tails.put(t.getHash(), t.getBundle());
+                    }
+                }
+            }
+        }
+
+        Set<String> retry = new HashSet<>();
+        for (String bundleHash : bundlesWithoutTail) {
+            if (bundlesWithTail.contains(bundleHash)) {
+                incompleteBundles.remove(bundleHash);
+                continue;
+            }
+
+            // The tail might not have reached the node yet
+            int runs = incompleteBundles.merge(bundleHash, 1, Integer::sum);
+            if (runs > MAX_INCOMPLETE_RETRIES) {
+                log.debug("Gave up on finding the tail of bundle " + bundleHash);
+                incompleteBundles.remove(bundleHash);
+                invalidBundles.add(bundleHash);
+            } else {
+                retry.addAll(transactionsPerBundle.get(bundleHash));
+            }
+        }
+
+        for (Map.Entry<String, String> tail : tails.entrySet()) {
+            if (invalidBundles.contains(tail.getValue())) {
+                // Another tail of this bundle was invalid
+                continue;
+            }
+
+            Bundle bundle;
+            try {
+                GetBundleResponse bundleResponse = api.getBundle(tail.getKey());
+                bundle = new Bundle(bundleResponse.getTransactions(), bundleResponse.getTransactions().size());
+            } catch (ArgumentException e) {
+                // We have the tail, so the bundle itself is invalid
+                log.debug("Skipping invalid bundle " + tail.getValue() + ": " + e.getMessage());
+                invalidBundles.add(tail.getValue());
+                continue;
+            }
+
+            processBundle(bundle, tail.getKey());
+        }
+        return retry;
+    }
+
+    private boolean isReceivingTail(Transaction tail) {
+        PendingDeposit pending = receivingBundles.get(tail.getBundle());
+        return null != pending && pending.tails.contains(tail.getHash());
+    }
+
+    private void processBundle(Bundle bundle, String tail) {
+        String bundleHash = bundle.getBundleHash();
+        if (receivedBundles.contains(bundleHash)) {
+            return;
+        }
+
+        PendingDeposit pending = receivingBundles.get(bundleHash);
+        if (null != pending) {
+            // A reattachment of a deposit we are receiving, confirmation of either is fine
+            pending.tails.add(tail);
+            return;
+        }
+
+        //A transaction we send using inputs (Sweep for example)
+        boolean isSpendFromOwnAddr = false;
+        boolean isTransferToOwnRemainderAddr = false;
+        for (Transaction t : bundle.getTransactions()) {
+            if (t.getValue() != 0) {
+                boolean isOwn = accountManager.isOwnAddress(t.getAddress());
+                if (t.getValue() > 0) {
+                    isTransferToOwnRemainderAddr = isOwn;
+                } else {
+                    isSpendFromOwnAddr = isOwn;
+                }
+            }
+        }
+
+        if (isTransferToOwnRemainderAddr || isSpendFromOwnAddr) {
+            receivedBundles.add(bundleHash);
+            return;
+        }
+
+        // Value, only value messages are approved ('messages' are 0)
+        if (isValue(bundle)) {
+            pending = new PendingDeposit(bundle, receivers(bundle));
+            pending.tails.add(tail);
+            receivingBundles.put(bundleHash, pending);
+            for (Address receiver : pending.receivers) {
+                emit(new EventReceivingDeposit(bundle, receiver), Collections.singletonList(receiver));
+            }
+        } else {
+            //Message
+            receivedBundles.add(bundleHash);
+            emit(new EventReceivedMessage(bundle), receivers(bundle));
+        }
+    }
+
+    /**
+     * Checks the deposits we are receiving with a single inclusion states request
+     *
+     * @throws ArgumentException When a tail hash is invalid
+     */
+    private void checkReceiving() throws ArgumentException {
+        List<String> tails = getReceivingTails();
+        if (tails.isEmpty()) {
+            return;
+        }
+
+        boolean[] states = api.getLatestInclusion(tails.toArray(new String[0])).getStates();
+        Set<String> confirmed = new HashSet<>();
+        for (int i = 0; i < states.length; i++) {
+            if (states[i]) {
+                confirmed.add(tails.get(i));
+            }
+        }
+        receivedTails(confirmed);
+    }
+
+    /**
+     *
+     * @return The tails of the deposits we are receiving, including reattachments
+     */
+    List<String> getReceivingTails() {
+        List<String> tails = new ArrayList<>();
+        for (PendingDeposit pending : receivingBundles.values()) {
+            tails.addAll(pending.tails);
+        }
+        return tails;
+    }
+
+    /**
+     * Emits the received events for the deposits of which a tail is confirmed
+     *
+     * @param confirmed The confirmed tails, may contain tails which are not ours
+     */
+    void receivedTails(Set<String> confirmed) {
+        if (confirmed.isEmpty()) {
+            return;
+        }
+
+        List<PendingDeposit> received = new ArrayList<>();
+        for (PendingDeposit pending : receivingBundles.values()) {
+            if (!Collections.disjoint(pending.tails, confirmed)) {
+                received.add(pending);
+            }
+        }
+
+        for (PendingDeposit pending : received) {
+            String bundleHash = pending.bundle.getBundleHash();
+            receivingBundles.remove(bundleHash);
+            receivedBundles.add(bundleHash);
+
+            for (Transaction t : pending.bundle.getTransactions()) {
+                t.setPersistence(true);
+            }
+            for (Address receiver : pending.receivers) {
+                emit(new EventReceivedDeposit(pending.bundle, receiver), Collections.singletonList(receiver));
+            }
+        }
+    }
+
+    private List<Address> receivers(Bundle bundle) {
+        List<Address> receivers = new ArrayList<>();
+        for (Transaction t : bundle.getTransactions()) {
+            Address address = addresses.get(t.getAddress());
+            if (null != address && !receivers.contains(address)) {
+                receivers.add(address);
+            }
+        }
+        return receivers;
+    }
+
+    private boolean isValue(Bundle bundle) {
+        for (Transaction t : bundle.getTransactions()) {
+            if (t.getValue() != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Emits an event, unless all addresses it is for are loaded ones we are still silent for
+     *
+     * @param event The event
+     * @param receivers Our addresses the event is for
+     */
+    private void emit(Event event, List<Address> receivers) {
+        if (!receivers.isEmpty() && !silentAddresses.isEmpty()) {
+            boolean silent = true;
+            for (Address receiver : receivers) {
+                silent &= silentAddresses.contains(receiver.getAddress().getHash());
+            }
+            if (silent) {
+                return;
+            }
+        }
+        eventManager.emit(event);
+    }
+
+    /**
+     * A value bundle we received, which is not confirmed yet
+     */
+    private static class PendingDeposit {
+
+        private final Bundle bundle;
+        private final List<Address> receivers;
+
+        // The original tail, and the tails of reattachments
+        private final Set<String> tails = new LinkedHashSet<>();
+
+        PendingDeposit(Bundle bundle, List<Address> receivers) {
+            this.bundle = bundle;
+            this.receivers = receivers;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package org.iota.jota.account.plugins.transferchecker;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -28,7 +29,9 @@ public class OutgoingTransferCheckerImpl extends TransferCheckerImpl implements
 
     private Map<String, ScheduledFuture<?>> unconfirmedBundles;
     
-    private UnboundScheduledExecutorService service;
+    private ScheduledExecutorService service;
+    private boolean sharedService;
+    
     private EventManager eventManager;
 
     private IotaAPI api;
@@ -36,15 +39,32 @@ public class OutgoingTransferCheckerImpl extends TransferCheckerImpl implements
     private AccountStateManager accountManager;
 
     public OutgoingTransferCheckerImpl(EventManager eventManager, IotaAPI api, AccountStateManager accountManager) {
+        this(eventManager, api, accountManager, null);
+    }
+
+    /**
+     * 
+     * @param eventManager
+     * @param api
+     * @param accountManager
+     * @param service The service we schedule our checks on, shared with other accounts. 
+     *                <code>null</code> to create our own.
+     */
+    public OutgoingTransferCheckerImpl(EventManager eventManager, IotaAPI api, AccountStateManager accountManager, 
+            ScheduledExecutorService service) {
         this.eventManager = eventManager;
         this.api = api;
         this.accountManager = accountManager;
+        this.service = service;
+        this.sharedService = null != service;
     }
 
     @Override
     public void load() {
         unconfirmedBundles = new ConcurrentHashMap<>();
-        service = new UnboundScheduledExecutorService();
+        if (!sharedService) {
+            service = new UnboundScheduledExecutorService();
+        }
     }
 
     @Override
@@ -62,7 +82,15 @@ public class OutgoingTransferCheckerImpl extends TransferCheckerImpl implements
 
     @Override
     public void shutdown() {
-        service.shutdownNow();
+        if (sharedService) {
+            // Only stop our own checks
+            for (ScheduledFuture<?> runnable : unconfirmedBundles.values()) {
+                runnable.cancel(true);
+            }
+            unconfirmedBundles.clear();
+        } else {
+            service.shutdownNow();
+        }
     }
     
     @AccountEvent
@@ -0,0 +1,183 @@
+package org.iota.jota.account.plugins.transferchecker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.iota.jota.IotaAPI;
+import org.iota.jota.error.ArgumentException;
+import org.iota.jota.model.Transaction;
+import org.iota.jota.types.Address;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Checks the deposit addresses of many accounts for incoming transfers at once.
+ *
+ * Every run sends a single <tt>findTransactions</tt> for the addresses of all registered scanners,
+ * and a single <tt>getInclusionStates</tt> for all deposits they are receiving.
+ * New transactions are handed to the scanners of the accounts owning their address,
+ * which turn them into bundles and emits the events, just like when it runs on its own.
+ */
+public class SharedIncomingTransferScanner implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(SharedIncomingTransferScanner.class);
+
+    private IotaAPI api;
+
+    private Set<IncomingTransferScanner> scanners = ConcurrentHashMap.newKeySet();
+
+    // Only used by the thread running the scan
+    private Set<String> seenTransactions = Collections.emptySet();
+
+    public SharedIncomingTransferScanner(IotaAPI api) {
+        this.api = api;
+    }
+
+    /**
+     * Checks the addresses of this scanner from the next run on.
+     * A registered scanner should not be run on its own.
+     *
+     * @param scanner The scanner of an account
+     */
+    public void register(IncomingTransferScanner scanner) {
+        scanners.add(scanner);
+    }
+
+    /**
+     * Stops checking the addresses of this scanner
+     *
+     * @param scanner The scanner of an account
+     * @return <code>true</code> if the scanner was registered
+     */
+    public boolean unregister(IncomingTransferScanner scanner) {
+        return scanners.remove(scanner);
+    }
+
+    /**
+     *
+     * @return The amount of scanners we run
+     */
+    public int getScannerCount() {
+        return scanners.size();
+    }
+
+    @Override
+    public void run() {
+        try {
+            scan();
+        } catch (Exception e) {
+            // http call closed?, could be a problem so we log, could also be a timeout
+            if (!Thread.interrupted()) {
+                log.warn(e.getMessage(), e);
+            }
+        }
+    }
+
+    private void scan() throws ArgumentException {
+        List<IncomingTransferScanner> current = new ArrayList<>(scanners);
+
+        // Address hash without checksum, to the scanners checking it. Accounts can watch the same address
+        Map<String, List<IncomingTransferScanner>> owners = new HashMap<>();
+        List<String> hashes = new ArrayList<>();
+        for (IncomingTransferScanner scanner : current) {
+            for (Address address : scanner.getAddresses()) {
+                List<IncomingTransferScanner> scannersOfAddress = owners.get(address.getAddress().getHash());
+                if (null == scannersOfAddress) {
+                    scannersOfAddress = new ArrayList<>(1);
+                    owners.put(address.getAddress().getHash(), scannersOfAddress);
+                    hashes.add(address.getAddress().getHashCheckSum());
+                }
+                scannersOfAddress.add(scanner);
+            }
+        }
+
+        if (!hashes.isEmpty()) {
+            Set<String> found = new HashSet<>(Arrays.asList(
+                    api.findTransactionsByAddresses(hashes.toArray(new String[0])).getHashes()));
+            List<String> newTransactions = new ArrayList<>();
+            for (String hash : found) {
+                if (!seenTransactions.contains(hash)) {
+                    newTransactions.add(hash);
+                }
+            }
+
+            if (!newTransactions.isEmpty()) {
+                found.removeAll(processNewTransactions(newTransactions, owners));
+            }
+            seenTransactions = found;
+        } else {
+            seenTransactions = Collections.emptySet();
+        }
+
+        checkReceiving(current);
+    }
+
+    /**
+     * Hands the new transactions to the scanners owning their address
+     *
+     * @param hashes The hashes of the new transactions
+     * @param owners The scanners for every address
+     * @return The hashes of the transactions we have to try again
+     * @throws ArgumentException When a hash is invalid
+     */
+    private Set<String> processNewTransactions(List<String> hashes, Map<String, List<IncomingTransferScanner>> owners)
+            throws ArgumentException {
+
+        Map<IncomingTransferScanner, List<Transaction>> transactions = new LinkedHashMap<>();
+        for (Transaction t : api.findTransactionsObjectsByHashes(hashes.toArray(new String[0]))) {
+            for (IncomingTransferScanner owner : owners.getOrDefault(t.getAddress(), Collections.emptyList())) {
+                transactions.computeIfAbsent(owner, o -> new ArrayList<>()).add(t);
+            }
+        }
+
+        Set<String> retry = new HashSet<>();
+        for (Map.Entry<IncomingTransferScanner, List<Transaction>> entry : transactions.entrySet()) {
+            try {
+                retry.addAll(entry.getKey().processNewTransactions(entry.getValue()));
+            } catch (Exception e) {
+                // One account failing should not hold back the others, this one tries again next run
+                log.warn(e.getMessage(), e);
+                for (Transaction t : entry.getValue()) {
+                    retry.add(t.getHash());
+                }
+            }
+        }
+        return retry;
+    }
+
+    /**
+     * Checks the deposits all scanners are receiving with a single inclusion states request
+     *
+     * @param current The scanners of this run
+     * @throws ArgumentException When a tail hash is invalid
+     */
+    private void checkReceiving(List<IncomingTransferScanner> current) throws ArgumentException {
+        List<String> tails = new ArrayList<>();
+        for (IncomingTransferScanner scanner : current) {
+            tails.addAll(scanner.getReceivingTails());
+        }
+
+        Set<String> confirmed = new HashSet<>();
+        if (!tails.isEmpty()) {
+            boolean[] states = api.getLatestInclusion(tails.toArray(new String[0])).getStates();
+            for (int i = 0; i < states.length; i++) {
+                if (states[i]) {
+                    confirmed.add(tails.get(i));
+                }
+            }
+        }
+
+        for (IncomingTransferScanner scanner : current) {
+            scanner.receivedTails(confirmed);
+            scanner.endRun();
+        }
+    }
+}
@@ -3,27 +3,58 @@ package org.iota.jota.account.store;
 import java.io.File;
 import java.util.Date;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.iota.jota.account.AccountState;
 import org.iota.jota.account.ExportedAccountState;
 import org.iota.jota.account.PendingTransfer;
 import org.iota.jota.account.deposits.StoredDepositAddress;
+import org.iota.jota.store.FlatFileStore;
 import org.iota.jota.store.IotaFileStore;
 import org.iota.jota.store.JsonFlatFileStore;
 import org.iota.jota.store.Store;
 import org.iota.jota.types.Hash;
 import org.iota.jota.types.Trytes;
+import org.iota.jota.utils.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * 
  * Terribly inefficient storage method which reads/writes all to disk every time you modify.
  * Can be optimized by caching yml after modify, or only loading in the current account instead of all file data.
+ * 
+ * Use {@link #writeBehind(long, int)} to combine modifications into a single write.
  *
  */
 public class AccountFileStore extends AccountStoreImpl {
 
+    private static final Logger log = LoggerFactory.getLogger(AccountFileStore.class);
+    
+    private static final ScheduledExecutorService SCHEDULER;
+    
+    static {
+        NamedThreadFactory names = new NamedThreadFactory("Jota-Store");
+        SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = names.newThread(r);
+            // Shutdown hook and shutdown() take care of the final write
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
     private Store store;
     
+    // Only used when writing behind, guarded by this
+    private long flushDelayMs;
+    private int maxChanges;
+    private int changes;
+    private ScheduledFuture<?> flushTask;
+    private Thread shutdownHook;
+    
     public AccountFileStore() {
         this.store = new IotaFileStore();
     }
@@ -31,6 +62,17 @@ public class AccountFileStore extends AccountStoreImpl {
     public AccountFileStore(File file) {
         this.store = new JsonFlatFileStore(file);
     }
+    
+    /**
+     * 
+     * @param file The file we store the accounts in
+     * @param sync <code>true</code> to wait until every write is on the disk, see {@link FlatFileStore#setSync(boolean)}
+     */
+    public AccountFileStore(File file, boolean sync) {
+        JsonFlatFileStore fileStore = new JsonFlatFileStore(file);
+        fileStore.setSync(sync);
+        this.store = fileStore;
+    }
 
     /**
      * Takes any store, but make sure the store allows saving of POJOs, and not just key/value Strings
@@ -54,8 +96,68 @@ public class AccountFileStore extends AccountStoreImpl {
         return true;
     }
 
+    /**
+     * Writes modifications to disk in the background, instead of on every modification.
+     * Modifications are written at most <tt>flushDelayMs</tt> after they are made,
+     * or right away once <tt>maxChanges</tt> modifications are waiting.
+     * Waiting modifications are written on {@link #shutdown()} and when the JVM exits.
+     * 
+     * @param flushDelayMs The maximum time in milliseconds a modification waits, <code>0</code> to write on every modification
+     * @param maxChanges The amount of waiting modifications which are written right away
+     * @return This store
+     */
+    public synchronized AccountFileStore writeBehind(long flushDelayMs, int maxChanges) {
+        flush();
+        this.flushDelayMs = flushDelayMs;
+        this.maxChanges = Math.max(1, maxChanges);
+        
+        if (flushDelayMs > 0 && null == shutdownHook) {
+            shutdownHook = new Thread(this::flush, "Jota-Store-Shutdown");
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+        } else if (flushDelayMs <= 0) {
+            removeShutdownHook();
+        }
+        return this;
+    }
+    
+    /**
+     * Writes the waiting modifications to disk
+     */
+    public synchronized void flush() {
+        if (null != flushTask) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+        
+        if (changes > 0) {
+            changes = 0;
+            write();
+        }
+    }
+    
+    private void removeShutdownHook() {
+        if (null == shutdownHook) {
+            return;
+        }
+        
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // Already shutting down, the hook writes
+        }
+        shutdownHook = null;
+    }
+
     @Override
-    public void shutdown() {
+    public synchronized void shutdown() {
+        // Writes everything, including the waiting modifications
+        if (null != flushTask) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+        changes = 0;
+        removeShutdownHook();
+        
         try {
             store.save(true);
         } catch (Exception e) {
@@ -65,7 +167,7 @@ public class AccountFileStore extends AccountStoreImpl {
     }
     
     @Override
-    public AccountState loadAccount(String id) {
+    public synchronized AccountState loadAccount(String id) {
         AccountState state = store.get(id, null);
 
         if (state == null) {
@@ -75,13 +177,13 @@ public class AccountFileStore extends AccountStoreImpl {
     }
 
     @Override
-    public void saveAccount(String id, AccountState state) {
+    public synchronized void saveAccount(String id, AccountState state) {
         store.set(id, state);
         save();
     }
 
     @Override
-    public void removeAccount(String id) {
+    public synchronized void removeAccount(String id) {
         store.delete(id);
         save();
     }
@@ -92,19 +194,19 @@ public class AccountFileStore extends AccountStoreImpl {
     }
 
     @Override
-    public void writeIndex(String id, int index) {
+    public synchronized void writeIndex(String id, int index) {
         loadAccount(id).setKeyIndex(index);
         save();
     }
 
     @Override
-    public void addDepositAddress(String id, int index, StoredDepositAddress request) {
+    public synchronized void addDepositAddress(String id, int index, StoredDepositAddress request) {
         loadAccount(id).addDepositRequest(index, request);
         save();
     }
 
     @Override
-    public void removeDepositAddress(String id, int index) {
+    public synchronized void removeDepositAddress(String id, int index) {
         loadAccount(id).removeDepositRequest(index);
         save();
     }
@@ -115,7 +217,7 @@ public class AccountFileStore extends AccountStoreImpl {
     }
 
     @Override
-    public void addPendingTransfer(String id, Hash tailTx, Trytes[] bundleTrytes, int... indices) {
+    public synchronized void addPendingTransfer(String id, Hash tailTx, Trytes[] bundleTrytes, int... indices) {
         PendingTransfer pendingTransfer = new PendingTransfer(trytesToTrits(bundleTrytes));
         pendingTransfer.addTail(tailTx);
         
@@ -124,13 +226,13 @@ public class AccountFileStore extends AccountStoreImpl {
     }
 
     @Override
-    public void removePendingTransfer(String id, Hash tailHash) {
+    public synchronized void removePendingTransfer(String id, Hash tailHash) {
         loadAccount(id).removePendingTransfer(tailHash.getHash());
         save();
     }
 
     @Override
-    public void addTailHash(String id, Hash tailHash, Hash newTailTxHash) {
+    public synchronized void addTailHash(String id, Hash tailHash, Hash newTailTxHash) {
         loadAccount(id).getPendingTransfer(tailHash.getHash()).addTail(newTailTxHash);
         save();
     }
@@ -151,12 +253,25 @@ public class AccountFileStore extends AccountStoreImpl {
         return new ExportedAccountState(new Date(), id, state);
     }
     
-    private void save() {
+    private synchronized void save() {
+        if (flushDelayMs <= 0) {
+            write();
+            return;
+        }
+        
+        changes++;
+        if (changes >= maxChanges) {
+            flush();
+        } else if (null == flushTask) {
+            flushTask = SCHEDULER.schedule(this::flush, flushDelayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    private synchronized void write() {
         try {
             store.save(false);
         } catch (Exception e) {
-            // TODO log account error
-            e.printStackTrace();
+            log.error("Failed to save the account store " + store, e);
         }
     }
     
@@ -0,0 +1,705 @@
+package org.iota.jota.account.store;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+import org.iota.jota.account.AccountState;
+import org.iota.jota.account.ExportedAccountState;
+import org.iota.jota.account.PendingTransfer;
+import org.iota.jota.account.deposits.DepositRequest;
+import org.iota.jota.account.deposits.StoredDepositAddress;
+import org.iota.jota.account.errors.AccountError;
+import org.iota.jota.types.Hash;
+import org.iota.jota.types.Trits;
+import org.iota.jota.types.Trytes;
+import org.iota.jota.utils.Converter;
+import org.iota.jota.utils.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores accounts as a journal of modifications, instead of rewriting the full state on every modification.
+ *
+ * Every modification is appended as a small record to a memory mapped journal segment.
+ * Once enough segments are full, the state is compacted in the background into a snapshot,
+ * after which the segments it contains are deleted.
+ * Loading reads the snapshot and replays the segments written after it.
+ *
+ * Every record has a checksum. A record which was not written completely, because of a crash,
+ * ends the journal: it and everything after it is discarded, so recovery always results in the same state.
+ *
+ * Files in the directory:
+ * <ul>
+ * <li><tt>snapshot</tt>: all accounts, and the first segment which is not part of it</li>
+ * <li><tt>journal-N.log</tt>: the segments, replayed in order of N</li>
+ * </ul>
+ */
+public class AccountJournalStore extends AccountStoreImpl {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountJournalStore.class);
+
+    /**
+     * Size of a journal segment in bytes
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 4 * 1024 * 1024;
+
+    /**
+     * Full segments which trigger a compaction
+     */
+    public static final int DEFAULT_COMPACT_SEGMENTS = 4;
+
+    private static final int SNAPSHOT_MAGIC = 0x4A4F5441;
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private static final String SNAPSHOT = "snapshot";
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    // Length and checksum in front of every record
+    private static final int RECORD_HEADER = 8;
+
+    private static final byte RESET_ACCOUNT = 1;
+    private static final byte REMOVE_ACCOUNT = 2;
+    private static final byte WRITE_INDEX = 3;
+    private static final byte ADD_DEPOSIT = 4;
+    private static final byte REMOVE_DEPOSIT = 5;
+    private static final byte ADD_PENDING = 6;
+    private static final byte REMOVE_PENDING = 7;
+    private static final byte ADD_TAIL = 8;
+
+    private static final ExecutorService COMPACTOR;
+
+    static {
+        NamedThreadFactory names = new NamedThreadFactory("Jota-Journal");
+        COMPACTOR = Executors.newSingleThreadExecutor(r -> {
+            Thread t = names.newThread(r);
+            // A compaction which did not finish is simply done again on the next load
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private final File directory;
+    private final int segmentSize;
+    private final int compactSegments;
+    private boolean sync;
+
+    // Everything below is guarded by this
+    private final Map<String, AccountState> accounts = new HashMap<>();
+
+    private long firstSegment;
+    private long segment;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    private boolean compacting;
+
+    /**
+     * Creates a store with the default segment size and compaction
+     *
+     * @param directory The directory we keep the journal in, created when it does not exist
+     */
+    public AccountJournalStore(File directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_COMPACT_SEGMENTS);
+    }
+
+    /**
+     *
+     * @param directory The directory we keep the journal in, created when it does not exist
+     * @param segmentSize The size of a journal segment in bytes
+     * @param compactSegments The amount of full segments which triggers a compaction
+     */
+    public AccountJournalStore(File directory, int segmentSize, int compactSegments) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.compactSegments = Math.max(1, compactSegments);
+    }
+
+    /**
+     * Makes every modification wait until it is on the disk, instead of in the buffers of the OS.
+     * Without this, a crash of the machine can lose the latest modifications. A crash of the application cannot.
+     *
+     * @param sync <code>true</code> to sync every modification to disk, <code>false</code> by default
+     * @return This store
+     */
+    public synchronized AccountJournalStore sync(boolean sync) {
+        this.sync = sync;
+        return this;
+    }
+
+    @Override
+    public synchronized void load() throws Exception {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create journal directory " + directory);
+        }
+
+        accounts.clear();
+        firstSegment = readSnapshot();
+
+        TreeMap<Long, File> segments = segments();
+        long last = firstSegment;
+        int position = 0;
+        boolean corrupt = false;
+        for (Map.Entry<Long, File> entry : segments.entrySet()) {
+            if (entry.getKey() < firstSegment) {
+                // Left behind by a compaction which stopped before deleting them
+                delete(entry.getValue());
+            } else if (corrupt) {
+                log.warn("Discarding journal segment " + entry.getValue() + " after an incomplete record");
+                delete(entry.getValue());
+            } else {
+                last = entry.getKey();
+                ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(entry.getValue().toPath()));
+                position = replay(data);
+                corrupt = position < data.limit() && !isEnd(data, position);
+            }
+        }
+
+        openSegment(last, position, 0);
+    }
+
+    private static boolean isEnd(ByteBuffer data, int position) {
+        return data.limit() - position < RECORD_HEADER || data.getInt(position) == 0;
+    }
+
+    @Override
+    public boolean start() {
+        return true;
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        // A compaction deletes segments, which must not happen once the directory can be loaded again
+        while (compacting) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        closeSegment();
+    }
+
+    @Override
+    public synchronized AccountState loadAccount(String id) {
+        AccountState state = accounts.get(id);
+        if (null == state) {
+            state = new AccountState();
+            accounts.put(id, state);
+            append(RESET_ACCOUNT, id, out -> { });
+        }
+        return state;
+    }
+
+    @Override
+    public synchronized void saveAccount(String id, AccountState state) {
+        accounts.put(id, state);
+        for (byte[] record : records(id, state)) {
+            append(record);
+        }
+    }
+
+    @Override
+    public synchronized void removeAccount(String id) {
+        accounts.remove(id);
+        append(REMOVE_ACCOUNT, id, out -> { });
+    }
+
+    @Override
+    public synchronized int readIndex(String id) {
+        return loadAccount(id).getKeyIndex();
+    }
+
+    @Override
+    public synchronized void writeIndex(String id, int index) {
+        loadAccount(id).setKeyIndex(index);
+        append(WRITE_INDEX, id, out -> out.writeInt(index));
+    }
+
+    @Override
+    public synchronized void addDepositAddress(String id, int index, StoredDepositAddress request) {
+        loadAccount(id).addDepositRequest(index, request);
+        append(ADD_DEPOSIT, id, out -> writeDeposit(out, index, request));
+    }
+
+    @Override
+    public synchronized void removeDepositAddress(String id, int index) {
+        loadAccount(id).removeDepositRequest(index);
+        append(REMOVE_DEPOSIT, id, out -> out.writeInt(index));
+    }
+
+    @Override
+    public synchronized Map<Integer, StoredDepositAddress> getDepositAddresses(String id) {
+        return loadAccount(id).getDepositRequests();
+    }
+
+    @Override
+    public synchronized void addPendingTransfer(String id, Hash tailTx, Trytes[] bundleTrytes, int... indices) {
+        PendingTransfer pendingTransfer = new PendingTransfer(trytesToTrits(bundleTrytes));
+        pendingTransfer.addTail(tailTx);
+
+        loadAccount(id).addPendingTransfers(tailTx.getHash(), pendingTransfer);
+        append(ADD_PENDING, id, out -> writePending(out, tailTx.getHash(), pendingTransfer));
+    }
+
+    @Override
+    public synchronized void removePendingTransfer(String id, Hash tailHash) {
+        loadAccount(id).removePendingTransfer(tailHash.getHash());
+        append(REMOVE_PENDING, id, out -> out.writeUTF(tailHash.getHash()));
+    }
+
+    @Override
+    public synchronized void addTailHash(String id, Hash tailHash, Hash newTailTxHash) {
+        loadAccount(id).getPendingTransfer(tailHash.getHash()).addTail(newTailTxHash);
+        append(ADD_TAIL, id, out -> {
+            out.writeUTF(tailHash.getHash());
+            out.writeUTF(newTailTxHash.getHash());
+        });
+    }
+
+    @Override
+    public synchronized Map<String, PendingTransfer> getPendingTransfers(String id) {
+        return loadAccount(id).getPendingTransfers();
+    }
+
+    @Override
+    public void importAccount(ExportedAccountState state) {
+        saveAccount(state.getId(), state.getState());
+    }
+
+    @Override
+    public ExportedAccountState exportAccount(String id) {
+        AccountState state = loadAccount(id);
+        return new ExportedAccountState(new Date(), id, state);
+    }
+
+    /**
+     *
+     * @return The number of the segment we append to
+     */
+    public synchronized long getSegment() {
+        return segment;
+    }
+
+    /**
+     *
+     * @return The number of the first segment which is not part of the snapshot
+     */
+    public synchronized long getFirstSegment() {
+        return firstSegment;
+    }
+
+    //
+    // Journal
+    //
+
+    private interface RecordBody {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private void append(byte type, String id, RecordBody body) {
+        append(record(type, id, body));
+    }
+
+    private static byte[] record(byte type, String id, RecordBody body) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(type);
+            out.writeUTF(id);
+            body.write(out);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            // Only writes to memory
+            throw new AccountError(e);
+        }
+    }
+
+    private void append(byte[] payload) {
+        if (null == buffer) {
+            throw new AccountError("Account journal store is not loaded");
+        }
+
+        try {
+            // Room for the record, and the end of the segment after it
+            int needed = RECORD_HEADER + payload.length + RECORD_HEADER;
+            if (buffer.remaining() < needed) {
+                openSegment(segment + 1, 0, needed);
+                if (segment - firstSegment >= compactSegments && !compacting) {
+                    compacting = true;
+                    COMPACTOR.execute(this::compact);
+                }
+            }
+        } catch (IOException e) {
+            throw new AccountError(e);
+        }
+
+        int start = buffer.position();
+        buffer.position(start + RECORD_HEADER);
+        buffer.put(payload);
+        // End the journal after this record, before the record itself can be read
+        buffer.putInt(buffer.position(), 0);
+        // Length last, a record without it is never read
+        buffer.putInt(start + 4, checksum(payload, 0, payload.length));
+        buffer.putInt(start, payload.length);
+
+        if (sync) {
+            buffer.force();
+        }
+    }
+
+    private static int checksum(byte[] data, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(data, offset, length);
+        return (int) crc.getValue();
+    }
+
+    private void openSegment(long number, int position, int needed) throws IOException {
+        closeSegment();
+
+        // A record which does not fit in a segment gets a larger one
+        File file = segmentFile(number);
+        int size = Math.max(segmentSize, position + Math.max(needed, RECORD_HEADER));
+        channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long existing = channel.size();
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, existing));
+        segment = number;
+
+        // Clear everything after the journal ended. Older complete records behind an incomplete one
+        // would otherwise be replayed once our new records reach them.
+        if (existing > position) {
+            clear(buffer, position, (int) Math.min(existing, buffer.capacity()));
+        }
+        buffer.position(position);
+    }
+
+    private static void clear(ByteBuffer buffer, int from, int to) {
+        byte[] zeros = new byte[Math.min(8192, to - from)];
+        buffer.position(from);
+        while (buffer.position() < to) {
+            buffer.put(zeros, 0, Math.min(zeros.length, to - buffer.position()));
+        }
+    }
+
+    private void closeSegment() {
+        if (null == channel) {
+            return;
+        }
+
+        buffer.force();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close journal segment " + segment + ": " + e.getMessage());
+        }
+        channel = null;
+        buffer = null;
+    }
+
+    /**
+     * Applies the complete records in the data to our accounts
+     *
+     * @param data The records
+     * @return The position after the last complete record
+     */
+    private int replay(ByteBuffer data) throws IOException {
+        int position = data.position();
+        while (data.limit() - position >= RECORD_HEADER) {
+            int length = data.getInt(position);
+            if (length <= 0 || length > data.limit() - position - RECORD_HEADER) {
+                break;
+            }
+
+            byte[] payload = new byte[length];
+            data.position(position + RECORD_HEADER);
+            data.get(payload);
+            if (checksum(payload, 0, length) != data.getInt(position + 4)) {
+                break;
+            }
+
+            apply(new DataInputStream(new ByteArrayInputStream(payload)));
+            position += RECORD_HEADER + length;
+        }
+        return position;
+    }
+
+    private void apply(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        String id = in.readUTF();
+        if (type == REMOVE_ACCOUNT) {
+            accounts.remove(id);
+            return;
+        }
+        if (type == RESET_ACCOUNT) {
+            accounts.put(id, new AccountState());
+            return;
+        }
+
+        AccountState state = accounts.computeIfAbsent(id, k -> new AccountState());
+        switch (type) {
+            case WRITE_INDEX:
+                state.setKeyIndex(in.readInt());
+                break;
+            case ADD_DEPOSIT:
+                int index = in.readInt();
+                state.addDepositRequest(index, readDeposit(in));
+                break;
+            case REMOVE_DEPOSIT:
+                state.removeDepositRequest(in.readInt());
+                break;
+            case ADD_PENDING:
+                String hash = in.readUTF();
+                state.addPendingTransfers(hash, readPending(in));
+                break;
+            case REMOVE_PENDING:
+                state.removePendingTransfer(in.readUTF());
+                break;
+            case ADD_TAIL:
+                PendingTransfer pending = state.getPendingTransfer(in.readUTF());
+                Hash tail = new Hash(in.readUTF());
+                if (null != pending) {
+                    pending.addTail(tail);
+                }
+                break;
+            default:
+                throw new IOException("Unknown journal record type " + type);
+        }
+    }
+
+    private static void writeDeposit(DataOutputStream out, int index, StoredDepositAddress deposit) throws IOException {
+        DepositRequest request = deposit.getRequest();
+        out.writeInt(index);
+        out.writeInt(deposit.getSecurityLevel());
+        out.writeLong(request.hasTimeOut() ? request.getTimeOut().getTime() : Long.MIN_VALUE);
+        out.writeBoolean(request.isMultiUse());
+        out.writeLong(request.getExpectedAmount());
+    }
+
+    private static StoredDepositAddress readDeposit(DataInputStream in) throws IOException {
+        int securityLevel = in.readInt();
+        long timeOut = in.readLong();
+        boolean multiUse = in.readBoolean();
+        long expectedAmount = in.readLong();
+        DepositRequest request = new DepositRequest(timeOut == Long.MIN_VALUE ? null : new Date(timeOut),
+                multiUse, expectedAmount);
+        return new StoredDepositAddress(request, securityLevel);
+    }
+
+    private static void writePending(DataOutputStream out, String hash, PendingTransfer pending) throws IOException {
+        out.writeUTF(hash);
+
+        List<Trits> bundle = pending.getBundleTrits();
+        out.writeInt(bundle.size());
+        for (Trits trits : bundle) {
+            out.writeUTF(Converter.trytes(trits.getTrits()));
+        }
+
+        List<Hash> tails = null == pending.getTailHashes() ? new ArrayList<>() : pending.getTailHashes();
+        out.writeInt(tails.size());
+        for (Hash tail : tails) {
+            out.writeUTF(tail.getHash());
+        }
+    }
+
+    private static PendingTransfer readPending(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        List<Trits> bundle = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            bundle.add(new Trits(Converter.trits(in.readUTF())));
+        }
+
+        PendingTransfer pending = new PendingTransfer(bundle);
+        int tails = in.readInt();
+        for (int i = 0; i < tails; i++) {
+            pending.addTail(new Hash(in.readUTF()));
+        }
+        return pending;
+    }
+
+    /**
+     *
+     * @param id The account
+     * @param state The state of the account
+     * @return The records which create the state from nothing
+     */
+    private static List<byte[]> records(String id, AccountState state) {
+        List<byte[]> records = new ArrayList<>();
+        records.add(record(RESET_ACCOUNT, id, out -> { }));
+        records.add(record(WRITE_INDEX, id, out -> out.writeInt(state.getKeyIndex())));
+        for (Map.Entry<Integer, StoredDepositAddress> deposit : state.getDepositRequests().entrySet()) {
+            records.add(record(ADD_DEPOSIT, id, out -> writeDeposit(out, deposit.getKey(), deposit.getValue())));
+        }
+        for (Map.Entry<String, PendingTransfer> pending : state.getPendingTransfers().entrySet()) {
+            records.add(record(ADD_PENDING, id, out -> writePending(out, pending.getKey(), pending.getValue())));
+        }
+        return records;
+    }
+
+    //
+    // Snapshot
+    //
+
+    /**
+     * Writes all accounts into a new snapshot, and deletes the segments it contains.
+     * Records are made while holding the lock, the disk is written without it.
+     */
+    private void compact() {
+        long next;
+        List<byte[]> records = new ArrayList<>();
+        synchronized (this) {
+            if (null == buffer) {
+                // Shut down in the meantime
+                compactDone();
+                return;
+            }
+
+            // The snapshot contains everything before the new segment
+            try {
+                openSegment(segment + 1, 0, 0);
+            } catch (IOException e) {
+                log.error("Failed to compact the account journal in " + directory, e);
+                compactDone();
+                return;
+            }
+            next = segment;
+            for (Map.Entry<String, AccountState> account : accounts.entrySet()) {
+                records.addAll(records(account.getKey(), account.getValue()));
+            }
+        }
+
+        try {
+            writeSnapshot(next, records);
+
+            synchronized (this) {
+                for (Map.Entry<Long, File> entry : segments().headMap(next).entrySet()) {
+                    delete(entry.getValue());
+                }
+                firstSegment = next;
+            }
+        } catch (IOException e) {
+            log.error("Failed to compact the account journal in " + directory, e);
+        } finally {
+            synchronized (this) {
+                compactDone();
+            }
+        }
+    }
+
+    private void compactDone() {
+        compacting = false;
+        notifyAll();
+    }
+
+    private void writeSnapshot(long next, List<byte[]> records) throws IOException {
+        File temp = new File(directory, SNAPSHOT + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temp)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file));
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(next);
+            for (byte[] record : records) {
+                out.writeInt(record.length);
+                out.writeInt(checksum(record, 0, record.length));
+                out.write(record);
+            }
+            out.flush();
+            file.getFD().sync();
+        }
+
+        File snapshot = new File(directory, SNAPSHOT);
+        try {
+            Files.move(temp.toPath(), snapshot.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), snapshot.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Loads the snapshot into our accounts
+     *
+     * @return The first segment which is not part of the snapshot
+     * @throws IOException When the snapshot is corrupt
+     */
+    private long readSnapshot() throws IOException {
+        File snapshot = new File(directory, SNAPSHOT);
+        if (!snapshot.exists()) {
+            return 0;
+        }
+
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(snapshot.toPath()));
+        if (data.limit() < 16 || data.getInt() != SNAPSHOT_MAGIC || data.getInt() != SNAPSHOT_VERSION) {
+            throw new IOException("Account journal snapshot " + snapshot + " is not valid");
+        }
+
+        long next = data.getLong();
+        if (replay(data) != data.limit()) {
+            // Snapshots are renamed once complete, so this is not a crash
+            throw new IOException("Account journal snapshot " + snapshot + " is corrupt");
+        }
+        return next;
+    }
+
+    private TreeMap<Long, File> segments() {
+        TreeMap<Long, File> segments = new TreeMap<>();
+        File[] files = directory.listFiles();
+        if (null == files) {
+            return segments;
+        }
+
+        for (File file : files) {
+            String name = file.getName();
+            if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                try {
+                    segments.put(Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                            name.length() - SEGMENT_SUFFIX.length())), file);
+                } catch (NumberFormatException e) {
+                    // Not one of ours
+                }
+            }
+        }
+        return segments;
+    }
+
+    private File segmentFile(long number) {
+        return new File(directory, SEGMENT_PREFIX + number + SEGMENT_SUFFIX);
+    }
+
+    private static void delete(File file) {
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            // Mapped files cannot be deleted on some systems until they are unmapped, we try again on the next load
+            log.debug("Failed to delete " + file + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AccountJournalStore [directory=" + directory + "]";
+    }
+}
@@ -5,6 +5,7 @@ import java.util.List;
 
 import org.iota.jota.IotaAPI;
 import org.iota.jota.IotaAccount;
+import org.iota.jota.account.AccountHost;
 import org.iota.jota.account.AccountOptions;
 import org.iota.jota.account.AccountStore;
 import org.iota.jota.account.clock.Clock;
@@ -50,6 +51,8 @@ public class AccountBuilder extends AbstractBuilder<AccountBuilder, IotaAccount,
 
     private List<Plugin> plugins;
     
+    private AccountHost host;
+    
     /**
      * Start of the builder. Every Account needs to be started with at least a seed.
      * 
@@ -105,7 +108,9 @@ public class AccountBuilder extends AbstractBuilder<AccountBuilder, IotaAccount,
     }
     
     public AccountBuilder store(AccountStore store) {
-        if (null != store) {
+        if (null != host && store != host.getStore()) {
+            throw new AccountError("An account on a host uses the store of the host");
+        } else if (null != store) {
             this.store = store;
         } else {
             throw new AccountError("Cannot set store to null");
@@ -114,7 +119,9 @@ public class AccountBuilder extends AbstractBuilder<AccountBuilder, IotaAccount,
     }
     
     public AccountBuilder api(IotaAPI api) {
-        if (null != api) {
+        if (null != host && api != host.getApi()) {
+            throw new AccountError("An account on a host uses the api of the host");
+        } else if (null != api) {
             this.api = api;
         } else {
             throw new AccountError("Cannot set api to null");
@@ -131,6 +138,27 @@ public class AccountBuilder extends AbstractBuilder<AccountBuilder, IotaAccount,
         return this;
     }
     
+    /**
+     * Runs the account on a host, together with other accounts.
+     * The account uses the api and store of the host, and shares its threads and deposit checks.
+     * Setting another api or store as well is an error.
+     * 
+     * @param host The host
+     * @return The builder
+     */
+    public AccountBuilder host(AccountHost host) {
+        if (null != host && (null != api && api != host.getApi() || null != store && store != host.getStore())) {
+            throw new AccountError("An account on a host uses the api and store of the host");
+        } else if (null != host) {
+            this.host = host;
+            this.api = host.getApi();
+            this.store = host.getStore();
+        } else {
+            throw new AccountError("Cannot set host to null");
+        }
+        return this;
+    }
+    
     public AccountBuilder plugin(Plugin plugin){
         if (null != plugin) {
             if (plugins == null) {
@@ -225,4 +253,9 @@ public class AccountBuilder extends AbstractBuilder<AccountBuilder, IotaAccount,
     public List<Plugin> getPlugins() {
         return plugins;
     }
+
+    @Override
+    public AccountHost getHost() {
+        return host;
+    }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package org.iota.jota.builder;
 import java.util.List;
 
 import org.iota.jota.IotaAPI;
+import org.iota.jota.account.AccountHost;
 import org.iota.jota.account.clock.Clock;
 import org.iota.jota.account.plugins.Plugin;
 import org.iota.jota.account.seedprovider.SeedProvider;
@@ -16,4 +17,6 @@ public interface AccountBuilderSettings {
     Clock getTime();
     
     List<Plugin> getPlugins();
+    
+    AccountHost getHost();
 }
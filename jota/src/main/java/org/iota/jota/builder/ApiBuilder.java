@@ -7,8 +7,16 @@ import org.iota.jota.config.options.ApiSettings;
 import org.iota.jota.config.types.IotaDefaultConfig;
 import org.iota.jota.connection.Connection;
 import org.iota.jota.connection.HttpConnector;
+import org.iota.jota.connection.HttpTransport;
+import org.iota.jota.connection.NodeHealthMonitor;
+import org.iota.jota.connection.NodeRateLimiter;
+import org.iota.jota.connection.NodeSelector;
+import org.iota.jota.connection.PrimaryNodeSelector;
+import org.iota.jota.connection.RequestHedger;
 import org.iota.jota.pow.ICurl;
 import org.iota.jota.pow.SpongeFactory;
+import org.iota.jota.pow.pearldiver.PearlDiverLocalPoW;
+import org.iota.jota.pow.pearldiver.PearlDiverPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,9 +39,29 @@ public abstract class ApiBuilder<T extends ApiBuilder<T, E>, E extends IotaAPICo
     
     int timeout = 0;
     
+    // If this is null, a shared transport is picked for the settings below
+    HttpTransport httpTransport;
+    int maxIdleConnections = 0;
+    int keepAlive = 0;
+    int maxRequests = 0;
+    int maxRequestsPerHost = 0;
+    boolean http2 = true;
+    
     // If this is null, no local PoW is done, therefore no default value
     IotaPoW localPoW;
+    int powThreads = 0;
     ICurl customCurl = SpongeFactory.create(SpongeFactory.Mode.KERL);
+    NodeSelector nodeSelector = new PrimaryNodeSelector();
+    int coalesceWindow = 0;
+    int healthCheckInterval = 0;
+    int maxMilestoneLag = NodeHealthMonitor.DEFAULT_MAX_MILESTONE_LAG;
+    double hedgePercentile = 0;
+    double hedgeBudget = RequestHedger.DEFAULT_BUDGET;
+    double rateLimit = 0;
+    int rateLimitBurst = 0;
+    int maxRequestsInFlight = 0;
+    int rateLimitWait = (int) NodeRateLimiter.DEFAULT_MAX_WAIT_MS;
+    int cacheSize = 0;
     
     public ApiBuilder() {
         super(log);
@@ -72,6 +100,26 @@ public abstract class ApiBuilder<T extends ApiBuilder<T, E>, E extends IotaAPICo
                     timeout = config.getConnectionTimeout();
                 }
                 
+                if (0 == powThreads) {
+                    powThreads = config.getPowThreads();
+                }
+                
+                if (0 == maxIdleConnections) {
+                    maxIdleConnections = config.getMaxIdleConnections();
+                }
+                
+                if (0 == keepAlive) {
+                    keepAlive = config.getKeepAlive();
+                }
+                
+                if (0 == maxRequests) {
+                    maxRequests = config.getMaxRequests();
+                }
+                
+                if (0 == maxRequestsPerHost) {
+                    maxRequestsPerHost = config.getMaxRequestsPerHost();
+                }
+                
                 // Now if we had a legacy config node, we wont take the default node
                 // BUt if nothing was configured, we add the legacy node from default config
                 if (config.hasNodes() && (
@@ -95,6 +143,16 @@ public abstract class ApiBuilder<T extends ApiBuilder<T, E>, E extends IotaAPICo
             nodes.add(new HttpConnector(protocol,  host,  port, path, timeout));
         }
         
+        // Every API with the same settings sends over the same connections
+        if (null == httpTransport) {
+            httpTransport = HttpTransport.shared(maxIdleConnections, keepAlive, maxRequests, maxRequestsPerHost, http2);
+        }
+        
+        // A PearlDiver without explicit pool uses the shared workers for the configured amount of threads
+        if (localPoW instanceof PearlDiverLocalPoW && !((PearlDiverLocalPoW) localPoW).hasPool()) {
+            ((PearlDiverLocalPoW) localPoW).setPool(PearlDiverPool.shared(powThreads));
+        }
+        
         return (T) this;
     }
     
@@ -153,6 +211,219 @@ public abstract class ApiBuilder<T extends ApiBuilder<T, E>, E extends IotaAPICo
         return (T) this;
     }
     
+    /**
+     * Sets the amount of threads used for local PoW with the {@link PearlDiverLocalPoW}.
+     * 
+     * @param powThreads The amount of threads, <code>0</code> for all available processors but one
+     * @return The builder instance
+     */
+    public T powThreads(int powThreads) {
+        this.powThreads = powThreads;
+        return (T) this;
+    }
+    
+    /**
+     * Sets the strategy which picks the node for every request.
+     * By default all requests go to the first node, see {@link PrimaryNodeSelector}.
+     * 
+     * @param nodeSelector The selector
+     * @return The builder instance
+     */
+    public T nodeSelector(NodeSelector nodeSelector) {
+        this.nodeSelector = nodeSelector;
+        return (T) this;
+    }
+    
+    /**
+     * Merges concurrent <tt>getBalances</tt>, <tt>getTrytes</tt>, <tt>getInclusionStates</tt> 
+     * and <tt>wereAddressesSpentFrom</tt> requests into a single node request.
+     * The first request waits this long for others to join, so only enable this for concurrent use.
+     * 
+     * @param coalesceWindow The time in milliseconds, <code>0</code> to disable (default)
+     * @return The builder instance
+     */
+    public T coalesceWindow(int coalesceWindow) {
+        this.coalesceWindow = coalesceWindow;
+        return (T) this;
+    }
+    
+    /**
+     * Checks the health of all nodes periodically with <tt>getNodeInfo</tt>.
+     * Nodes which fail too often or are out of sync receive no requests until they recover,
+     * and failed requests of idempotent commands are sent again to the next healthy node.
+     * 
+     * @param healthCheckInterval The time in seconds between checks, <code>0</code> to disable (default)
+     * @return The builder instance
+     */
+    public T healthCheckInterval(int healthCheckInterval) {
+        this.healthCheckInterval = healthCheckInterval;
+        return (T) this;
+    }
+    
+    /**
+     * Sets how many milestones a node can be behind the other nodes before health checks eject it.
+     * 
+     * @param maxMilestoneLag The amount of milestones
+     * @return The builder instance
+     */
+    public T maxMilestoneLag(int maxMilestoneLag) {
+        this.maxMilestoneLag = maxMilestoneLag;
+        return (T) this;
+    }
+    
+    /**
+     * Sends <tt>getTrytes</tt>, <tt>getBalances</tt>, <tt>findTransactions</tt> and <tt>getInclusionStates</tt>
+     * requests to a second node when the first node did not answer within this percentile of recent latencies.
+     * The first answer is used. Requires more than one node.
+     * 
+     * @param hedgePercentile The percentile between 0 and 1, like <code>0.95</code>. <code>0</code> to disable (default)
+     * @return The builder instance
+     */
+    public T hedgePercentile(double hedgePercentile) {
+        this.hedgePercentile = hedgePercentile;
+        return (T) this;
+    }
+    
+    /**
+     * Limits the extra requests of hedging, see {@link #hedgePercentile(double)}.
+     * 
+     * @param hedgeBudget The maximum extra requests per request, <code>0.05</code> by default (5%)
+     * @return The builder instance
+     */
+    public T hedgeBudget(double hedgeBudget) {
+        this.hedgeBudget = hedgeBudget;
+        return (T) this;
+    }
+    
+    /**
+     * Limits the requests per second we send to every node.
+     * Requests above the limit wait, see {@link #rateLimitWait(int)}.
+     * 
+     * @param rateLimit The requests per second, <code>0</code> for no limit (default)
+     * @return The builder instance
+     */
+    public T rateLimit(double rateLimit) {
+        this.rateLimit = rateLimit;
+        return (T) this;
+    }
+    
+    /**
+     * Sets the requests we can send to a node at once after being idle, see {@link #rateLimit(double)}.
+     * 
+     * @param rateLimitBurst The amount of requests, <code>0</code> for one second of requests (default)
+     * @return The builder instance
+     */
+    public T rateLimitBurst(int rateLimitBurst) {
+        this.rateLimitBurst = rateLimitBurst;
+        return (T) this;
+    }
+    
+    /**
+     * Limits the requests a single node gets at the same time.
+     * 
+     * @param maxRequestsInFlight The amount of requests, <code>0</code> for no limit (default)
+     * @return The builder instance
+     */
+    public T maxRequestsInFlight(int maxRequestsInFlight) {
+        this.maxRequestsInFlight = maxRequestsInFlight;
+        return (T) this;
+    }
+    
+    /**
+     * Sets the time a request waits when a node reached its limits.
+     * Afterwards it fails with an {@link org.iota.jota.error.AccessLimitedException}.
+     * 
+     * @param rateLimitWait The time in milliseconds, <code>0</code> to fail right away
+     * @return The builder instance
+     */
+    public T rateLimitWait(int rateLimitWait) {
+        this.rateLimitWait = rateLimitWait;
+        return (T) this;
+    }
+    
+    /**
+     * Keeps the trytes of transactions and the confirmed inclusion states in memory,
+     * so they are only requested from a node once.
+     * Both never change, so they never need to be requested again.
+     * The least recently used transactions are removed when the cache is full.
+     * 
+     * @param cacheSize The maximum memory the cached trytes take in megabytes, <code>0</code> to disable (default)
+     * @return The builder instance
+     */
+    public T cacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+        return (T) this;
+    }
+    
+    /**
+     * Sets the connection pool and dispatcher all HTTP nodes send requests over.
+     * This replaces the pool and concurrency settings of this builder.
+     * 
+     * @param httpTransport The transport
+     * @return The builder instance
+     */
+    public T httpTransport(HttpTransport httpTransport) {
+        this.httpTransport = httpTransport;
+        return (T) this;
+    }
+    
+    /**
+     * Sets the amount of idle HTTP connections kept open, for all nodes together
+     * 
+     * @param maxIdleConnections The amount of connections
+     * @return The builder instance
+     */
+    public T maxIdleConnections(int maxIdleConnections) {
+        this.maxIdleConnections = maxIdleConnections;
+        return (T) this;
+    }
+    
+    /**
+     * Sets the time an idle HTTP connection is kept open
+     * 
+     * @param keepAlive The time in seconds
+     * @return The builder instance
+     */
+    public T keepAlive(int keepAlive) {
+        this.keepAlive = keepAlive;
+        return (T) this;
+    }
+    
+    /**
+     * Sets the amount of HTTP requests sent at the same time, for all nodes together
+     * 
+     * @param maxRequests The amount of requests
+     * @return The builder instance
+     */
+    public T maxRequests(int maxRequests) {
+        this.maxRequests = maxRequests;
+        return (T) this;
+    }
+    
+    /**
+     * Sets the amount of HTTP requests sent at the same time to a single node.
+     * Requests above this limit wait for a previous one to finish.
+     * 
+     * @param maxRequestsPerHost The amount of requests
+     * @return The builder instance
+     */
+    public T maxRequestsPerHost(int maxRequestsPerHost) {
+        this.maxRequestsPerHost = maxRequestsPerHost;
+        return (T) this;
+    }
+    
+    /**
+     * Sets if we use HTTP/2 for nodes which support it (default <code>true</code>).
+     * HTTP/2 sends all requests to a node over a single connection.
+     * 
+     * @param http2 <code>false</code> to always use HTTP/1.1
+     * @return The builder instance
+     */
+    public T http2(boolean http2) {
+        this.http2 = http2;
+        return (T) this;
+    }
+    
     public T timeout(int timeout) {
         this.timeout = timeout;
         return (T) this;
@@ -180,6 +451,66 @@ public abstract class ApiBuilder<T extends ApiBuilder<T, E>, E extends IotaAPICo
         return customCurl;
     }
     
+    @Override
+    public NodeSelector getNodeSelector() {
+        return nodeSelector;
+    }
+    
+    @Override
+    public int getCoalesceWindow() {
+        return coalesceWindow;
+    }
+    
+    @Override
+    public HttpTransport getHttpTransport() {
+        return httpTransport;
+    }
+    
+    @Override
+    public int getHealthCheckInterval() {
+        return healthCheckInterval;
+    }
+    
+    @Override
+    public int getMaxMilestoneLag() {
+        return maxMilestoneLag;
+    }
+    
+    @Override
+    public double getHedgePercentile() {
+        return hedgePercentile;
+    }
+    
+    @Override
+    public double getHedgeBudget() {
+        return hedgeBudget;
+    }
+    
+    @Override
+    public double getRateLimit() {
+        return rateLimit;
+    }
+    
+    @Override
+    public int getRateLimitBurst() {
+        return rateLimitBurst;
+    }
+    
+    @Override
+    public int getMaxRequestsInFlight() {
+        return maxRequestsInFlight;
+    }
+    
+    @Override
+    public int getRateLimitWait() {
+        return rateLimitWait;
+    }
+    
+    @Override
+    public int getCacheSize() {
+        return cacheSize;
+    }
+    
     public T addNode(Connection c) {
         nodes.add(c);
         return (T) this;
@@ -200,6 +531,35 @@ public abstract class ApiBuilder<T extends ApiBuilder<T, E>, E extends IotaAPICo
         return timeout;
     }
 
+    @Override
+    public int getPowThreads() {
+        return powThreads;
+    }
+
+    @Override
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+    
+    @Override
+    public int getKeepAlive() {
+        return keepAlive;
+    }
+    
+    @Override
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+    
+    @Override
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+    
+    public boolean isHttp2() {
+        return http2;
+    }
+
     @Override
     public boolean hasNodes() {
         return nodes != null && nodes.size() > 0;
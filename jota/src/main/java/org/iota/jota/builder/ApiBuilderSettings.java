@@ -1,6 +1,8 @@
 package org.iota.jota.builder;
 
 import org.iota.jota.IotaPoW;
+import org.iota.jota.connection.HttpTransport;
+import org.iota.jota.connection.NodeSelector;
 import org.iota.jota.pow.ICurl;
 
 public interface ApiBuilderSettings {
@@ -8,4 +10,28 @@ public interface ApiBuilderSettings {
     ICurl getCustomCurl();
     
     IotaPoW getLocalPoW();
+    
+    NodeSelector getNodeSelector();
+    
+    int getCoalesceWindow();
+    
+    HttpTransport getHttpTransport();
+    
+    int getHealthCheckInterval();
+    
+    int getMaxMilestoneLag();
+    
+    double getHedgePercentile();
+    
+    double getHedgeBudget();
+    
+    double getRateLimit();
+    
+    int getRateLimitBurst();
+    
+    int getMaxRequestsInFlight();
+    
+    int getRateLimitWait();
+    
+    int getCacheSize();
 }
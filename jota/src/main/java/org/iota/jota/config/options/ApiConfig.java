@@ -24,6 +24,37 @@ public interface ApiConfig extends Config {
      */
     int getConnectionTimeout();
     
+    /**
+     * Amount of threads used for local proof of work.
+     * <code>0</code> uses all available processors but one.
+     * @return
+     */
+    int getPowThreads();
+    
+    /**
+     * Amount of idle HTTP connections kept open, for all nodes together
+     * @return
+     */
+    int getMaxIdleConnections();
+    
+    /**
+     * Time in seconds an idle HTTP connection is kept open
+     * @return
+     */
+    int getKeepAlive();
+    
+    /**
+     * Amount of HTTP requests sent at the same time, for all nodes together
+     * @return
+     */
+    int getMaxRequests();
+    
+    /**
+     * Amount of HTTP requests sent at the same time to a single node
+     * @return
+     */
+    int getMaxRequestsPerHost();
+    
     @Deprecated
     public int getLegacyPort();
     
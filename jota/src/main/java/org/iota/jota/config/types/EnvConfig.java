@@ -14,6 +14,11 @@ public class EnvConfig extends IotaClientConfig {
     private static final String ENV_HOST = "IOTA_NODE_HOST";
     private static final String ENV_PORT = "IOTA_NODE_PORT";
     private static final String ENV_TIMEOUT = "ENV_TIMEOUT";
+    private static final String ENV_POW_THREADS = "IOTA_POW_THREADS";
+    private static final String ENV_MAX_IDLE = "IOTA_HTTP_MAX_IDLE";
+    private static final String ENV_KEEP_ALIVE = "IOTA_HTTP_KEEP_ALIVE";
+    private static final String ENV_MAX_REQUESTS = "IOTA_HTTP_MAX_REQUESTS";
+    private static final String ENV_MAX_REQUESTS_PER_HOST = "IOTA_HTTP_MAX_REQUESTS_PER_HOST";
     
     private static final String ENV_STORE = "IOTA_STORE_LOCATION";
     
@@ -65,6 +70,31 @@ public class EnvConfig extends IotaClientConfig {
         return intOrNull(ENV_TIMEOUT);
     }
 
+    @Override
+    public int getPowThreads() {
+        return intOrNull(ENV_POW_THREADS);
+    }
+
+    @Override
+    public int getMaxIdleConnections() {
+        return intOrNull(ENV_MAX_IDLE);
+    }
+
+    @Override
+    public int getKeepAlive() {
+        return intOrNull(ENV_KEEP_ALIVE);
+    }
+
+    @Override
+    public int getMaxRequests() {
+        return intOrNull(ENV_MAX_REQUESTS);
+    }
+
+    @Override
+    public int getMaxRequestsPerHost() {
+        return intOrNull(ENV_MAX_REQUESTS_PER_HOST);
+    }
+
     @Override
     public List<Connection> getNodes() {
         return null;
@@ -20,6 +20,11 @@ public class FileConfig extends IotaClientConfig {
     private static final String CONFIG_HOST = CONFIG_NODE_PRE + ".host";
     private static final String CONFIG_PORT = CONFIG_NODE_PRE + ".port";
     private static final String CONFIG_TIMEOUT = "connection.timeout";
+    private static final String CONFIG_POW_THREADS = "pow.threads";
+    private static final String CONFIG_MAX_IDLE = "connection.pool.idle";
+    private static final String CONFIG_KEEP_ALIVE = "connection.pool.keepalive";
+    private static final String CONFIG_MAX_REQUESTS = "connection.requests";
+    private static final String CONFIG_MAX_REQUESTS_PER_HOST = "connection.requests.host";
     
     private static final String CONFIG_STORE = "accounts.storage.url";
     
@@ -88,6 +93,31 @@ public class FileConfig extends IotaClientConfig {
         return intOrNull(CONFIG_TIMEOUT);
     }
 
+    @Override
+    public int getPowThreads() {
+        return intOrNull(CONFIG_POW_THREADS);
+    }
+
+    @Override
+    public int getMaxIdleConnections() {
+        return intOrNull(CONFIG_MAX_IDLE);
+    }
+
+    @Override
+    public int getKeepAlive() {
+        return intOrNull(CONFIG_KEEP_ALIVE);
+    }
+
+    @Override
+    public int getMaxRequests() {
+        return intOrNull(CONFIG_MAX_REQUESTS);
+    }
+
+    @Override
+    public int getMaxRequestsPerHost() {
+        return intOrNull(CONFIG_MAX_REQUESTS_PER_HOST);
+    }
+
     @Override
     public List<Connection> getNodes() {
         return loadNodes(CONFIG_NODE_PRE);
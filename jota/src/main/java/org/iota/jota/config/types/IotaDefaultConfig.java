@@ -9,6 +9,7 @@ import org.iota.jota.account.store.AccountFileStore;
 import org.iota.jota.config.IotaClientConfig;
 import org.iota.jota.connection.Connection;
 import org.iota.jota.connection.HttpConnector;
+import org.iota.jota.connection.HttpTransport;
 import org.iota.jota.utils.Constants;
 
 public class IotaDefaultConfig extends IotaClientConfig {
@@ -52,11 +53,41 @@ public class IotaDefaultConfig extends IotaClientConfig {
     public int getConnectionTimeout() {
         return Defaults.CONNECTION_TIMEOUT;
     }
+
+    @Override
+    public int getPowThreads() {
+        return Defaults.POW_THREADS;
+    }
+
+    @Override
+    public int getMaxIdleConnections() {
+        return Defaults.MAX_IDLE_CONNECTIONS;
+    }
+
+    @Override
+    public int getKeepAlive() {
+        return Defaults.KEEP_ALIVE;
+    }
+
+    @Override
+    public int getMaxRequests() {
+        return Defaults.MAX_REQUESTS;
+    }
+
+    @Override
+    public int getMaxRequestsPerHost() {
+        return Defaults.MAX_REQUESTS_PER_HOST;
+    }
     
     public static class Defaults {
         public static final AccountStore STORE = new AccountFileStore();
         
         public static final int CONNECTION_TIMEOUT = 500;
+        public static final int POW_THREADS = 0;
+        public static final int MAX_IDLE_CONNECTIONS = HttpTransport.DEFAULT_MAX_IDLE_CONNECTIONS;
+        public static final int KEEP_ALIVE = HttpTransport.DEFAULT_KEEP_ALIVE;
+        public static final int MAX_REQUESTS = HttpTransport.DEFAULT_MAX_REQUESTS;
+        public static final int MAX_REQUESTS_PER_HOST = HttpTransport.DEFAULT_MAX_REQUESTS_PER_HOST;
         public static final int SECURITY_LEVEL = Constants.MAX_SECURITY_LEVEL;
         public static final int DEPTH = 3;
         public static final int MWM = 14;
@@ -0,0 +1,161 @@
+package org.iota.jota.connection;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.iota.jota.dto.request.IotaAttachToTangleRequest;
+import org.iota.jota.dto.request.IotaBroadcastTransactionRequest;
+import org.iota.jota.dto.request.IotaCheckConsistencyRequest;
+import org.iota.jota.dto.request.IotaCommandRequest;
+import org.iota.jota.dto.request.IotaCustomRequest;
+import org.iota.jota.dto.request.IotaFindTransactionsRequest;
+import org.iota.jota.dto.request.IotaGetBalancesRequest;
+import org.iota.jota.dto.request.IotaGetInclusionStateRequest;
+import org.iota.jota.dto.request.IotaGetTransactionsToApproveRequest;
+import org.iota.jota.dto.request.IotaGetTrytesRequest;
+import org.iota.jota.dto.request.IotaNeighborsRequest;
+import org.iota.jota.dto.request.IotaStoreTransactionsRequest;
+import org.iota.jota.dto.request.IotaWereAddressesSpentFromRequest;
+import org.iota.jota.dto.response.AddNeighborsResponse;
+import org.iota.jota.dto.response.BroadcastTransactionsResponse;
+import org.iota.jota.dto.response.CheckConsistencyResponse;
+import org.iota.jota.dto.response.FindTransactionResponse;
+import org.iota.jota.dto.response.GetAttachToTangleResponse;
+import org.iota.jota.dto.response.GetBalancesResponse;
+import org.iota.jota.dto.response.GetInclusionStateResponse;
+import org.iota.jota.dto.response.GetNeighborsResponse;
+import org.iota.jota.dto.response.GetNodeAPIConfigurationResponse;
+import org.iota.jota.dto.response.GetNodeInfoResponse;
+import org.iota.jota.dto.response.GetTipsResponse;
+import org.iota.jota.dto.response.GetTransactionsToApproveResponse;
+import org.iota.jota.dto.response.GetTrytesResponse;
+import org.iota.jota.dto.response.InterruptAttachingToTangleResponse;
+import org.iota.jota.dto.response.IotaCustomResponse;
+import org.iota.jota.dto.response.RemoveNeighborsResponse;
+import org.iota.jota.dto.response.StoreTransactionsResponse;
+import org.iota.jota.dto.response.WereAddressesSpentFromResponse;
+
+/**
+ * Runs the calls of a blocking {@link Connection} on an executor, 
+ * for connections which do not implement {@link IotaNodeAsyncApi} themselves.
+ */
+public class BlockingAsyncConnection implements IotaNodeAsyncApi {
+
+    private final Connection connection;
+    private final Executor executor;
+
+    /**
+     * 
+     * @param connection The blocking connection
+     * @param executor The executor the calls block on
+     */
+    public BlockingAsyncConnection(Connection connection, Executor executor) {
+        this.connection = Objects.requireNonNull(connection, "Connection must not be null.");
+        this.executor = Objects.requireNonNull(executor, "Executor must not be null.");
+    }
+
+    /**
+     * Gets the asynchronous api of a connection
+     * 
+     * @param connection The connection
+     * @param executor The executor we use if the connection can only block
+     * @return The connection itself if it is asynchronous, otherwise a {@link BlockingAsyncConnection}
+     */
+    public static IotaNodeAsyncApi of(Connection connection, Executor executor) {
+        if (connection instanceof IotaNodeAsyncApi) {
+            return (IotaNodeAsyncApi) connection;
+        }
+        return new BlockingAsyncConnection(connection, executor);
+    }
+
+    @Override
+    public CompletableFuture<GetNodeInfoResponse> getNodeInfoAsync(IotaCommandRequest request) {
+        return CompletableFuture.supplyAsync(() -> connection.getNodeInfo(request), executor);
+    }
+
+    @Override
+    public CompletableFuture<GetNodeAPIConfigurationResponse> getNodeAPIConfigurationAsync(IotaCommandRequest request) {
+        return CompletableFuture.supplyAsync(() -> connection.getNodeAPIConfiguration(request), executor);
+    }
+
+    @Override
+    public CompletableFuture<GetNeighborsResponse> getNeighborsAsync(IotaCommandRequest request) {
+        return CompletableFuture.supplyAsync(() -> connection.getNeighbors(request), executor);
+    }
+
+    @Override
+    public CompletableFuture<AddNeighborsResponse> addNeighborsAsync(IotaNeighborsRequest request) {
+        return CompletableFuture.supplyAsync(() -> connection.addNeighbors(request), executor);
+    }
+
+    @Override
+    public CompletableFuture<RemoveNeighborsResponse> removeNeighborsAsync(IotaNeighborsRequest request) {
+        return CompletableFuture.supplyAsync(() -> connection.removeNeighbors(request), executor);
+    }
+
+    @Override
+    public CompletableFuture<GetTipsResponse> getTipsAsync(IotaCommandRequest request) {
+        return CompletableFuture.supplyAsync(() -> connection.getTips(request), executor);
+    }
+
+    @Override
+    public CompletableFuture<FindTransactionResponse> findTransactionsAsync(IotaFindTransactionsRequest request) {
+        return CompletableFuture.supplyAsync(() -> connection.findTransactions(request), executor);
+    }
+
+    @Override
+    public CompletableFuture<GetTrytesResponse> getTrytesAsync(IotaGetTrytesRequest request) {
+        return CompletableFuture.supplyAsync(() -> connection.getTrytes(request), executor);
+    }
+
+    @Override
+    public CompletableFuture<GetInclusionStateResponse> getInclusionStatesAsync(IotaGetInclusionStateRequest request) {
+        return CompletableFuture.supplyAsync(() -> connection.getInclusionStates(request), executor);
+    }
+
+    @Override
+    public CompletableFuture<GetBalancesResponse> getBalancesAsync(IotaGetBalancesRequest request) {
+        return CompletableFuture.supplyAsync(() -> connection.getBalances(request), executor);
+    }
+
+    @Override
+    public CompletableFuture<GetTransactionsToApproveResponse> getTransactionsToApproveAsync(IotaGetTransactionsToApproveRequest request) {
+        return CompletableFuture.supplyAsync(() -> connection.getTransactionsToApprove(request), executor);
+    }
+
+    @Override
+    public CompletableFuture<GetAttachToTangleResponse> attachToTangleAsync(IotaAttachToTangleRequest request) {
+        return CompletableFuture.supplyAsync(() -> connection.attachToTangle(request), executor);
+    }
+
+    @Override
+    public CompletableFuture<InterruptAttachingToTangleResponse> interruptAttachingToTangleAsync(IotaCommandRequest request) {
+        return CompletableFuture.supplyAsync(() -> connection.interruptAttachingToTangle(request), executor);
+    }
+
+    @Override
+    public CompletableFuture<BroadcastTransactionsResponse> broadcastTransactionsAsync(IotaBroadcastTransactionRequest request) {
+        return CompletableFuture.supplyAsync(() -> connection.broadcastTransactions(request), executor);
+    }
+
+    @Override
+    public CompletableFuture<StoreTransactionsResponse> storeTransactionsAsync(IotaStoreTransactionsRequest request) {
+        return CompletableFuture.supplyAsync(() -> connection.storeTransactions(request), executor);
+    }
+
+    @Override
+    public CompletableFuture<WereAddressesSpentFromResponse> wereAddressesSpentFromAsync(IotaWereAddressesSpentFromRequest request) {
+        return CompletableFuture.supplyAsync(() -> connection.wereAddressesSpentFrom(request), executor);
+    }
+
+    @Override
+    public CompletableFuture<CheckConsistencyResponse> checkConsistencyAsync(IotaCheckConsistencyRequest request) {
+        return CompletableFuture.supplyAsync(() -> connection.checkConsistency(request), executor);
+    }
+
+    @Override
+    public CompletableFuture<IotaCustomResponse> customRequestAsync(IotaCustomRequest request) {
+        return CompletableFuture.supplyAsync(() -> connection.customRequest(request), executor);
+    }
+}
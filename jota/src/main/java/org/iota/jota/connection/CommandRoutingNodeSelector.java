@@ -0,0 +1,74 @@
+package org.iota.jota.connection;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import org.iota.jota.IotaAPICommand;
+
+/**
+ * Limits commands to a subset of the nodes, and lets another selector pick from that subset.
+ * 
+ * For example, to only attach on nodes which allow remote PoW:
+ * <pre>
+ * new CommandRoutingNodeSelector(new RoundRobinNodeSelector())
+ *     .route(IotaAPICommand.ATTACH_TO_TANGLE, powNodes::contains);
+ * </pre>
+ * Routes should be configured before the selector is used.
+ */
+public class CommandRoutingNodeSelector implements NodeSelector {
+    
+    private final NodeSelector delegate;
+    
+    private final Map<IotaAPICommand, Predicate<Connection>> routes = new EnumMap<>(IotaAPICommand.class);
+    
+    /**
+     * 
+     * @param delegate The selector which picks a node out of the allowed nodes
+     */
+    public CommandRoutingNodeSelector(NodeSelector delegate) {
+        this.delegate = Objects.requireNonNull(delegate, "Delegate must not be null.");
+    }
+    
+    /**
+     * Only send a command to the nodes matching the filter.
+     * Commands without route can be sent to all nodes.
+     * 
+     * @param command The command
+     * @param filter The nodes the command may be sent to
+     * @return This selector (used for method chaining)
+     */
+    public CommandRoutingNodeSelector route(IotaAPICommand command, Predicate<Connection> filter) {
+        routes.put(command, filter);
+        return this;
+    }
+
+    @Override
+    public Connection select(IotaAPICommand command, List<Connection> nodes) {
+        Predicate<Connection> filter = null == command ? null : routes.get(command);
+        if (null == filter) {
+            return delegate.select(command, nodes);
+        }
+        
+        List<Connection> allowed = new ArrayList<>(nodes.size());
+        for (Connection node : nodes) {
+            if (filter.test(node)) {
+                allowed.add(node);
+            }
+        }
+        return allowed.isEmpty() ? null : delegate.select(command, allowed);
+    }
+    
+    @Override
+    public void onRequestStarted(Connection node) {
+        delegate.onRequestStarted(node);
+    }
+    
+    @Override
+    public void onRequestFinished(Connection node, long nanos, boolean success) {
+        delegate.onRequestFinished(node, nanos, success);
+    }
+}
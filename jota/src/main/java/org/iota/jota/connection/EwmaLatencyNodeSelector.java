@@ -0,0 +1,75 @@
+package org.iota.jota.connection;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.iota.jota.IotaAPICommand;
+
+/**
+ * Sends requests to the node with the lowest expected response time.
+ * 
+ * The expected time is the moving average latency of a node, multiplied by the requests in flight plus one,
+ * so a fast node is not flooded until it becomes slow.
+ * Nodes which did not answer yet are tried first. 
+ * A failed request counts as taking at least {@link #DEFAULT_FAILURE_PENALTY_MS}, so failing nodes are avoided.
+ */
+public class EwmaLatencyNodeSelector implements NodeSelector {
+    
+    /**
+     * The latency we record at least for a failed request, in milliseconds
+     */
+    public static final long DEFAULT_FAILURE_PENALTY_MS = 5000;
+    
+    private final NodeStatistics statistics;
+    
+    private final long failurePenalty;
+    
+    private final AtomicInteger counter = new AtomicInteger();
+    
+    public EwmaLatencyNodeSelector() {
+        this(new NodeStatistics(), DEFAULT_FAILURE_PENALTY_MS);
+    }
+    
+    /**
+     * 
+     * @param statistics The statistics we keep track of the requests in, can be shared with other selectors
+     * @param failurePenaltyMs The latency we record at least for a failed request, in milliseconds
+     */
+    public EwmaLatencyNodeSelector(NodeStatistics statistics, long failurePenaltyMs) {
+        this.statistics = statistics;
+        this.failurePenalty = TimeUnit.MILLISECONDS.toNanos(failurePenaltyMs);
+    }
+
+    @Override
+    public Connection select(IotaAPICommand command, List<Connection> nodes) {
+        int size = nodes.size();
+        int start = Math.floorMod(counter.getAndIncrement(), size);
+        
+        Connection best = null;
+        double bestCost = Double.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            Connection node = nodes.get((start + i) % size);
+            double cost = statistics.getLatency(node) * (statistics.getOutstanding(node) + 1);
+            if (cost < bestCost) {
+                best = node;
+                bestCost = cost;
+            }
+        }
+        return best;
+    }
+    
+    @Override
+    public void onRequestStarted(Connection node) {
+        statistics.requestStarted(node);
+    }
+    
+    @Override
+    public void onRequestFinished(Connection node, long nanos, boolean success) {
+        statistics.requestFinished(node, success ? nanos : Math.max(nanos, failurePenalty));
+    }
+    
+    public NodeStatistics getStatistics() {
+        return statistics;
+    }
+}
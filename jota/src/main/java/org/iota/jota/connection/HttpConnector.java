@@ -15,17 +15,18 @@ import java.io.InterruptedIOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Objects;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
-import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
-import okhttp3.Request;
+import okhttp3.ResponseBody;
 import retrofit2.Call;
+import retrofit2.Callback;
 import retrofit2.Response;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
-public class HttpConnector implements Connection {
+public class HttpConnector implements Connection, IotaNodeAsyncApi, IotaNodeStreamingApi {
 
     private static final Logger log = LoggerFactory.getLogger(HttpConnector.class);
     
@@ -34,7 +35,11 @@ public class HttpConnector implements Connection {
     private URL url;
     
     private IotaNodeHTTPService service;
+    
+    // Either a client provided by the user, or a transport we derive one from on start
     private OkHttpClient client;
+    private HttpTransport transport;
+    private int timeout;
     
     /**
      * Creates an HTTP connector using the provided url.
@@ -128,26 +133,22 @@ public class HttpConnector implements Connection {
      * @param timeout the connection timeout after a request is sent
      */
     public HttpConnector(URL url, int timeout) {
+        this(HttpTransport.shared(), url, timeout);
+    }
+    
+    /**
+     * Creates an HTTP connector which sends requests over the provided transport
+     * 
+     * @param transport The connection pool and dispatcher we share with other connectors
+     * @param url The URL we connect to
+     * @param timeout the connection timeout after a request is sent
+     */
+    public HttpConnector(HttpTransport transport, URL url, int timeout) {
+        Objects.requireNonNull(transport, "Transport cannot be null");
         Objects.requireNonNull(url, "URL cannot be null");
-        client = new OkHttpClient.Builder()
-                .connectTimeout(timeout, TimeUnit.SECONDS)
-                .writeTimeout(timeout, TimeUnit.SECONDS)
-                .readTimeout(timeout, TimeUnit.SECONDS)
-                .addInterceptor(new Interceptor() {
-                    @Override
-                    public okhttp3.Response intercept(Chain chain) throws IOException {
-                        Request request = chain.request();
-                        Request newRequest;
-
-                        newRequest = request.newBuilder()
-                                .addHeader(X_IOTA_API_VERSION_HEADER_NAME, X_IOTA_API_VERSION_HEADER_VALUE)
-                                .build();
-
-                        return chain.proceed(newRequest);
-                    }
-                })
-                .build();
+        this.transport = transport;
         this.url = url;
+        this.timeout = timeout;
     }
     
     /**
@@ -193,13 +194,32 @@ public class HttpConnector implements Connection {
         return url;
     }
     
+    /**
+     * Sets the transport this connector sends requests over, used from the next {@link #start()}.
+     * Connectors created with their own {@link OkHttpClient} keep using that client.
+     * 
+     * @param transport The connection pool and dispatcher we share with other connectors
+     */
+    public void setTransport(HttpTransport transport) {
+        Objects.requireNonNull(transport, "Transport cannot be null");
+        this.transport = transport;
+    }
+    
+    /**
+     * 
+     * @return The transport we derive our client from, or <code>null</code> if we use a provided client
+     */
+    public HttpTransport getTransport() {
+        return client == null ? transport : null;
+    }
+    
     @Override
     public boolean start() {
         // use client to create Retrofit service
         Retrofit retrofit = new Retrofit.Builder()
                 .baseUrl(url.toExternalForm())
                 .addConverterFactory(GsonConverterFactory.create())
-                .client(client)
+                .client(client != null ? client : transport.newClient(timeout))
                 .build();
         
         service = retrofit.create(IotaNodeHTTPService.class);
@@ -253,27 +273,7 @@ public class HttpConnector implements Connection {
 
     protected static <T> Response<T> wrapCheckedException(final Call<T> call) throws ArgumentException, IllegalStateException, IllegalAccessError {
         try {
-            final Response<T> res = call.execute();
-
-            String error = null;
-
-            if (res.errorBody() != null) {
-                error = res.errorBody().string();
-            }
-
-            if (res.code() == 400) {
-                throw new ArgumentException(error);
-
-            } else if (res.code() == 401) {
-                throw new AccessLimitedException(error);
-            } else if (res.code() == 500) {
-                throw new InternalException(error);
-            } else if (error != null || res.body() == null) {
-                //Unknown error, could be node timeout before our timeout or similar errors
-                throw new ConnectorException(res.message(), res.code());
-            }
-
-            return res;
+            return checkResponse(call.execute());
         } catch (IOException e) {
             if (e instanceof InterruptedIOException) {
                 // We shut down the app 
@@ -285,6 +285,94 @@ public class HttpConnector implements Connection {
         }
     }
 
+    /**
+     * Reads an array field of the response while it is received.
+     * Fails with the same exceptions as {@link #wrapCheckedException(Call)} throws.
+     * 
+     * @param call The call, of a service method annotated with {@link retrofit2.http.Streaming}
+     * @param field The name of the array field
+     * @param batchSize The maximum amount of values passed to the consumer at once
+     * @param consumer Receives the values
+     * @return The amount of values read
+     */
+    protected static int stream(final Call<ResponseBody> call, String field, int batchSize, Consumer<String[]> consumer) {
+        Response<ResponseBody> res = wrapCheckedException(call);
+        if (res == null) {
+            // We shut down the app
+            return 0;
+        }
+        
+        try (ResponseBody body = res.body()) {
+            return JsonArrayStream.read(body.charStream(), field, batchSize, consumer);
+        } catch (IOException e) {
+            log.error("Reading the response of the API call raised exception. IOTA Node not reachable?", e);
+            throw new IllegalStateException(e.getMessage());
+        }
+    }
+
+    private static <T> Response<T> checkResponse(final Response<T> res) throws IOException {
+        String error = null;
+
+        if (res.errorBody() != null) {
+            error = res.errorBody().string();
+        }
+
+        if (res.code() == 400) {
+            throw new ArgumentException(error);
+
+        } else if (res.code() == 401 || res.code() == 429) {
+            throw new AccessLimitedException(error);
+        } else if (res.code() == 500) {
+            throw new InternalException(error);
+        } else if (error != null || res.body() == null) {
+            //Unknown error, could be node timeout before our timeout or similar errors
+            throw new ConnectorException(res.message(), res.code());
+        }
+
+        return res;
+    }
+
+    /**
+     * Sends the call on the OkHttp dispatcher, so no thread waits for the answer.
+     * Fails with the same exceptions as {@link #wrapCheckedException(Call)} throws.
+     * Cancelling the future cancels the call.
+     * 
+     * @param call The call
+     * @return The future body of the response
+     */
+    protected static <T> CompletableFuture<T> enqueue(final Call<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        call.enqueue(new Callback<T>() {
+            @Override
+            public void onResponse(Call<T> c, Response<T> res) {
+                try {
+                    future.complete(checkResponse(res).body());
+                } catch (IOException e) {
+                    future.completeExceptionally(new IllegalStateException(e.getMessage()));
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<T> c, Throwable t) {
+                if (t instanceof IOException && !c.isCanceled()) {
+                    log.error("Execution of the API call raised exception. IOTA Node not reachable?", t);
+                    future.completeExceptionally(new IllegalStateException(t.getMessage()));
+                } else {
+                    future.completeExceptionally(t);
+                }
+            }
+        });
+        
+        future.whenComplete((res, t) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        return future;
+    }
+
     @Override
     public GetNodeInfoResponse getNodeInfo(IotaCommandRequest request) throws ArgumentException {
         final Call<GetNodeInfoResponse> res = service.getNodeInfo(IotaCommandRequest.createNodeInfoRequest());
@@ -327,6 +415,11 @@ public class HttpConnector implements Connection {
         return wrapCheckedException(res).body();
     }
 
+    @Override
+    public int findTransactionsStream(IotaFindTransactionsRequest request, int batchSize, Consumer<String[]> consumer) throws ArgumentException {
+        return stream(service.findTransactionsStream(request), "hashes", batchSize, consumer);
+    }
+
     @Override
     public GetInclusionStateResponse getInclusionStates(IotaGetInclusionStateRequest request) throws ArgumentException {
         final Call<GetInclusionStateResponse> res = service.getInclusionStates(request);
@@ -339,6 +432,11 @@ public class HttpConnector implements Connection {
         return wrapCheckedException(res).body();
     }
 
+    @Override
+    public int getTrytesStream(IotaGetTrytesRequest request, int batchSize, Consumer<String[]> consumer) throws ArgumentException {
+        return stream(service.getTrytesStream(request), "trytes", batchSize, consumer);
+    }
+
     @Override
     public GetTransactionsToApproveResponse getTransactionsToApprove(IotaGetTransactionsToApproveRequest request) throws ArgumentException {
         final Call<GetTransactionsToApproveResponse> res = service.getTransactionsToApprove(request);
@@ -392,4 +490,94 @@ public class HttpConnector implements Connection {
         final Call<IotaCustomResponse> res = service.customRequest(customRequest);
         return wrapCheckedException(res).body();
     }
+
+    @Override
+    public CompletableFuture<GetNodeInfoResponse> getNodeInfoAsync(IotaCommandRequest request) {
+        return enqueue(service.getNodeInfo(IotaCommandRequest.createNodeInfoRequest()));
+    }
+
+    @Override
+    public CompletableFuture<GetNodeAPIConfigurationResponse> getNodeAPIConfigurationAsync(IotaCommandRequest request) {
+        return enqueue(service.getNodeAPIConfiguration(IotaCommandRequest.createGetNodeAPIConfiguration()));
+    }
+
+    @Override
+    public CompletableFuture<GetNeighborsResponse> getNeighborsAsync(IotaCommandRequest request) {
+        return enqueue(service.getNeighbors(request));
+    }
+
+    @Override
+    public CompletableFuture<AddNeighborsResponse> addNeighborsAsync(IotaNeighborsRequest request) {
+        return enqueue(service.addNeighbors(request));
+    }
+
+    @Override
+    public CompletableFuture<RemoveNeighborsResponse> removeNeighborsAsync(IotaNeighborsRequest request) {
+        return enqueue(service.removeNeighbors(request));
+    }
+
+    @Override
+    public CompletableFuture<GetTipsResponse> getTipsAsync(IotaCommandRequest request) {
+        return enqueue(service.getTips(request));
+    }
+
+    @Override
+    public CompletableFuture<FindTransactionResponse> findTransactionsAsync(IotaFindTransactionsRequest request) {
+        return enqueue(service.findTransactions(request));
+    }
+
+    @Override
+    public CompletableFuture<GetTrytesResponse> getTrytesAsync(IotaGetTrytesRequest request) {
+        return enqueue(service.getTrytes(request));
+    }
+
+    @Override
+    public CompletableFuture<GetInclusionStateResponse> getInclusionStatesAsync(IotaGetInclusionStateRequest request) {
+        return enqueue(service.getInclusionStates(request));
+    }
+
+    @Override
+    public CompletableFuture<GetBalancesResponse> getBalancesAsync(IotaGetBalancesRequest request) {
+        return enqueue(service.getBalances(request));
+    }
+
+    @Override
+    public CompletableFuture<GetTransactionsToApproveResponse> getTransactionsToApproveAsync(IotaGetTransactionsToApproveRequest request) {
+        return enqueue(service.getTransactionsToApprove(request));
+    }
+
+    @Override
+    public CompletableFuture<GetAttachToTangleResponse> attachToTangleAsync(IotaAttachToTangleRequest request) {
+        return enqueue(service.attachToTangle(request));
+    }
+
+    @Override
+    public CompletableFuture<InterruptAttachingToTangleResponse> interruptAttachingToTangleAsync(IotaCommandRequest request) {
+        return enqueue(service.interruptAttachingToTangle(request));
+    }
+
+    @Override
+    public CompletableFuture<BroadcastTransactionsResponse> broadcastTransactionsAsync(IotaBroadcastTransactionRequest request) {
+        return enqueue(service.broadcastTransactions(request));
+    }
+
+    @Override
+    public CompletableFuture<StoreTransactionsResponse> storeTransactionsAsync(IotaStoreTransactionsRequest request) {
+        return enqueue(service.storeTransactions(request));
+    }
+
+    @Override
+    public CompletableFuture<WereAddressesSpentFromResponse> wereAddressesSpentFromAsync(IotaWereAddressesSpentFromRequest request) {
+        return enqueue(service.wereAddressesSpentFrom(request));
+    }
+
+    @Override
+    public CompletableFuture<CheckConsistencyResponse> checkConsistencyAsync(IotaCheckConsistencyRequest request) {
+        return enqueue(service.checkConsistency(request));
+    }
+
+    @Override
+    public CompletableFuture<IotaCustomResponse> customRequestAsync(IotaCustomRequest request) {
+        return enqueue(service.customRequest(request));
+    }
 }
@@ -0,0 +1,174 @@
+package org.iota.jota.connection;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+
+/**
+ * The connection pool and dispatcher shared by {@link HttpConnector} instances.
+ *
+ * Every connector derives its own client from the transport for its timeouts,
+ * but keeps open connections and the request threads of the transport.
+ * This way nodes do not each hold a private pool, and the concurrency limits apply to all nodes together.
+ *
+ * Transports are shared per configuration through {@link #shared(int, int, int, int, boolean)}.
+ */
+public class HttpTransport {
+
+    /**
+     * Idle connections kept open, for all hosts together
+     */
+    public static final int DEFAULT_MAX_IDLE_CONNECTIONS = 16;
+
+    /**
+     * Time in seconds an idle connection is kept open
+     */
+    public static final int DEFAULT_KEEP_ALIVE = 300;
+
+    /**
+     * Requests sent at the same time, for all hosts together
+     */
+    public static final int DEFAULT_MAX_REQUESTS = 128;
+
+    /**
+     * Requests sent at the same time to a single host.
+     * OkHttp uses 5, which queues parallel calls like {@link org.iota.jota.utils.Parallel}.
+     */
+    public static final int DEFAULT_MAX_REQUESTS_PER_HOST = 32;
+
+    private static final Map<List<Object>, HttpTransport> SHARED = new ConcurrentHashMap<>();
+
+    private static final Interceptor API_VERSION = chain -> {
+        Request request = chain.request().newBuilder()
+                .addHeader(Connection.X_IOTA_API_VERSION_HEADER_NAME, Connection.X_IOTA_API_VERSION_HEADER_VALUE)
+                .build();
+        return chain.proceed(request);
+    };
+
+    private final int maxIdleConnections;
+    private final int keepAlive;
+    private final int maxRequests;
+    private final int maxRequestsPerHost;
+    private final boolean http2;
+
+    private final OkHttpClient client;
+
+    /**
+     * Creates a new transport with its own connection pool and dispatcher.
+     * Values of <code>0</code> or less use the defaults.
+     *
+     * @param maxIdleConnections The amount of idle connections we keep open
+     * @param keepAlive The time in seconds an idle connection is kept open
+     * @param maxRequests The amount of requests sent at the same time
+     * @param maxRequestsPerHost The amount of requests sent at the same time to a single node
+     * @param http2 If we use HTTP/2 for nodes which support it. Plain http nodes always use HTTP/1.1
+     */
+    public HttpTransport(int maxIdleConnections, int keepAlive, int maxRequests, int maxRequestsPerHost, boolean http2) {
+        this.maxIdleConnections = orDefault(maxIdleConnections, DEFAULT_MAX_IDLE_CONNECTIONS);
+        this.keepAlive = orDefault(keepAlive, DEFAULT_KEEP_ALIVE);
+        this.maxRequests = orDefault(maxRequests, DEFAULT_MAX_REQUESTS);
+        this.maxRequestsPerHost = Math.min(orDefault(maxRequestsPerHost, DEFAULT_MAX_REQUESTS_PER_HOST), this.maxRequests);
+        this.http2 = http2;
+
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(this.maxRequests);
+        dispatcher.setMaxRequestsPerHost(this.maxRequestsPerHost);
+
+        client = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(this.maxIdleConnections, this.keepAlive, TimeUnit.SECONDS))
+                .dispatcher(dispatcher)
+                .protocols(http2
+                        ? Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1)
+                        : Collections.singletonList(Protocol.HTTP_1_1))
+                .build();
+    }
+
+    /**
+     * Gets the transport with the default settings, shared by every connector without custom client.
+     *
+     * @return The shared transport
+     */
+    public static HttpTransport shared() {
+        return shared(0, 0, 0, 0, true);
+    }
+
+    /**
+     * Gets a transport shared by everyone using the same settings.
+     * The transport is created on first use, and lives as long as the application.
+     * Values of <code>0</code> or less use the defaults.
+     *
+     * @param maxIdleConnections The amount of idle connections we keep open
+     * @param keepAlive The time in seconds an idle connection is kept open
+     * @param maxRequests The amount of requests sent at the same time
+     * @param maxRequestsPerHost The amount of requests sent at the same time to a single node
+     * @param http2 If we use HTTP/2 for nodes which support it
+     * @return The shared transport
+     */
+    public static HttpTransport shared(int maxIdleConnections, int keepAlive, int maxRequests,
+            int maxRequestsPerHost, boolean http2) {
+
+        int idle = orDefault(maxIdleConnections, DEFAULT_MAX_IDLE_CONNECTIONS);
+        int alive = orDefault(keepAlive, DEFAULT_KEEP_ALIVE);
+        int requests = orDefault(maxRequests, DEFAULT_MAX_REQUESTS);
+        int perHost = Math.min(orDefault(maxRequestsPerHost, DEFAULT_MAX_REQUESTS_PER_HOST), requests);
+
+        return SHARED.computeIfAbsent(Arrays.asList(idle, alive, requests, perHost, http2),
+                key -> new HttpTransport(idle, alive, requests, perHost, http2));
+    }
+
+    private static int orDefault(int value, int defaultValue) {
+        return value > 0 ? value : defaultValue;
+    }
+
+    /**
+     * Creates a client for a single node, which uses the connections and threads of this transport.
+     *
+     * @param timeout The connect, read and write timeout in seconds
+     * @return The client
+     */
+    public OkHttpClient newClient(int timeout) {
+        return client.newBuilder()
+                .connectTimeout(timeout, TimeUnit.SECONDS)
+                .writeTimeout(timeout, TimeUnit.SECONDS)
+                .readTimeout(timeout, TimeUnit.SECONDS)
+                .addInterceptor(API_VERSION)
+                .build();
+    }
+
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    public int getKeepAlive() {
+        return keepAlive;
+    }
+
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+
+    public boolean isHttp2() {
+        return http2;
+    }
+
+    @Override
+    public String toString() {
+        return "HttpTransport [maxIdleConnections=" + maxIdleConnections + ", keepAlive=" + keepAlive
+                + ", maxRequests=" + maxRequests + ", maxRequestsPerHost=" + maxRequestsPerHost
+                + ", http2=" + http2 + "]";
+    }
+}
@@ -0,0 +1,134 @@
+package org.iota.jota.connection;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.iota.jota.dto.request.IotaAttachToTangleRequest;
+import org.iota.jota.dto.request.IotaBroadcastTransactionRequest;
+import org.iota.jota.dto.request.IotaCheckConsistencyRequest;
+import org.iota.jota.dto.request.IotaCommandRequest;
+import org.iota.jota.dto.request.IotaCustomRequest;
+import org.iota.jota.dto.request.IotaFindTransactionsRequest;
+import org.iota.jota.dto.request.IotaGetBalancesRequest;
+import org.iota.jota.dto.request.IotaGetInclusionStateRequest;
+import org.iota.jota.dto.request.IotaGetTransactionsToApproveRequest;
+import org.iota.jota.dto.request.IotaGetTrytesRequest;
+import org.iota.jota.dto.request.IotaNeighborsRequest;
+import org.iota.jota.dto.request.IotaStoreTransactionsRequest;
+import org.iota.jota.dto.request.IotaWereAddressesSpentFromRequest;
+import org.iota.jota.dto.response.AddNeighborsResponse;
+import org.iota.jota.dto.response.BroadcastTransactionsResponse;
+import org.iota.jota.dto.response.CheckConsistencyResponse;
+import org.iota.jota.dto.response.FindTransactionResponse;
+import org.iota.jota.dto.response.GetAttachToTangleResponse;
+import org.iota.jota.dto.response.GetBalancesResponse;
+import org.iota.jota.dto.response.GetInclusionStateResponse;
+import org.iota.jota.dto.response.GetNeighborsResponse;
+import org.iota.jota.dto.response.GetNodeAPIConfigurationResponse;
+import org.iota.jota.dto.response.GetNodeInfoResponse;
+import org.iota.jota.dto.response.GetTipsResponse;
+import org.iota.jota.dto.response.GetTransactionsToApproveResponse;
+import org.iota.jota.dto.response.GetTrytesResponse;
+import org.iota.jota.dto.response.InterruptAttachingToTangleResponse;
+import org.iota.jota.dto.response.IotaCustomResponse;
+import org.iota.jota.dto.response.RemoveNeighborsResponse;
+import org.iota.jota.dto.response.StoreTransactionsResponse;
+import org.iota.jota.dto.response.WereAddressesSpentFromResponse;
+
+/**
+ * The non-blocking variant of {@link IotaNodeApi}.
+ * 
+ * Every call returns immediately, the future completes once the node answered.
+ * Failures complete the future exceptionally with the exception {@link IotaNodeApi} would have thrown.
+ */
+public interface IotaNodeAsyncApi {
+
+    /**
+     * Asynchronous {@link IotaNodeApi#getNodeInfo(IotaCommandRequest)}
+     */
+    CompletableFuture<GetNodeInfoResponse> getNodeInfoAsync(IotaCommandRequest request);
+
+    /**
+     * Asynchronous {@link IotaNodeApi#getNodeAPIConfiguration(IotaCommandRequest)}
+     */
+    CompletableFuture<GetNodeAPIConfigurationResponse> getNodeAPIConfigurationAsync(IotaCommandRequest request);
+
+    /**
+     * Asynchronous {@link IotaNodeApi#getNeighbors(IotaCommandRequest)}
+     */
+    CompletableFuture<GetNeighborsResponse> getNeighborsAsync(IotaCommandRequest request);
+
+    /**
+     * Asynchronous {@link IotaNodeApi#addNeighbors(IotaNeighborsRequest)}
+     */
+    CompletableFuture<AddNeighborsResponse> addNeighborsAsync(IotaNeighborsRequest request);
+
+    /**
+     * Asynchronous {@link IotaNodeApi#removeNeighbors(IotaNeighborsRequest)}
+     */
+    CompletableFuture<RemoveNeighborsResponse> removeNeighborsAsync(IotaNeighborsRequest request);
+
+    /**
+     * Asynchronous {@link IotaNodeApi#getTips(IotaCommandRequest)}
+     */
+    CompletableFuture<GetTipsResponse> getTipsAsync(IotaCommandRequest request);
+
+    /**
+     * Asynchronous {@link IotaNodeApi#findTransactions(IotaFindTransactionsRequest)}
+     */
+    CompletableFuture<FindTransactionResponse> findTransactionsAsync(IotaFindTransactionsRequest request);
+
+    /**
+     * Asynchronous {@link IotaNodeApi#getTrytes(IotaGetTrytesRequest)}
+     */
+    CompletableFuture<GetTrytesResponse> getTrytesAsync(IotaGetTrytesRequest request);
+
+    /**
+     * Asynchronous {@link IotaNodeApi#getInclusionStates(IotaGetInclusionStateRequest)}
+     */
+    CompletableFuture<GetInclusionStateResponse> getInclusionStatesAsync(IotaGetInclusionStateRequest request);
+
+    /**
+     * Asynchronous {@link IotaNodeApi#getBalances(IotaGetBalancesRequest)}
+     */
+    CompletableFuture<GetBalancesResponse> getBalancesAsync(IotaGetBalancesRequest request);
+
+    /**
+     * Asynchronous {@link IotaNodeApi#getTransactionsToApprove(IotaGetTransactionsToApproveRequest)}
+     */
+    CompletableFuture<GetTransactionsToApproveResponse> getTransactionsToApproveAsync(IotaGetTransactionsToApproveRequest request);
+
+    /**
+     * Asynchronous {@link IotaNodeApi#attachToTangle(IotaAttachToTangleRequest)}
+     */
+    CompletableFuture<GetAttachToTangleResponse> attachToTangleAsync(IotaAttachToTangleRequest request);
+
+    /**
+     * Asynchronous {@link IotaNodeApi#interruptAttachingToTangle(IotaCommandRequest)}
+     */
+    CompletableFuture<InterruptAttachingToTangleResponse> interruptAttachingToTangleAsync(IotaCommandRequest request);
+
+    /**
+     * Asynchronous {@link IotaNodeApi#broadcastTransactions(IotaBroadcastTransactionRequest)}
+     */
+    CompletableFuture<BroadcastTransactionsResponse> broadcastTransactionsAsync(IotaBroadcastTransactionRequest request);
+
+    /**
+     * Asynchronous {@link IotaNodeApi#storeTransactions(IotaStoreTransactionsRequest)}
+     */
+    CompletableFuture<StoreTransactionsResponse> storeTransactionsAsync(IotaStoreTransactionsRequest request);
+
+    /**
+     * Asynchronous {@link IotaNodeApi#wereAddressesSpentFrom(IotaWereAddressesSpentFromRequest)}
+     */
+    CompletableFuture<WereAddressesSpentFromResponse> wereAddressesSpentFromAsync(IotaWereAddressesSpentFromRequest request);
+
+    /**
+     * Asynchronous {@link IotaNodeApi#checkConsistency(IotaCheckConsistencyRequest)}
+     */
+    CompletableFuture<CheckConsistencyResponse> checkConsistencyAsync(IotaCheckConsistencyRequest request);
+
+    /**
+     * Asynchronous {@link IotaNodeApi#customRequest(IotaCustomRequest)}
+     */
+    CompletableFuture<IotaCustomResponse> customRequestAsync(IotaCustomRequest request);
+}
@@ -32,10 +32,12 @@ import org.iota.jota.dto.response.RemoveNeighborsResponse;
 import org.iota.jota.dto.response.StoreTransactionsResponse;
 import org.iota.jota.dto.response.WereAddressesSpentFromResponse;
 
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.Headers;
 import retrofit2.http.POST;
+import retrofit2.http.Streaming;
 
 /**
  * IOTA API Proxy Service definition using Retrofit2
@@ -117,6 +119,15 @@ public interface IotaNodeHTTPService {
     @POST("./")
     Call<FindTransactionResponse> findTransactions(@Body IotaFindTransactionsRequest request);
 
+    /**
+     * {@link #findTransactions(IotaFindTransactionsRequest)} without buffering the response,
+     * so the hashes can be read while they are received.
+     */
+    @Streaming
+    @Headers({CONTENT_TYPE_HEADER, USER_AGENT_HEADER})
+    @POST("./")
+    Call<ResponseBody> findTransactionsStream(@Body IotaFindTransactionsRequest request);
+
 
     /**
      * Get the inclusion states of a set of transactions. This is for determining if a transaction was accepted and confirmed by the network or not.
@@ -139,6 +150,15 @@ public interface IotaNodeHTTPService {
     @POST("./")
     Call<GetTrytesResponse> getTrytes(@Body IotaGetTrytesRequest request);
 
+    /**
+     * {@link #getTrytes(IotaGetTrytesRequest)} without buffering the response,
+     * so the trytes can be read while they are received.
+     */
+    @Streaming
+    @Headers({CONTENT_TYPE_HEADER, USER_AGENT_HEADER})
+    @POST("./")
+    Call<ResponseBody> getTrytesStream(@Body IotaGetTrytesRequest request);
+
     /**
      * Tip selection which returns trunkTransaction and branchTransaction.
      * The input value is the latest coordinator milestone, as provided through the getNodeInfo API call.
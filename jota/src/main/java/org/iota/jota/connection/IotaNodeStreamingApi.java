@@ -0,0 +1,39 @@
+package org.iota.jota.connection;
+
+import java.util.function.Consumer;
+
+import org.iota.jota.dto.request.IotaFindTransactionsRequest;
+import org.iota.jota.dto.request.IotaGetTrytesRequest;
+import org.iota.jota.error.ArgumentException;
+
+/**
+ * Commands with potentially large responses, which pass on the values while the response is received.
+ * 
+ * Instead of a response object holding every value, the consumer receives batches of values in the order of the node.
+ * Peak memory is bounded by the batch size instead of the size of the response.
+ * Values already passed on stay delivered when the request fails halfway.
+ */
+public interface IotaNodeStreamingApi {
+
+    /**
+     * Streaming {@link IotaNodeApi#findTransactions(IotaFindTransactionsRequest)}
+     * 
+     * @param request The request
+     * @param batchSize The maximum amount of hashes passed to the consumer at once
+     * @param consumer Receives the transaction hashes
+     * @return The amount of hashes found
+     * @throws ArgumentException The request was considered wrong in any way by the node
+     */
+    int findTransactionsStream(IotaFindTransactionsRequest request, int batchSize, Consumer<String[]> consumer) throws ArgumentException;
+
+    /**
+     * Streaming {@link IotaNodeApi#getTrytes(IotaGetTrytesRequest)}
+     * 
+     * @param request The request
+     * @param batchSize The maximum amount of trytes passed to the consumer at once
+     * @param consumer Receives the transaction trytes, in the order of the requested hashes
+     * @return The amount of trytes received
+     * @throws ArgumentException The request was considered wrong in any way by the node
+     */
+    int getTrytesStream(IotaGetTrytesRequest request, int batchSize, Consumer<String[]> consumer) throws ArgumentException;
+}
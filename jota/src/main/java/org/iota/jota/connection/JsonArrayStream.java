@@ -0,0 +1,90 @@
+package org.iota.jota.connection;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Reads a string array out of a node response while it is being received.
+ *
+ * Values are passed on in batches, so only a single batch is in memory at any time
+ * instead of the full response body and the array of all values.
+ * All other fields of the response are skipped.
+ */
+public class JsonArrayStream {
+
+    private JsonArrayStream() {
+
+    }
+
+    /**
+     * Reads the values of a string array field, in the order the node sent them
+     *
+     * @param reader The response body
+     * @param field The name of the array field, like <tt>hashes</tt> or <tt>trytes</tt>
+     * @param batchSize The maximum amount of values passed to the consumer at once, at least 1
+     * @param consumer Receives every batch of values. Batches are new arrays, so they can be kept.
+     * @return The amount of values read
+     * @throws IOException When the response was not valid JSON, or the connection failed
+     */
+    public static int read(Reader reader, String field, int batchSize, Consumer<String[]> consumer) throws IOException {
+        int size = Math.max(1, batchSize);
+        int total = 0;
+
+        try (JsonReader json = new JsonReader(reader)) {
+            json.beginObject();
+            while (json.hasNext()) {
+                if (!field.equals(json.nextName()) || json.peek() == JsonToken.NULL) {
+                    json.skipValue();
+                    continue;
+                }
+
+                String[] batch = new String[size];
+                int count = 0;
+
+                json.beginArray();
+                while (json.hasNext()) {
+                    batch[count++] = json.nextString();
+                    if (count == size) {
+                        consumer.accept(batch);
+                        total += count;
+                        batch = new String[size];
+                        count = 0;
+                    }
+                }
+                json.endArray();
+
+                if (count > 0) {
+                    consumer.accept(Arrays.copyOf(batch, count));
+                    total += count;
+                }
+            }
+            json.endObject();
+        }
+        return total;
+    }
+
+    /**
+     * Passes already received values on in batches, for connections which cannot stream
+     *
+     * @param values The values
+     * @param batchSize The maximum amount of values passed to the consumer at once, at least 1
+     * @param consumer Receives every batch of values
+     * @return The amount of values
+     */
+    public static int emit(String[] values, int batchSize, Consumer<String[]> consumer) {
+        if (null == values) {
+            return 0;
+        }
+
+        int size = Math.max(1, batchSize);
+        for (int i = 0; i < values.length; i += size) {
+            consumer.accept(Arrays.copyOfRange(values, i, Math.min(i + size, values.length)));
+        }
+        return values.length;
+    }
+}
@@ -0,0 +1,61 @@
+package org.iota.jota.connection;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.iota.jota.IotaAPICommand;
+
+/**
+ * Sends requests to the node with the least requests in flight.
+ * Ties are broken in turn, so idle nodes share the load.
+ */
+public class LeastOutstandingNodeSelector implements NodeSelector {
+    
+    private final NodeStatistics statistics;
+    
+    private final AtomicInteger counter = new AtomicInteger();
+    
+    public LeastOutstandingNodeSelector() {
+        this(new NodeStatistics());
+    }
+    
+    /**
+     * 
+     * @param statistics The statistics we keep track of the requests in, can be shared with other selectors
+     */
+    public LeastOutstandingNodeSelector(NodeStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Connection select(IotaAPICommand command, List<Connection> nodes) {
+        int size = nodes.size();
+        int start = Math.floorMod(counter.getAndIncrement(), size);
+        
+        Connection best = null;
+        int bestOutstanding = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            Connection node = nodes.get((start + i) % size);
+            int outstanding = statistics.getOutstanding(node);
+            if (outstanding < bestOutstanding) {
+                best = node;
+                bestOutstanding = outstanding;
+            }
+        }
+        return best;
+    }
+    
+    @Override
+    public void onRequestStarted(Connection node) {
+        statistics.requestStarted(node);
+    }
+    
+    @Override
+    public void onRequestFinished(Connection node, long nanos, boolean success) {
+        statistics.requestFinished(node, nanos);
+    }
+    
+    public NodeStatistics getStatistics() {
+        return statistics;
+    }
+}
@@ -0,0 +1,183 @@
+package org.iota.jota.connection;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The health of a single node, with a circuit breaker which ejects the node after failures.
+ *
+ * The breaker opens after too many consecutive failures, or when the error rate gets too high.
+ * While open, the node receives no requests. After the open time the breaker becomes half open,
+ * and a single request decides if the node is taken back (closed) or ejected again (open).
+ * Other requests skip the node while that request runs, see {@link #tryAcquire()}.
+ */
+public class NodeHealth {
+
+    /**
+     * The states of the circuit breaker
+     */
+    public enum State {
+        /**
+         * The node receives requests
+         */
+        CLOSED,
+
+        /**
+         * The node is ejected
+         */
+        OPEN,
+
+        /**
+         * The node is tried again, by one request
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * Weight of the latest request in the error rate
+     */
+    public static final double ERROR_RATE_ALPHA = 0.2;
+
+    private final int failureThreshold;
+    private final double maxErrorRate;
+    private final long openNanos;
+
+    // Guarded by this
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private double errorRate;
+    private long openedAt;
+    private boolean probing;
+    private long probeStartedAt;
+
+    private volatile int milestoneLag;
+    private volatile boolean inSync = true;
+
+    /**
+     *
+     * @param failureThreshold The amount of consecutive failures which ejects the node
+     * @param maxErrorRate The error rate, between 0 and 1, which ejects the node
+     * @param openTimeMs The time in milliseconds the node stays ejected before it is tried again
+     */
+    public NodeHealth(int failureThreshold, double maxErrorRate, long openTimeMs) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.maxErrorRate = maxErrorRate;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openTimeMs);
+    }
+
+    /**
+     * Gets if the node can receive requests: the breaker is closed or half open without a trial running, 
+     * and the node is in sync
+     *
+     * @return <code>true</code> if the node is available
+     */
+    public boolean isAvailable() {
+        return inSync && canReceive();
+    }
+
+    private synchronized boolean canReceive() {
+        State current = getState();
+        return current == State.CLOSED || current == State.HALF_OPEN && !isProbing();
+    }
+
+    /**
+     * Claims the request which tries a half open node again, before it is sent.
+     * A trial which never reports back expires after the open time, so the node is tried again.
+     *
+     * @return <code>false</code> if the node is half open and another request is trying it already
+     */
+    public synchronized boolean tryAcquire() {
+        if (getState() != State.HALF_OPEN) {
+            return true;
+        }
+
+        if (isProbing()) {
+            return false;
+        }
+
+        probing = true;
+        probeStartedAt = System.nanoTime();
+        return true;
+    }
+
+    // Guarded by this
+    private boolean isProbing() {
+        return probing && System.nanoTime() - probeStartedAt < openNanos;
+    }
+
+    /**
+     *
+     * @return The current state of the breaker
+     */
+    public synchronized State getState() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    /**
+     * Called when the node answered
+     */
+    public synchronized void onSuccess() {
+        errorRate = errorRate * (1 - ERROR_RATE_ALPHA);
+        consecutiveFailures = 0;
+        state = State.CLOSED;
+        probing = false;
+    }
+
+    /**
+     * Called when the node could not be reached, or failed internally
+     */
+    public synchronized void onFailure() {
+        errorRate = errorRate * (1 - ERROR_RATE_ALPHA) + ERROR_RATE_ALPHA;
+        consecutiveFailures++;
+        probing = false;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold || errorRate >= maxErrorRate) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     *
+     * @return The weighted share of failed requests, between 0 and 1
+     */
+    public synchronized double getErrorRate() {
+        return errorRate;
+    }
+
+    /**
+     *
+     * @return The amount of failures since the last success
+     */
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    void setMilestoneLag(int milestoneLag, boolean inSync) {
+        this.milestoneLag = milestoneLag;
+        this.inSync = inSync;
+    }
+
+    /**
+     *
+     * @return The amount of milestones the node was behind at the last check
+     */
+    public int getMilestoneLag() {
+        return milestoneLag;
+    }
+
+    /**
+     *
+     * @return <code>false</code> if the node was too far behind at the last check
+     */
+    public boolean isInSync() {
+        return inSync;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "NodeHealth [state=" + state + ", errorRate=" + errorRate + ", consecutiveFailures=" + consecutiveFailures
+                + ", milestoneLag=" + milestoneLag + ", inSync=" + inSync + "]";
+    }
+}
@@ -0,0 +1,300 @@
+package org.iota.jota.connection;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.iota.jota.dto.request.IotaCommandRequest;
+import org.iota.jota.dto.response.GetNodeInfoResponse;
+import org.iota.jota.error.ConnectorException;
+import org.iota.jota.error.InternalException;
+import org.iota.jota.utils.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps track of the health of nodes, so requests only go to nodes which answer and are in sync.
+ *
+ * Every request result is reported to the circuit breaker of its node, see {@link NodeHealth}.
+ * When started, the monitor also calls <tt>getNodeInfo</tt> on every node periodically.
+ * A node is out of sync when its solid milestone is too far behind the latest milestone any node knows.
+ * Checks also take ejected nodes back once they answer again.
+ *
+ * Checks run on a shared scheduler until {@link #stop()} is called, or until the monitor is no longer used.
+ */
+public class NodeHealthMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(NodeHealthMonitor.class);
+
+    /**
+     * Consecutive failures which eject a node
+     */
+    public static final int DEFAULT_FAILURE_THRESHOLD = 3;
+
+    /**
+     * Error rate which ejects a node
+     */
+    public static final double DEFAULT_MAX_ERROR_RATE = 0.5;
+
+    /**
+     * Time in milliseconds an ejected node receives no requests
+     */
+    public static final long DEFAULT_OPEN_TIME_MS = 30000;
+
+    /**
+     * Milestones a node can be behind before it is considered out of sync
+     */
+    public static final int DEFAULT_MAX_MILESTONE_LAG = 3;
+
+    /**
+     * Time in milliseconds a node gets to answer a check, when checks are not started
+     */
+    public static final long DEFAULT_CHECK_TIMEOUT_MS = 5000;
+
+    private static final ScheduledExecutorService SCHEDULER;
+    private static final ExecutorService EXECUTOR;
+
+    static {
+        NamedThreadFactory names = new NamedThreadFactory("Jota-Health");
+        SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> daemon(names.newThread(r)));
+        EXECUTOR = Executors.newCachedThreadPool(r -> daemon(names.newThread(r)));
+    }
+
+    private static Thread daemon(Thread t) {
+        // Never keep the application alive for health checks
+        t.setDaemon(true);
+        return t;
+    }
+
+    private final Supplier<List<Connection>> nodes;
+    private final int failureThreshold;
+    private final double maxErrorRate;
+    private final long openTimeMs;
+    private final int maxMilestoneLag;
+
+    private final Map<Connection, NodeHealth> health = new ConcurrentHashMap<>();
+
+    private ScheduledFuture<?> task;
+    private volatile long checkTimeoutMs = DEFAULT_CHECK_TIMEOUT_MS;
+
+    /**
+     * Creates a monitor with the default breaker settings
+     *
+     * @param nodes Supplies the nodes we check
+     * @param maxMilestoneLag The milestones a node can be behind before it is out of sync
+     */
+    public NodeHealthMonitor(Supplier<List<Connection>> nodes, int maxMilestoneLag) {
+        this(nodes, DEFAULT_FAILURE_THRESHOLD, DEFAULT_MAX_ERROR_RATE, DEFAULT_OPEN_TIME_MS, maxMilestoneLag);
+    }
+
+    /**
+     *
+     * @param nodes Supplies the nodes we check
+     * @param failureThreshold The amount of consecutive failures which ejects a node
+     * @param maxErrorRate The error rate, between 0 and 1, which ejects a node
+     * @param openTimeMs The time in milliseconds a node stays ejected before it is tried again
+     * @param maxMilestoneLag The milestones a node can be behind before it is out of sync
+     */
+    public NodeHealthMonitor(Supplier<List<Connection>> nodes, int failureThreshold, double maxErrorRate,
+            long openTimeMs, int maxMilestoneLag) {
+
+        this.nodes = Objects.requireNonNull(nodes, "Nodes must not be null.");
+        this.failureThreshold = failureThreshold;
+        this.maxErrorRate = maxErrorRate;
+        this.openTimeMs = openTimeMs;
+        this.maxMilestoneLag = maxMilestoneLag;
+    }
+
+    /**
+     * Checks all nodes periodically, until {@link #stop()} is called.
+     * Nodes which do not answer before the next check count as failed.
+     *
+     * @param intervalMs The time in milliseconds between checks
+     */
+    public synchronized void start(long intervalMs) {
+        stop();
+        checkTimeoutMs = intervalMs;
+        Check check = new Check(this);
+        task = SCHEDULER.scheduleWithFixedDelay(check, 0, intervalMs, TimeUnit.MILLISECONDS);
+        check.task = task;
+    }
+
+    /**
+     *
+     * @return <code>true</code> if nodes are checked periodically
+     */
+    public synchronized boolean isStarted() {
+        return null != task;
+    }
+
+    /**
+     * Stops the periodic checks. Request results are still tracked.
+     */
+    public synchronized void stop() {
+        if (null != task) {
+            task.cancel(false);
+            task = null;
+        }
+    }
+
+    /**
+     * Calls <tt>getNodeInfo</tt> on every node at the same time, and updates their health
+     */
+    public void check() {
+        List<Connection> checked = new ArrayList<>(nodes.get());
+        Map<Connection, CompletableFuture<GetNodeInfoResponse>> infos = new HashMap<>();
+        for (Connection node : checked) {
+            infos.put(node, CompletableFuture.supplyAsync(
+                    () -> node.getNodeInfo(IotaCommandRequest.createNodeInfoRequest()), EXECUTOR));
+        }
+
+        // The timeout of a connection can be far longer than we want to wait for a check
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(checkTimeoutMs);
+        Map<Connection, GetNodeInfoResponse> answered = new HashMap<>();
+        int latestMilestone = 0;
+        for (Connection node : checked) {
+            try {
+                GetNodeInfoResponse info = infos.get(node).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                answered.put(node, info);
+                latestMilestone = Math.max(latestMilestone, info.getLatestMilestoneIndex());
+                onSuccess(node);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException | TimeoutException e) {
+                log.debug("Health check of " + node + " failed: " + e);
+                onFailure(node);
+            }
+        }
+
+        for (Map.Entry<Connection, GetNodeInfoResponse> entry : answered.entrySet()) {
+            int lag = Math.max(0, latestMilestone - entry.getValue().getLatestSolidSubtangleMilestoneIndex());
+            NodeHealth nodeHealth = getHealth(entry.getKey());
+            if (nodeHealth.isInSync() && lag > maxMilestoneLag) {
+                log.warn("Node " + entry.getKey() + " is " + lag + " milestones behind, ejecting it");
+            }
+            nodeHealth.setMilestoneLag(lag, lag <= maxMilestoneLag);
+        }
+    }
+
+    /**
+     * Claims a request on a node, so only one request tries a half open node.
+     *
+     * @param node The node
+     * @return <code>false</code> if another request is trying the node already
+     * @see NodeHealth#tryAcquire()
+     */
+    public boolean tryAcquire(Connection node) {
+        NodeHealth nodeHealth = health.get(node);
+        return null == nodeHealth || nodeHealth.tryAcquire();
+    }
+
+    /**
+     * Filters the nodes which can receive requests.
+     * When no node is available, all nodes are returned, because trying is better than failing right away.
+     *
+     * @param candidates The nodes
+     * @return The available nodes
+     */
+    public List<Connection> available(List<Connection> candidates) {
+        List<Connection> available = new ArrayList<>(candidates.size());
+        for (Connection node : candidates) {
+            NodeHealth nodeHealth = health.get(node);
+            if (null == nodeHealth || nodeHealth.isAvailable()) {
+                available.add(node);
+            }
+        }
+        return available.isEmpty() ? candidates : available;
+    }
+
+    /**
+     * Reports a request the node answered.
+     * Requests the node refused as invalid are answers as well.
+     *
+     * @param node The node
+     */
+    public void onSuccess(Connection node) {
+        getHealth(node).onSuccess();
+    }
+
+    /**
+     * Reports a request the node did not answer
+     *
+     * @param node The node
+     */
+    public void onFailure(Connection node) {
+        NodeHealth nodeHealth = getHealth(node);
+        boolean wasAvailable = nodeHealth.isAvailable();
+        nodeHealth.onFailure();
+        if (wasAvailable && !nodeHealth.isAvailable()) {
+            log.warn("Node " + node + " failed too often, ejecting it for " + openTimeMs + "ms");
+        }
+    }
+
+    /**
+     * Gets if a request failed because of the node, instead of the request itself.
+     * Only these failures count for the breaker, and are worth sending to another node.
+     *
+     * @param e The exception of the request
+     * @return <code>true</code> if the node could not be reached or failed internally
+     */
+    public static boolean isNodeFailure(Throwable e) {
+        return e instanceof IllegalStateException || e instanceof ConnectorException || e instanceof InternalException;
+    }
+
+    /**
+     *
+     * @param node The node
+     * @return The health of the node
+     */
+    public NodeHealth getHealth(Connection node) {
+        return health.computeIfAbsent(node, n -> new NodeHealth(failureThreshold, maxErrorRate, openTimeMs));
+    }
+
+    /**
+     * Forgets the health of a node, for when it is removed
+     *
+     * @param node The node
+     */
+    public void remove(Connection node) {
+        health.remove(node);
+    }
+
+    /**
+     * A periodic check which does not keep the monitor alive.
+     * The api which owns the monitor can be collected without being shut down, the check then cancels itself.
+     */
+    private static class Check implements Runnable {
+
+        private final WeakReference<NodeHealthMonitor> monitor;
+
+        private volatile ScheduledFuture<?> task;
+
+        Check(NodeHealthMonitor monitor) {
+            this.monitor = new WeakReference<>(monitor);
+        }
+
+        @Override
+        public void run() {
+            NodeHealthMonitor current = monitor.get();
+            if (null != current) {
+                current.check();
+            } else if (null != task) {
+                task.cancel(false);
+            }
+        }
+    }
+}
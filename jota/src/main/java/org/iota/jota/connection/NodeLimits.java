@@ -0,0 +1,201 @@
+package org.iota.jota.connection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.iota.jota.IotaAPICommand;
+import org.iota.jota.dto.request.IotaCommandRequest;
+import org.iota.jota.dto.response.GetNodeAPIConfigurationResponse;
+import org.iota.jota.utils.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the request limits of every node, from <tt>getNodeAPIConfiguration</tt>.
+ *
+ * The limits of a node are requested in the background when it is added, so requests do not wait for them.
+ * A chunk of a request can be sent to any node, so requests are split by the strictest limit of all nodes.
+ * The IRI defaults are used for a node which does not tell us its limits.
+ */
+public class NodeLimits {
+
+    private static final Logger log = LoggerFactory.getLogger(NodeLimits.class);
+
+    // Limits of IRI, used when the node does not tell us its limits
+    public static final int DEFAULT_MAX_FIND_TRANSACTIONS = 100000;
+    public static final int DEFAULT_MAX_REQUESTS_LIST = 1000;
+    public static final int DEFAULT_MAX_GET_TRYTES = 10000;
+    public static final int DEFAULT_MAX_BODY_LENGTH = 1000000;
+
+    /**
+     * Time in milliseconds a blocking request waits for limits which are still being requested
+     */
+    private static final long MAX_WAIT_MS = 2000;
+
+    // Only used for connections which can only block
+    private static final ExecutorService EXECUTOR;
+
+    static {
+        NamedThreadFactory names = new NamedThreadFactory("Jota-Limits");
+        EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+            Thread t = names.newThread(r);
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private final Map<Connection, CompletableFuture<GetNodeAPIConfigurationResponse>> limits = new ConcurrentHashMap<>();
+
+    /**
+     * Requests the limits of a node in the background, if we did not already
+     *
+     * @param node The node
+     * @return The future limits, the IRI defaults if the node did not answer
+     */
+    public CompletableFuture<GetNodeAPIConfigurationResponse> fetch(Connection node) {
+        CompletableFuture<GetNodeAPIConfigurationResponse> known = limits.get(node);
+        if (null != known) {
+            return known;
+        }
+
+        CompletableFuture<GetNodeAPIConfigurationResponse> request;
+        try {
+            request = BlockingAsyncConnection.of(node, EXECUTOR)
+                    .getNodeAPIConfigurationAsync(IotaCommandRequest.createGetNodeAPIConfiguration());
+        } catch (RuntimeException e) {
+            request = new CompletableFuture<>();
+            request.completeExceptionally(e);
+        }
+
+        CompletableFuture<GetNodeAPIConfigurationResponse> fetched = request.handle((res, t) -> {
+            if (null != t || null == res) {
+                log.warn("Failed to get the limits of " + node + ", using the IRI defaults: "
+                        + (null == t ? "no response" : t.getMessage()));
+                return defaults();
+            }
+            return res;
+        });
+
+        known = limits.putIfAbsent(node, fetched);
+        return null != known ? known : fetched;
+    }
+
+    /**
+     * Forgets the limits of a node, for when it is removed
+     *
+     * @param node The node
+     */
+    public void remove(Connection node) {
+        limits.remove(node);
+    }
+
+    /**
+     * Gets the limits of a node, if we have them
+     *
+     * @param node The node
+     * @return The limits, or <code>null</code> if we do not have them (yet)
+     */
+    public GetNodeAPIConfigurationResponse get(Connection node) {
+        CompletableFuture<GetNodeAPIConfigurationResponse> known = limits.get(node);
+        return null == known ? null : known.getNow(null);
+    }
+
+    /**
+     * Gets the maximum amount of keys every node accepts in a request.
+     * Waits a short time for limits which are still being requested, and uses the IRI defaults for those after that.
+     *
+     * @param cmd The command
+     * @param nodes The nodes the request can be sent to
+     * @return The maximum amount of keys
+     */
+    public int maxKeys(IotaAPICommand cmd, Collection<Connection> nodes) {
+        int max = Integer.MAX_VALUE;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(MAX_WAIT_MS);
+        for (Connection node : nodes) {
+            max = Math.min(max, limitFor(cmd, await(fetch(node), deadline)));
+        }
+        return max == Integer.MAX_VALUE ? limitFor(cmd, defaults()) : max;
+    }
+
+    /**
+     * Gets the maximum amount of keys every node accepts in a request, without blocking
+     *
+     * @param cmd The command
+     * @param nodes The nodes the request can be sent to
+     * @return The future maximum amount of keys
+     */
+    public CompletableFuture<Integer> maxKeysAsync(IotaAPICommand cmd, Collection<Connection> nodes) {
+        List<CompletableFuture<GetNodeAPIConfigurationResponse>> all = new ArrayList<>();
+        for (Connection node : nodes) {
+            all.add(fetch(node));
+        }
+
+        return CompletableFuture.allOf(all.toArray(new CompletableFuture[0])).thenApply(done -> {
+            int max = limitFor(cmd, defaults());
+            for (int i = 0; i < all.size(); i++) {
+                int limit = limitFor(cmd, all.get(i).join());
+                max = i == 0 ? limit : Math.min(max, limit);
+            }
+            return max;
+        });
+    }
+
+    /**
+     *
+     * @param nodes The nodes
+     * @return The lowest maximum amount of transactions a <tt>findTransactions</tt> of these nodes returns
+     */
+    public int maxFindTransactions(Collection<Connection> nodes) {
+        int max = DEFAULT_MAX_FIND_TRANSACTIONS;
+        boolean first = true;
+        for (Connection node : nodes) {
+            GetNodeAPIConfigurationResponse known = get(node);
+            int limit = (null == known ? defaults() : known).getMaxFindTransactions();
+            max = first ? limit : Math.min(max, limit);
+            first = false;
+        }
+        return max;
+    }
+
+    private static GetNodeAPIConfigurationResponse await(CompletableFuture<GetNodeAPIConfigurationResponse> future,
+            long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return defaults();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return defaults();
+        }
+    }
+
+    /**
+     *
+     * @param cmd The command
+     * @param limits The limits of a node
+     * @return The maximum amount of keys the node accepts for the command
+     */
+    public static int limitFor(IotaAPICommand cmd, GetNodeAPIConfigurationResponse limits) {
+        int limit = IotaAPICommand.GET_TRYTES == cmd ? limits.getMaxGetTrytes() : limits.getMaxRequestsList();
+        // A node which does not report a limit keeps the default
+        return limit > 0 ? limit : limitFor(cmd, defaults());
+    }
+
+    /**
+     *
+     * @return The limits of IRI
+     */
+    public static GetNodeAPIConfigurationResponse defaults() {
+        return (GetNodeAPIConfigurationResponse) GetNodeAPIConfigurationResponse.create(DEFAULT_MAX_FIND_TRANSACTIONS,
+                DEFAULT_MAX_REQUESTS_LIST, DEFAULT_MAX_GET_TRYTES, DEFAULT_MAX_BODY_LENGTH, false, 0);
+    }
+}
@@ -0,0 +1,161 @@
+package org.iota.jota.connection;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.iota.jota.error.AccessLimitedException;
+
+/**
+ * Limits the requests we send to every node, so public nodes do not throttle or ban us.
+ *
+ * Every node has a token bucket which refills at the configured rate, and a request takes a token.
+ * On top of that, a node only gets a limited amount of requests at the same time.
+ * A request which exceeds a limit waits until it fits, or fails with an {@link AccessLimitedException}
+ * once it waited longer than the maximum wait. With a maximum wait of <code>0</code> requests fail right away.
+ */
+public class NodeRateLimiter {
+
+    /**
+     * Time in milliseconds a request waits for the limits by default
+     */
+    public static final long DEFAULT_MAX_WAIT_MS = 10000;
+
+    private final double requestsPerSecond;
+    private final int burst;
+    private final int maxInFlight;
+    private final long maxWaitNanos;
+
+    private final Map<Connection, Bucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     *
+     * @param requestsPerSecond The requests per second we send to a node, <code>0</code> for no limit
+     * @param burst The requests we can send at once after being idle, at least 1
+     * @param maxInFlight The requests a node gets at the same time, <code>0</code> for no limit
+     * @param maxWaitMs The time in milliseconds a request waits for the limits, <code>0</code> to fail right away
+     */
+    public NodeRateLimiter(double requestsPerSecond, int burst, int maxInFlight, long maxWaitMs) {
+        this.requestsPerSecond = Math.max(0, requestsPerSecond);
+        this.burst = Math.max(1, burst);
+        this.maxInFlight = Math.max(0, maxInFlight);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxWaitMs));
+    }
+
+    /**
+     * Waits until the node can receive another request, and counts the request as in flight.
+     * Every successful call must be followed by {@link #release(Connection)}.
+     *
+     * @param node The node we send to
+     * @throws AccessLimitedException When the request did not fit within the maximum wait
+     */
+    public void acquire(Connection node) throws AccessLimitedException {
+        acquire(node, maxWaitNanos);
+    }
+
+    /**
+     * Counts the request as in flight if the node can receive it right away, without waiting.
+     * Every successful call must be followed by {@link #release(Connection)}.
+     *
+     * @param node The node we send to
+     * @throws AccessLimitedException When the node cannot receive another request right now
+     */
+    public void acquireNow(Connection node) throws AccessLimitedException {
+        acquire(node, 0);
+    }
+
+    private void acquire(Connection node, long maxWait) throws AccessLimitedException {
+        Bucket bucket = buckets.computeIfAbsent(node, n -> new Bucket());
+        long deadline = System.nanoTime() + maxWait;
+
+        synchronized (bucket) {
+            while (true) {
+                long now = System.nanoTime();
+                bucket.refill(now);
+
+                long wait;
+                if (maxInFlight > 0 && bucket.inFlight >= maxInFlight) {
+                    // Woken up by a release
+                    wait = deadline - now;
+                } else if (requestsPerSecond == 0) {
+                    bucket.inFlight++;
+                    return;
+                } else if (bucket.tokens >= 1) {
+                    bucket.tokens--;
+                    bucket.inFlight++;
+                    return;
+                } else {
+                    wait = Math.min(deadline - now, (long) ((1 - bucket.tokens) / requestsPerSecond * 1e9) + 1);
+                }
+
+                if (deadline - now <= 0) {
+                    throw new AccessLimitedException("Request limit of " + node + " reached");
+                }
+
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(bucket, wait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new AccessLimitedException("Interrupted while waiting for the request limit of " + node, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks a request as finished
+     *
+     * @param node The node we sent to
+     */
+    public void release(Connection node) {
+        Bucket bucket = buckets.get(node);
+        if (null == bucket) {
+            return;
+        }
+
+        synchronized (bucket) {
+            bucket.inFlight = Math.max(0, bucket.inFlight - 1);
+            bucket.notifyAll();
+        }
+    }
+
+    /**
+     *
+     * @param node The node
+     * @return The amount of requests currently sent to the node
+     */
+    public int getInFlight(Connection node) {
+        Bucket bucket = buckets.get(node);
+        if (null == bucket) {
+            return 0;
+        }
+
+        synchronized (bucket) {
+            return bucket.inFlight;
+        }
+    }
+
+    /**
+     * Forgets the limits of a node, for when it is removed
+     *
+     * @param node The node
+     */
+    public void remove(Connection node) {
+        buckets.remove(node);
+    }
+
+    private class Bucket {
+
+        // Guarded by this
+        double tokens = burst;
+        long refilledAt = System.nanoTime();
+        int inFlight;
+
+        void refill(long now) {
+            if (requestsPerSecond > 0) {
+                tokens = Math.min(burst, tokens + (now - refilledAt) / 1e9 * requestsPerSecond);
+            }
+            refilledAt = now;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.iota.jota.connection;
+
+import java.util.List;
+
+import org.iota.jota.IotaAPICommand;
+
+/**
+ * Picks the node a request is sent to.
+ * 
+ * Selectors are shared by all threads using the API, so implementations must be thread safe.
+ * Every selected node is reported back through {@link #onRequestStarted(Connection)} 
+ * and {@link #onRequestFinished(Connection, long, boolean)}, so selectors can balance on load or latency.
+ */
+public interface NodeSelector {
+    
+    /**
+     * Selects a node for a request
+     * 
+     * @param command The request we are going to make on the node
+     * @param nodes The nodes we can choose from, never empty
+     * @return The node we send the request to, or <code>null</code> if none of the nodes can handle the command
+     */
+    Connection select(IotaAPICommand command, List<Connection> nodes);
+    
+    /**
+     * Called right before a request is sent to the selected node
+     * 
+     * @param node The node
+     */
+    default void onRequestStarted(Connection node) {
+        
+    }
+    
+    /**
+     * Called after the node answered or failed
+     * 
+     * @param node The node
+     * @param nanos The time the request took, in nanoseconds
+     * @param success <code>false</code> if the request threw an exception
+     */
+    default void onRequestFinished(Connection node, long nanos, boolean success) {
+        
+    }
+}
@@ -0,0 +1,97 @@
+package org.iota.jota.connection;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps track of the requests in flight and the response time of every node.
+ * 
+ * Response times are an exponentially weighted moving average, 
+ * so a node which became slow is noticed after a few requests.
+ */
+public class NodeStatistics {
+    
+    /**
+     * Weight of the newest response time in the average
+     */
+    public static final double DEFAULT_ALPHA = 0.3;
+    
+    private final double alpha;
+    
+    private final Map<Connection, Stats> stats = new ConcurrentHashMap<>();
+    
+    public NodeStatistics() {
+        this(DEFAULT_ALPHA);
+    }
+    
+    /**
+     * 
+     * @param alpha The weight of the newest response time, between 0 (exclusive) and 1 (inclusive)
+     */
+    public NodeStatistics(double alpha) {
+        if (alpha <= 0 || alpha > 1) {
+            throw new IllegalArgumentException("Alpha must be in (0, 1]: " + alpha);
+        }
+        this.alpha = alpha;
+    }
+    
+    public void requestStarted(Connection node) {
+        stats(node).outstanding.incrementAndGet();
+    }
+    
+    /**
+     * 
+     * @param node The node
+     * @param nanos The time the request took, in nanoseconds
+     */
+    public void requestFinished(Connection node, long nanos) {
+        Stats s = stats(node);
+        s.outstanding.decrementAndGet();
+        s.record(nanos, alpha);
+    }
+    
+    /**
+     * 
+     * @param node The node
+     * @return The amount of requests currently sent to this node
+     */
+    public int getOutstanding(Connection node) {
+        Stats s = stats.get(node);
+        return s == null ? 0 : Math.max(0, s.outstanding.get());
+    }
+    
+    /**
+     * 
+     * @param node The node
+     * @return The average response time in nanoseconds, or <code>0</code> if the node has not answered yet
+     */
+    public double getLatency(Connection node) {
+        Stats s = stats.get(node);
+        return s == null ? 0 : s.latency;
+    }
+    
+    /**
+     * Forgets everything we know about a node
+     * 
+     * @param node The node
+     */
+    public void remove(Connection node) {
+        stats.remove(node);
+    }
+    
+    private Stats stats(Connection node) {
+        return stats.computeIfAbsent(node, n -> new Stats());
+    }
+    
+    private static class Stats {
+        
+        final AtomicInteger outstanding = new AtomicInteger();
+        
+        volatile double latency;
+        
+        synchronized void record(long nanos, double alpha) {
+            latency = latency == 0 ? nanos : alpha * nanos + (1 - alpha) * latency;
+        }
+    }
+}
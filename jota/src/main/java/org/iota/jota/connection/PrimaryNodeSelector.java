@@ -0,0 +1,17 @@
+package org.iota.jota.connection;
+
+import java.util.List;
+
+import org.iota.jota.IotaAPICommand;
+
+/**
+ * Sends every request to the first node. Other nodes are only used once the first one is removed.
+ * This is the default selector.
+ */
+public class PrimaryNodeSelector implements NodeSelector {
+
+    @Override
+    public Connection select(IotaAPICommand command, List<Connection> nodes) {
+        return nodes.get(0);
+    }
+}
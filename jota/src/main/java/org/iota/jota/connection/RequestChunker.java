@@ -0,0 +1,159 @@
+package org.iota.jota.connection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.iota.jota.utils.NamedThreadFactory;
+
+/**
+ * Splits requests with more keys than a node accepts into chunks, and sends the chunks concurrently.
+ *
+ * Every chunk is a separate call, so the {@link NodeSelector} can spread the chunks over all nodes.
+ * The last chunk is sent from the calling thread, the others from a shared pool of daemon threads.
+ * The pool has at most {@link #MAX_THREADS} threads, when they are all busy the calling thread sends the chunk itself.
+ */
+public class RequestChunker {
+
+    /**
+     * The maximum amount of chunks sent concurrently from the shared pool, for all requests together
+     */
+    public static final int MAX_THREADS = 16;
+
+    private static final ThreadPoolExecutor EXECUTOR;
+
+    static {
+        NamedThreadFactory names = new NamedThreadFactory("Jota-Chunk");
+        EXECUTOR = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+            Thread t = names.newThread(r);
+            // Never keep the application alive for idle request threads
+            t.setDaemon(true);
+            return t;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+        EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
+    private RequestChunker() {
+
+    }
+
+    /**
+     * Sends the keys in chunks of at most <code>chunkSize</code> keys.
+     *
+     * @param keys The keys
+     * @param chunkSize The maximum amount of keys per request, <code>0</code> or less for no limit
+     * @param request Sends a request for a chunk of keys to a node
+     * @param <R> The response type
+     * @return The responses, in the order of the chunks
+     */
+    public static <R> List<R> dispatch(String[] keys, int chunkSize, Function<String[], R> request) {
+        if (chunkSize <= 0 || keys.length <= chunkSize) {
+            List<R> responses = new ArrayList<>(1);
+            responses.add(request.apply(keys));
+            return responses;
+        }
+
+        return dispatch(split(keys, chunkSize), request);
+    }
+
+    /**
+     * Sends a request for every chunk, concurrently.
+     *
+     * @param chunks The chunks
+     * @param request Sends a request for a chunk to a node
+     * @param <T> The chunk type
+     * @param <R> The response type
+     * @return The responses, in the order of the chunks
+     */
+    public static <T, R> List<R> dispatch(List<T> chunks, Function<T, R> request) {
+        List<CompletableFuture<R>> futures = new ArrayList<>(chunks.size() - 1);
+        for (int i = 0; i < chunks.size() - 1; i++) {
+            T chunk = chunks.get(i);
+            futures.add(CompletableFuture.supplyAsync(() -> request.apply(chunk), EXECUTOR));
+        }
+
+        R last = request.apply(chunks.get(chunks.size() - 1));
+
+        List<R> responses = new ArrayList<>(chunks.size());
+        try {
+            for (CompletableFuture<R> future : futures) {
+                responses.add(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        responses.add(last);
+        return responses;
+    }
+
+    /**
+     * Splits keys in chunks of at most <code>chunkSize</code> keys.
+     *
+     * @param keys The keys
+     * @param chunkSize The maximum amount of keys per chunk, <code>0</code> or less for no limit
+     * @return The chunks, in order
+     */
+    public static List<String[]> split(String[] keys, int chunkSize) {
+        List<String[]> chunks = new ArrayList<>();
+        if (chunkSize <= 0 || keys.length <= chunkSize) {
+            chunks.add(keys);
+            return chunks;
+        }
+
+        for (int i = 0; i < keys.length; i += chunkSize) {
+            chunks.add(Arrays.copyOfRange(keys, i, Math.min(keys.length, i + chunkSize)));
+        }
+        return chunks;
+    }
+
+    /**
+     * Concatenates the keys of chunked responses
+     *
+     * @param parts The parts, in order
+     * @return All keys
+     */
+    public static String[] concat(List<String[]> parts) {
+        int length = 0;
+        for (String[] part : parts) {
+            length += part.length;
+        }
+
+        String[] all = new String[length];
+        int offset = 0;
+        for (String[] part : parts) {
+            System.arraycopy(part, 0, all, offset, part.length);
+            offset += part.length;
+        }
+        return all;
+    }
+
+    /**
+     * Concatenates the states of chunked responses
+     *
+     * @param parts The parts, in order
+     * @return All states
+     */
+    public static boolean[] concatStates(List<boolean[]> parts) {
+        int length = 0;
+        for (boolean[] part : parts) {
+            length += part.length;
+        }
+
+        boolean[] all = new boolean[length];
+        int offset = 0;
+        for (boolean[] part : parts) {
+            System.arraycopy(part, 0, all, offset, part.length);
+            offset += part.length;
+        }
+        return all;
+    }
+}
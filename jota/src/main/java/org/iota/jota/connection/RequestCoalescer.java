@@ -0,0 +1,186 @@
+package org.iota.jota.connection;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Merges concurrent requests for lists of keys (hashes or addresses) into a single node request.
+ *
+ * The first caller waits for the window to pass, or until the batch is full, while other callers add their keys.
+ * It then sends one request for all keys, and every caller receives the part of the response for its own keys.
+ * This only works for commands which answer in the order of the requested keys,
+ * like <tt>getBalances</tt>, <tt>getTrytes</tt>, <tt>getInclusionStates</tt> and <tt>wereAddressesSpentFrom</tt>.
+ *
+ * If the merged request fails, every caller in the batch receives the exception.
+ *
+ * @param <R> The response type
+ */
+public class RequestCoalescer<R> {
+
+    /**
+     * The default maximum of keys in a merged request, the default <tt>maxRequestsList</tt> of a node
+     */
+    public static final int DEFAULT_MAX_KEYS = 1000;
+
+    /**
+     * Creates the response of a single caller out of the merged response
+     *
+     * @param <R> The response type
+     */
+    @FunctionalInterface
+    public interface Splitter<R> {
+
+        /**
+         *
+         * @param response The response of the merged request
+         * @param indexes The indexes in the merged response of the keys of the caller, in the order the caller requested them
+         * @return The response for the caller
+         */
+        R split(R response, int[] indexes);
+    }
+
+    private final Function<String[], R> request;
+    private final Splitter<R> splitter;
+    private final long windowNanos;
+    private final int maxKeys;
+
+    // Guarded by this
+    private Batch current;
+
+    /**
+     *
+     * @param request Sends a request for the keys to a node
+     * @param splitter Creates the response for a caller
+     * @param windowMs The time in milliseconds we wait for other callers
+     * @param maxKeys The maximum amount of keys in a single request
+     */
+    public RequestCoalescer(Function<String[], R> request, Splitter<R> splitter, long windowMs, int maxKeys) {
+        this.request = Objects.requireNonNull(request, "Request must not be null.");
+        this.splitter = Objects.requireNonNull(splitter, "Splitter must not be null.");
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.maxKeys = Math.max(1, maxKeys);
+    }
+
+    /**
+     * Requests the keys, together with the keys of other callers in the same window.
+     * Requests with more keys than fit in a batch are sent directly.
+     *
+     * @param keys The keys
+     * @return The response for these keys, in the order of the keys
+     */
+    public R request(String... keys) {
+        if (keys.length == 0 || keys.length > maxKeys) {
+            return request.apply(keys);
+        }
+
+        Batch batch;
+        int[] indexes;
+        boolean leader = false;
+        synchronized (this) {
+            if (current != null && current.size() + keys.length > maxKeys) {
+                close(current);
+            }
+
+            if (current == null) {
+                current = new Batch();
+                leader = true;
+            }
+
+            batch = current;
+            indexes = batch.add(keys);
+            if (batch.size() >= maxKeys) {
+                close(batch);
+            }
+        }
+
+        if (leader) {
+            send(batch);
+        }
+
+        R response;
+        try {
+            response = batch.result.join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+
+        // Nobody joined and we had no duplicate keys, so the response is already ours
+        if (batch.callers == 1 && indexes.length == batch.size()) {
+            return response;
+        }
+        return splitter.split(response, indexes);
+    }
+
+    private void send(Batch batch) {
+        String[] keys;
+        synchronized (this) {
+            long deadline = System.nanoTime() + windowNanos;
+            long remaining = windowNanos;
+            while (!batch.closed && remaining > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                remaining = deadline - System.nanoTime();
+            }
+
+            close(batch);
+            keys = batch.keys.keySet().toArray(new String[0]);
+        }
+
+        try {
+            batch.result.complete(request.apply(keys));
+        } catch (Throwable t) {
+            batch.result.completeExceptionally(t);
+        }
+    }
+
+    private void close(Batch batch) {
+        batch.closed = true;
+        if (current == batch) {
+            current = null;
+        }
+        notifyAll();
+    }
+
+    private static RuntimeException unwrap(CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return e;
+    }
+
+    private class Batch {
+
+        final Map<String, Integer> keys = new LinkedHashMap<>();
+        final CompletableFuture<R> result = new CompletableFuture<>();
+
+        int callers;
+        boolean closed;
+
+        int size() {
+            return keys.size();
+        }
+
+        int[] add(String[] requested) {
+            callers++;
+            int[] indexes = new int[requested.length];
+            for (int i = 0; i < requested.length; i++) {
+                Integer index = keys.putIfAbsent(requested[i], keys.size());
+                indexes[i] = index == null ? keys.size() - 1 : index;
+            }
+            return indexes;
+        }
+    }
+}
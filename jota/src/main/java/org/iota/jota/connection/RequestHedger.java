@@ -0,0 +1,276 @@
+package org.iota.jota.connection;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.iota.jota.IotaAPICommand;
+import org.iota.jota.utils.NamedThreadFactory;
+
+/**
+ * Sends a read request to a second node when the first node is slower than usual, and takes the first answer.
+ *
+ * The delay before the second request is a percentile of the recent latencies of the command,
+ * so only the slowest requests are hedged. A budget limits the extra requests:
+ * every request earns a fraction of a hedge, and a hedge can only be sent with a full one saved up.
+ * With the default budget of <code>0.05</code>, hedging adds at most 5% load on average.
+ * Without a hedge saved up, the request is sent from the calling thread.
+ *
+ * Latencies are reported by the caller with {@link #record(IotaAPICommand, long)}, 
+ * from the moment the request is sent, so waiting for a rate limit does not count.
+ *
+ * Only commands without side effects are hedged, the slower request is not cancelled.
+ */
+public class RequestHedger {
+
+    /**
+     * Percentile of the latency we wait for before hedging
+     */
+    public static final double DEFAULT_PERCENTILE = 0.95;
+
+    /**
+     * Extra requests per request
+     */
+    public static final double DEFAULT_BUDGET = 0.05;
+
+    /**
+     * Hedges we can save up for a burst of slow requests
+     */
+    private static final double MAX_SAVED_HEDGES = 10;
+
+    // Latencies we keep per command, and the amount we need before hedging
+    private static final int SAMPLES = 256;
+    private static final int MIN_SAMPLES = 32;
+    private static final int RECOMPUTE_EVERY = 16;
+
+    private static final IotaAPICommand[] HEDGED_COMMANDS = {
+            IotaAPICommand.GET_TRYTES,
+            IotaAPICommand.GET_BALANCES,
+            IotaAPICommand.FIND_TRANSACTIONS,
+            IotaAPICommand.GET_INCLUSIONS_STATES
+    };
+
+    private static final ExecutorService EXECUTOR;
+
+    static {
+        NamedThreadFactory names = new NamedThreadFactory("Jota-Hedge");
+        EXECUTOR = Executors.newCachedThreadPool(r -> {
+            Thread t = names.newThread(r);
+            // Never keep the application alive for a slow request we do not wait for anymore
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private final double percentile;
+    private final double budget;
+
+    // Filled on creation, only read afterwards
+    private final Map<IotaAPICommand, LatencyWindow> latencies = new EnumMap<>(IotaAPICommand.class);
+
+    // Guarded by this
+    private double savedHedges;
+
+    private final AtomicLong hedges = new AtomicLong();
+
+    /**
+     * Creates a hedger with the default budget
+     *
+     * @param percentile The percentile of the latency we wait for, between 0 and 1
+     */
+    public RequestHedger(double percentile) {
+        this(percentile, DEFAULT_BUDGET);
+    }
+
+    /**
+     *
+     * @param percentile The percentile of the latency we wait for, between 0 and 1
+     * @param budget The maximum extra requests per request, between 0 and 1
+     */
+    public RequestHedger(double percentile, double budget) {
+        this.percentile = Math.min(1, Math.max(0, percentile));
+        this.budget = Math.max(0, budget);
+        for (IotaAPICommand cmd : HEDGED_COMMANDS) {
+            latencies.put(cmd, new LatencyWindow());
+        }
+    }
+
+    /**
+     *
+     * @param cmd The command
+     * @return <code>true</code> if requests for this command can be hedged
+     */
+    public boolean hedges(IotaAPICommand cmd) {
+        return latencies.containsKey(cmd);
+    }
+
+    /**
+     * Sends the request, and hedges it when it is slow.
+     * The requests should report their latency with {@link #record(IotaAPICommand, long)}.
+     *
+     * @param cmd The command
+     * @param primary Sends the request to the selected node
+     * @param backup Creates the request to another node, or returns <code>null</code> when there is no other node
+     * @param <T> The response type
+     * @return The first successful response, or the failure of the primary request if both failed
+     */
+    public <T> T execute(IotaAPICommand cmd, Supplier<T> primary, Supplier<Supplier<T>> backup) {
+        LatencyWindow window = latencies.get(cmd);
+        if (null == window) {
+            return primary.get();
+        }
+
+        earn();
+        long delay = window.delay();
+        if (delay < 0 || !canSpend()) {
+            // We could not hedge anyway, so there is no need to wait on another thread
+            return primary.get();
+        }
+
+        CompletableFuture<T> first = CompletableFuture.supplyAsync(primary, EXECUTOR);
+        try {
+            return first.get(delay, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Slower than usual, hedge below
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for " + cmd.command());
+        }
+
+        Supplier<T> hedge = spend() ? backup.get() : null;
+        CompletableFuture<T> answer = first;
+        if (null != hedge) {
+            hedges.incrementAndGet();
+            answer = firstSuccessful(first, CompletableFuture.supplyAsync(hedge, EXECUTOR));
+        }
+
+        try {
+            return answer.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static <T> CompletableFuture<T> firstSuccessful(CompletableFuture<T> first, CompletableFuture<T> second) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger failed = new AtomicInteger();
+        first.whenComplete((response, t) -> {
+            if (null == t) {
+                result.complete(response);
+            } else if (failed.incrementAndGet() == 2) {
+                result.completeExceptionally(t);
+            }
+        });
+        second.whenComplete((response, t) -> {
+            if (null == t) {
+                result.complete(response);
+            } else if (failed.incrementAndGet() == 2) {
+                // Report the failure of the node we picked first
+                first.whenComplete((r, firstFailure) -> result.completeExceptionally(firstFailure));
+            }
+        });
+        return result;
+    }
+
+    private static RuntimeException unwrap(Throwable t) {
+        if (t instanceof CompletionException && null != t.getCause()) {
+            t = t.getCause();
+        }
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new CompletionException(t);
+    }
+
+    private synchronized void earn() {
+        savedHedges = Math.min(MAX_SAVED_HEDGES, savedHedges + budget);
+    }
+
+    /**
+     * Records the latency of a successful request
+     *
+     * @param cmd The command
+     * @param nanos The time in nanoseconds from sending the request to the response
+     */
+    public void record(IotaAPICommand cmd, long nanos) {
+        LatencyWindow window = latencies.get(cmd);
+        if (null != window) {
+            window.record(nanos);
+        }
+    }
+
+    private synchronized boolean canSpend() {
+        return savedHedges >= 1;
+    }
+
+    private synchronized boolean spend() {
+        if (savedHedges < 1) {
+            return false;
+        }
+        savedHedges--;
+        return true;
+    }
+
+    /**
+     *
+     * @return The amount of hedged requests sent
+     */
+    public long getHedges() {
+        return hedges.get();
+    }
+
+    /**
+     *
+     * @param cmd The command
+     * @return The current delay before hedging in milliseconds, <code>-1</code> when we did not see enough requests yet
+     */
+    public long getDelay(IotaAPICommand cmd) {
+        LatencyWindow window = latencies.get(cmd);
+        long delay = null == window ? -1 : window.delay();
+        return delay < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(delay);
+    }
+
+    /**
+     * The latest latencies of a command, and their percentile
+     */
+    private class LatencyWindow {
+
+        private final long[] samples = new long[SAMPLES];
+        private int next;
+        private int count;
+        private int sinceRecompute;
+        private volatile long delay = -1;
+
+        long delay() {
+            return delay;
+        }
+
+        synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % SAMPLES;
+            count = Math.min(count + 1, SAMPLES);
+            if (count >= MIN_SAMPLES && ++sinceRecompute >= RECOMPUTE_EVERY) {
+                sinceRecompute = 0;
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                delay = sorted[Math.min(count - 1, (int) (percentile * count))];
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.iota.jota.connection;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.iota.jota.IotaAPICommand;
+
+/**
+ * Sends requests to all nodes in turn
+ */
+public class RoundRobinNodeSelector implements NodeSelector {
+    
+    private final AtomicInteger counter = new AtomicInteger();
+
+    @Override
+    public Connection select(IotaAPICommand command, List<Connection> nodes) {
+        return nodes.get(Math.floorMod(counter.getAndIncrement(), nodes.size()));
+    }
+}
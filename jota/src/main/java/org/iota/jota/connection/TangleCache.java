@@ -0,0 +1,247 @@
+package org.iota.jota.connection;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps tangle data which never changes, so it does not have to be requested again.
+ *
+ * The trytes of a transaction are identified by its hash, so they never change once a node knows them.
+ * Inclusion states only stay the same once a transaction is confirmed, so only confirmed states are kept.
+ *
+ * Both are kept in least recently used order. Trytes are limited by the memory their characters take,
+ * confirmed states by their amount. Lookups of both are counted separately.
+ */
+public class TangleCache {
+
+    /**
+     * Confirmed transactions we remember per megabyte of trytes
+     */
+    private static final int CONFIRMED_PER_MEGABYTE = 10000;
+
+    /**
+     * A java char takes 2 bytes
+     */
+    private static final int BYTES_PER_CHAR = 2;
+
+    private final long maxTrytesBytes;
+    private final int maxConfirmed;
+
+    // Guarded by this
+    private final LinkedHashMap<String, String> trytes = new LinkedHashMap<>(16, 0.75f, true);
+    private long trytesBytes;
+
+    private final LinkedHashMap<String, Boolean> confirmed;
+
+    private final AtomicLong trytesHits = new AtomicLong();
+    private final AtomicLong trytesMisses = new AtomicLong();
+    private final AtomicLong inclusionHits = new AtomicLong();
+    private final AtomicLong inclusionMisses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Creates a cache of about the provided size
+     *
+     * @param megabytes The maximum size of the cached trytes in megabytes
+     */
+    public TangleCache(int megabytes) {
+        this((long) megabytes * 1024 * 1024, Math.max(1, megabytes) * CONFIRMED_PER_MEGABYTE);
+    }
+
+    /**
+     *
+     * @param maxTrytesBytes The maximum amount of bytes the trytes we keep take, for all transactions together
+     * @param maxConfirmed The maximum amount of confirmed transactions we remember
+     */
+    public TangleCache(long maxTrytesBytes, int maxConfirmed) {
+        this.maxTrytesBytes = maxTrytesBytes;
+        this.maxConfirmed = maxConfirmed;
+        this.confirmed = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > TangleCache.this.maxConfirmed;
+            }
+        };
+    }
+
+    /**
+     *
+     * @param hash The transaction hash
+     * @return The trytes of the transaction, or <code>null</code> if we do not have them
+     */
+    public String getTrytes(String hash) {
+        String cached;
+        synchronized (this) {
+            cached = trytes.get(hash);
+        }
+        count(null != cached, trytesHits, trytesMisses);
+        return cached;
+    }
+
+    /**
+     * Keeps the trytes of a transaction.
+     * Trytes of transactions the node did not know (only 9s) are not kept, the node can receive them later.
+     *
+     * @param hash The transaction hash
+     * @param value The trytes of the transaction
+     */
+    public void putTrytes(String hash, String value) {
+        if (null == hash || null == value || isEmpty(value) || bytes(value) > maxTrytesBytes) {
+            return;
+        }
+
+        synchronized (this) {
+            String previous = trytes.put(hash, value);
+            trytesBytes += bytes(value) - (null == previous ? 0 : bytes(previous));
+
+            Iterator<String> eldest = trytes.values().iterator();
+            while (trytesBytes > maxTrytesBytes && eldest.hasNext()) {
+                trytesBytes -= bytes(eldest.next());
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private static long bytes(String value) {
+        return (long) value.length() * BYTES_PER_CHAR;
+    }
+
+    private static boolean isEmpty(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) != '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     *
+     * @param hash The transaction hash
+     * @return <code>true</code> if we know the transaction is confirmed
+     */
+    public boolean isConfirmed(String hash) {
+        boolean known;
+        synchronized (this) {
+            known = null != confirmed.get(hash);
+        }
+        count(known, inclusionHits, inclusionMisses);
+        return known;
+    }
+
+    /**
+     * Remembers a transaction as confirmed
+     *
+     * @param hash The transaction hash
+     */
+    public synchronized void putConfirmed(String hash) {
+        confirmed.put(hash, Boolean.TRUE);
+    }
+
+    private static void count(boolean hit, AtomicLong hits, AtomicLong misses) {
+        if (hit) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+    }
+
+    /**
+     * Forgets everything, the metrics stay
+     */
+    public synchronized void clear() {
+        trytes.clear();
+        trytesBytes = 0;
+        confirmed.clear();
+    }
+
+    /**
+     *
+     * @return The amount of trytes lookups we could answer
+     */
+    public long getTrytesHits() {
+        return trytesHits.get();
+    }
+
+    /**
+     *
+     * @return The amount of trytes lookups we had to request from a node
+     */
+    public long getTrytesMisses() {
+        return trytesMisses.get();
+    }
+
+    /**
+     *
+     * @return The amount of inclusion state lookups we could answer
+     */
+    public long getInclusionHits() {
+        return inclusionHits.get();
+    }
+
+    /**
+     *
+     * @return The amount of inclusion state lookups we had to request from a node
+     */
+    public long getInclusionMisses() {
+        return inclusionMisses.get();
+    }
+
+    /**
+     *
+     * @return The amount of transactions we removed to make room
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     *
+     * @return The share of trytes lookups we could answer, between 0 and 1
+     */
+    public double getTrytesHitRate() {
+        return hitRate(trytesHits.get(), trytesMisses.get());
+    }
+
+    /**
+     *
+     * @return The share of inclusion state lookups we could answer, between 0 and 1
+     */
+    public double getInclusionHitRate() {
+        return hitRate(inclusionHits.get(), inclusionMisses.get());
+    }
+
+    private static double hitRate(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     *
+     * @return The amount of transactions we keep the trytes of
+     */
+    public synchronized int getTrytesCount() {
+        return trytes.size();
+    }
+
+    /**
+     *
+     * @return The amount of bytes the trytes we keep take
+     */
+    public synchronized long getTrytesBytes() {
+        return trytesBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "TangleCache [transactions=" + getTrytesCount() + ", trytesHits=" + getTrytesHits()
+                + ", trytesMisses=" + getTrytesMisses() + ", inclusionHits=" + getInclusionHits()
+                + ", inclusionMisses=" + getInclusionMisses() + ", evictions=" + getEvictions() + "]";
+    }
+}
@@ -7,6 +7,15 @@ public class FindTransactionResponse extends AbstractResponse {
 
     String[] hashes;
 
+    /**
+     * Initializes a new instance of the FindTransactionResponse class.
+     */
+    public static FindTransactionResponse create(String[] hashes, long duration) {
+        FindTransactionResponse res = new FindTransactionResponse();
+        res.hashes = hashes;
+        res.setDuration(duration);
+        return res;
+    }
 
     /**
      * Gets the hashes.
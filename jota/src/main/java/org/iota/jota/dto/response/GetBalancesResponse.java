@@ -9,6 +9,18 @@ public class GetBalancesResponse extends AbstractResponse {
     private String[] references;
     private int milestoneIndex;
     
+    /**
+     * Initializes a new instance of the GetBalancesResponse class.
+     */
+    public static GetBalancesResponse create(String[] balances, String[] references, int milestoneIndex, long duration) {
+        GetBalancesResponse res = new GetBalancesResponse();
+        res.balances = balances;
+        res.references = references;
+        res.milestoneIndex = milestoneIndex;
+        res.setDuration(duration);
+        return res;
+    }
+    
     /**
      * Gets the references this balance was requested through
      * 
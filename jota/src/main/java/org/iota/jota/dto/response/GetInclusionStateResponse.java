@@ -7,6 +7,16 @@ public class GetInclusionStateResponse extends AbstractResponse {
 
     private boolean[] states;
 
+    /**
+     * Initializes a new instance of the GetInclusionStateResponse class.
+     */
+    public static GetInclusionStateResponse create(boolean[] states, long duration) {
+        GetInclusionStateResponse res = new GetInclusionStateResponse();
+        res.states = states;
+        res.setDuration(duration);
+        return res;
+    }
+
     /**
      * Gets the states.
      *
@@ -7,6 +7,16 @@ public class GetTrytesResponse extends AbstractResponse {
 
     private String[] trytes;
 
+    /**
+     * Initializes a new instance of the GetTrytesResponse class.
+     */
+    public static GetTrytesResponse create(String[] trytes, long duration) {
+        GetTrytesResponse res = new GetTrytesResponse();
+        res.trytes = trytes;
+        res.setDuration(duration);
+        return res;
+    }
+
     /**
      * Gets the trytes.
      *
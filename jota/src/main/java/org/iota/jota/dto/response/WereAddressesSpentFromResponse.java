@@ -9,6 +9,16 @@ public class WereAddressesSpentFromResponse extends AbstractResponse {
 
     private boolean[] states;
 
+    /**
+     * Initializes a new instance of the WereAddressesSpentFromResponse class.
+     */
+    public static WereAddressesSpentFromResponse create(boolean[] states, long duration) {
+        WereAddressesSpentFromResponse res = new WereAddressesSpentFromResponse();
+        res.states = states;
+        res.setDuration(duration);
+        return res;
+    }
+
     /**
      * Gets the states.
      *
@@ -1,5 +1,7 @@
 package org.iota.jota.pow;
 
+import org.iota.jota.utils.TritBuffer;
+
 /**
  * This interface abstracts the curl hashing algorithm.
  *
@@ -43,6 +45,34 @@ public interface ICurl {
      */
     int[] squeeze(final int[] trits);
 
+    /**
+     * Absorbs the specified packed trits.
+     * Implementations should override this to read the trits without unpacking them all first.
+     *
+     * @param trits  The trits.
+     * @param offset The offset to start from.
+     * @param length The length.
+     * @return The ICurl instance (used for method chaining).
+     */
+    default ICurl absorb(final TritBuffer trits, int offset, int length) {
+        return absorb(trits.getTrits(offset, new int[length], 0, length), 0, length);
+    }
+
+    /**
+     * Squeezes into the specified packed trits.
+     * Implementations should override this to write the trits without unpacking them all first.
+     *
+     * @param trits  The trits.
+     * @param offset The offset to start from.
+     * @param length The length.
+     * @return The squeezed trits.
+     */
+    default TritBuffer squeeze(final TritBuffer trits, int offset, int length) {
+        int[] squeezed = new int[length];
+        squeeze(squeezed, 0, length);
+        return trits.setTrits(offset, squeezed, 0, length);
+    }
+
     /**
      * Transforms this instance.
      *
@@ -6,6 +6,7 @@ import java.util.Objects;
 
 import org.iota.jota.utils.Converter;
 import org.iota.jota.utils.Pair;
+import org.iota.jota.utils.TritBuffer;
 
 /**
  * (c) 2016 Come-from-Beyond
@@ -86,6 +87,26 @@ public class JCurl implements ICurl {
         return absorb(trits, 0, trits.length);
     }
 
+    /**
+     * Absorbs the specified packed trits, unpacking them straight into the state.
+     *
+     * @param trits  The trits.
+     * @param offset The offset to start from.
+     * @param length The length.
+     * @return The ICurl instance (used for method chaining).
+     */
+    @Override
+    public JCurl absorb(final TritBuffer trits, int offset, int length) {
+
+        do {
+            trits.getTrits(offset, state, 0, length < HASH_LENGTH ? length : HASH_LENGTH);
+            transform();
+            offset += HASH_LENGTH;
+        } while ((length -= HASH_LENGTH) > 0);
+
+        return this;
+    }
+
     /**
      * Transforms this instance.
      *
@@ -159,6 +180,26 @@ public class JCurl implements ICurl {
         return squeeze(trits, 0, trits.length);
     }
 
+    /**
+     * Squeezes into the specified packed trits, packing them straight from the state.
+     *
+     * @param trits  The trits.
+     * @param offset The offset to start from.
+     * @param length The length.
+     * @return The squeezed trits.
+     */
+    @Override
+    public TritBuffer squeeze(final TritBuffer trits, int offset, int length) {
+
+        do {
+            trits.setTrits(offset, state, 0, length < HASH_LENGTH ? length : HASH_LENGTH);
+            transform();
+            offset += HASH_LENGTH;
+        } while ((length -= HASH_LENGTH) > 0);
+
+        return trits;
+    }
+
     /**
      * Gets the states.
      *
@@ -1,11 +1,16 @@
 package org.iota.jota.pow;
 
-import java.util.LinkedHashSet;
-import java.util.Set;
+import java.nio.ByteBuffer;
 
-import org.bouncycastle.jcajce.provider.digest.Keccak;
-import org.iota.jota.utils.Pair;
+import org.bouncycastle.crypto.digests.KeccakDigest;
+import org.iota.jota.utils.TritBuffer;
 
+/**
+ * Kerl hashes trits by converting every 243 trits into 48 bytes and feeding those to Keccak-384.
+ *
+ * Conversions run on buffers owned by this instance, so absorbing and squeezing does not allocate.
+ * As a consequence, a Kerl instance must not be shared between threads.
+ */
 public class Kerl extends JCurl {
 
     private static final int HASH_LENGTH = 243;
@@ -13,9 +18,10 @@ public class Kerl extends JCurl {
     private static final int BYTE_HASH_LENGTH = BIT_HASH_LENGTH / 8;
 
     private static final int RADIX = 3;
-    private final Keccak.Digest384 keccak;
-    private byte[] byte_state;
-    private int[] trit_state;
+    private final KeccakDigest keccak;
+    private final byte[] byte_state;
+    private final int[] trit_state;
+    private final int[] base;
 
     private static final int[] HALF_3 = new int[]{
             0xa5ce8964, 0x9f007669, 0x1484504f, 0x3ade00d9, 0x0c24486e, 0x50979d57, 0x79a4c702, 0x48bbae36, 0xa9f6808b, 0xaa06a805, 0xa87fabdf, 0x5e69ebef};
@@ -24,9 +30,10 @@ public class Kerl extends JCurl {
 
     Kerl() {
         super(SpongeFactory.Mode.CURL_P81);
-        this.keccak = new Keccak.Digest384();
+        this.keccak = new KeccakDigest(BIT_HASH_LENGTH);
         this.byte_state = new byte[BYTE_HASH_LENGTH];
         this.trit_state = new int[HASH_LENGTH];
+        this.base = new int[INT_LENGTH];
     }
 
     private static final long toUnsignedLong(int i) {
@@ -37,92 +44,91 @@ public class Kerl extends JCurl {
         return x & 0xff;
     }
 
-    private static int sum(int[] toSum) {
-        int sum = 0;
-        for (int aToSum : toSum) {
-            sum += aToSum;
-        }
-        return sum;
-    }
-
     public static byte[] convertTritsToBytes(final int[] trits) {
         if (trits.length != Kerl.HASH_LENGTH) {
             throw new RuntimeException("Input trits length must be " + Kerl.HASH_LENGTH + "in length");
         }
-        int[] base = new int[INT_LENGTH];
 
-        Set<Integer> setUniqueNumbers = new LinkedHashSet<>();
+        byte[] out = new byte[BYTE_LENGTH];
+        convertTritsToBytes(trits, new int[INT_LENGTH], out);
+        return out;
+    }
+
+    /**
+     * Converts 243 trits into 48 bytes, using <tt>base</tt> as working space
+     */
+    private static void convertTritsToBytes(final int[] trits, final int[] base, final byte[] out) {
+        boolean allMinusOne = true;
         for (int x : trits) {
-            setUniqueNumbers.add(x);
+            if (x != -1) {
+                allMinusOne = false;
+                break;
+            }
         }
-        if (setUniqueNumbers.size() == 1 && setUniqueNumbers.contains(-1)) {
-            base = HALF_3.clone();
+
+        if (allMinusOne) {
+            System.arraycopy(HALF_3, 0, base, 0, INT_LENGTH);
             bigintNot(base);
             bigintAdd(base, 1);
         } else {
-            int size = INT_LENGTH;
+            for (int i = 0; i < INT_LENGTH; i++) {
+                base[i] = 0;
+            }
+
             for (int i = Kerl.HASH_LENGTH - 1; i-- > 0; ) {
                 { // Multiply by radix
-                    int sz = size;
                     int carry = 0;
 
-                    for (int j = 0; j < sz; j++) {
+                    for (int j = 0; j < INT_LENGTH; j++) {
                         // full_mul
-                        long v = Kerl.toUnsignedLong(base[j]) * (Kerl.toUnsignedLong(RADIX)) + Kerl.toUnsignedLong(carry);
-                        carry = (int) ((v >> Integer.SIZE) & 0xFFFFFFFF);
-                        base[j] = (int) (v & 0xFFFFFFFF);
-                    }
-
-                    if (carry > 0) {
-                        base[sz] = carry;
-                        size += 1;
-                    }
-                }
-                final int in = trits[i] + 1;
-                { // Add
-                    int sz = bigintAdd(base, in);
-                    if (sz > size) {
-                        size = sz;
+                        long v = Kerl.toUnsignedLong(base[j]) * RADIX + Kerl.toUnsignedLong(carry);
+                        carry = (int) (v >>> Integer.SIZE);
+                        base[j] = (int) v;
                     }
                 }
+                // Add
+                bigintAdd(base, trits[i] + 1);
             }
 
-            if (sum(base) != 0) {
+            if (!isZero(base)) {
                 if (bigintCmp(HALF_3, base) <= 0) {
                     // base is >= HALF_3.
                     // just do base - HALF_3
-                    base = bigintSub(base, HALF_3);
+                    bigintSub(base, HALF_3, base);
                 } else {
                     // we don't have a wrapping sub.
                     // so we need to be clever.
-                    base = bigintSub(HALF_3, base);
+                    bigintSub(HALF_3, base, base);
                     bigintNot(base);
                     bigintAdd(base, 1);
                 }
             }
-
         }
 
-        byte[] out = new byte[BYTE_LENGTH];
-
         for (int i = 0; i < INT_LENGTH; i++) {
             out[i * 4 + 0] = (byte) ((base[INT_LENGTH - 1 - i] & 0xFF000000) >> 24);
             out[i * 4 + 1] = (byte) ((base[INT_LENGTH - 1 - i] & 0x00FF0000) >> 16);
             out[i * 4 + 2] = (byte) ((base[INT_LENGTH - 1 - i] & 0x0000FF00) >> 8);
             out[i * 4 + 3] = (byte) ((base[INT_LENGTH - 1 - i] & 0x000000FF) >> 0);
         }
-        return out;
     }
 
     public static int[] convertBytesToTrits(byte[] bytes) {
-        int[] base = new int[INT_LENGTH];
-        int[] out = new int[243];
-        out[Kerl.HASH_LENGTH - 1] = 0;
-
         if (bytes.length != BYTE_LENGTH) {
             throw new RuntimeException("Input base must be " + BYTE_LENGTH + " in length");
         }
 
+        int[] out = new int[243];
+        convertBytesToTrits(bytes, new int[INT_LENGTH], out, 0);
+        return out;
+    }
+
+    /**
+     * Converts 48 bytes into 243 trits at <tt>offset</tt> of <tt>out</tt>, using <tt>base</tt> as working space
+     */
+    private static void convertBytesToTrits(final byte[] bytes, final int[] base, final int[] out, final int offset) {
+        out[offset + Kerl.HASH_LENGTH - 1] = 0;
+
         for (int i = 0; i < INT_LENGTH; i++) {
             base[INT_LENGTH - 1 - i] = Kerl.toUnsignedInt(bytes[i * 4]) << 24;
             base[INT_LENGTH - 1 - i] |= Kerl.toUnsignedInt(bytes[i * 4 + 1]) << 16;
@@ -138,7 +144,7 @@ public class Kerl extends JCurl {
                 val = 1;
             }
             for (int i = 0; i < Kerl.HASH_LENGTH - 1; i++) {
-                out[i] = val;
+                out[offset + i] = val;
             }
 
         } else {
@@ -148,45 +154,45 @@ public class Kerl extends JCurl {
                 // negative value.
                 bigintNot(base);
                 if (bigintCmp(base, HALF_3) > 0) {
-                    base = bigintSub(base, HALF_3);
+                    bigintSub(base, HALF_3, base);
                     flipTrits = true;
                 } else {
                     bigintAdd(base, 1);
-                    base = bigintSub(HALF_3, base);
+                    bigintSub(HALF_3, base, base);
                 }
             } else {
                 // positive. we need to shift right by HALF_3
-                base = bigintAdd(HALF_3, base);
+                bigintAdd(HALF_3, base, base);
             }
 
-            int size = INT_LENGTH;
-
-            int remainder = 0;
             for (int i = 0; i < Kerl.HASH_LENGTH - 1; i++) {
-                { //div_rem
-                    remainder = 0;
+                //div_rem
+                int remainder = 0;
 
-                    for (int j = size - 1; j >= 0; j--) {
-                        long lhs = (Kerl.toUnsignedLong(remainder) << 32) | Kerl.toUnsignedLong(base[j]);
-                        long rhs = Kerl.toUnsignedLong(RADIX);
+                for (int j = INT_LENGTH - 1; j >= 0; j--) {
+                    long lhs = (Kerl.toUnsignedLong(remainder) << 32) | Kerl.toUnsignedLong(base[j]);
 
-                        int q = (int) (lhs / rhs);
-                        int r = (int) (lhs % rhs);
-                        base[j] = q;
-                        remainder = r;
-                    }
+                    base[j] = (int) (lhs / RADIX);
+                    remainder = (int) (lhs % RADIX);
                 }
-                out[i] = remainder - 1;
+                out[offset + i] = remainder - 1;
             }
 
             if (flipTrits) {
-                for (int i = 0; i < out.length; i++) {
-                    out[i] = -out[i];
+                for (int i = 0; i < Kerl.HASH_LENGTH; i++) {
+                    out[offset + i] = -out[offset + i];
                 }
             }
         }
+    }
 
-        return out;
+    private static boolean isZero(int[] base) {
+        for (int i : base) {
+            if (i != 0) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private static void bigintNot(int[] base) {
@@ -195,35 +201,30 @@ public class Kerl extends JCurl {
         }
     }
 
-    private static int bigintAdd(int[] base, final int rh) {
-        Pair<Integer, Boolean> res = fullAdd(base[0], rh, false);
-        base[0] = res.getLow();
+    private static void bigintAdd(int[] base, final int rh) {
+        long v = Kerl.toUnsignedLong(base[0]) + Kerl.toUnsignedLong(rh);
+        base[0] = (int) v;
 
-        int j = 1;
-        while (res.getHi()) {
-            res = fullAdd(base[j], 0, true);
-            base[j] = res.getLow();
-            j += 1;
+        for (int j = 1; (v >>> 32) != 0 && j < INT_LENGTH; j++) {
+            v = Kerl.toUnsignedLong(base[j]) + 1;
+            base[j] = (int) v;
         }
-
-        return j;
     }
 
-    private static int[] bigintAdd(final int[] lh, final int[] rh) {
-        int[] out = new int[INT_LENGTH];
-        boolean carry = false;
-        Pair<Integer, Boolean> ret;
+    /**
+     * Adds <tt>lh</tt> and <tt>rh</tt> into <tt>out</tt>, which may be one of the inputs
+     */
+    private static void bigintAdd(final int[] lh, final int[] rh, final int[] out) {
+        long carry = 0;
         for (int i = 0; i < INT_LENGTH; i++) {
-            ret = fullAdd(lh[i], rh[i], carry);
-            out[i] = ret.getLow();
-            carry = ret.getHi();
+            long v = Kerl.toUnsignedLong(lh[i]) + Kerl.toUnsignedLong(rh[i]) + carry;
+            out[i] = (int) v;
+            carry = v >>> 32;
         }
 
-        if (carry) {
+        if (carry != 0) {
             throw new RuntimeException("Exceeded max value.");
         }
-
-        return out;
     }
 
     private static int bigintCmp(final int[] lh, final int[] rh) {
@@ -236,40 +237,20 @@ public class Kerl extends JCurl {
         return 0;
     }
 
-    private static int[] bigintSub(final int[] lh, final int[] rh) {
-        int[] out = new int[INT_LENGTH];
-        boolean noborrow = true;
-        Pair<Integer, Boolean> ret;
+    /**
+     * Subtracts <tt>rh</tt> from <tt>lh</tt> into <tt>out</tt>, which may be one of the inputs
+     */
+    private static void bigintSub(final int[] lh, final int[] rh, final int[] out) {
+        long noborrow = 1;
         for (int i = 0; i < INT_LENGTH; i++) {
-            ret = fullAdd(lh[i], ~rh[i], noborrow);
-            out[i] = ret.getLow();
-            noborrow = ret.getHi();
+            long v = Kerl.toUnsignedLong(lh[i]) + Kerl.toUnsignedLong(~rh[i]) + noborrow;
+            out[i] = (int) v;
+            noborrow = v >>> 32;
         }
 
-        if (!noborrow) {
+        if (noborrow == 0) {
             throw new RuntimeException("noborrow");
         }
-
-        return out;
-    }
-
-    private static Pair<Integer, Boolean> fullAdd(final int ia, final int ib, final boolean carry) {
-        long a = Kerl.toUnsignedLong(ia);
-        long b = Kerl.toUnsignedLong(ib);
-
-        long v = a + b;
-        long l = v >> 32;
-        long r = v & 0xFFFFFFFF;
-        boolean carry1 = l != 0;
-
-        if (carry) {
-            v = r + 1;
-        }
-        l = (v >> 32) & 0xFFFFFFFF;
-        r = v & 0xFFFFFFFF;
-        boolean carry2 = l != 0;
-
-        return new Pair<>((int) r, carry1 || carry2);
     }
 
     @Override
@@ -291,13 +272,25 @@ public class Kerl extends JCurl {
 
             //copy trits[offset:offset+length]
             System.arraycopy(trits, offset, trit_state, 0, HASH_LENGTH);
+            absorbTritState();
+            offset += HASH_LENGTH;
 
-            //convert to bits
-            trit_state[HASH_LENGTH - 1] = 0;
-            byte[] bytes = convertTritsToBytes(trit_state);
+        } while ((length -= HASH_LENGTH) > 0);
 
-            //run keccak
-            keccak.update(bytes);
+        return this;
+    }
+
+    @Override
+    public Kerl absorb(final TritBuffer trits, int offset, int length) {
+
+        if (length % 243 != 0) {
+            throw new RuntimeException("Illegal length: " + length);
+        }
+
+        do {
+
+            trits.getTrits(offset, trit_state, 0, HASH_LENGTH);
+            absorbTritState();
             offset += HASH_LENGTH;
 
         } while ((length -= HASH_LENGTH) > 0);
@@ -305,6 +298,60 @@ public class Kerl extends JCurl {
         return this;
     }
 
+    private void absorbTritState() {
+        //convert to bits
+        trit_state[HASH_LENGTH - 1] = 0;
+        convertTritsToBytes(trit_state, base, byte_state);
+
+        //run keccak
+        keccak.update(byte_state, 0, BYTE_HASH_LENGTH);
+    }
+
+    /**
+     * Absorbs trits which are already converted to bytes, skipping the conversion.
+     * Every 48 bytes must be the result of {@link #convertTritsToBytes(int[])} on 243 trits of which the last is <code>0</code>,
+     * so absorbing them is the same as absorbing those trits.
+     *
+     * @param bytes The bytes.
+     * @param offset The offset to start from.
+     * @param length The length, a multiple of 48.
+     * @return The Kerl instance (used for method chaining).
+     */
+    public Kerl absorbBytes(final byte[] bytes, int offset, int length) {
+
+        if (length % BYTE_HASH_LENGTH != 0) {
+            throw new RuntimeException("Illegal length: " + length);
+        }
+
+        keccak.update(bytes, offset, length);
+        return this;
+    }
+
+    /**
+     * Absorbs all remaining bytes of the buffer, see {@link #absorbBytes(byte[], int, int)}.
+     *
+     * @param bytes The bytes, a multiple of 48 must be remaining.
+     * @return The Kerl instance (used for method chaining).
+     */
+    public Kerl absorb(final ByteBuffer bytes) {
+
+        if (bytes.remaining() % BYTE_HASH_LENGTH != 0) {
+            throw new RuntimeException("Illegal length: " + bytes.remaining());
+        }
+
+        if (bytes.hasArray()) {
+            keccak.update(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+            bytes.position(bytes.limit());
+        } else {
+            while (bytes.hasRemaining()) {
+                bytes.get(byte_state, 0, BYTE_HASH_LENGTH);
+                keccak.update(byte_state, 0, BYTE_HASH_LENGTH);
+            }
+        }
+
+        return this;
+    }
+
     @Override
     public int[] squeeze(final int[] trits, int offset, int length) {
 
@@ -314,20 +361,30 @@ public class Kerl extends JCurl {
 
         do {
 
-            byte_state = this.keccak.digest();
-            //convert to trits
-            trit_state = convertBytesToTrits(byte_state);
+            keccak.doFinal(byte_state, 0);
+            //convert to trits, directly into the output
+            convertBytesToTrits(byte_state, base, trits, offset);
+            rehash();
+            offset += HASH_LENGTH;
+
+        } while ((length -= HASH_LENGTH) > 0);
+
+        return trits;
+    }
 
-            //copy with offset
-            trit_state[HASH_LENGTH - 1] = 0;
-            System.arraycopy(trit_state, 0, trits, offset, HASH_LENGTH);
+    @Override
+    public TritBuffer squeeze(final TritBuffer trits, int offset, int length) {
 
-            //calculate hash again
-            for (int i = byte_state.length; i-- > 0; ) {
+        if (length % 243 != 0) {
+            throw new RuntimeException("Illegal length: " + length);
+        }
 
-                byte_state[i] = (byte) (byte_state[i] ^ 0xFF);
-            }
-            keccak.update(byte_state);
+        do {
+
+            keccak.doFinal(byte_state, 0);
+            convertBytesToTrits(byte_state, base, trit_state, 0);
+            trits.setTrits(offset, trit_state, 0, HASH_LENGTH);
+            rehash();
             offset += HASH_LENGTH;
 
         } while ((length -= HASH_LENGTH) > 0);
@@ -335,6 +392,15 @@ public class Kerl extends JCurl {
         return trits;
     }
 
+    private void rehash() {
+        //calculate hash again
+        for (int i = byte_state.length; i-- > 0; ) {
+
+            byte_state[i] = (byte) (byte_state[i] ^ 0xFF);
+        }
+        keccak.update(byte_state, 0, BYTE_HASH_LENGTH);
+    }
+
     /**
      * Squeezes the specified trits.
      *
@@ -354,4 +420,4 @@ public class Kerl extends JCurl {
     public Kerl clone() {
         return new Kerl();
     }
-}
\ No newline at end of file
+}
@@ -5,6 +5,11 @@ import static org.iota.jota.pow.pearldiver.PearlDiver.State.CANCELLED;
 import static org.iota.jota.pow.pearldiver.PearlDiver.State.COMPLETED;
 import static org.iota.jota.pow.pearldiver.PearlDiver.State.RUNNING;
 
+import java.util.concurrent.CountDownLatch;
+
+import org.iota.jota.pow.ICurl;
+import org.iota.jota.pow.SpongeFactory;
+
 
 /**
  * (c) 2016 Come-from-Beyond
@@ -23,12 +28,69 @@ public class PearlDiver {
     private static final int CURL_HASH_LENGTH = 243;
     private static final int CURL_STATE_LENGTH = CURL_HASH_LENGTH * 3;
 
+    /**
+     * Amount of trits in front of the trunk transaction, see {@link #absorbPrefix(int[])}
+     */
+    public static final int PREFIX_LENGTH = CURL_HASH_LENGTH * 30;
+
     private static final long HIGH_BITS = 0b11111111_11111111_11111111_11111111_11111111_11111111_11111111_11111111L;
     private static final long LOW_BITS = 0b00000000_00000000_00000000_00000000_00000000_00000000_00000000_00000000L;
 
     private volatile State state;
     private final Object syncObj = new Object();
 
+    /**
+     * Curl buffers of the current thread, allocated once per thread instead of once per search.
+     */
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * Most banks of 64 lanes a worker may transform at once
+     */
+    public static final int MAX_LANE_BANKS = 2;
+
+    private final PearlDiverPool pool;
+    private final int laneBanks;
+
+    /**
+     * Creates a PearlDiver which searches on the shared default {@link PearlDiverPool}
+     */
+    public PearlDiver() {
+        this(PearlDiverPool.getDefault());
+    }
+
+    /**
+     * Creates a PearlDiver which searches on the provided pool
+     *
+     * @param pool The workers we hand our search to
+     */
+    public PearlDiver(PearlDiverPool pool) {
+        this(pool, 1);
+    }
+
+    /**
+     * Creates a PearlDiver of which every worker tries <code>64 * laneBanks</code> nonces per transform.
+     * The banks are transformed in the same loop, which gives the CPU independent work to overlap.
+     *
+     * @param pool The workers we hand our search to
+     * @param laneBanks The amount of 64 lane banks, between <code>1</code> and {@link #MAX_LANE_BANKS}
+     */
+    public PearlDiver(PearlDiverPool pool, int laneBanks) {
+        if (laneBanks < 1 || laneBanks > MAX_LANE_BANKS) {
+            throw new IllegalArgumentException("Invalid amount of lane banks: " + laneBanks);
+        }
+        this.pool = pool;
+        this.laneBanks = laneBanks;
+    }
+
+    /**
+     *
+     * @return The amount of 64 lane banks every worker transforms at once
+     */
+    public int getLaneBanks() {
+        return laneBanks;
+    }
+
     public void cancel() {
         synchronized (syncObj) {
             state = CANCELLED;
@@ -36,185 +98,400 @@ public class PearlDiver {
         }
     }
 
-    public synchronized boolean search(final int[] transactionTrits, final int minWeightMagnitude,
-                                       int numberOfThreads) {
-
-        if (transactionTrits.length != TRANSACTION_LENGTH) {
+    /**
+     * Absorbs the part of a transaction which is the same for every attachment of it.
+     * These are all fields up to and including the bundle hash, so anything but the trunk, branch,
+     * tag, attachment timestamps and nonce.
+     *
+     * @param transactionTrits The transaction trits, at least {@link #PREFIX_LENGTH} long
+     * @return The Curl-P-81 state after absorbing the prefix
+     */
+    public static int[] absorbPrefix(final int[] transactionTrits) {
+        if (transactionTrits.length < PREFIX_LENGTH) {
             throw new RuntimeException(
                     "Invalid transaction trits length: " + transactionTrits.length);
         }
-        if (minWeightMagnitude < 0 || minWeightMagnitude > CURL_HASH_LENGTH) {
-            throw new RuntimeException("Invalid min weight magnitude: " + minWeightMagnitude);
-        }
+
+        ICurl curl = SpongeFactory.create(SpongeFactory.Mode.CURL_P81);
+        curl.absorb(transactionTrits, 0, PREFIX_LENGTH);
+        return curl.getState().clone();
+    }
+
+    public boolean search(final int[] transactionTrits, final int minWeightMagnitude,
+                          int numberOfThreads) {
+        return search(transactionTrits, minWeightMagnitude, numberOfThreads, null);
+    }
+
+    /**
+     * Searches for a nonce, continuing from an already absorbed prefix.
+     *
+     * @param transactionTrits The transaction trits, the nonce is written into these
+     * @param minWeightMagnitude The amount of 0-trits the hash must end with
+     * @param numberOfThreads The amount of workers to use, <code>0</code> for all workers of the pool
+     * @param prefixState The result of {@link #absorbPrefix(int[])} for these trits,
+     *                    or <code>null</code> to absorb the whole transaction
+     * @return <code>true</code> if a nonce was found, <code>false</code> if we were cancelled
+     */
+    public synchronized boolean search(final int[] transactionTrits, final int minWeightMagnitude,
+                                       int numberOfThreads, final int[] prefixState) {
+
+        validate(transactionTrits, minWeightMagnitude, prefixState);
 
         synchronized (syncObj) {
             state = RUNNING;
         }
 
-        final long[] midCurlStateLow = new long[CURL_STATE_LENGTH], midCurlStateHigh = new long[CURL_STATE_LENGTH];
+        // The mid state lives in the buffers of the caller, every worker copies it into its own
+        final Scratch callerScratch = SCRATCH.get();
+        final long[] midCurlStateLow = callerScratch.midCurlStateLow;
+        final long[] midCurlStateHigh = callerScratch.midCurlStateHigh;
+        absorbMidState(transactionTrits, prefixState, callerScratch);
 
-        {
-            for (int i = CURL_HASH_LENGTH; i < CURL_STATE_LENGTH; i++) {
-                midCurlStateLow[i] = HIGH_BITS;
-                midCurlStateHigh[i] = HIGH_BITS;
+        if (numberOfThreads <= 0 || numberOfThreads > pool.getNumberOfThreads()) {
+            numberOfThreads = pool.getNumberOfThreads();
+        }
+
+        final CountDownLatch finished = new CountDownLatch(numberOfThreads);
+
+        while (numberOfThreads-- > 0) {
+
+            final int threadIndex = numberOfThreads;
+            pool.execute(() -> {
+                try {
+                    work(threadIndex, midCurlStateLow, midCurlStateHigh, transactionTrits, minWeightMagnitude);
+                } finally {
+                    finished.countDown();
+                }
+            });
+        }
+
+        try {
+            synchronized (syncObj) {
+                if (state == RUNNING) {
+                    syncObj.wait();
+                }
+            }
+        } catch (final InterruptedException e) {
+            synchronized (syncObj) {
+                state = CANCELLED;
             }
+        }
 
-            int offset = 0;
-            final long[] curlScratchpadLow = new long[CURL_STATE_LENGTH], curlScratchpadHigh = new long[CURL_STATE_LENGTH];
-            for (int i = (TRANSACTION_LENGTH - CURL_HASH_LENGTH) / CURL_HASH_LENGTH; i-- > 0; ) {
+        // Workers read our mid state and write the nonce, so they must be done before we return
+        boolean interrupted = false;
+        while (true) {
+            try {
+                finished.await();
+                break;
+            } catch (final InterruptedException e) {
+                interrupted = true;
+                synchronized (syncObj) {
+                    state = CANCELLED;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
 
-                for (int j = 0; j < CURL_HASH_LENGTH; j++) {
+        return state == COMPLETED;
+    }
 
-                    switch (transactionTrits[offset++]) {
-                        case 0: {
-                            midCurlStateLow[j] = HIGH_BITS;
-                            midCurlStateHigh[j] = HIGH_BITS;
+    /**
+     * Searches for a nonce using only the current thread.
+     * Used to run many searches side by side, one per worker of a pool.
+     * A diver cancelled before this search started stays cancelled, so use a new diver for every search.
+     *
+     * @param transactionTrits The transaction trits, the nonce is written into these
+     * @param minWeightMagnitude The amount of 0-trits the hash must end with
+     * @param prefixState The absorbed prefix of these trits, or <code>null</code>
+     * @return <code>true</code> if a nonce was found, <code>false</code> if we were cancelled
+     */
+    synchronized boolean searchOnCurrentThread(final int[] transactionTrits, final int minWeightMagnitude,
+                                               final int[] prefixState) {
+
+        validate(transactionTrits, minWeightMagnitude, prefixState);
 
-                        }
-                        break;
+        synchronized (syncObj) {
+            if (state == CANCELLED) {
+                return false;
+            }
+            state = RUNNING;
+        }
 
-                        case 1: {
-                            midCurlStateLow[j] = LOW_BITS;
-                            midCurlStateHigh[j] = HIGH_BITS;
-                        }
-                        break;
+        final Scratch scratch = SCRATCH.get();
+        absorbMidState(transactionTrits, prefixState, scratch);
+        work(0, scratch.midCurlStateLow, scratch.midCurlStateHigh, transactionTrits, minWeightMagnitude);
 
-                        default: {
-                            midCurlStateLow[j] = HIGH_BITS;
-                            midCurlStateHigh[j] = LOW_BITS;
-                        }
-                    }
-                }
+        return state == COMPLETED;
+    }
+
+    private static void validate(final int[] transactionTrits, final int minWeightMagnitude, final int[] prefixState) {
+        if (transactionTrits.length != TRANSACTION_LENGTH) {
+            throw new RuntimeException(
+                    "Invalid transaction trits length: " + transactionTrits.length);
+        }
+        if (minWeightMagnitude < 0 || minWeightMagnitude > CURL_HASH_LENGTH) {
+            throw new RuntimeException("Invalid min weight magnitude: " + minWeightMagnitude);
+        }
+        if (prefixState != null && prefixState.length != CURL_STATE_LENGTH) {
+            throw new RuntimeException("Invalid prefix state length: " + prefixState.length);
+        }
+    }
 
-                transform(midCurlStateLow, midCurlStateHigh, curlScratchpadLow, curlScratchpadHigh);
+    private static void absorbMidState(final int[] transactionTrits, final int[] prefixState, final Scratch scratch) {
+        final long[] midCurlStateLow = scratch.midCurlStateLow;
+        final long[] midCurlStateHigh = scratch.midCurlStateHigh;
+        int offset = 0;
+        int blocks = (TRANSACTION_LENGTH - CURL_HASH_LENGTH) / CURL_HASH_LENGTH;
+        if (prefixState != null) {
+            // Continue from the state the prefix left behind instead of absorbing it again
+            for (int i = 0; i < CURL_STATE_LENGTH; i++) {
+                setTrit(midCurlStateLow, midCurlStateHigh, i, prefixState[i]);
             }
+            offset = PREFIX_LENGTH;
+            blocks -= PREFIX_LENGTH / CURL_HASH_LENGTH;
+        } else {
+            for (int i = CURL_HASH_LENGTH; i < CURL_STATE_LENGTH; i++) {
+                midCurlStateLow[i] = HIGH_BITS;
+                midCurlStateHigh[i] = HIGH_BITS;
+            }
+        }
 
-            for (int i = 0; i < 162; i++) {
+        final long[] curlScratchpadLow = scratch.curlScratchpadLow;
+        final long[] curlScratchpadHigh = scratch.curlScratchpadHigh;
+        for (int i = blocks; i-- > 0; ) {
 
-                switch (transactionTrits[offset++]) {
+            for (int j = 0; j < CURL_HASH_LENGTH; j++) {
+                setTrit(midCurlStateLow, midCurlStateHigh, j, transactionTrits[offset++]);
+            }
 
-                    case 0: {
+            transform(midCurlStateLow, midCurlStateHigh, curlScratchpadLow, curlScratchpadHigh);
+        }
 
-                        midCurlStateLow[i] = 0b1111111111111111111111111111111111111111111111111111111111111111L;
-                        midCurlStateHigh[i] = 0b1111111111111111111111111111111111111111111111111111111111111111L;
+        for (int i = 0; i < 162; i++) {
 
-                    } break;
+            switch (transactionTrits[offset++]) {
 
-                    case 1: {
+                case 0: {
 
-                        midCurlStateLow[i] = 0b0000000000000000000000000000000000000000000000000000000000000000L;
-                        midCurlStateHigh[i] = 0b1111111111111111111111111111111111111111111111111111111111111111L;
+                    midCurlStateLow[i] = 0b1111111111111111111111111111111111111111111111111111111111111111L;
+                    midCurlStateHigh[i] = 0b1111111111111111111111111111111111111111111111111111111111111111L;
 
-                    } break;
+                } break;
 
-                    default: {
+                case 1: {
 
-                        midCurlStateLow[i] = 0b1111111111111111111111111111111111111111111111111111111111111111L;
-                        midCurlStateHigh[i] = 0b0000000000000000000000000000000000000000000000000000000000000000L;
-                    }
+                    midCurlStateLow[i] = 0b0000000000000000000000000000000000000000000000000000000000000000L;
+                    midCurlStateHigh[i] = 0b1111111111111111111111111111111111111111111111111111111111111111L;
+
+                } break;
+
+                default: {
+
+                    midCurlStateLow[i] = 0b1111111111111111111111111111111111111111111111111111111111111111L;
+                    midCurlStateHigh[i] = 0b0000000000000000000000000000000000000000000000000000000000000000L;
                 }
             }
+        }
+
+        midCurlStateLow[162 + 0] = 0b1101101101101101101101101101101101101101101101101101101101101101L;
+        midCurlStateHigh[162 + 0] = 0b1011011011011011011011011011011011011011011011011011011011011011L;
+        midCurlStateLow[162 + 1] = 0b1111000111111000111111000111111000111111000111111000111111000111L;
+        midCurlStateHigh[162 + 1] = 0b1000111111000111111000111111000111111000111111000111111000111111L;
+        midCurlStateLow[162 + 2] = 0b0111111111111111111000000000111111111111111111000000000111111111L;
+        midCurlStateHigh[162 + 2] = 0b1111111111000000000111111111111111111000000000111111111111111111L;
+        midCurlStateLow[162 + 3] = 0b1111111111000000000000000000000000000111111111111111111111111111L;
+        midCurlStateHigh[162 + 3] = 0b0000000000111111111111111111111111111111111111111111111111111111L;
+
+    }
 
-            midCurlStateLow[162 + 0] = 0b1101101101101101101101101101101101101101101101101101101101101101L;
-            midCurlStateHigh[162 + 0] = 0b1011011011011011011011011011011011011011011011011011011011011011L;
-            midCurlStateLow[162 + 1] = 0b1111000111111000111111000111111000111111000111111000111111000111L;
-            midCurlStateHigh[162 + 1] = 0b1000111111000111111000111111000111111000111111000111111000111111L;
-            midCurlStateLow[162 + 2] = 0b0111111111111111111000000000111111111111111111000000000111111111L;
-            midCurlStateHigh[162 + 2] = 0b1111111111000000000111111111111111111000000000111111111111111111L;
-            midCurlStateLow[162 + 3] = 0b1111111111000000000000000000000000000111111111111111111111111111L;
-            midCurlStateHigh[162 + 3] = 0b0000000000111111111111111111111111111111111111111111111111111111L;
+    private void work(final int threadIndex, final long[] midCurlStateLow, final long[] midCurlStateHigh,
+                      final int[] transactionTrits, final int minWeightMagnitude) {
 
+        if (laneBanks == 2) {
+            workPair(threadIndex, midCurlStateLow, midCurlStateHigh, transactionTrits, minWeightMagnitude);
+            return;
         }
 
-        if (numberOfThreads <= 0) {
-            numberOfThreads = Math.max(Runtime.getRuntime().availableProcessors() - 1, 1);
+        final Scratch scratch = SCRATCH.get();
+        final long[] midCurlStateCopyLow = scratch.midCurlStateCopyLow, midCurlStateCopyHigh = scratch.midCurlStateCopyHigh;
+        System.arraycopy(midCurlStateLow, 0, midCurlStateCopyLow, 0, CURL_STATE_LENGTH);
+        System.arraycopy(midCurlStateHigh, 0, midCurlStateCopyHigh, 0, CURL_STATE_LENGTH);
+        for (int i = threadIndex; i-- > 0; ) {
+            increment(midCurlStateCopyLow, midCurlStateCopyHigh, 162 + CURL_HASH_LENGTH / 9,
+                    162 + (CURL_HASH_LENGTH / 9) * 2);
+
         }
 
-        Thread[] workers = new Thread[numberOfThreads];
+        final long[] curlStateLow = scratch.curlStateLow, curlStateHigh = scratch.curlStateHigh;
+        final long[] curlScratchpadLow = scratch.curlScratchpadLow, curlScratchpadHigh = scratch.curlScratchpadHigh;
+        long mask, outMask = 1;
+        while (state == RUNNING) {
 
-        while (numberOfThreads-- > 0) {
+            increment(midCurlStateCopyLow, midCurlStateCopyHigh, 162 + (CURL_HASH_LENGTH / 9) * 2,
+                    CURL_HASH_LENGTH);
 
-            final int threadIndex = numberOfThreads;
-            Thread worker = (new Thread() { public void run() {
+            System.arraycopy(midCurlStateCopyLow, 0, curlStateLow, 0, CURL_STATE_LENGTH);
+            System.arraycopy(midCurlStateCopyHigh, 0, curlStateHigh, 0, CURL_STATE_LENGTH);
+            transform(curlStateLow, curlStateHigh, curlScratchpadLow, curlScratchpadHigh);
 
-                final long[] midCurlStateCopyLow = new long[CURL_STATE_LENGTH], midCurlStateCopyHigh = new long[CURL_STATE_LENGTH];
-                System.arraycopy(midCurlStateLow, 0, midCurlStateCopyLow, 0, CURL_STATE_LENGTH);
-                System.arraycopy(midCurlStateHigh, 0, midCurlStateCopyHigh, 0, CURL_STATE_LENGTH);
-                for (int i = threadIndex; i-- > 0; ) {
-                    increment(midCurlStateCopyLow, midCurlStateCopyHigh, 162 + CURL_HASH_LENGTH / 9,
-                            162 + (CURL_HASH_LENGTH / 9) * 2);
+            mask = HIGH_BITS;
+            for (int i = minWeightMagnitude; i-- > 0; ) {
+                mask &= ~(curlStateLow[CURL_HASH_LENGTH - 1 - i] ^ curlStateHigh[
+                        CURL_HASH_LENGTH - 1 - i]);
+                if (mask == 0) {
+                    break;
+                }
+            }
+            if (mask == 0) {
+                continue;
+            }
 
+            synchronized (syncObj) {
+                if (state == RUNNING) {
+                    state = COMPLETED;
+                    while ((outMask & mask) == 0) {
+                        outMask <<= 1;
+                    }
+                    for (int i = 0; i < CURL_HASH_LENGTH; i++) {
+                        transactionTrits[TRANSACTION_LENGTH - CURL_HASH_LENGTH + i] =
+                                (midCurlStateCopyLow[i] & outMask) == 0 ? 1
+                                        : (midCurlStateCopyHigh[i] & outMask) == 0 ? -1 : 0;
+                    }
+                    syncObj.notifyAll();
                 }
+            }
+            break;
+        }
+    }
+
+    private void workPair(final int threadIndex, final long[] midCurlStateLow, final long[] midCurlStateHigh,
+                          final int[] transactionTrits, final int minWeightMagnitude) {
 
-                final long[] curlStateLow = new long[CURL_STATE_LENGTH], curlStateHigh = new long[CURL_STATE_LENGTH];
-                final long[] curlScratchpadLow = new long[CURL_STATE_LENGTH], curlScratchpadHigh = new long[CURL_STATE_LENGTH];
-                long mask, outMask = 1;
-                while (state == RUNNING) {
+        final Scratch first = SCRATCH.get();
+        final Scratch second = first.second();
+        final Scratch[] banks = {first, second};
 
-                    increment(midCurlStateCopyLow, midCurlStateCopyHigh, 162 + (CURL_HASH_LENGTH / 9) * 2,
-                            CURL_HASH_LENGTH);
+        for (int bank = 0; bank < banks.length; bank++) {
+            System.arraycopy(midCurlStateLow, 0, banks[bank].midCurlStateCopyLow, 0, CURL_STATE_LENGTH);
+            System.arraycopy(midCurlStateHigh, 0, banks[bank].midCurlStateCopyHigh, 0, CURL_STATE_LENGTH);
+            // Every bank of every thread starts at its own nonce
+            for (int i = threadIndex * 2 + bank; i-- > 0; ) {
+                increment(banks[bank].midCurlStateCopyLow, banks[bank].midCurlStateCopyHigh, 162 + CURL_HASH_LENGTH / 9,
+                        162 + (CURL_HASH_LENGTH / 9) * 2);
+            }
+        }
 
-                    System.arraycopy(midCurlStateCopyLow, 0, curlStateLow, 0, CURL_STATE_LENGTH);
-                    System.arraycopy(midCurlStateCopyHigh, 0, curlStateHigh, 0, CURL_STATE_LENGTH);
-                    transform(curlStateLow, curlStateHigh, curlScratchpadLow, curlScratchpadHigh);
+        while (state == RUNNING) {
 
-                    mask = HIGH_BITS;
-                    for (int i = minWeightMagnitude; i-- > 0; ) {
-                        mask &= ~(curlStateLow[CURL_HASH_LENGTH - 1 - i] ^ curlStateHigh[
-                                CURL_HASH_LENGTH - 1 - i]);
-                        if (mask == 0) {
-                            break;
-                        }
-                    }
+            for (Scratch bank : banks) {
+                increment(bank.midCurlStateCopyLow, bank.midCurlStateCopyHigh, 162 + (CURL_HASH_LENGTH / 9) * 2,
+                        CURL_HASH_LENGTH);
+                System.arraycopy(bank.midCurlStateCopyLow, 0, bank.curlStateLow, 0, CURL_STATE_LENGTH);
+                System.arraycopy(bank.midCurlStateCopyHigh, 0, bank.curlStateHigh, 0, CURL_STATE_LENGTH);
+            }
+
+            transform(first, second);
+
+            for (Scratch bank : banks) {
+                long mask = HIGH_BITS;
+                for (int i = minWeightMagnitude; i-- > 0; ) {
+                    mask &= ~(bank.curlStateLow[CURL_HASH_LENGTH - 1 - i] ^ bank.curlStateHigh[
+                            CURL_HASH_LENGTH - 1 - i]);
                     if (mask == 0) {
-                        continue;
+                        break;
                     }
+                }
+                if (mask == 0) {
+                    continue;
+                }
 
-                    synchronized (syncObj) {
-                        if (state == RUNNING) {
-                            state = COMPLETED;
-                            while ((outMask & mask) == 0) {
-                                outMask <<= 1;
-                            }
-                            for (int i = 0; i < CURL_HASH_LENGTH; i++) {
-                                transactionTrits[TRANSACTION_LENGTH - CURL_HASH_LENGTH + i] =
-                                        (midCurlStateCopyLow[i] & outMask) == 0 ? 1
-                                                : (midCurlStateCopyHigh[i] & outMask) == 0 ? -1 : 0;
-                            }
-                            syncObj.notifyAll();
+                synchronized (syncObj) {
+                    if (state == RUNNING) {
+                        state = COMPLETED;
+                        long outMask = 1;
+                        while ((outMask & mask) == 0) {
+                            outMask <<= 1;
+                        }
+                        for (int i = 0; i < CURL_HASH_LENGTH; i++) {
+                            transactionTrits[TRANSACTION_LENGTH - CURL_HASH_LENGTH + i] =
+                                    (bank.midCurlStateCopyLow[i] & outMask) == 0 ? 1
+                                            : (bank.midCurlStateCopyHigh[i] & outMask) == 0 ? -1 : 0;
                         }
+                        syncObj.notifyAll();
                     }
-                    break;
                 }
+                return;
             }
-            });
-            workers[threadIndex] = worker;
-            worker.start();
         }
+    }
 
-        try {
-            synchronized (syncObj) {
-                if (state == RUNNING) {
-                    syncObj.wait();
-                }
-            }
-        } catch (final InterruptedException e) {
-            synchronized (syncObj) {
-                state = CANCELLED;
+    /**
+     * Measures how long the current thread takes to try nonces, without searching
+     *
+     * @param laneBanks The amount of 64 lane banks, between <code>1</code> and {@link #MAX_LANE_BANKS}
+     * @param transforms The amount of transforms
+     * @return The time in nanoseconds per 64 nonces
+     */
+    public static double measureTransforms(int laneBanks, int transforms) {
+        if (laneBanks < 1 || laneBanks > MAX_LANE_BANKS) {
+            throw new IllegalArgumentException("Invalid amount of lane banks: " + laneBanks);
+        }
+
+        Scratch first = new Scratch();
+        Scratch second = first.second();
+        long start = System.nanoTime();
+        for (int i = 0; i < transforms; i++) {
+            if (laneBanks == 2) {
+                transform(first, second);
+            } else {
+                transform(first.curlStateLow, first.curlStateHigh, first.curlScratchpadLow, first.curlScratchpadHigh);
             }
         }
+        return (System.nanoTime() - start) / (double) (Math.max(1, transforms) * laneBanks);
+    }
 
-        for (Thread worker : workers) {
-            try {
-                worker.join();
-            } catch (final InterruptedException e) {
-                synchronized (syncObj) {
-                    state = CANCELLED;
+    /**
+     * Transforms two banks in one pass, so their independent instructions can overlap
+     */
+    private static void transform(final Scratch first, final Scratch second) {
+
+        final long[] curlStateLow = first.curlStateLow, curlStateHigh = first.curlStateHigh;
+        final long[] curlScratchpadLow = first.curlScratchpadLow, curlScratchpadHigh = first.curlScratchpadHigh;
+        final long[] secondStateLow = second.curlStateLow, secondStateHigh = second.curlStateHigh;
+        final long[] secondScratchpadLow = second.curlScratchpadLow, secondScratchpadHigh = second.curlScratchpadHigh;
+
+        int curlScratchpadIndex = 0;
+        for (int round = 0; round < NUMBER_OF_ROUNDS_P81; round++) {
+            System.arraycopy(curlStateLow, 0, curlScratchpadLow, 0, CURL_STATE_LENGTH);
+            System.arraycopy(curlStateHigh, 0, curlScratchpadHigh, 0, CURL_STATE_LENGTH);
+            System.arraycopy(secondStateLow, 0, secondScratchpadLow, 0, CURL_STATE_LENGTH);
+            System.arraycopy(secondStateHigh, 0, secondScratchpadHigh, 0, CURL_STATE_LENGTH);
+
+            for (int curlStateIndex = 0; curlStateIndex < CURL_STATE_LENGTH; curlStateIndex++) {
+                final int alphaIndex = curlScratchpadIndex;
+                if (curlScratchpadIndex < 365) {
+                    curlScratchpadIndex += 364;
+                } else {
+                    curlScratchpadIndex += -365;
                 }
+
+                final long alpha = curlScratchpadLow[alphaIndex];
+                final long beta = curlScratchpadHigh[alphaIndex];
+                final long gamma = curlScratchpadHigh[curlScratchpadIndex];
+                final long delta = (alpha | (~gamma)) & (curlScratchpadLow[curlScratchpadIndex] ^ beta);
+                curlStateLow[curlStateIndex] = ~delta;
+                curlStateHigh[curlStateIndex] = (alpha ^ gamma) | delta;
+
+                final long secondAlpha = secondScratchpadLow[alphaIndex];
+                final long secondBeta = secondScratchpadHigh[alphaIndex];
+                final long secondGamma = secondScratchpadHigh[curlScratchpadIndex];
+                final long secondDelta = (secondAlpha | (~secondGamma)) & (secondScratchpadLow[curlScratchpadIndex] ^ secondBeta);
+                secondStateLow[curlStateIndex] = ~secondDelta;
+                secondStateHigh[curlStateIndex] = (secondAlpha ^ secondGamma) | secondDelta;
             }
         }
-
-        return state == COMPLETED;
     }
 
     private static void transform(final long[] curlStateLow, final long[] curlStateHigh,
@@ -242,6 +519,27 @@ public class PearlDiver {
         }
     }
 
+    private static void setTrit(final long[] curlStateLow, final long[] curlStateHigh, final int index, final int trit) {
+        switch (trit) {
+            case 0: {
+                curlStateLow[index] = HIGH_BITS;
+                curlStateHigh[index] = HIGH_BITS;
+            }
+            break;
+
+            case 1: {
+                curlStateLow[index] = LOW_BITS;
+                curlStateHigh[index] = HIGH_BITS;
+            }
+            break;
+
+            default: {
+                curlStateLow[index] = HIGH_BITS;
+                curlStateHigh[index] = LOW_BITS;
+            }
+        }
+    }
+
     private static void increment(final long[] midCurlStateCopyLow,
                                   final long[] midCurlStateCopyHigh, final int fromIndex, final int toIndex) {
 
@@ -259,4 +557,30 @@ public class PearlDiver {
             }
         }
     }
+
+    /**
+     * Buffers used while searching, kept per thread so they are only allocated once
+     */
+    private static final class Scratch {
+        final long[] midCurlStateLow = new long[CURL_STATE_LENGTH];
+        final long[] midCurlStateHigh = new long[CURL_STATE_LENGTH];
+        final long[] midCurlStateCopyLow = new long[CURL_STATE_LENGTH];
+        final long[] midCurlStateCopyHigh = new long[CURL_STATE_LENGTH];
+        final long[] curlStateLow = new long[CURL_STATE_LENGTH];
+        final long[] curlStateHigh = new long[CURL_STATE_LENGTH];
+        final long[] curlScratchpadLow = new long[CURL_STATE_LENGTH];
+        final long[] curlScratchpadHigh = new long[CURL_STATE_LENGTH];
+
+        /**
+         * Buffers of the second lane bank, created when this thread first searches with two banks
+         */
+        private Scratch second;
+
+        Scratch second() {
+            if (second == null) {
+                second = new Scratch();
+            }
+            return second;
+        }
+    }
 }
\ No newline at end of file
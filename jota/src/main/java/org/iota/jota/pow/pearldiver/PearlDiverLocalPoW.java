@@ -1,5 +1,10 @@
 package org.iota.jota.pow.pearldiver;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
 import org.iota.jota.pow.IotaLocalPoW;
 import org.iota.jota.utils.Converter;
 import org.slf4j.Logger;
@@ -7,19 +12,179 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Perform local PoW using Come-from-Beyond's PearlDiver implementation.
+ * Searches run on a long-lived {@link PearlDiverPool}, by default the one shared by the whole application.
  */
 public class PearlDiverLocalPoW implements IotaLocalPoW {
 
     private static final Logger log = LoggerFactory.getLogger(PearlDiverLocalPoW.class);
 
-    private final PearlDiver pearlDiver = new PearlDiver();
+    private PearlDiverPool pool;
+    private PearlDiver pearlDiver;
+
+    private PearlDiverPrefixCache prefixCache = PearlDiverPrefixCache.getDefault();
+
+    /**
+     * Creates a local PoW which uses the default shared pool,
+     * unless a pool is set through {@link #setPool(PearlDiverPool)} before the first PoW.
+     */
+    public PearlDiverLocalPoW() {
+    }
+
+    /**
+     * Creates a local PoW which uses the shared pool with the provided amount of threads
+     *
+     * @param numberOfThreads The amount of threads, <code>0</code> for all available processors but one.
+     */
+    public PearlDiverLocalPoW(int numberOfThreads) {
+        this(PearlDiverPool.shared(numberOfThreads));
+    }
+
+    /**
+     * Creates a local PoW which uses the provided pool
+     *
+     * @param pool The pool we search on
+     */
+    public PearlDiverLocalPoW(PearlDiverPool pool) {
+        setPool(pool);
+    }
+
+    /**
+     *
+     * @return <code>true</code> if a pool has been assigned, otherwise the default is used
+     */
+    public synchronized boolean hasPool() {
+        return pool != null;
+    }
+
+    /**
+     * Assigns the pool this PoW searches on.
+     *
+     * @param pool The pool we search on
+     */
+    public synchronized void setPool(PearlDiverPool pool) {
+        this.pool = pool;
+        this.pearlDiver = createPearlDiver(pool);
+    }
+
+    /**
+     * Creates the diver used for searching on this pool
+     *
+     * @param pool The pool we search on
+     * @return The diver
+     */
+    protected PearlDiver createPearlDiver(PearlDiverPool pool) {
+        return new PearlDiver(pool);
+    }
+
+    /**
+     *
+     * @return The cache of absorbed prefixes we use, or <code>null</code> if we always absorb
+     */
+    public synchronized PearlDiverPrefixCache getPrefixCache() {
+        return prefixCache;
+    }
+
+    /**
+     * Sets the cache of absorbed prefixes. By default the {@link PearlDiverPrefixCache#getDefault() shared cache} is used.
+     *
+     * @param prefixCache The cache, or <code>null</code> to always absorb the whole transaction
+     */
+    public synchronized void setPrefixCache(PearlDiverPrefixCache prefixCache) {
+        this.prefixCache = prefixCache;
+    }
+
+    /**
+     * Absorbs the prefix of these transaction trits, through our cache if we have one.
+     *
+     * @param transactionTrits The transaction trits
+     * @return The state to pass to {@link #performPoW(String, int, int[])}
+     * @see PearlDiver#absorbPrefix(int[])
+     */
+    public int[] absorbPrefix(int[] transactionTrits) {
+        PearlDiverPrefixCache cache = getPrefixCache();
+        return cache != null ? cache.absorbPrefix(transactionTrits) : PearlDiver.absorbPrefix(transactionTrits);
+    }
+
+    private synchronized PearlDiver getPearlDiver() {
+        if (pearlDiver == null) {
+            setPool(PearlDiverPool.getDefault());
+        }
+        return pearlDiver;
+    }
+
+    protected synchronized PearlDiverPool getPool() {
+        getPearlDiver();
+        return pool;
+    }
 
     @Override
     public String performPoW(String trytes, int minWeightMagnitude) {
+        int[] trits = Converter.trits(trytes);
+        return performPoW(trits, minWeightMagnitude, getPrefixCache() != null ? absorbPrefix(trits) : null);
+    }
+
+    /**
+     * Performs PoW on trytes of which the prefix has already been absorbed.
+     *
+     * @param trytes The transaction trytes
+     * @param minWeightMagnitude The minimum weight magnitude
+     * @param prefixState The state from {@link #absorbPrefix(int[])}, or <code>null</code>
+     * @return The trytes including the nonce
+     */
+    public String performPoW(String trytes, int minWeightMagnitude, int[] prefixState) {
+        return performPoW(Converter.trits(trytes), minWeightMagnitude, prefixState);
+    }
+
+    /**
+     * Searches every transaction on a single worker of our pool, so the batch keeps all workers busy
+     * without the transactions fighting over the same workers.
+     */
+    @Override
+    public String[] performPoW(String[] trytes, int minWeightMagnitude) {
         long startTime = System.currentTimeMillis();
 
-        int[] trits = Converter.trits(trytes);
-        if (!pearlDiver.search(trits, minWeightMagnitude, 0)) {
+        PearlDiverPool pool = getPool();
+        List<PearlDiver> divers = new ArrayList<>(trytes.length);
+        List<Future<String>> results = new ArrayList<>(trytes.length);
+        for (String transaction : trytes) {
+            PearlDiver diver = createPearlDiver(pool);
+            divers.add(diver);
+            results.add(pool.submit(() -> {
+                int[] trits = Converter.trits(transaction);
+                int[] prefixState = getPrefixCache() != null ? absorbPrefix(trits) : null;
+                if (!diver.searchOnCurrentThread(trits, minWeightMagnitude, prefixState)) {
+                    throw new IllegalStateException("PearlDiver search failed");
+                }
+                return Converter.trytes(trits);
+            }));
+        }
+
+        String[] pow = new String[trytes.length];
+        try {
+            for (int i = 0; i < pow.length; i++) {
+                pow[i] = results.get(i).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("PearlDiver batch interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("PearlDiver search failed", e.getCause());
+        } finally {
+            // Stop searches that are still running, and skip those which did not start yet
+            for (int i = 0; i < divers.size(); i++) {
+                results.get(i).cancel(false);
+                divers.get(i).cancel();
+            }
+        }
+
+        log.debug("Locale POW of {} transactions took {} ms.", trytes.length, System.currentTimeMillis() - startTime);
+        return pow;
+    }
+
+    private String performPoW(int[] trits, int minWeightMagnitude, int[] prefixState) {
+        long startTime = System.currentTimeMillis();
+
+        if (!getPearlDiver().search(trits, minWeightMagnitude, 0, prefixState)) {
             throw new IllegalStateException("PearlDiver search failed");
         }
         String convertedTrits = Converter.trytes(trits);
@@ -0,0 +1,107 @@
+package org.iota.jota.pow.pearldiver;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.iota.jota.utils.NamedThreadFactory;
+
+/**
+ * A long-lived pool of worker threads used by {@link PearlDiver} to search for nonces.
+ *
+ * Creating threads for every transaction is expensive when many transactions are attached per second.
+ * Workers in this pool stay alive between searches and keep their curl scratch buffers
+ * (see {@link PearlDiver}) so a search only has to hand out work.
+ *
+ * Pools are shared per size through {@link #shared(int)}, so every {@link PearlDiverLocalPoW}
+ * configured with the same amount of threads uses the same workers.
+ */
+public class PearlDiverPool {
+
+    private static final Map<Integer, PearlDiverPool> SHARED = new ConcurrentHashMap<>();
+
+    private final int numberOfThreads;
+    private final ExecutorService executor;
+
+    /**
+     * Creates a new pool with its own worker threads.
+     *
+     * @param numberOfThreads The amount of workers.
+     *                        <code>0</code> or less uses all available processors but one.
+     */
+    public PearlDiverPool(int numberOfThreads) {
+        this.numberOfThreads = resolveThreads(numberOfThreads);
+
+        ThreadFactory names = new NamedThreadFactory("PearlDiver");
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(this.numberOfThreads, this.numberOfThreads,
+                0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+                    Thread t = names.newThread(r);
+                    // Never keep the application alive for idle PoW workers
+                    t.setDaemon(true);
+                    return t;
+                });
+        pool.prestartAllCoreThreads();
+        this.executor = pool;
+    }
+
+    /**
+     * Gets the pool shared by everyone using the default amount of threads.
+     *
+     * @return The shared pool
+     */
+    public static PearlDiverPool getDefault() {
+        return shared(0);
+    }
+
+    /**
+     * Gets a pool shared by everyone using the same amount of threads.
+     * The pool is created on first use, and lives as long as the application.
+     *
+     * @param numberOfThreads The amount of workers.
+     *                        <code>0</code> or less uses all available processors but one.
+     * @return The shared pool
+     */
+    public static PearlDiverPool shared(int numberOfThreads) {
+        return SHARED.computeIfAbsent(resolveThreads(numberOfThreads), PearlDiverPool::new);
+    }
+
+    private static int resolveThreads(int numberOfThreads) {
+        if (numberOfThreads <= 0) {
+            return Math.max(Runtime.getRuntime().availableProcessors() - 1, 1);
+        }
+        return numberOfThreads;
+    }
+
+    /**
+     *
+     * @return The amount of workers in this pool
+     */
+    public int getNumberOfThreads() {
+        return numberOfThreads;
+    }
+
+    void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    <T> Future<T> submit(Callable<T> task) {
+        return executor.submit(task);
+    }
+
+    /**
+     * Stops the workers of this pool once their current search finished.
+     * Shared pools are never shut down, calling this on them does nothing.
+     */
+    public void shutdown() {
+        if (SHARED.get(numberOfThreads) == this) {
+            return;
+        }
+        executor.shutdown();
+    }
+}
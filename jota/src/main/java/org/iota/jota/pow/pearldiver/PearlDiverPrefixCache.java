@@ -0,0 +1,137 @@
+package org.iota.jota.pow.pearldiver;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers the Curl state of recently absorbed transaction prefixes (see {@link PearlDiver#absorbPrefix(int[])}).
+ *
+ * Reattaching a bundle produces transactions which only differ after the bundle hash,
+ * so their prefix does not need to be absorbed again.
+ * Entries are keyed by a SHA-256 digest of the prefix trits, and the least recently used entry is evicted first.
+ */
+public class PearlDiverPrefixCache {
+
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private static final PearlDiverPrefixCache DEFAULT = new PearlDiverPrefixCache(DEFAULT_CAPACITY);
+
+    private final Map<ByteBuffer, int[]> states;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates a cache which keeps the state of at most <tt>capacity</tt> prefixes
+     *
+     * @param capacity The maximum amount of prefixes we remember
+     */
+    public PearlDiverPrefixCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive, was " + capacity);
+        }
+
+        this.states = new LinkedHashMap<ByteBuffer, int[]>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ByteBuffer, int[]> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Gets the cache shared by all local PoW in this application
+     *
+     * @return The shared cache
+     */
+    public static PearlDiverPrefixCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Gets the prefix state of these trits, absorbing the prefix only if we have not seen it recently.
+     *
+     * @param transactionTrits The transaction trits, at least {@link PearlDiver#PREFIX_LENGTH} long
+     * @return The Curl-P-81 state after absorbing the prefix. This is a copy, and can be modified.
+     */
+    public int[] absorbPrefix(int[] transactionTrits) {
+        if (transactionTrits.length < PearlDiver.PREFIX_LENGTH) {
+            throw new RuntimeException(
+                    "Invalid transaction trits length: " + transactionTrits.length);
+        }
+
+        ByteBuffer key = digest(transactionTrits);
+        int[] state;
+        synchronized (states) {
+            state = states.get(key);
+        }
+
+        if (state != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            state = PearlDiver.absorbPrefix(transactionTrits);
+            synchronized (states) {
+                states.put(key, state);
+            }
+        }
+        return state.clone();
+    }
+
+    /**
+     *
+     * @return The amount of prefixes we did not have to absorb
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     *
+     * @return The amount of prefixes we had to absorb
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     *
+     * @return The amount of prefixes we currently remember
+     */
+    public int size() {
+        synchronized (states) {
+            return states.size();
+        }
+    }
+
+    /**
+     * Forgets all prefixes and resets the counters
+     */
+    public void clear() {
+        synchronized (states) {
+            states.clear();
+        }
+        hits.set(0);
+        misses.set(0);
+    }
+
+    private static ByteBuffer digest(int[] transactionTrits) {
+        byte[] trits = new byte[PearlDiver.PREFIX_LENGTH];
+        for (int i = 0; i < trits.length; i++) {
+            trits[i] = (byte) transactionTrits[i];
+        }
+
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(trits));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.iota.jota.pow.pearldiver;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local PoW which lets every worker try several banks of 64 nonces per transform, see {@link PearlDiver#PearlDiver(PearlDiverPool, int)}.
+ *
+ * More banks only pay off when the CPU overlaps the independent work of the banks.
+ * The first time a wide PoW is used, both layouts are measured on this machine, see {@link #fasterLaneBanks()}.
+ * When the banks are not clearly faster, this PoW searches like {@link PearlDiverLocalPoW}.
+ */
+public class WidePearlDiverLocalPoW extends PearlDiverLocalPoW {
+
+    private static final Logger log = LoggerFactory.getLogger(WidePearlDiverLocalPoW.class);
+
+    public static final int DEFAULT_LANE_BANKS = PearlDiver.MAX_LANE_BANKS;
+
+    /**
+     * Share of the time per nonce the banks need to save before we use them
+     */
+    private static final double MIN_GAIN = 0.05;
+
+    // Rounds of the measurement, the first ones warm up the JIT
+    private static final int CALIBRATION_ROUNDS = 5;
+    private static final int CALIBRATION_TRANSFORMS = 128;
+
+    // Guarded by WidePearlDiverLocalPoW.class, 0 until measured
+    private static int fasterLaneBanks;
+
+    private final int maxLaneBanks;
+
+    /**
+     * Creates a wide local PoW with up to {@value #DEFAULT_LANE_BANKS} lane banks on the default shared pool
+     */
+    public WidePearlDiverLocalPoW() {
+        this(DEFAULT_LANE_BANKS);
+    }
+
+    /**
+     * Creates a wide local PoW on the default shared pool
+     *
+     * @param maxLaneBanks The most 64 lane banks we use, between <code>1</code> and {@link PearlDiver#MAX_LANE_BANKS}
+     */
+    public WidePearlDiverLocalPoW(int maxLaneBanks) {
+        super();
+        this.maxLaneBanks = validate(maxLaneBanks);
+    }
+
+    /**
+     * Creates a wide local PoW which uses the provided pool
+     *
+     * @param pool The pool we search on
+     * @param maxLaneBanks The most 64 lane banks we use, between <code>1</code> and {@link PearlDiver#MAX_LANE_BANKS}
+     */
+    public WidePearlDiverLocalPoW(PearlDiverPool pool, int maxLaneBanks) {
+        super();
+        this.maxLaneBanks = validate(maxLaneBanks);
+        setPool(pool);
+    }
+
+    private static int validate(int laneBanks) {
+        if (laneBanks < 1 || laneBanks > PearlDiver.MAX_LANE_BANKS) {
+            throw new IllegalArgumentException("Invalid amount of lane banks: " + laneBanks);
+        }
+        return laneBanks;
+    }
+
+    /**
+     *
+     * @return The amount of lane banks we search with
+     */
+    public int getLaneBanks() {
+        return Math.min(maxLaneBanks, fasterLaneBanks());
+    }
+
+    @Override
+    protected PearlDiver createPearlDiver(PearlDiverPool pool) {
+        return new PearlDiver(pool, getLaneBanks());
+    }
+
+    /**
+     * Measures once which amount of lane banks tries nonces faster on this machine.
+     * Takes a fraction of a second, the result is kept for all wide PoW instances.
+     *
+     * @return The amount of lane banks, <code>1</code> unless more banks are at least 5% faster
+     */
+    public static synchronized int fasterLaneBanks() {
+        if (fasterLaneBanks == 0) {
+            double single = Double.MAX_VALUE;
+            double wide = Double.MAX_VALUE;
+            for (int round = 0; round < CALIBRATION_ROUNDS; round++) {
+                // The fastest round is the least disturbed by other work
+                single = Math.min(single, PearlDiver.measureTransforms(1, CALIBRATION_TRANSFORMS));
+                wide = Math.min(wide, PearlDiver.measureTransforms(PearlDiver.MAX_LANE_BANKS, CALIBRATION_TRANSFORMS));
+            }
+
+            fasterLaneBanks = wide < single * (1 - MIN_GAIN) ? PearlDiver.MAX_LANE_BANKS : 1;
+            log.debug("Trying 64 nonces takes {}ns with 1 lane bank and {}ns with {}, searching with {}",
+                    (long) single, (long) wide, PearlDiver.MAX_LANE_BANKS, fasterLaneBanks);
+        }
+        return fasterLaneBanks;
+    }
+}
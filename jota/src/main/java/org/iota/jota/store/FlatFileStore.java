@@ -1,5 +1,6 @@
 package org.iota.jota.store;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -8,6 +9,9 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
 import java.net.URI;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
@@ -21,6 +25,8 @@ public class FlatFileStore implements Store {
     
     private File file;
     
+    private boolean sync;
+    
     private InputStream inputStream;
     private OutputStream outputStream;
     
@@ -48,6 +54,20 @@ public class FlatFileStore implements Store {
     public FlatFileStore(URI location) {
         file = new File(location);
     }
+    
+    /**
+     * Makes every save of a file wait until the data is on the disk, instead of in the buffers of the OS.
+     * Without this, a crash of the machine can lose the latest saves, but never corrupts the file.
+     * 
+     * @param sync <code>true</code> to sync every save to disk, <code>false</code> by default
+     */
+    public void setSync(boolean sync) {
+        this.sync = sync;
+    }
+    
+    public boolean isSync() {
+        return sync;
+    }
 
     @Override
     public void load() throws Exception {
@@ -93,16 +113,10 @@ public class FlatFileStore implements Store {
     public void save(boolean closeResources) {
         memoryStore.save(closeResources);
         try {
-            boolean closed = false;
             if (file != null && outputStream == null) {
-                outputStream = new FileOutputStream(file);
-                closed = true;
-            }
-            
-            writeToOutputStream(outputStream, memoryStore.getAll());
-            if (closed) {
-                outputStream.close();
-                outputStream = null;
+                writeToFile();
+            } else {
+                writeToOutputStream(outputStream, memoryStore.getAll());
             }
         } catch (IOException e) {
             log.warn("Failed to save config to disk! " + e.getMessage());
@@ -120,6 +134,35 @@ public class FlatFileStore implements Store {
         }
     }
 
+    /**
+     * Writes the store to a temporary file next to our file, and replaces our file with it.
+     * A crash while writing leaves the previous file intact.
+     * 
+     * @throws IOException When we could not write or replace the file
+     */
+    private void writeToFile() throws IOException {
+        File temp = new File(file.getAbsoluteFile().getParentFile(), file.getName() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            // Serializers may close the stream, but we still need it to sync
+            writeToOutputStream(new BufferedOutputStream(out) {
+                @Override
+                public void close() throws IOException {
+                    flush();
+                }
+            }, memoryStore.getAll());
+            
+            if (sync) {
+                out.getFD().sync();
+            }
+        }
+        
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
     @Override
     public Serializable get(String key) {
         return memoryStore.get(key, null);
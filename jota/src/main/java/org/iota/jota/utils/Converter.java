@@ -179,6 +179,20 @@ public class Converter {
         return d;
     }
 
+    /**
+     * Converts trytes into packed trits.
+     *
+     * @param trytes The trytes to be converted.
+     * @return The packed trits.
+     **/
+    public static TritBuffer tritBuffer(final String trytes) {
+        TritBuffer trits = new TritBuffer(NUMBER_OF_TRITS_IN_A_TRYTE * trytes.length());
+        for (int i = 0; i < trytes.length(); i++) {
+            trits.setTrits(i * NUMBER_OF_TRITS_IN_A_TRYTE, TRYTE_TO_TRITS_MAPPINGS[Constants.TRYTE_ALPHABET.indexOf(trytes.charAt(i))], 0, NUMBER_OF_TRITS_IN_A_TRYTE);
+        }
+        return trits;
+    }
+
     /**
      * Copies the trits from the input string into the destination array
      *
@@ -245,6 +259,32 @@ public class Converter {
     public static String trytes(final int[] trits) {
         return trytes(trits, 0, trits.length);
     }
+
+    /**
+     * Converts packed trits to trytes.
+     *
+     * @param trits  The trits to be converted.
+     * @param offset The offset to start from.
+     * @param size   The size, a multiple of 3.
+     * @return The trytes.
+     **/
+    public static String trytes(final TritBuffer trits, final int offset, final int size) {
+        StringBuilder trytes = new StringBuilder(size / NUMBER_OF_TRITS_IN_A_TRYTE);
+        for (int i = 0; i < size / NUMBER_OF_TRITS_IN_A_TRYTE; i++) {
+
+            int j = trits.get(offset + i * 3) + trits.get(offset + i * 3 + 1) * 3 + trits.get(offset + i * 3 + 2) * 9;
+            if (j < 0) {
+
+                j += Constants.TRYTE_ALPHABET.length();
+            }
+            trytes.append(Constants.TRYTE_ALPHABET.charAt(j));
+        }
+        return trytes.toString();
+    }
+
+    public static String trytes(final TritBuffer trits) {
+        return trytes(trits, 0, trits.length());
+    }
     
     public static String trytes(final List<Integer> trits) {
         return trytes(trits, 0, trits.size());
@@ -37,10 +37,20 @@ public class IotaAPIUtils {
             throw new ArgumentException(INVALID_SECURITY_LEVEL_INPUT_ERROR);
         }
 
-        Signing signing = new Signing(curl);
-        final int[] key = signing.key(Converter.trits(seed), index, security);
-        final int[] digests = signing.digests(key);
-        final int[] addressTrits = signing.address(digests);
+        return newAddress(Converter.tritBuffer(seed), security, index, checksum, new Signing(curl));
+    }
+
+    static String newAddress(TritBuffer seed, int security, int index, boolean checksum, Signing signing) throws ArgumentException {
+        return newAddress(signing.key(seed, index, security), checksum, signing);
+    }
+
+    static String newAddressFromSubseed(int[] subseed, int security, boolean checksum, Signing signing) throws ArgumentException {
+        return newAddress(signing.keyFromSubseed(subseed, security), checksum, signing);
+    }
+
+    private static String newAddress(TritBuffer key, boolean checksum, Signing signing) throws ArgumentException {
+        final TritBuffer digests = signing.digests(key);
+        final TritBuffer addressTrits = signing.address(digests);
 
         String address = Converter.trytes(addressTrits);
 
@@ -50,6 +60,35 @@ public class IotaAPIUtils {
         return address;
     }
 
+    /**
+     * Generates the addresses of indexes <code>[start, end)</code> in parallel, see {@link ParallelAddressGenerator}.
+     *
+     * @param seed     The tryte-encoded seed. It should be noted that this seed is not transferred.
+     * @param security The security level of private key / seed.
+     * @param start    The first index.
+     * @param end      The index after the last address.
+     * @param checksum The adds 9-tryte address checksum
+     * @param curl     The curl instance.
+     * @return The addresses, ordered by index.
+     * @throws ArgumentException is thrown when the specified input is not valid.
+     */
+    public static List<String> newAddresses(String seed, int security, int start, int end, boolean checksum, ICurl curl) throws ArgumentException {
+        return new ParallelAddressGenerator(curl).generate(seed, security, start, end, checksum);
+    }
+
+    /**
+     * Generates {@link AddressRequest#getAmount()} addresses starting at {@link AddressRequest#getIndex()} in parallel.
+     *
+     * @param addressRequest {@link AddressRequest}
+     * @param curl     The curl instance.
+     * @return The addresses, ordered by index.
+     * @throws ArgumentException is thrown when the specified input is not valid.
+     */
+    public static List<String> newAddresses(AddressRequest addressRequest, ICurl curl) throws ArgumentException {
+        return newAddresses(addressRequest.getSeed(), addressRequest.getSecurityLevel(), addressRequest.getIndex(),
+                addressRequest.getIndex() + addressRequest.getAmount(), addressRequest.isChecksum(), curl);
+    }
+
     /**
      * Generates a new address
      *
@@ -112,7 +151,7 @@ public class IotaAPIUtils {
                 String bundleHash = bundle.getTransactions().get(i).getBundle();
 
                 // Get corresponding private key of address
-                int[] key = new Signing(curl).key(Converter.trits(seed), keyIndex, keySecurity);
+                TritBuffer key = new Signing(curl).key(Converter.tritBuffer(seed), keyIndex, keySecurity);
 
 
                 //  Get the normalized bundle hash
@@ -126,13 +165,13 @@ public class IotaAPIUtils {
                     //  Add parts of signature for bundles with same address
                     if (bundle.getTransactions().get(i + j).getAddress().equals(thisAddress)) {
                         // Use 6562 trits starting from j*6561
-                        int[] keyFragment = Arrays.copyOfRange(key, 6561 * j, 6561 * (j + 1));
+                        TritBuffer keyFragment = key.copy(6561 * j, 6561);
 
                         // The current part of the bundle hash
                         int[] bundleFragment = Arrays.copyOfRange(normalizedBundleHash, 27 * hashPart, 27 * (hashPart + 1));
 
                         //  Calculate the new signature
-                        int[] signedFragment = new Signing(curl).signatureFragment(bundleFragment, keyFragment);
+                        TritBuffer signedFragment = new Signing(curl).signatureFragment(bundleFragment, keyFragment);
 
                         //  Convert signature to trytes and assign it again to this bundle entry
                         bundle.getTransactions().get(i+j).setSignatureFragments(Converter.trytes(signedFragment));
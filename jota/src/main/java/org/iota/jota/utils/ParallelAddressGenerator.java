@@ -0,0 +1,127 @@
+package org.iota.jota.utils;
+
+import static org.iota.jota.utils.Constants.INVALID_INDEX_INPUT_ERROR;
+import static org.iota.jota.utils.Constants.INVALID_INPUT_ERROR;
+import static org.iota.jota.utils.Constants.INVALID_SECURITY_LEVEL_INPUT_ERROR;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.iota.jota.error.ArgumentException;
+import org.iota.jota.pow.ICurl;
+
+/**
+ * Derives a range of addresses of a seed in parallel on a {@link ForkJoinPool}.
+ *
+ * Every address costs a subseed, a key, its digests and the address hash, and addresses do not depend on each other.
+ * The range is split into batches, each batch runs on a single worker with its own sponge
+ * and iterates the subseeds of its indexes.
+ * Results are always returned in index order.
+ */
+public class ParallelAddressGenerator {
+
+    /**
+     * Addresses derived by a worker before the range is split further
+     */
+    public static final int DEFAULT_BATCH_SIZE = 4;
+
+    private final ICurl curl;
+    private final ForkJoinPool pool;
+    private final int batchSize;
+
+    /**
+     * Creates a generator running on the common fork-join pool
+     *
+     * @param curl The sponge we clone for every worker
+     */
+    public ParallelAddressGenerator(ICurl curl) {
+        this(curl, ForkJoinPool.commonPool(), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a generator
+     *
+     * @param curl The sponge we clone for every worker
+     * @param pool The pool we derive on
+     * @param batchSize The amount of addresses a worker derives at once, at least 1
+     */
+    public ParallelAddressGenerator(ICurl curl, ForkJoinPool pool, int batchSize) {
+        this.curl = Objects.requireNonNull(curl, "Curl must not be null.");
+        this.pool = Objects.requireNonNull(pool, "Pool must not be null.");
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Derives the addresses of indexes <code>[start, end)</code>
+     *
+     * @param seed     The tryte-encoded seed. It should be noted that this seed is not transferred.
+     * @param security The security level of private key / seed.
+     * @param start    The first index.
+     * @param end      The index after the last address.
+     * @param checksum If we add the 9-tryte address checksum
+     * @return The addresses, ordered by index
+     * @throws ArgumentException is thrown when the security level or range is not valid.
+     */
+    public List<String> generate(String seed, int security, int start, int end, boolean checksum) throws ArgumentException {
+        if (!InputValidator.isValidSecurityLevel(security)) {
+            throw new ArgumentException(INVALID_SECURITY_LEVEL_INPUT_ERROR);
+        }
+
+        if (start < 0) {
+            throw new ArgumentException(INVALID_INDEX_INPUT_ERROR);
+        }
+
+        if (end < start) {
+            throw new ArgumentException(INVALID_INPUT_ERROR);
+        }
+
+        String[] addresses = new String[end - start];
+        if (addresses.length > 0) {
+            pool.invoke(new Batch(Converter.tritBuffer(seed), security, checksum, start, end, start, addresses));
+        }
+        return new ArrayList<>(Arrays.asList(addresses));
+    }
+
+    private class Batch extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final TritBuffer seed;
+        private final int security;
+        private final boolean checksum;
+        private final int start, end, first;
+        private final String[] addresses;
+
+        Batch(TritBuffer seed, int security, boolean checksum, int start, int end, int first, String[] addresses) {
+            this.seed = seed;
+            this.security = security;
+            this.checksum = checksum;
+            this.start = start;
+            this.end = end;
+            this.first = first;
+            this.addresses = addresses;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > batchSize) {
+                int middle = (start + end) >>> 1;
+                invokeAll(new Batch(seed, security, checksum, start, middle, first, addresses),
+                        new Batch(seed, security, checksum, middle, end, first, addresses));
+                return;
+            }
+
+            // Sponges are not thread safe, so every batch hashes with its own
+            Signing signing = new Signing(curl.clone());
+            Iterator<int[]> subseeds = signing.subseeds(seed.toTrits(), start);
+            for (int index = start; index < end; index++) {
+                addresses[index - first] = IotaAPIUtils.newAddressFromSubseed(subseeds.next(), security, checksum, signing);
+            }
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.iota.jota.pow.ICurl;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 
@@ -25,7 +26,8 @@ public class Signing {
     }
      
     /**
-     * Returns the sub-seed trits given a seed and an index
+     * Returns the sub-seed trits given a seed and an index.
+     * The index is added to the seed in balanced ternary, so this costs the same for every index.
      * @param inSeed the seed
      * @param index the index
      * @return the sub-seed
@@ -45,18 +47,59 @@ public class Signing {
          * index 3 = [0,1,0,1,0,-1,0,1,1,0,-1,1,-1,0]
          */
         
-        // Derive subseed.
-        for (int i = 0; i < index; i++) {
-            for (int j = 0; j < seed.length; j++) {
-                if (++seed[j] > 1) {
-                    seed[j] = -1;
-                } else {
-                    break;
-                }
+        // Derive subseed, the carry out of the last trit is dropped like incrementing would
+        int carry = 0;
+        for (int j = 0; j < seed.length && (index != 0 || carry != 0); j++) {
+            int remainder = index % 3;
+            index /= 3;
+            if (remainder > 1) {
+                // balanced ternary digit -1, borrowed from the next trit
+                remainder = -1;
+                index++;
+            }
+
+            int sum = seed[j] + remainder + carry;
+            if (sum > 1) {
+                seed[j] = sum - 3;
+                carry = 1;
+            } else if (sum < -1) {
+                seed[j] = sum + 3;
+                carry = -1;
+            } else {
+                seed[j] = sum;
+                carry = 0;
             }
         }
         return seed;
     }
+
+    /**
+     * Iterates the sub-seeds of consecutive indexes, starting at <code>index</code>.
+     * Every next sub-seed costs a single increment of the previous one.
+     * 
+     * @param inSeed the seed
+     * @param index the index of the first sub-seed
+     * @return the sub-seeds, every one in a new array
+     * @throws ArgumentException is thrown when index is below 0
+     */
+    public Iterator<int[]> subseeds(int[] inSeed, int index) throws ArgumentException {
+        final int[] first = subseed(inSeed, index);
+        return new Iterator<int[]>() {
+            private int[] next = first;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public int[] next() {
+                int[] current = next.clone();
+                Converter.increment(next, next.length);
+                return current;
+            }
+        };
+    }
     
     /**
      * Generates the key which is needed as a part of address generation.
@@ -87,15 +130,44 @@ public class Signing {
      * @throws ArgumentException is thrown when index is below 1
      */
     public int[] key(int[] inSeed, int index, int security) throws ArgumentException {
+        return key(TritBuffer.of(inSeed), index, security).toTrits();
+    }
+
+    /**
+     * Generates the key as packed trits, see {@link #key(int[], int, int)}.
+     * 
+     * @param inSeed    Tryte-encoded seed. It should be noted that this seed is not transferred.
+     * @param index     Key index for the address
+     * @param security  Security level to be used for the private key / address. Can be 1, 2 or 3.
+     * @return The key
+     * @throws ArgumentException is thrown when the specified security level is not valid
+     * @throws ArgumentException is thrown when inSeed length is not dividable by 3
+     * @throws ArgumentException is thrown when index is below 1
+     */
+    public TritBuffer key(TritBuffer inSeed, int index, int security) throws ArgumentException {
         if (!InputValidator.isValidSecurityLevel(security)) {
             throw new ArgumentException(INVALID_SECURITY_LEVEL_INPUT_ERROR);
         }
         
-        if (inSeed.length % 3 != 0) {
+        if (inSeed.length() % 3 != 0) {
             throw new ArgumentException(INVALID_SEED_INPUT_ERROR);
         }
 
-        final int[] seed = subseed(inSeed, index);
+        return keyFromSubseed(subseed(inSeed.toTrits(), index), security);
+    }
+
+    /**
+     * Generates the key of a sub-seed, like those from {@link #subseeds(int[], int)}.
+     * 
+     * @param seed      The sub-seed trits, which are overwritten
+     * @param security  Security level to be used for the private key / address. Can be 1, 2 or 3.
+     * @return The key
+     * @throws ArgumentException is thrown when the specified security level is not valid
+     */
+    public TritBuffer keyFromSubseed(int[] seed, int security) throws ArgumentException {
+        if (!InputValidator.isValidSecurityLevel(security)) {
+            throw new ArgumentException(INVALID_SECURITY_LEVEL_INPUT_ERROR);
+        }
 
         final ICurl curl = getClonedCurl();
         curl.reset()
@@ -105,14 +177,14 @@ public class Signing {
         curl.reset()
                 .absorb(seed, 0, seed.length);
 
-        final int[] key = new int[security * HASH_LENGTH * 27];
+        final TritBuffer key = new TritBuffer(security * HASH_LENGTH * 27);
         final int[] buffer = new int[seed.length];
         int offset = 0;
 
         while (security-- > 0) {
             for (int i = 0; i < 27; i++) {
                 curl.squeeze(buffer, 0, seed.length);
-                System.arraycopy(buffer, 0, key, offset, HASH_LENGTH);
+                key.setTrits(offset, buffer, 0, HASH_LENGTH);
 
                 offset += HASH_LENGTH;
             }
@@ -127,12 +199,21 @@ public class Signing {
      * @return the address trits
      */
     public int[] address(int[] digests) {
-        final int[] address = new int[HASH_LENGTH];
+        return address(TritBuffer.of(digests)).toTrits();
+    }
+
+    /**
+     * Address generates the address trits from the given packed digests.
+     * @param digests the digests
+     * @return the address trits
+     */
+    public TritBuffer address(TritBuffer digests) {
+        final TritBuffer address = new TritBuffer(HASH_LENGTH);
         final ICurl curl = getClonedCurl();
 
         curl.reset()
-                .absorb(digests)
-                .squeeze(address);
+                .absorb(digests, 0, digests.length())
+                .squeeze(address, 0, HASH_LENGTH);
 
         return address;
     }
@@ -144,28 +225,40 @@ public class Signing {
      * @throws ArgumentException if the security level is invalid
      */
     public int[] digests(int[] key) throws ArgumentException {
-        final int security = (int) Math.floor(key.length / KEY_LENGTH);
+        return digests(TritBuffer.of(key)).toTrits();
+    }
+
+    /**
+     * Digests hashes each segment of each packed key fragment 26 times and returns them.
+     * Only the segment being hashed is unpacked.
+     * @param key the key trits
+     * @return the digests
+     * @throws ArgumentException if the security level is invalid
+     */
+    public TritBuffer digests(TritBuffer key) throws ArgumentException {
+        final int security = key.length() / KEY_LENGTH;
         if (!InputValidator.isValidSecurityLevel(security)) {
             throw new ArgumentException(INVALID_SECURITY_LEVEL_INPUT_ERROR);
         }
 
-        final int[] digests = new int[security * HASH_LENGTH];
-        final int[] keyFragment = new int[KEY_LENGTH];
+        final TritBuffer digests = new TritBuffer(security * HASH_LENGTH);
+        final TritBuffer keyFragment = new TritBuffer(KEY_LENGTH);
+        final int[] segment = new int[HASH_LENGTH];
 
         final ICurl curl = getClonedCurl();
-        for (int i = 0; i < Math.floor(key.length / KEY_LENGTH); i++) {
-            System.arraycopy(key, i * KEY_LENGTH, keyFragment, 0, KEY_LENGTH);
-
+        for (int i = 0; i < security; i++) {
             for (int j = 0; j < 27; j++) {
+                key.getTrits(i * KEY_LENGTH + j * HASH_LENGTH, segment, 0, HASH_LENGTH);
                 for (int k = 0; k < 26; k++) {
                     curl.reset()
-                            .absorb(keyFragment, j * HASH_LENGTH, HASH_LENGTH)
-                            .squeeze(keyFragment, j * HASH_LENGTH, HASH_LENGTH);
+                            .absorb(segment, 0, HASH_LENGTH)
+                            .squeeze(segment, 0, HASH_LENGTH);
                 }
+                keyFragment.setTrits(j * HASH_LENGTH, segment, 0, HASH_LENGTH);
             }
 
             curl.reset();
-            curl.absorb(keyFragment, 0, keyFragment.length);
+            curl.absorb(keyFragment, 0, KEY_LENGTH);
             curl.squeeze(digests, i * HASH_LENGTH, HASH_LENGTH);
         }
 
@@ -179,12 +272,22 @@ public class Signing {
      * @return The digest
      */
     public int[] digest(int[] normalizedBundleFragment, int[] signatureFragment) {
+        return digest(normalizedBundleFragment, TritBuffer.of(signatureFragment)).toTrits();
+    }
+
+    /**
+     * 
+     * @param normalizedBundleFragment
+     * @param signatureFragment The packed signature fragment
+     * @return The digest
+     */
+    public TritBuffer digest(int[] normalizedBundleFragment, TritBuffer signatureFragment) {
         ICurl curl = getClonedCurl();
         ICurl jCurl = getClonedCurl();
         int[] buffer = new int[HASH_LENGTH];
 
         for (int i = 0; i < 27; i++) {
-            buffer = Arrays.copyOfRange(signatureFragment, i * HASH_LENGTH, (i + 1) * HASH_LENGTH);
+            signatureFragment.getTrits(i * HASH_LENGTH, buffer, 0, HASH_LENGTH);
 
             for (int j = normalizedBundleFragment[i] + 13; j-- > 0; ) {
                 jCurl.reset();
@@ -193,22 +296,35 @@ public class Signing {
             }
             curl.absorb(buffer);
         }
-        curl.squeeze(buffer);
 
-        return buffer;
+        return curl.squeeze(new TritBuffer(HASH_LENGTH), 0, HASH_LENGTH);
     }
 
     public int[] signatureFragment(int[] normalizedBundleFragment, int[] keyFragment) {
-        final int[] signatureFragment = keyFragment.clone();
+        return signatureFragment(normalizedBundleFragment, TritBuffer.of(keyFragment)).toTrits();
+    }
+
+    /**
+     * Signs a packed key fragment. Only the segment being hashed is unpacked.
+     * 
+     * @param normalizedBundleFragment The normalized part of the bundle hash
+     * @param keyFragment The packed key fragment
+     * @return The signature fragment
+     */
+    public TritBuffer signatureFragment(int[] normalizedBundleFragment, TritBuffer keyFragment) {
+        final TritBuffer signatureFragment = keyFragment.copy(0, keyFragment.length());
         final ICurl curl = getClonedCurl();
+        final int[] segment = new int[HASH_LENGTH];
 
         for (int i = 0; i < 27; i++) {
+            signatureFragment.getTrits(i * HASH_LENGTH, segment, 0, HASH_LENGTH);
 
             for (int j = 0; j < 13 - normalizedBundleFragment[i]; j++) {
                 curl.reset()
-                        .absorb(signatureFragment, i * HASH_LENGTH, HASH_LENGTH)
-                        .squeeze(signatureFragment, i * HASH_LENGTH, HASH_LENGTH);
+                        .absorb(segment, 0, HASH_LENGTH)
+                        .squeeze(segment, 0, HASH_LENGTH);
             }
+            signatureFragment.setTrits(i * HASH_LENGTH, segment, 0, HASH_LENGTH);
         }
 
         return signatureFragment;
@@ -250,12 +366,12 @@ public class Signing {
         }
 
         // Get digests
-        int[] digests = new int[signatureFragments.length * HASH_LENGTH];
+        TritBuffer digests = new TritBuffer(signatureFragments.length * HASH_LENGTH);
         for (int i = 0; i < signatureFragments.length; i++) {
 
-            int[] digestBuffer = digest(normalizedBundleFragments[i % 3], Converter.trits(signatureFragments[i]));
+            TritBuffer digestBuffer = digest(normalizedBundleFragments[i % 3], Converter.tritBuffer(signatureFragments[i]));
 
-            System.arraycopy(digestBuffer, 0, digests, i * HASH_LENGTH, HASH_LENGTH);
+            digests.setTrits(i * HASH_LENGTH, digestBuffer, 0, HASH_LENGTH);
         }
 
         String address = Converter.trytes(address(digests));
@@ -0,0 +1,204 @@
+package org.iota.jota.utils;
+
+import java.util.Arrays;
+
+/**
+ * A fixed length buffer of trits, packed 2 bits per trit into longs.
+ *
+ * An <code>int[]</code> spends 32 bits on every trit, this buffer 2, so large keys and signatures
+ * take 16 times less memory. Trits are stored in two's complement, <code>01</code> for 1 and <code>11</code> for -1.
+ *
+ * Only the values -1, 0 and 1 can be stored. Like an <code>int[]</code>, this buffer is not thread safe.
+ */
+public class TritBuffer {
+
+    private static final int TRITS_PER_WORD = 32;
+    private static final int WORD_SHIFT = 5;
+    private static final int WORD_MASK = TRITS_PER_WORD - 1;
+
+    private final long[] words;
+    private final int length;
+
+    /**
+     * Creates a buffer of zero trits.
+     *
+     * @param length The amount of trits.
+     */
+    public TritBuffer(int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Length must not be negative: " + length);
+        }
+        this.length = length;
+        this.words = new long[(length + WORD_MASK) >>> WORD_SHIFT];
+    }
+
+    /**
+     * Creates a buffer holding a copy of the trits.
+     *
+     * @param trits The trits.
+     * @return The buffer
+     */
+    public static TritBuffer of(int[] trits) {
+        TritBuffer buffer = new TritBuffer(trits.length);
+        buffer.setTrits(0, trits, 0, trits.length);
+        return buffer;
+    }
+
+    /**
+     *
+     * @return The amount of trits in this buffer
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Gets a single trit.
+     *
+     * @param index The index of the trit.
+     * @return The trit
+     */
+    public int get(int index) {
+        checkRange(index, 1);
+        return read(index);
+    }
+
+    /**
+     * Sets a single trit.
+     *
+     * @param index The index of the trit.
+     * @param trit The trit, -1, 0 or 1.
+     */
+    public void set(int index, int trit) {
+        checkRange(index, 1);
+        write(index, trit);
+    }
+
+    /**
+     * Copies trits out of this buffer.
+     *
+     * @param offset The index of the first trit to copy.
+     * @param destination The trits we copy to.
+     * @param destinationOffset The index in the destination to start at.
+     * @param size The amount of trits.
+     * @return The destination.
+     */
+    public int[] getTrits(int offset, int[] destination, int destinationOffset, int size) {
+        checkRange(offset, size);
+        for (int i = 0; i < size; i++) {
+            destination[destinationOffset + i] = read(offset + i);
+        }
+        return destination;
+    }
+
+    /**
+     * Copies trits into this buffer.
+     *
+     * @param offset The index of the first trit to overwrite.
+     * @param source The trits we copy from.
+     * @param sourceOffset The index in the source to start at.
+     * @param size The amount of trits.
+     * @return This buffer (used for method chaining).
+     */
+    public TritBuffer setTrits(int offset, int[] source, int sourceOffset, int size) {
+        checkRange(offset, size);
+        for (int i = 0; i < size; i++) {
+            write(offset + i, source[sourceOffset + i]);
+        }
+        return this;
+    }
+
+    /**
+     * Copies trits from another buffer into this buffer.
+     *
+     * @param offset The index of the first trit to overwrite.
+     * @param source The buffer we copy from, which may be this buffer.
+     * @param sourceOffset The index in the source to start at.
+     * @param size The amount of trits.
+     * @return This buffer (used for method chaining).
+     */
+    public TritBuffer setTrits(int offset, TritBuffer source, int sourceOffset, int size) {
+        checkRange(offset, size);
+        source.checkRange(sourceOffset, size);
+        if (source == this && sourceOffset < offset) {
+            // Copy backwards so overlapping trits are read before they are overwritten
+            for (int i = size; i-- > 0; ) {
+                write(offset + i, source.read(sourceOffset + i));
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                write(offset + i, source.read(sourceOffset + i));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Copies a range of this buffer into a new buffer.
+     *
+     * @param offset The index of the first trit.
+     * @param size The amount of trits.
+     * @return The new buffer
+     */
+    public TritBuffer copy(int offset, int size) {
+        return new TritBuffer(size).setTrits(0, this, offset, size);
+    }
+
+    /**
+     * Sets every trit of this buffer to 0.
+     *
+     * @return This buffer (used for method chaining).
+     */
+    public TritBuffer clear() {
+        Arrays.fill(words, 0L);
+        return this;
+    }
+
+    /**
+     *
+     * @return All trits of this buffer, one per int
+     */
+    public int[] toTrits() {
+        return getTrits(0, new int[length], 0, length);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TritBuffer)) {
+            return false;
+        }
+        TritBuffer other = (TritBuffer) obj;
+        // Unused bits of the last word are always 0
+        return length == other.length && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * length + Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        return Converter.trytes(this);
+    }
+
+    private int read(int index) {
+        // Move the 2 bits to the top, so the arithmetic shift sign extends them
+        return (int) (words[index >>> WORD_SHIFT] << (62 - ((index & WORD_MASK) << 1)) >> 62);
+    }
+
+    private void write(int index, int trit) {
+        int shift = (index & WORD_MASK) << 1;
+        int word = index >>> WORD_SHIFT;
+        words[word] = (words[word] & ~(3L << shift)) | ((long) (trit & 3) << shift);
+    }
+
+    private void checkRange(int offset, int size) {
+        if (offset < 0 || size < 0 || offset > length - size) {
+            throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + " + " + size + ") out of bounds for length " + length);
+        }
+    }
+}
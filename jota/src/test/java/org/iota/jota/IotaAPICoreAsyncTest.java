@@ -0,0 +1,80 @@
+package org.iota.jota;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.MalformedURLException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.iota.jota.connection.HttpConnector;
+import org.iota.jota.dto.request.IotaCommandRequest;
+import org.iota.jota.dto.request.IotaGetTrytesRequest;
+import org.iota.jota.dto.response.GetNodeAPIConfigurationResponse;
+import org.iota.jota.dto.response.GetTrytesResponse;
+import org.iota.jota.error.ArgumentException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class IotaAPICoreAsyncTest {
+
+    private static final String[] HASHES = { hash('A'), hash('B'), hash('C'), hash('D'), hash('E') };
+
+    private final AtomicInteger trytesRequests = new AtomicInteger();
+
+    private IotaAPI api;
+
+    @BeforeEach
+    public void setUp() throws MalformedURLException {
+        HttpConnector node = new HttpConnector("http://localhost:14265") {
+
+            @Override
+            public CompletableFuture<GetNodeAPIConfigurationResponse> getNodeAPIConfigurationAsync(IotaCommandRequest request) {
+                return CompletableFuture.completedFuture((GetNodeAPIConfigurationResponse) 
+                        GetNodeAPIConfigurationResponse.create(100, 1000, 2, 1000, true, 0));
+            }
+
+            @Override
+            public CompletableFuture<GetTrytesResponse> getTrytesAsync(IotaGetTrytesRequest request) {
+                trytesRequests.incrementAndGet();
+                // Answer with the first tryte of every hash, on another thread
+                return CompletableFuture.supplyAsync(() -> {
+                    String[] trytes = new String[request.getHashes().length];
+                    for (int i = 0; i < trytes.length; i++) {
+                        trytes[i] = request.getHashes()[i].substring(0, 1);
+                    }
+                    return GetTrytesResponse.create(trytes, 1);
+                });
+            }
+        };
+        api = new IotaAPI.Builder().addNode(node).build();
+    }
+
+    private static String hash(char tryte) {
+        char[] hash = new char[81];
+        Arrays.fill(hash, tryte);
+        return new String(hash);
+    }
+
+    @Test
+    public void shouldChunkAndKeepOrder() throws Exception {
+        GetTrytesResponse response = api.async().getTrytes(HASHES).get();
+
+        assertArrayEquals(new String[] { "A", "B", "C", "D", "E" }, response.getTrytes());
+        assertEquals(3, trytesRequests.get());
+    }
+
+    @Test
+    public void shouldFailFutureOnInvalidInput() {
+        CompletableFuture<GetTrytesResponse> response = api.async().getTrytes("NOT A HASH");
+
+        assertTrue(response.isCompletedExceptionally());
+        ExecutionException e = assertThrows(ExecutionException.class, response::get);
+        assertTrue(e.getCause() instanceof ArgumentException);
+        assertEquals(0, trytesRequests.get());
+    }
+}
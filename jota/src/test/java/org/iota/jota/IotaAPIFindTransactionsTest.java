@@ -0,0 +1,160 @@
+package org.iota.jota;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+import org.iota.jota.connection.HttpConnector;
+import org.iota.jota.connection.JsonArrayStream;
+import org.iota.jota.dto.request.IotaCommandRequest;
+import org.iota.jota.dto.request.IotaFindTransactionsRequest;
+import org.iota.jota.dto.response.FindTransactionResponse;
+import org.iota.jota.dto.response.GetNodeAPIConfigurationResponse;
+import org.iota.jota.error.ArgumentException;
+import org.iota.jota.utils.Checksum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class IotaAPIFindTransactionsTest {
+
+    private static final int MAX_REQUESTS_LIST = 2;
+    private static final int MAX_FIND_TRANSACTIONS = 3;
+
+    private static final String A = hash('A');
+    private static final String B = hash('B');
+    private static final String C = hash('C');
+
+    // Address, to the transactions on it
+    private final Map<String, List<String>> tangle = new HashMap<>();
+    private final List<IotaFindTransactionsRequest> requests = Collections.synchronizedList(new ArrayList<>());
+
+    private IotaAPI api;
+
+    @BeforeEach
+    public void setUp() throws MalformedURLException {
+        api = new IotaAPI.Builder().addNode(node("http://node1:14265", MAX_REQUESTS_LIST)).build();
+    }
+
+    private HttpConnector node(String url, int maxRequestsList) throws MalformedURLException {
+        return new HttpConnector(url) {
+
+            @Override
+            public CompletableFuture<GetNodeAPIConfigurationResponse> getNodeAPIConfigurationAsync(IotaCommandRequest request) {
+                return CompletableFuture.completedFuture((GetNodeAPIConfigurationResponse)
+                        GetNodeAPIConfigurationResponse.create(MAX_FIND_TRANSACTIONS, maxRequestsList, 1000, 1000, true, 0));
+            }
+
+            @Override
+            public FindTransactionResponse findTransactions(IotaFindTransactionsRequest request) throws ArgumentException {
+                requests.add(request);
+                List<String> found = new ArrayList<>();
+                for (String address : request.getAddresses()) {
+                    found.addAll(tangle.getOrDefault(address, Collections.emptyList()));
+                }
+                if (found.size() > MAX_FIND_TRANSACTIONS) {
+                    // What IRI answers with a 400
+                    throw new ArgumentException("Could not complete request");
+                }
+                return FindTransactionResponse.create(found.toArray(new String[0]), 1);
+            }
+
+            @Override
+            public CompletableFuture<FindTransactionResponse> findTransactionsAsync(IotaFindTransactionsRequest request) {
+                return CompletableFuture.supplyAsync(() -> findTransactions(request));
+            }
+
+            @Override
+            public int findTransactionsStream(IotaFindTransactionsRequest request, int batchSize, Consumer<String[]> consumer) {
+                return JsonArrayStream.emit(findTransactions(request).getHashes(), batchSize, consumer);
+            }
+        };
+    }
+
+    private static String hash(char tryte) {
+        char[] hash = new char[81];
+        Arrays.fill(hash, tryte);
+        return new String(hash);
+    }
+
+    private static String[] withChecksum(String... addresses) {
+        return Arrays.stream(addresses).map(Checksum::addChecksum).toArray(String[]::new);
+    }
+
+    private void addTransactions(String address, int amount) {
+        List<String> hashes = new ArrayList<>();
+        for (int i = 0; i < amount; i++) {
+            hashes.add(address.substring(0, 80) + (char) ('A' + i));
+        }
+        tangle.put(address, hashes);
+    }
+
+    @Test
+    public void shouldSplitEveryOversizedField() {
+        String[] addresses = { A, B, C };
+        String[] bundles = { hash('D'), hash('E'), hash('F') };
+
+        api.findTransactions(withChecksum(addresses), null, null, bundles);
+
+        assertEquals(4, requests.size(), "Every chunk of addresses with every chunk of bundles");
+        Set<String> pairs = new HashSet<>();
+        for (IotaFindTransactionsRequest request : requests) {
+            assertTrue(request.getAddresses().length <= MAX_REQUESTS_LIST);
+            assertTrue(request.getBundles().length <= MAX_REQUESTS_LIST);
+            for (String address : request.getAddresses()) {
+                for (String bundle : request.getBundles()) {
+                    assertTrue(pairs.add(address + bundle), "Every combination is requested once");
+                }
+            }
+        }
+        assertEquals(9, pairs.size());
+    }
+
+    @Test
+    public void shouldUseStrictestNodeLimit() throws MalformedURLException {
+        api.addNode(node("http://node2:14265", 1));
+
+        api.findTransactionsByAddresses(withChecksum(A, B));
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    public void shouldSplitWhenNodeFindsTooMany() throws Exception {
+        addTransactions(A, 2);
+        addTransactions(B, 2);
+
+        assertEquals(4, api.findTransactionsByAddresses(withChecksum(A, B)).getHashes().length);
+        assertEquals(3, requests.size(), "Refused, then both halves");
+
+        assertEquals(4, api.async().findTransactionsByAddresses(withChecksum(A, B)).get().getHashes().length);
+
+        List<String> streamed = new ArrayList<>();
+        assertEquals(4, api.findTransactionsStream(withChecksum(A, B), null, null, null, 10,
+                batch -> streamed.addAll(Arrays.asList(batch))));
+        assertEquals(4, streamed.size());
+    }
+
+    @Test
+    public void shouldFailWhenSingleValueFindsTooMany() {
+        addTransactions(A, MAX_FIND_TRANSACTIONS + 1);
+
+        ArgumentException e = assertThrows(ArgumentException.class, () -> api.findTransactionsByAddresses(withChecksum(A)));
+        assertTrue(e.getMessage().contains(String.valueOf(MAX_FIND_TRANSACTIONS)));
+
+        ExecutionException async = assertThrows(ExecutionException.class,
+                () -> api.async().findTransactionsByAddresses(withChecksum(A)).get());
+        assertTrue(async.getCause() instanceof ArgumentException);
+    }
+}
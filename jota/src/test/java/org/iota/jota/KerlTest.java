@@ -1,6 +1,11 @@
 package org.iota.jota;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 import org.iota.jota.pow.Kerl;
 import org.iota.jota.pow.SpongeFactory;
@@ -44,4 +49,78 @@ public class KerlTest {
         String hash = Converter.trytes(hashTrits);
         assertEquals(hash, "LUCKQVACOGBFYSPPVSSOXJEKNSQQRQKPZC9NXFSMQNRQCGGUL9OHVVKBDSKEQEBKXRNUJSRXYVHJTXBPDWQGNSCDCBAIRHAQCOWZEBSNHIJIGPZQITIBJQ9LNTDIBTCQ9EUWKHFLGFUVGGUWJONK9GBCDUIMAYMMQX");
     }
-}
\ No newline at end of file
+
+    private static final String TRYTES = "G9JYBOMPUXHYHKSNRNMMSSZCSHOFYOYNZRSZMAAYWDYEIMVVOGKPJBVBM9TDPULSFUNMTVXRKFIDOHUXXVYDLFSZYZTWQYTE9SPYYWYTXJYQ9IFGYOLZXWZBKWZN9QOOTBQMWMUBLEWUEEASRHRTNIQWJQNDWRYLCA";
+
+    @Test
+    public void shouldAbsorbBytesLikeTrits() {
+        int[] trits = Converter.trits(TRYTES);
+        // Two hashes with a byte in front, to absorb from an offset
+        byte[] bytes = new byte[1 + 2 * 48 + 1];
+        for (int i = 0; i < 2; i++) {
+            System.arraycopy(toBytes(trits, i * 243), 0, bytes, 1 + i * 48, 48);
+        }
+
+        Kerl kerl = (Kerl) SpongeFactory.create(SpongeFactory.Mode.KERL);
+        kerl.absorbBytes(bytes, 1, 2 * 48);
+        assertArrayEquals(hash(trits, 2 * 243), squeeze(kerl));
+
+        kerl.reset();
+        kerl.absorbBytes(bytes, 1 + 48, 48);
+        assertArrayEquals(hash(Arrays.copyOfRange(trits, 243, 2 * 243), 243), squeeze(kerl));
+    }
+
+    @Test
+    public void shouldAbsorbByteBufferLikeTrits() {
+        int[] trits = Converter.trits(TRYTES);
+        int[] expected = hash(trits, 2 * 243);
+
+        ByteBuffer heap = ByteBuffer.allocate(1 + 2 * 48);
+        ByteBuffer direct = ByteBuffer.allocateDirect(1 + 2 * 48);
+        for (ByteBuffer buffer : new ByteBuffer[] { heap, direct }) {
+            buffer.put((byte) 1);
+            buffer.put(toBytes(trits, 0));
+            buffer.put(toBytes(trits, 243));
+            buffer.position(1);
+
+            Kerl kerl = (Kerl) SpongeFactory.create(SpongeFactory.Mode.KERL);
+            kerl.absorb(buffer);
+            assertEquals(buffer.limit(), buffer.position(), "All bytes are consumed");
+            assertArrayEquals(expected, squeeze(kerl));
+        }
+
+        // A slice has an array offset
+        heap.position(1);
+        Kerl kerl = (Kerl) SpongeFactory.create(SpongeFactory.Mode.KERL);
+        kerl.absorb(heap.slice());
+        assertArrayEquals(expected, squeeze(kerl));
+    }
+
+    @Test
+    public void shouldRejectPartialByteHashes() {
+        Kerl kerl = (Kerl) SpongeFactory.create(SpongeFactory.Mode.KERL);
+        assertThrows(RuntimeException.class, () -> kerl.absorbBytes(new byte[96], 0, 47));
+        assertThrows(RuntimeException.class, () -> kerl.absorbBytes(new byte[96], 1, 50));
+        assertThrows(RuntimeException.class, () -> kerl.absorb(ByteBuffer.allocate(49)));
+        assertThrows(RuntimeException.class, () -> kerl.absorb(ByteBuffer.allocateDirect(95)));
+    }
+
+    private static byte[] toBytes(int[] trits, int offset) {
+        int[] hash = Arrays.copyOfRange(trits, offset, offset + 243);
+        // Kerl absorbs every hash with its last trit set to 0
+        hash[242] = 0;
+        return Kerl.convertTritsToBytes(hash);
+    }
+
+    private static int[] hash(int[] trits, int length) {
+        Kerl kerl = (Kerl) SpongeFactory.create(SpongeFactory.Mode.KERL);
+        kerl.absorb(trits, 0, length);
+        return squeeze(kerl);
+    }
+
+    private static int[] squeeze(Kerl kerl) {
+        int[] hash = new int[243];
+        kerl.squeeze(hash, 0, 243);
+        return hash;
+    }
+}
@@ -0,0 +1,140 @@
+package org.iota.jota;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.iota.jota.pow.ICurl;
+import org.iota.jota.pow.JCurl;
+import org.iota.jota.pow.SpongeFactory;
+import org.iota.jota.pow.pearldiver.PearlDiver;
+import org.iota.jota.pow.pearldiver.PearlDiverLocalPoW;
+import org.iota.jota.pow.pearldiver.PearlDiverPool;
+import org.iota.jota.pow.pearldiver.PearlDiverPrefixCache;
+import org.iota.jota.pow.pearldiver.WidePearlDiverLocalPoW;
+import org.iota.jota.utils.Constants;
+import org.iota.jota.utils.Converter;
+import org.junit.jupiter.api.Test;
+
+public class PearlDiverTest {
+
+    private static final int MIN_WEIGHT_MAGNITUDE = 9;
+    private static final int NONCE_TRINARY_OFFSET = 7938;
+
+    @Test
+    public void shouldFindNonceOnSharedPool() {
+        PearlDiver pearlDiver = new PearlDiver(PearlDiverPool.shared(2));
+
+        // Repeated searches run on the same workers
+        for (int i = 0; i < 3; i++) {
+            int[] trits = Converter.trits(transactionTrytes(i));
+            int[] original = trits.clone();
+
+            assertTrue(pearlDiver.search(trits, MIN_WEIGHT_MAGNITUDE, 0));
+            assertTrue(Arrays.equals(Arrays.copyOf(original, NONCE_TRINARY_OFFSET),
+                    Arrays.copyOf(trits, NONCE_TRINARY_OFFSET)), "Only the nonce may change");
+            assertTrue(trailingZeros(trits) >= MIN_WEIGHT_MAGNITUDE, "Hash should meet the weight magnitude");
+        }
+    }
+
+    @Test
+    public void shouldFindSameNonceFromAbsorbedPrefix() {
+        PearlDiver pearlDiver = new PearlDiver(PearlDiverPool.shared(2));
+        int[] trits = Converter.trits(transactionTrytes(7));
+        int[] fromPrefix = trits.clone();
+
+        // A single worker makes the found nonce deterministic
+        assertTrue(pearlDiver.search(trits, MIN_WEIGHT_MAGNITUDE, 1));
+        assertTrue(pearlDiver.search(fromPrefix, MIN_WEIGHT_MAGNITUDE, 1, PearlDiver.absorbPrefix(fromPrefix)));
+        assertTrue(Arrays.equals(trits, fromPrefix), "Prefix state should not change the search");
+    }
+
+    @Test
+    public void shouldReusePrefixFromCache() {
+        PearlDiverPrefixCache cache = new PearlDiverPrefixCache(2);
+        int[] trits = Converter.trits(transactionTrytes(3));
+
+        int[] absorbed = cache.absorbPrefix(trits);
+        assertEquals(0, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        assertTrue(Arrays.equals(absorbed, cache.absorbPrefix(trits)));
+        assertEquals(1, cache.getHits());
+        assertTrue(Arrays.equals(absorbed, PearlDiver.absorbPrefix(trits)));
+
+        cache.absorbPrefix(Converter.trits(transactionTrytes(4)));
+        cache.absorbPrefix(Converter.trits(transactionTrytes(5)));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void shouldPerformBatchPoW() {
+        String[] trytes = new String[5];
+        for (int i = 0; i < trytes.length; i++) {
+            trytes[i] = transactionTrytes(10 + i);
+        }
+
+        String[] pow = new PearlDiverLocalPoW(2).performPoW(trytes, MIN_WEIGHT_MAGNITUDE);
+        assertEquals(trytes.length, pow.length);
+        for (int i = 0; i < trytes.length; i++) {
+            int[] trits = Converter.trits(pow[i]);
+            assertEquals(trytes[i].substring(0, NONCE_TRINARY_OFFSET / 3), pow[i].substring(0, NONCE_TRINARY_OFFSET / 3));
+            assertTrue(trailingZeros(trits) >= MIN_WEIGHT_MAGNITUDE, "Hash should meet the weight magnitude");
+        }
+    }
+
+    @Test
+    public void shouldFindNonceWithLaneBanks() {
+        PearlDiver pearlDiver = new PearlDiver(PearlDiverPool.shared(2), 2);
+
+        for (int i = 0; i < 3; i++) {
+            int[] trits = Converter.trits(transactionTrytes(20 + i));
+            int[] original = trits.clone();
+
+            assertTrue(pearlDiver.search(trits, MIN_WEIGHT_MAGNITUDE, 0));
+            assertTrue(Arrays.equals(Arrays.copyOf(original, NONCE_TRINARY_OFFSET),
+                    Arrays.copyOf(trits, NONCE_TRINARY_OFFSET)), "Only the nonce may change");
+            assertTrue(trailingZeros(trits) >= MIN_WEIGHT_MAGNITUDE, "Hash should meet the weight magnitude");
+        }
+    }
+
+    @Test
+    public void shouldUseFasterLaneBanks() {
+        WidePearlDiverLocalPoW pow = new WidePearlDiverLocalPoW(PearlDiverPool.shared(2), 2);
+        assertEquals(WidePearlDiverLocalPoW.fasterLaneBanks(), pow.getLaneBanks());
+        assertEquals(1, new WidePearlDiverLocalPoW(PearlDiverPool.shared(2), 1).getLaneBanks());
+
+        String trytes = transactionTrytes(30);
+        String result = pow.performPoW(trytes, MIN_WEIGHT_MAGNITUDE);
+        assertEquals(trytes.substring(0, NONCE_TRINARY_OFFSET / 3), result.substring(0, NONCE_TRINARY_OFFSET / 3));
+        assertTrue(trailingZeros(Converter.trits(result)) >= MIN_WEIGHT_MAGNITUDE, "Hash should meet the weight magnitude");
+    }
+
+    @Test
+    public void shouldShareSameSizedPools() {
+        assertTrue(PearlDiverPool.shared(2) == PearlDiverPool.shared(2));
+        assertEquals(2, PearlDiverPool.shared(2).getNumberOfThreads());
+    }
+
+    private static String transactionTrytes(int salt) {
+        StringBuilder trytes = new StringBuilder(Constants.TRANSACTION_LENGTH);
+        for (int i = 0; i < Constants.TRANSACTION_LENGTH; i++) {
+            trytes.append(Constants.TRYTE_ALPHABET.charAt((i * 7 + salt) % Constants.TRYTE_ALPHABET.length()));
+        }
+        return trytes.toString();
+    }
+
+    private static int trailingZeros(int[] trits) {
+        ICurl curl = SpongeFactory.create(SpongeFactory.Mode.CURL_P81);
+        int[] hash = new int[JCurl.HASH_LENGTH];
+        curl.absorb(trits, 0, trits.length);
+        curl.squeeze(hash, 0, hash.length);
+
+        int zeros = 0;
+        for (int i = hash.length - 1; i >= 0 && hash[i] == 0; i--) {
+            zeros++;
+        }
+        return zeros;
+    }
+}
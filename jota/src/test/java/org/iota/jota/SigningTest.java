@@ -1,6 +1,9 @@
 package org.iota.jota;
 
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.iota.jota.error.ArgumentException;
 import org.iota.jota.model.Bundle;
@@ -10,9 +13,11 @@ import org.iota.jota.utils.Checksum;
 import org.iota.jota.utils.Constants;
 import org.iota.jota.utils.Converter;
 import org.iota.jota.utils.IotaAPIUtils;
+import org.iota.jota.utils.ParallelAddressGenerator;
 import org.iota.jota.utils.Signing;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -51,6 +56,45 @@ public class SigningTest {
         assertEquals(ADDR_LS_I0_S3, IotaAPIUtils.newAddress(ADDR_SEED + ADDR_SEED, 3, 0, false, curl));
     }
 
+    @Test
+    public void testParallelAddressGeneration() throws ArgumentException {
+        ICurl curl = SpongeFactory.create(SpongeFactory.Mode.KERL);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        List<String> addresses;
+        try {
+            addresses = new ParallelAddressGenerator(curl, pool, 1).generate(TEST_SEED, 2, 0, 7, true);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(7, addresses.size());
+        assertEquals(FIRST_ADDR, addresses.get(0));
+        assertEquals(SIXTH_ADDR, addresses.get(5));
+        assertEquals(IotaAPIUtils.newAddress(TEST_SEED, 2, 6, true, curl), addresses.get(6));
+        assertEquals(addresses.subList(5, 7), IotaAPIUtils.newAddresses(TEST_SEED, 2, 5, 7, true, curl));
+    }
+
+    @Test
+    public void testSubseedDerivation() throws ArgumentException {
+        Signing signing = new Signing(SpongeFactory.create(SpongeFactory.Mode.KERL));
+        int[] seed = Converter.trits(TEST_SEED);
+        int[] incremented = seed.clone();
+        Iterator<int[]> subseeds = signing.subseeds(seed, 0);
+
+        for (int index = 0; index < 1000; index++) {
+            assertArrayEquals(incremented, signing.subseed(seed, index));
+            assertArrayEquals(incremented, subseeds.next());
+            Converter.increment(incremented, incremented.length);
+        }
+
+        int[] ones = new int[9];
+        Arrays.fill(ones, 1);
+        int[] wrapped = new int[9];
+        Arrays.fill(wrapped, -1);
+        assertArrayEquals(wrapped, signing.subseed(ones, 1));
+        assertArrayEquals(signing.subseed(seed, 123456), signing.subseed(signing.subseed(seed, 123455), 1));
+    }
+
     @Test
     public void testLongSeedKeyGeneration() throws ArgumentException {
         ICurl curl = SpongeFactory.create(SpongeFactory.Mode.KERL);
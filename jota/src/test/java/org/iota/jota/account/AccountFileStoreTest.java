@@ -16,6 +16,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 public class AccountFileStoreTest {
     
@@ -58,4 +59,33 @@ public class AccountFileStoreTest {
 
         assertEquals(state, loadedState, "New state and store state should be equal");
     }
+    
+    @Test
+    public void testWriteBehind() throws Exception {
+        AccountFileStore fileStore = new AccountFileStore(file, true).writeBehind(60000, 3);
+        store = fileStore;
+        store.load();
+        store.loadAccount(addressId);
+        fileStore.flush();
+        
+        StoredDepositAddress request = new StoredDepositAddress(new DepositRequest(new Date(0), false, 5), 3);
+        store.addDepositAddress(addressId, 1, request);
+        store.addDepositAddress(addressId, 2, request);
+        assertEquals(0, depositsOnDisk(), "Modifications wait until the third");
+        
+        store.addDepositAddress(addressId, 3, request);
+        assertEquals(3, depositsOnDisk());
+        
+        store.removeDepositAddress(addressId, 1);
+        fileStore.flush();
+        assertEquals(2, depositsOnDisk());
+        assertFalse(new File(file.getPath() + ".tmp").exists(), "Temporary file should be renamed");
+    }
+    
+    private int depositsOnDisk() throws Exception {
+        JsonFlatFileStore onDisk = new JsonFlatFileStore(file);
+        onDisk.load();
+        AccountState state = onDisk.get(addressId, null);
+        return state.getDepositRequests().size();
+    }
 }
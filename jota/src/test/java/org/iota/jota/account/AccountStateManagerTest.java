@@ -0,0 +1,113 @@
+package org.iota.jota.account;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.iota.jota.account.addressgenerator.AddressGeneratorService;
+import org.iota.jota.account.deposits.DepositRequest;
+import org.iota.jota.account.deposits.StoredDepositAddress;
+import org.iota.jota.account.errors.AddressGenerationError;
+import org.iota.jota.account.store.AccountFileStore;
+import org.iota.jota.types.Address;
+import org.iota.jota.types.Hash;
+import org.iota.jota.utils.Checksum;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class AccountStateManagerTest {
+
+    private static final String ACCOUNT_ID = "account";
+
+    private File file;
+    private AccountFileStore store;
+    private AccountStateManager manager;
+    private int generated;
+    private int failingSecurityLevel;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        file = File.createTempFile("client", "store");
+        store = new AccountFileStore(file);
+        store.load();
+        store.addDepositAddress(ACCOUNT_ID, 0, new StoredDepositAddress(new DepositRequest(null, true, 0), 2));
+        store.addDepositAddress(ACCOUNT_ID, 1, new StoredDepositAddress(new DepositRequest(null, true, 0), 2));
+
+        manager = new AccountStateManager(null, ACCOUNT_ID, null, store.loadAccount(ACCOUNT_ID), new AddressGeneratorService() {
+
+            @Override
+            public int getSecurityLevel() {
+                return 2;
+            }
+
+            @Override
+            public Address get(int index) {
+                return get(index, 2);
+            }
+
+            @Override
+            public Address get(int index, int securityLevel) {
+                if (securityLevel == failingSecurityLevel) {
+                    throw new AddressGenerationError(new IllegalStateException("derivation failed"));
+                }
+                generated++;
+                return new Address(new Hash(address(index)), index, securityLevel);
+            }
+
+            @Override
+            public List<Address> getRange(int start, int end, int securityLevel) {
+                List<Address> addresses = new ArrayList<>();
+                for (int i = start; i < end; i++) {
+                    addresses.add(get(i, securityLevel));
+                }
+                return addresses;
+            }
+        }, null, store);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        store.shutdown();
+        file.delete();
+    }
+
+    @Test
+    public void shouldIndexOwnAddresses() throws Exception {
+        assertTrue(manager.isOwnAddress(address(0)));
+        assertTrue(manager.isOwnAddress(Checksum.addChecksum(address(1))));
+        assertFalse(manager.isOwnAddress(address(2)));
+        assertEquals(1, manager.getOwnAddress(address(1)).getIndex());
+        assertEquals(2, generated, "Addresses are only generated once");
+
+        manager.addDepositRequest(2, new StoredDepositAddress(new DepositRequest(null, true, 0), 2));
+        manager.removeDepositRequest(0);
+        assertTrue(manager.isOwnAddress(address(2)));
+        assertFalse(manager.isOwnAddress(address(0)));
+        assertEquals(3, generated);
+    }
+
+    @Test
+    public void shouldRemoveDepositRequestAfterFailedIndex() throws Exception {
+        manager.addDepositRequest(2, new StoredDepositAddress(new DepositRequest(null, true, 0), 3));
+        failingSecurityLevel = 3;
+        assertThrows(AddressGenerationError.class, () -> manager.isOwnAddress(address(0)));
+
+        // Nothing of the failed index may remain
+        manager.removeDepositRequest(0);
+
+        failingSecurityLevel = 0;
+        assertFalse(manager.isOwnAddress(address(0)));
+        assertTrue(manager.isOwnAddress(address(1)));
+        assertTrue(manager.isOwnAddress(address(2)));
+    }
+
+    private static String address(int index) {
+        return new String(new char[81]).replace('\0', (char) ('A' + index));
+    }
+}
@@ -0,0 +1,176 @@
+package org.iota.jota.account.plugins.transferchecker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.iota.jota.IotaAPI;
+import org.iota.jota.account.AccountStateManager;
+import org.iota.jota.account.event.Event;
+import org.iota.jota.account.event.EventListener;
+import org.iota.jota.account.event.EventManager;
+import org.iota.jota.account.event.events.EventReceivedDeposit;
+import org.iota.jota.account.event.events.EventReceivedMessage;
+import org.iota.jota.account.event.events.EventReceivingDeposit;
+import org.iota.jota.model.Transaction;
+import org.iota.jota.types.Address;
+import org.iota.jota.types.Hash;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class IncomingTransferScannerTest {
+
+    private static final String ADDRESS_A = TangleStub.trytes('A', 81);
+    private static final String ADDRESS_B = TangleStub.trytes('B', 81);
+    private static final String ADDRESS_C = TangleStub.trytes('C', 81);
+
+    private static final String SENDER_SEED = "IHDEENZYITYVYSPKAURUZAQKGVJEREFDJMYTANNXXGPZ9GJWTEOJJ9IPMXOGZNQLSNMFDSQOTZAEETUEA";
+
+    private TangleStub node;
+    private IotaAPI api;
+    private List<Event> events;
+    private IncomingTransferScanner scanner;
+
+    @BeforeEach
+    public void setUp() throws MalformedURLException {
+        node = new TangleStub();
+        api = new IotaAPI.Builder().addNode(node).build();
+
+        events = new ArrayList<>();
+        // Zero value bundles never check ownership, so we do not need an account manager
+        scanner = new IncomingTransferScanner(api, recorder(events), null, false);
+        scanner.addAddress(new Address(new Hash(ADDRESS_A), 0, 2));
+        scanner.addAddress(new Address(new Hash(ADDRESS_B), 1, 2));
+    }
+
+    @Test
+    public void shouldOnlyRequestNewTransactions() {
+        Transaction message = node.add(TangleStub.bundle(tag('M'), ADDRESS_A).get(0));
+
+        scanner.run();
+        assertEquals(1, node.addressRequests.size(), "All addresses are checked in one request");
+        assertEquals(2, node.addressRequests.get(0).length);
+        assertEquals(1, events.size());
+        assertTrue(events.get(0) instanceof EventReceivedMessage);
+
+        int requested = node.trytesRequests(message.getHash());
+        scanner.run();
+        assertEquals(2, node.addressRequests.size());
+        assertEquals(requested, node.trytesRequests(message.getHash()), "Known transactions are not requested again");
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    public void shouldSkipInvalidBundles() {
+        // The node only has the tail, so the bundle does not validate
+        Transaction tail = node.add(TangleStub.bundle(tag('I'), ADDRESS_A, ADDRESS_B).get(0));
+
+        scanner.run();
+        int requested = node.trytesRequests(tail.getHash());
+        assertTrue(requested > 0);
+
+        for (int i = 0; i < 3; i++) {
+            scanner.run();
+        }
+        assertEquals(requested, node.trytesRequests(tail.getHash()), "Invalid bundles are not requested again");
+        assertEquals(0, events.size());
+    }
+
+    @Test
+    public void shouldRetryBundlesWithoutTail() {
+        List<Transaction> bundle = TangleStub.bundle(tag('R'), ADDRESS_B, ADDRESS_A);
+        String bundleHash = bundle.get(0).getBundle();
+        node.add(bundle.get(1));
+
+        scanner.run();
+        scanner.run();
+        assertEquals(2, node.bundleRequests(bundleHash), "We look for the tail every run");
+        assertEquals(0, events.size());
+
+        node.add(bundle.get(0));
+        scanner.run();
+        assertEquals(1, events.size());
+        assertTrue(events.get(0) instanceof EventReceivedMessage);
+
+        scanner.run();
+        assertEquals(2, node.bundleRequests(bundleHash), "We stop looking once we have the tail");
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    public void shouldStopRetryingAfterMaxRuns() {
+        List<Transaction> bundle = TangleStub.bundle(tag('G'), ADDRESS_B, ADDRESS_A);
+        String bundleHash = bundle.get(0).getBundle();
+        node.add(bundle.get(1));
+
+        for (int i = 0; i < IncomingTransferScanner.MAX_INCOMPLETE_RETRIES + 5; i++) {
+            scanner.run();
+        }
+        assertEquals(IncomingTransferScanner.MAX_INCOMPLETE_RETRIES + 1, node.bundleRequests(bundleHash));
+    }
+
+    @Test
+    public void shouldOnlySkipLoadedAddressesUntilRunSucceeds() {
+        List<Event> received = new ArrayList<>();
+        IncomingTransferScanner scanner = new IncomingTransferScanner(api, recorder(received), notOwnAddresses(), true);
+        scanner.addLoadedAddress(new Address(new Hash(ADDRESS_A), 0, 2));
+
+        node.offline = true;
+        scanner.run();
+
+        // A new input while the node was unreachable
+        scanner.addAddress(new Address(new Hash(ADDRESS_C), 2, 2));
+        node.offline = false;
+        node.add(TangleStub.bundle(tag('L'), ADDRESS_A).get(0));
+        List<Transaction> deposit = TangleStub.valueBundle(SENDER_SEED, ADDRESS_C, 10);
+        deposit.forEach(node::add);
+
+        scanner.run();
+        assertEquals(1, received.size(), "The message to the loaded address is skipped, the deposit is not");
+        assertTrue(received.get(0) instanceof EventReceivingDeposit);
+
+        node.confirmed.add(deposit.get(0).getHash());
+        scanner.run();
+        assertEquals(2, received.size());
+        assertTrue(received.get(1) instanceof EventReceivedDeposit);
+
+        node.add(TangleStub.bundle(tag('N'), ADDRESS_A).get(0));
+        scanner.run();
+        assertEquals(3, received.size(), "Loaded addresses emit events after a successful run");
+    }
+
+    private static AccountStateManager notOwnAddresses() {
+        return new AccountStateManager(null, null, null, null, null, null, null) {
+
+            @Override
+            public boolean isOwnAddress(String hash) {
+                return false;
+            }
+        };
+    }
+
+    private static String tag(char c) {
+        return TangleStub.trytes(c, 27);
+    }
+
+    static EventManager recorder(List<Event> events) {
+        return new EventManager() {
+
+            @Override
+            public void emit(Event event) {
+                events.add(event);
+            }
+
+            @Override
+            public void registerListener(EventListener listener) {
+            }
+
+            @Override
+            public void unRegisterListener(EventListener listener) {
+            }
+        };
+    }
+}
@@ -0,0 +1,103 @@
+package org.iota.jota.account.plugins.transferchecker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.iota.jota.IotaAPI;
+import org.iota.jota.account.event.Event;
+import org.iota.jota.account.event.events.EventReceivedMessage;
+import org.iota.jota.model.Transaction;
+import org.iota.jota.types.Address;
+import org.iota.jota.types.Hash;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SharedIncomingTransferScannerTest {
+
+    private static final String ADDRESS_A = TangleStub.trytes('A', 81);
+    private static final String ADDRESS_B = TangleStub.trytes('B', 81);
+    private static final String ADDRESS_C = TangleStub.trytes('C', 81);
+
+    private TangleStub node;
+
+    private List<Event> firstEvents;
+    private List<Event> secondEvents;
+    private IncomingTransferScanner first;
+    private IncomingTransferScanner second;
+    private SharedIncomingTransferScanner shared;
+
+    @BeforeEach
+    public void setUp() throws MalformedURLException {
+        node = new TangleStub();
+        IotaAPI api = new IotaAPI.Builder().addNode(node).build();
+
+        // Zero value bundles never check ownership, so we do not need account managers
+        firstEvents = new ArrayList<>();
+        first = new IncomingTransferScanner(api, IncomingTransferScannerTest.recorder(firstEvents), null, false);
+        first.addAddress(new Address(new Hash(ADDRESS_A), 0, 2));
+        first.addAddress(new Address(new Hash(ADDRESS_B), 1, 2));
+
+        secondEvents = new ArrayList<>();
+        second = new IncomingTransferScanner(api, IncomingTransferScannerTest.recorder(secondEvents), null, false);
+        second.addAddress(new Address(new Hash(ADDRESS_C), 0, 2));
+
+        shared = new SharedIncomingTransferScanner(api);
+        shared.register(first);
+        shared.register(second);
+    }
+
+    @Test
+    public void shouldCheckAllAccountsInOneRequest() {
+        shared.run();
+        assertEquals(1, node.addressRequests.size(), "All accounts are checked in one request");
+        assertEquals(3, node.addressRequests.get(0).length);
+        assertEquals(0, node.trytesRequests.size());
+
+        Transaction message = node.add(TangleStub.bundle(tag('M'), ADDRESS_C).get(0));
+        shared.run();
+        assertEquals(2, node.addressRequests.size());
+        int requested = node.trytesRequests(message.getHash());
+        assertTrue(requested > 0);
+
+        shared.unregister(second);
+        shared.run();
+        assertEquals(3, node.addressRequests.size());
+        assertEquals(2, node.addressRequests.get(2).length);
+        assertEquals(requested, node.trytesRequests(message.getHash()), "Nothing new, nothing requested");
+    }
+
+    @Test
+    public void shouldOnlyNotifyOwningScanner() {
+        node.add(TangleStub.bundle(tag('C'), ADDRESS_C).get(0));
+        shared.run();
+        assertEquals(0, firstEvents.size());
+        assertEquals(1, secondEvents.size());
+        assertTrue(secondEvents.get(0) instanceof EventReceivedMessage);
+
+        node.add(TangleStub.bundle(tag('B'), ADDRESS_B).get(0));
+        shared.run();
+        assertEquals(1, firstEvents.size());
+        assertEquals(1, secondEvents.size());
+    }
+
+    @Test
+    public void shouldNotifyAllScannersOfSharedAddress() {
+        second.addAddress(new Address(new Hash(ADDRESS_A), 5, 2));
+
+        shared.run();
+        assertEquals(3, node.addressRequests.get(0).length, "A shared address is requested once");
+
+        node.add(TangleStub.bundle(tag('S'), ADDRESS_A).get(0));
+        shared.run();
+        assertEquals(1, firstEvents.size());
+        assertEquals(1, secondEvents.size());
+    }
+
+    private static String tag(char c) {
+        return TangleStub.trytes(c, 27);
+    }
+}
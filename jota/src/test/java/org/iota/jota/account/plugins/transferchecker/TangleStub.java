@@ -0,0 +1,176 @@
+package org.iota.jota.account.plugins.transferchecker;
+
+import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.iota.jota.connection.HttpConnector;
+import org.iota.jota.connection.JsonArrayStream;
+import org.iota.jota.dto.request.IotaFindTransactionsRequest;
+import org.iota.jota.dto.request.IotaGetInclusionStateRequest;
+import org.iota.jota.dto.request.IotaGetTrytesRequest;
+import org.iota.jota.dto.response.FindTransactionResponse;
+import org.iota.jota.dto.response.GetInclusionStateResponse;
+import org.iota.jota.dto.response.GetTrytesResponse;
+import org.iota.jota.error.ArgumentException;
+import org.iota.jota.model.Bundle;
+import org.iota.jota.model.Input;
+import org.iota.jota.model.Transaction;
+import org.iota.jota.pow.ICurl;
+import org.iota.jota.pow.SpongeFactory;
+import org.iota.jota.utils.Checksum;
+import org.iota.jota.utils.IotaAPIUtils;
+
+/**
+ * A node which knows a fixed set of transactions, and counts what we ask for
+ */
+class TangleStub extends HttpConnector {
+
+    static final String EMPTY_TRYTES = trytes('9', 2673);
+
+    // Transaction hash, to the transaction
+    final Map<String, Transaction> transactions = new LinkedHashMap<>();
+    final Set<String> confirmed = new HashSet<>();
+
+    // When set, every request fails like an unreachable node
+    boolean offline;
+
+    final List<String[]> addressRequests = new ArrayList<>();
+    final List<String> bundleRequests = new ArrayList<>();
+    final List<String> trytesRequests = new ArrayList<>();
+
+    TangleStub() throws MalformedURLException {
+        super("http://node1:14265");
+    }
+
+    /**
+     * Creates a zero value bundle with a transaction for every address
+     *
+     * @param tag Makes the bundle unique
+     * @param addresses The addresses, without checksum
+     * @return The transactions of the bundle
+     */
+    static List<Transaction> bundle(String tag, String... addresses) {
+        Bundle bundle = new Bundle();
+        for (String address : addresses) {
+            bundle.addEntry(1, address, 0, tag, 1500000000);
+        }
+        bundle.finalize(SpongeFactory.create(SpongeFactory.Mode.KERL));
+        bundle.addTrytes(Collections.emptyList());
+        return chain(bundle);
+    }
+
+    /**
+     * Creates a signed bundle which sends value from the first address of the seed
+     *
+     * @param seed The seed we send from
+     * @param receiver The address receiving the value, without checksum
+     * @param value The value
+     * @return The transactions of the bundle
+     */
+    static List<Transaction> valueBundle(String seed, String receiver, long value) {
+        ICurl curl = SpongeFactory.create(SpongeFactory.Mode.KERL);
+        String input = IotaAPIUtils.newAddress(seed, 1, 0, false, curl);
+
+        Bundle bundle = new Bundle();
+        bundle.addEntry(1, receiver, value, trytes('V', 27), 1500000000);
+        bundle.addEntry(1, input, -value, trytes('V', 27), 1500000000);
+        IotaAPIUtils.signInputsAndReturn(seed, Collections.singletonList(new Input(Checksum.addChecksum(input), value, 0, 1)),
+                bundle, Collections.emptyList(), curl);
+        return chain(bundle);
+    }
+
+    private static List<Transaction> chain(Bundle bundle) {
+        // Every transaction approves the next one of the bundle, so it can be traversed
+        List<Transaction> transactions = new ArrayList<>();
+        String next = null;
+        for (int i = bundle.getTransactions().size() - 1; i >= 0; i--) {
+            Transaction t = bundle.getTransactions().get(i);
+            if (null != next) {
+                t.setTrunkTransaction(next);
+            }
+            Transaction parsed = new Transaction(t.toTrytes());
+            transactions.add(0, parsed);
+            next = parsed.getHash();
+        }
+        return transactions;
+    }
+
+    Transaction add(Transaction transaction) {
+        transactions.put(transaction.getHash(), transaction);
+        return transaction;
+    }
+
+    int trytesRequests(String hash) {
+        return Collections.frequency(trytesRequests, hash);
+    }
+
+    int bundleRequests(String bundle) {
+        return Collections.frequency(bundleRequests, bundle);
+    }
+
+    @Override
+    public FindTransactionResponse findTransactions(IotaFindTransactionsRequest request) throws ArgumentException {
+        if (offline) {
+            throw new IllegalStateException("Node unreachable");
+        }
+        List<String> found = new ArrayList<>();
+        if (null != request.getAddresses()) {
+            addressRequests.add(request.getAddresses());
+            List<String> addresses = new ArrayList<>();
+            for (String address : request.getAddresses()) {
+                addresses.add(address.substring(0, 81));
+            }
+            for (Transaction t : transactions.values()) {
+                if (addresses.contains(t.getAddress())) {
+                    found.add(t.getHash());
+                }
+            }
+        } else if (null != request.getBundles()) {
+            bundleRequests.addAll(Arrays.asList(request.getBundles()));
+            for (Transaction t : transactions.values()) {
+                if (Arrays.asList(request.getBundles()).contains(t.getBundle())) {
+                    found.add(t.getHash());
+                }
+            }
+        }
+        return FindTransactionResponse.create(found.toArray(new String[0]), 1);
+    }
+
+    @Override
+    public GetTrytesResponse getTrytes(IotaGetTrytesRequest request) throws ArgumentException {
+        String[] trytes = new String[request.getHashes().length];
+        for (int i = 0; i < trytes.length; i++) {
+            String hash = request.getHashes()[i];
+            trytesRequests.add(hash);
+            Transaction t = transactions.get(hash);
+            trytes[i] = null == t ? EMPTY_TRYTES : t.toTrytes();
+        }
+        return GetTrytesResponse.create(trytes, 1);
+    }
+
+    @Override
+    public GetInclusionStateResponse getInclusionStates(IotaGetInclusionStateRequest request) throws ArgumentException {
+        boolean[] states = new boolean[request.getTransactions().length];
+        for (int i = 0; i < states.length; i++) {
+            states[i] = confirmed.contains(request.getTransactions()[i]);
+        }
+        return GetInclusionStateResponse.create(states, 1);
+    }
+
+    @Override
+    public int getTrytesStream(IotaGetTrytesRequest request, int batchSize, Consumer<String[]> consumer) {
+        return JsonArrayStream.emit(getTrytes(request).getTrytes(), batchSize, consumer);
+    }
+
+    static String trytes(char c, int length) {
+        return new String(new char[length]).replace('\0', c);
+    }
+}
@@ -0,0 +1,170 @@
+package org.iota.jota.account.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Date;
+
+import org.iota.jota.account.AccountState;
+import org.iota.jota.account.deposits.DepositRequest;
+import org.iota.jota.account.deposits.StoredDepositAddress;
+import org.iota.jota.types.Hash;
+import org.iota.jota.types.Trytes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class AccountJournalStoreTest {
+
+    private static final String ID = "id";
+    private static final Hash TAIL = new Hash(trytes('A', 81));
+    private static final Hash REATTACHMENT = new Hash(trytes('B', 81));
+
+    private File directory;
+    private AccountJournalStore store;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("journal").toFile();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        store.shutdown();
+        for (File file : directory.listFiles()) {
+            file.delete();
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void shouldReplayJournal() throws Exception {
+        store = new AccountJournalStore(directory);
+        store.load();
+        modify(store);
+        AccountState state = store.loadAccount(ID);
+        store.shutdown();
+
+        store = new AccountJournalStore(directory);
+        store.load();
+        assertEquals(state, store.loadAccount(ID));
+        assertEquals(2, store.getPendingTransfers(ID).get(TAIL.getHash()).getTailHashes().size());
+    }
+
+    @Test
+    public void shouldCompactIntoSnapshot() throws Exception {
+        store = new AccountJournalStore(directory, 512, 2);
+        store.load();
+        for (int i = 0; i < 100; i++) {
+            store.writeIndex(ID, i);
+            modify(store);
+        }
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (store.getFirstSegment() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(store.getFirstSegment() > 0, "Journal should be compacted");
+        assertFalse(new File(directory, "journal-0.log").exists());
+
+        AccountState state = store.loadAccount(ID);
+        store.shutdown();
+
+        store = new AccountJournalStore(directory, 512, 2);
+        store.load();
+        assertEquals(state, store.loadAccount(ID));
+    }
+
+    @Test
+    public void shouldDiscardIncompleteRecord() throws Exception {
+        store = new AccountJournalStore(directory);
+        store.load();
+        modify(store);
+        AccountState state = store.loadAccount(ID);
+        int index = state.getKeyIndex();
+        store.shutdown();
+
+        // A record of which only the length made it to disk
+        File segment = new File(directory, "journal-0.log");
+        byte[] data = Files.readAllBytes(segment.toPath());
+        int end = 0;
+        while (data[end] != 0 || data[end + 1] != 0 || data[end + 2] != 0 || data[end + 3] != 0) {
+            end += 8 + ((data[end] & 0xFF) << 24 | (data[end + 1] & 0xFF) << 16 | (data[end + 2] & 0xFF) << 8 | (data[end + 3] & 0xFF));
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.seek(end);
+            file.writeInt(20);
+            file.writeInt(12345);
+        }
+
+        store = new AccountJournalStore(directory);
+        store.load();
+        assertEquals(state, store.loadAccount(ID));
+
+        store.writeIndex(ID, index + 1);
+        store.shutdown();
+        store = new AccountJournalStore(directory);
+        store.load();
+        assertEquals(index + 1, store.readIndex(ID), "Appends continue where the journal ended");
+    }
+
+    @Test
+    public void shouldNotReplayRecordsAfterCorruptRecord() throws Exception {
+        store = new AccountJournalStore(directory);
+        store.load();
+        for (int i = 1; i <= 10; i++) {
+            store.writeIndex(ID, i);
+        }
+        store.shutdown();
+
+        // Damage the record writing index 5, the first record creates the account
+        File segment = new File(directory, "journal-0.log");
+        byte[] data = Files.readAllBytes(segment.toPath());
+        int start = 0;
+        for (int record = 0; record < 5; record++) {
+            start += 8 + length(data, start);
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.seek(start + 8 + length(data, start) - 1);
+            file.writeByte(data[start + 8 + length(data, start) - 1] ^ 0x7F);
+        }
+
+        store = new AccountJournalStore(directory);
+        store.load();
+        assertEquals(4, store.readIndex(ID));
+
+        // Takes the place of the damaged record, the complete records after it are still in the file
+        store.writeIndex(ID, 100);
+        store.shutdown();
+
+        store = new AccountJournalStore(directory);
+        store.load();
+        assertEquals(100, store.readIndex(ID), "Records after the damaged one must stay discarded");
+    }
+
+    private static int length(byte[] data, int position) {
+        return (data[position] & 0xFF) << 24 | (data[position + 1] & 0xFF) << 16 
+                | (data[position + 2] & 0xFF) << 8 | (data[position + 3] & 0xFF);
+    }
+
+    private static void modify(AccountJournalStore store) {
+        StoredDepositAddress deposit = new StoredDepositAddress(new DepositRequest(new Date(1000), false, 5), 2);
+        store.writeIndex(ID, 3);
+        store.addDepositAddress(ID, 1, deposit);
+        store.addDepositAddress(ID, 2, deposit);
+        store.removeDepositAddress(ID, 1);
+        store.addPendingTransfer(ID, TAIL, new Trytes[] { new Trytes(trytes('9', 2673)) });
+        store.addTailHash(ID, TAIL, REATTACHMENT);
+        store.removePendingTransfer(ID, TAIL);
+        store.addPendingTransfer(ID, TAIL, new Trytes[] { new Trytes(trytes('C', 2673)) });
+        store.addTailHash(ID, TAIL, REATTACHMENT);
+    }
+
+    private static String trytes(char c, int length) {
+        return new String(new char[length]).replace('\0', c);
+    }
+}
@@ -0,0 +1,41 @@
+package org.iota.jota.connection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.net.URL;
+
+import org.iota.jota.IotaAPI;
+import org.junit.jupiter.api.Test;
+
+public class HttpTransportTest {
+
+    @Test
+    public void shouldShareTransportPerSettings() {
+        assertSame(HttpTransport.shared(), HttpTransport.shared(0, 0, 0, 0, true));
+        assertSame(HttpTransport.shared(4, 60, 16, 8, false), HttpTransport.shared(4, 60, 16, 8, false));
+        assertNotSame(HttpTransport.shared(), HttpTransport.shared(4, 60, 16, 8, false));
+
+        HttpTransport transport = HttpTransport.shared(0, 0, 10, 50, true);
+        assertEquals(HttpTransport.DEFAULT_MAX_IDLE_CONNECTIONS, transport.getMaxIdleConnections());
+        assertEquals(10, transport.getMaxRequestsPerHost(), "Per host limit should not exceed the total");
+    }
+
+    @Test
+    public void shouldUseTransportOfApi() throws Exception {
+        HttpConnector node = new HttpConnector(new URL("http://node1:14265"), 10);
+        HttpConnector own = new HttpConnector(HttpTransport.shared(1, 1, 1, 1, false), new URL("http://node2:14265"), 10);
+        assertSame(HttpTransport.shared(), node.getTransport());
+
+        IotaAPI api = new IotaAPI.Builder()
+                .addNode(node)
+                .addNode(own)
+                .maxRequestsPerHost(64)
+                .build();
+
+        assertEquals(64, node.getTransport().getMaxRequestsPerHost());
+        assertSame(HttpTransport.shared(1, 1, 1, 1, false), own.getTransport());
+        assertEquals(2, api.getNodes().size());
+    }
+}
@@ -0,0 +1,51 @@
+package org.iota.jota.connection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class JsonArrayStreamTest {
+
+    @Test
+    public void shouldReadFieldInBatches() throws IOException {
+        String json = "{\"duration\": 12, \"other\": [\"X\", {\"a\": [1]}], \"hashes\": [\"A\", \"B\", \"C\", \"D\", \"E\"], \"tail\": null}";
+        List<String[]> batches = new ArrayList<>();
+
+        int read = JsonArrayStream.read(new StringReader(json), "hashes", 2, batches::add);
+
+        assertEquals(5, read);
+        assertEquals(3, batches.size());
+        assertArrayEquals(new String[] { "A", "B" }, batches.get(0));
+        assertArrayEquals(new String[] { "C", "D" }, batches.get(1));
+        assertArrayEquals(new String[] { "E" }, batches.get(2));
+    }
+
+    @Test
+    public void shouldHandleMissingAndInvalidFields() throws IOException {
+        List<String[]> batches = new ArrayList<>();
+
+        assertEquals(0, JsonArrayStream.read(new StringReader("{\"trytes\": null}"), "trytes", 10, batches::add));
+        assertEquals(0, JsonArrayStream.read(new StringReader("{\"trytes\": []}"), "trytes", 10, batches::add));
+        assertEquals(0, batches.size());
+
+        assertThrows(IOException.class,
+                () -> JsonArrayStream.read(new StringReader("{\"trytes\": [\"A\""), "trytes", 10, batches::add));
+    }
+
+    @Test
+    public void shouldEmitBufferedValuesInBatches() {
+        List<String[]> batches = new ArrayList<>();
+
+        assertEquals(3, JsonArrayStream.emit(new String[] { "A", "B", "C" }, 2, batches::add));
+        assertEquals(0, JsonArrayStream.emit(null, 2, batches::add));
+        assertEquals(2, batches.size());
+        assertArrayEquals(new String[] { "C" }, batches.get(1));
+    }
+}
@@ -0,0 +1,117 @@
+package org.iota.jota.connection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.MalformedURLException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.iota.jota.IotaAPI;
+import org.iota.jota.dto.request.IotaCommandRequest;
+import org.iota.jota.dto.request.IotaGetTrytesRequest;
+import org.iota.jota.dto.response.GetNodeInfoResponse;
+import org.iota.jota.dto.response.GetTrytesResponse;
+import org.iota.jota.error.ArgumentException;
+import org.junit.jupiter.api.Test;
+
+public class NodeHealthMonitorTest {
+
+    @Test
+    public void shouldOpenAndRecoverBreaker() throws InterruptedException {
+        NodeHealth health = new NodeHealth(2, 1, 10);
+
+        health.onFailure();
+        assertTrue(health.isAvailable());
+        health.onFailure();
+        assertEquals(NodeHealth.State.OPEN, health.getState());
+        assertFalse(health.isAvailable());
+
+        Thread.sleep(20);
+        assertEquals(NodeHealth.State.HALF_OPEN, health.getState());
+        health.onFailure();
+        assertEquals(NodeHealth.State.OPEN, health.getState(), "A failed trial ejects the node again");
+
+        Thread.sleep(20);
+        health.onSuccess();
+        assertEquals(NodeHealth.State.CLOSED, health.getState());
+        assertEquals(0, health.getConsecutiveFailures());
+    }
+
+    @Test
+    public void shouldTryHalfOpenNodeWithOneRequest() throws InterruptedException {
+        NodeHealth health = new NodeHealth(1, 1, 10);
+        health.onFailure();
+
+        Thread.sleep(20);
+        assertTrue(health.isAvailable());
+        assertTrue(health.tryAcquire());
+        assertFalse(health.isAvailable(), "Other requests skip the node during the trial");
+        assertFalse(health.tryAcquire());
+
+        health.onSuccess();
+        assertTrue(health.isAvailable());
+        assertTrue(health.tryAcquire());
+    }
+
+    @Test
+    public void shouldEjectNodesOutOfSync() throws MalformedURLException {
+        Connection synced = node("http://node1:14265", 100, 100, false);
+        Connection behind = node("http://node2:14265", 100, 90, false);
+        Connection down = node("http://node3:14265", 0, 0, true);
+        List<Connection> nodes = Arrays.asList(synced, behind, down);
+
+        NodeHealthMonitor monitor = new NodeHealthMonitor(() -> nodes, 1, 0.5, 60000, 3);
+        monitor.check();
+
+        assertEquals(10, monitor.getHealth(behind).getMilestoneLag());
+        assertFalse(monitor.getHealth(behind).isInSync());
+        assertEquals(NodeHealth.State.OPEN, monitor.getHealth(down).getState());
+        assertEquals(Arrays.asList(synced), monitor.available(nodes));
+    }
+
+    @Test
+    public void shouldRetryReadsOnNextNode() throws MalformedURLException {
+        Connection down = node("http://node1:14265", 0, 0, true);
+        Connection up = node("http://node2:14265", 100, 100, false);
+
+        IotaAPI api = new IotaAPI.Builder()
+                .addNode(down)
+                .addNode(up)
+                .healthCheckInterval(3600)
+                .build();
+
+        try {
+            String hash = new String(new char[81]).replace('\0', 'A');
+            assertArrayEquals(new String[] { "node2" }, api.getTrytes(hash).getTrytes());
+            assertTrue(api.getHealthMonitor().getHealth(down).getConsecutiveFailures() > 0);
+        } finally {
+            api.shutdown();
+        }
+        assertFalse(api.getHealthMonitor().isStarted());
+    }
+
+    private static Connection node(String url, int latestMilestone, int solidMilestone, boolean failing) throws MalformedURLException {
+        return new HttpConnector(url) {
+
+            @Override
+            public GetNodeInfoResponse getNodeInfo(IotaCommandRequest request) throws ArgumentException {
+                if (failing) {
+                    throw new IllegalStateException("Node not reachable");
+                }
+                return (GetNodeInfoResponse) GetNodeInfoResponse.create("IRI", "1.0", 1, 0, "1.8", 0, 0, null, latestMilestone,
+                        null, solidMilestone, 0, 0, 0, 0, 0, 0, new String[0], null);
+            }
+
+            @Override
+            public GetTrytesResponse getTrytes(IotaGetTrytesRequest request) throws ArgumentException {
+                if (failing) {
+                    throw new IllegalStateException("Node not reachable");
+                }
+                return GetTrytesResponse.create(new String[] { url().getHost() }, 1);
+            }
+        };
+    }
+}
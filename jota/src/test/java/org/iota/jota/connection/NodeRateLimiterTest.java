@@ -0,0 +1,68 @@
+package org.iota.jota.connection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.MalformedURLException;
+import java.util.concurrent.CompletableFuture;
+
+import org.iota.jota.error.AccessLimitedException;
+import org.junit.jupiter.api.Test;
+
+public class NodeRateLimiterTest {
+
+    @Test
+    public void shouldFailFastAboveInFlightLimit() throws MalformedURLException {
+        Connection node = new HttpConnector("http://node1:14265");
+        NodeRateLimiter limiter = new NodeRateLimiter(0, 1, 2, 0);
+
+        limiter.acquire(node);
+        limiter.acquire(node);
+        assertThrows(AccessLimitedException.class, () -> limiter.acquire(node));
+        assertEquals(2, limiter.getInFlight(node));
+
+        limiter.release(node);
+        limiter.acquire(node);
+    }
+
+    @Test
+    public void shouldWaitForReleasedRequest() throws MalformedURLException {
+        Connection node = new HttpConnector("http://node1:14265");
+        NodeRateLimiter limiter = new NodeRateLimiter(0, 1, 1, 5000);
+        limiter.acquire(node);
+
+        CompletableFuture.runAsync(() -> {
+            sleep(50);
+            limiter.release(node);
+        });
+
+        long start = System.nanoTime();
+        limiter.acquire(node);
+        assertTrue(System.nanoTime() - start >= 30_000_000L);
+    }
+
+    @Test
+    public void shouldLimitRate() throws MalformedURLException {
+        Connection node = new HttpConnector("http://node1:14265");
+        NodeRateLimiter limiter = new NodeRateLimiter(20, 2, 0, 5000);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire(node);
+            limiter.release(node);
+        }
+
+        // The burst is free, the other 2 requests wait 50ms each
+        assertTrue(System.nanoTime() - start >= 80_000_000L);
+        assertThrows(AccessLimitedException.class, () -> limiter.acquireNow(node));
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
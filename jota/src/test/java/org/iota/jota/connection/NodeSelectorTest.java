@@ -0,0 +1,82 @@
+package org.iota.jota.connection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.net.MalformedURLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.iota.jota.IotaAPICommand;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class NodeSelectorTest {
+
+    private Connection first, second, third;
+    private List<Connection> nodes;
+
+    @BeforeEach
+    public void setUp() throws MalformedURLException {
+        first = new HttpConnector("http://node1:14265");
+        second = new HttpConnector("http://node2:14265");
+        third = new HttpConnector("http://node3:14265");
+        nodes = Arrays.asList(first, second, third);
+    }
+
+    @Test
+    public void shouldRotateNodes() {
+        NodeSelector selector = new RoundRobinNodeSelector();
+
+        assertEquals(first, selector.select(IotaAPICommand.GET_TIPS, nodes));
+        assertEquals(second, selector.select(IotaAPICommand.GET_TIPS, nodes));
+        assertEquals(third, selector.select(IotaAPICommand.GET_TIPS, nodes));
+        assertEquals(first, selector.select(IotaAPICommand.GET_TIPS, nodes));
+    }
+
+    @Test
+    public void shouldPickLeastBusyNode() {
+        NodeSelector selector = new LeastOutstandingNodeSelector();
+        selector.onRequestStarted(first);
+        selector.onRequestStarted(second);
+        selector.onRequestStarted(second);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(third, selector.select(IotaAPICommand.GET_TIPS, nodes));
+        }
+
+        selector.onRequestFinished(second, 0, true);
+        selector.onRequestFinished(second, 0, true);
+        selector.onRequestStarted(third);
+        assertEquals(second, selector.select(IotaAPICommand.GET_TIPS, nodes));
+    }
+
+    @Test
+    public void shouldPickFastestNode() {
+        NodeSelector selector = new EwmaLatencyNodeSelector();
+        selector.onRequestStarted(first);
+        selector.onRequestFinished(first, TimeUnit.MILLISECONDS.toNanos(200), true);
+        selector.onRequestStarted(second);
+        selector.onRequestFinished(second, TimeUnit.MILLISECONDS.toNanos(20), true);
+        selector.onRequestStarted(third);
+        selector.onRequestFinished(third, TimeUnit.MILLISECONDS.toNanos(1), false);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(second, selector.select(IotaAPICommand.GET_TIPS, nodes));
+        }
+    }
+
+    @Test
+    public void shouldRouteCommands() {
+        CommandRoutingNodeSelector selector = new CommandRoutingNodeSelector(new RoundRobinNodeSelector())
+                .route(IotaAPICommand.ATTACH_TO_TANGLE, third::equals)
+                .route(IotaAPICommand.INTERRUPT_ATTACHING_TO_TANGLE, node -> false);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(third, selector.select(IotaAPICommand.ATTACH_TO_TANGLE, nodes));
+        }
+        assertEquals(first, selector.select(IotaAPICommand.GET_TIPS, nodes));
+        assertNull(selector.select(IotaAPICommand.INTERRUPT_ATTACHING_TO_TANGLE, nodes));
+    }
+}
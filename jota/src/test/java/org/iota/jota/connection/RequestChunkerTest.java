@@ -0,0 +1,40 @@
+package org.iota.jota.connection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.iota.jota.error.ArgumentException;
+import org.junit.jupiter.api.Test;
+
+public class RequestChunkerTest {
+
+    private static final String[] KEYS = { "A", "B", "C", "D", "E" };
+
+    @Test
+    public void shouldKeepOrderOfChunks() {
+        List<String[]> parts = RequestChunker.dispatch(KEYS, 2, chunk -> chunk);
+
+        assertEquals(3, parts.size());
+        assertArrayEquals(new String[] { "E" }, parts.get(2));
+        assertArrayEquals(KEYS, RequestChunker.concat(parts));
+    }
+
+    @Test
+    public void shouldNotSplitWithinLimit() {
+        assertEquals(1, RequestChunker.dispatch(KEYS, 5, chunk -> chunk).size());
+        assertEquals(1, RequestChunker.dispatch(KEYS, 0, chunk -> chunk).size());
+    }
+
+    @Test
+    public void shouldPassFailures() {
+        assertThrows(ArgumentException.class, () -> RequestChunker.dispatch(KEYS, 1, chunk -> {
+            if ("B".equals(chunk[0])) {
+                throw new ArgumentException("failed");
+            }
+            return chunk;
+        }));
+    }
+}
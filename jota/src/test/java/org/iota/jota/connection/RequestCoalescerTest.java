@@ -0,0 +1,86 @@
+package org.iota.jota.connection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.iota.jota.error.ArgumentException;
+import org.junit.jupiter.api.Test;
+
+public class RequestCoalescerTest {
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private String[] lowerCase(String[] keys) {
+        requests.incrementAndGet();
+        String[] values = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = keys[i].toLowerCase();
+        }
+        return values;
+    }
+
+    private static String[] split(String[] response, int[] indexes) {
+        String[] values = new String[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            values[i] = response[indexes[i]];
+        }
+        return values;
+    }
+
+    @Test
+    public void shouldMergeConcurrentRequests() throws Exception {
+        RequestCoalescer<String[]> coalescer = new RequestCoalescer<>(this::lowerCase, RequestCoalescerTest::split, 500, 1000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String[]>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                String key = "KEY" + (char) ('A' + i);
+                results.add(executor.submit(() -> coalescer.request(key, "SHARED")));
+            }
+
+            for (int i = 0; i < 8; i++) {
+                assertArrayEquals(new String[] { "key" + (char) ('a' + i), "shared" }, results.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void shouldSplitFullBatches() {
+        RequestCoalescer<String[]> coalescer = new RequestCoalescer<>(this::lowerCase, RequestCoalescerTest::split, 10000, 2);
+
+        assertArrayEquals(new String[] { "a", "b" }, coalescer.request("A", "B"));
+        assertArrayEquals(new String[] { "a", "b", "c" }, coalescer.request("A", "B", "C"));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void shouldRequestDuplicatesOnce() {
+        RequestCoalescer<String[]> coalescer = new RequestCoalescer<>(keys -> {
+            assertEquals(1, keys.length);
+            return lowerCase(keys);
+        }, RequestCoalescerTest::split, 1, 10);
+
+        assertArrayEquals(new String[] { "a", "a" }, coalescer.request("A", "A"));
+    }
+
+    @Test
+    public void shouldPassFailures() {
+        RequestCoalescer<String[]> coalescer = new RequestCoalescer<>(keys -> {
+            throw new ArgumentException("failed");
+        }, RequestCoalescerTest::split, 1, 10);
+
+        assertThrows(ArgumentException.class, () -> coalescer.request("A"));
+    }
+}
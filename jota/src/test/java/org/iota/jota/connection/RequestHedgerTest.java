@@ -0,0 +1,72 @@
+package org.iota.jota.connection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.iota.jota.IotaAPICommand;
+import org.junit.jupiter.api.Test;
+
+public class RequestHedgerTest {
+
+    @Test
+    public void shouldHedgeSlowRequest() {
+        RequestHedger hedger = warmUp(new RequestHedger(0.5, 1));
+        assertTrue(hedger.getDelay(IotaAPICommand.GET_TRYTES) >= 0);
+
+        long start = System.nanoTime();
+        String response = hedger.execute(IotaAPICommand.GET_TRYTES, () -> sleep(5000, "primary"), () -> () -> "backup");
+
+        assertEquals("backup", response);
+        assertEquals(1, hedger.getHedges());
+        assertTrue(System.nanoTime() - start < 2_000_000_000L, "We should not wait for the slow node");
+    }
+
+    @Test
+    public void shouldStayWithinBudget() {
+        RequestHedger hedger = warmUp(new RequestHedger(0.5, 0));
+
+        String response = hedger.execute(IotaAPICommand.GET_TRYTES, () -> sleep(50, "primary"), () -> () -> "backup");
+
+        assertEquals("primary", response);
+        assertEquals(0, hedger.getHedges());
+    }
+
+    @Test
+    public void shouldSendFromCallerWithoutBudget() {
+        RequestHedger hedger = warmUp(new RequestHedger(0.5, 0));
+
+        String thread = hedger.execute(IotaAPICommand.GET_TRYTES, () -> Thread.currentThread().getName(), () -> () -> "backup");
+
+        assertEquals(Thread.currentThread().getName(), thread);
+    }
+
+    @Test
+    public void shouldReportPrimaryFailureWhenBothFail() {
+        RequestHedger hedger = warmUp(new RequestHedger(0.5, 1));
+
+        assertThrows(IllegalStateException.class, () -> hedger.execute(IotaAPICommand.GET_TRYTES, 
+                () -> sleep(50, null), 
+                () -> () -> { throw new IllegalArgumentException("backup"); }));
+        assertEquals(1, hedger.getHedges());
+    }
+
+    private static RequestHedger warmUp(RequestHedger hedger) {
+        for (int i = 0; i < 64; i++) {
+            hedger.record(IotaAPICommand.GET_TRYTES, 1000000);
+        }
+        return hedger;
+    }
+
+    private static String sleep(long ms, String response) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (null == response) {
+            throw new IllegalStateException("primary");
+        }
+        return response;
+    }
+}
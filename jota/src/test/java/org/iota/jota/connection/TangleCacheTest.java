@@ -0,0 +1,108 @@
+package org.iota.jota.connection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.iota.jota.IotaAPI;
+import org.iota.jota.dto.request.IotaGetInclusionStateRequest;
+import org.iota.jota.dto.request.IotaGetTrytesRequest;
+import org.iota.jota.dto.response.GetInclusionStateResponse;
+import org.iota.jota.dto.response.GetTrytesResponse;
+import org.iota.jota.error.ArgumentException;
+import org.junit.jupiter.api.Test;
+
+public class TangleCacheTest {
+
+    private static final String HASH_A = hash('A');
+    private static final String HASH_B = hash('B');
+    private static final String HASH_C = hash('C');
+
+    @Test
+    public void shouldEvictLeastRecentlyUsed() {
+        TangleCache cache = new TangleCache(12, 10);
+        cache.putTrytes(HASH_A, "AAA");
+        cache.putTrytes(HASH_B, "BBB");
+        assertEquals("AAA", cache.getTrytes(HASH_A));
+
+        cache.putTrytes(HASH_C, "CCC");
+        assertNull(cache.getTrytes(HASH_B));
+        assertEquals("AAA", cache.getTrytes(HASH_A));
+        assertEquals(12, cache.getTrytesBytes(), "A char takes 2 bytes");
+        assertEquals(1, cache.getEvictions());
+
+        cache.putTrytes(HASH_B, "999");
+        assertNull(cache.getTrytes(HASH_B), "Unknown transactions are not cached");
+        assertEquals(0.5, cache.getTrytesHitRate(), 0.0001);
+
+        cache.putConfirmed(HASH_A);
+        assertTrue(cache.isConfirmed(HASH_A));
+        assertEquals(1, cache.getInclusionHits());
+        assertEquals(0, cache.getInclusionMisses());
+        assertEquals(2, cache.getTrytesMisses(), "Inclusion lookups are counted separately");
+    }
+
+    @Test
+    public void shouldOnlyRequestMissingTrytes() throws MalformedURLException {
+        List<String> requested = new ArrayList<>();
+        IotaAPI api = new IotaAPI.Builder().addNode(node(requested)).cacheSize(1).build();
+
+        assertArrayEquals(new String[] { "A", "B" }, api.getTrytes(HASH_A, HASH_B).getTrytes());
+        assertArrayEquals(new String[] { "C", "B", "A" }, api.getTrytes(HASH_C, HASH_B, HASH_A).getTrytes());
+        assertEquals(Arrays.asList(HASH_A, HASH_B, HASH_C), requested);
+
+        List<String> streamed = new ArrayList<>();
+        api.getTrytesStream(2, batch -> streamed.addAll(Arrays.asList(batch)), HASH_B, HASH_C);
+        assertEquals(Arrays.asList("B", "C"), streamed);
+        assertEquals(3, requested.size());
+    }
+
+    @Test
+    public void shouldOnlyCacheConfirmedStates() throws MalformedURLException {
+        List<String> requested = new ArrayList<>();
+        IotaAPI api = new IotaAPI.Builder().addNode(node(requested)).cacheSize(1).build();
+
+        boolean[] states = api.getInclusionStates(HASH_A, HASH_B).getStates();
+        assertTrue(states[0]);
+        assertFalse(states[1]);
+
+        api.getInclusionStates(HASH_A, HASH_B);
+        assertEquals(Arrays.asList(HASH_A, HASH_B, HASH_B), requested, "Unconfirmed states can still change");
+    }
+
+    private static Connection node(List<String> requested) throws MalformedURLException {
+        return new HttpConnector("http://node1:14265") {
+
+            @Override
+            public GetTrytesResponse getTrytes(IotaGetTrytesRequest request) throws ArgumentException {
+                requested.addAll(Arrays.asList(request.getHashes()));
+                String[] trytes = new String[request.getHashes().length];
+                for (int i = 0; i < trytes.length; i++) {
+                    trytes[i] = request.getHashes()[i].substring(0, 1);
+                }
+                return GetTrytesResponse.create(trytes, 1);
+            }
+
+            @Override
+            public GetInclusionStateResponse getInclusionStates(IotaGetInclusionStateRequest request) throws ArgumentException {
+                requested.addAll(Arrays.asList(request.getTransactions()));
+                boolean[] states = new boolean[request.getTransactions().length];
+                for (int i = 0; i < states.length; i++) {
+                    states[i] = HASH_A.equals(request.getTransactions()[i]);
+                }
+                return GetInclusionStateResponse.create(states, 1);
+            }
+        };
+    }
+
+    private static String hash(char c) {
+        return new String(new char[81]).replace('\0', c);
+    }
+}
@@ -0,0 +1,59 @@
+package org.iota.jota.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.iota.jota.error.ArgumentException;
+import org.iota.jota.pow.ICurl;
+import org.iota.jota.pow.SpongeFactory;
+import org.junit.jupiter.api.Test;
+
+public class TritBufferTest {
+
+    private static final String TEST_SEED = "IHDEENZYITYVYSPKAURUZAQKGVJEREFDJMYTANNXXGPZ9GJWTEOJJ9IPMXOGZNQLSNMFDSQOTZAEETUEA";
+
+    @Test
+    public void shouldPackAndUnpackTrits() {
+        int[] trits = Converter.trits(TEST_SEED + "9ABZYN");
+        TritBuffer buffer = TritBuffer.of(trits);
+
+        assertEquals(trits.length, buffer.length());
+        assertArrayEquals(trits, buffer.toTrits());
+        assertEquals(TEST_SEED + "9ABZYN", Converter.trytes(buffer));
+        assertEquals(buffer, Converter.tritBuffer(TEST_SEED + "9ABZYN"));
+
+        buffer.set(5, -1);
+        assertEquals(-1, buffer.get(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.get(trits.length));
+    }
+
+    @Test
+    public void shouldHashPackedTritsLikeInts() {
+        for (SpongeFactory.Mode mode : SpongeFactory.Mode.values()) {
+            int[] trits = Converter.trits(TEST_SEED + TEST_SEED);
+            int[] hash = new int[486];
+            SpongeFactory.create(mode).absorb(trits, 0, trits.length).squeeze(hash, 0, hash.length);
+
+            TritBuffer packedHash = new TritBuffer(486);
+            SpongeFactory.create(mode).absorb(TritBuffer.of(trits), 0, trits.length).squeeze(packedHash, 0, 486);
+
+            assertArrayEquals(hash, packedHash.toTrits(), mode.name());
+        }
+    }
+
+    @Test
+    public void shouldSignPackedKeyLikeInts() throws ArgumentException {
+        ICurl curl = SpongeFactory.create(SpongeFactory.Mode.KERL);
+        Signing signing = new Signing(curl);
+
+        int[] key = signing.key(Converter.trits(TEST_SEED), 3, 2);
+        TritBuffer packedKey = signing.key(Converter.tritBuffer(TEST_SEED), 3, 2);
+        assertArrayEquals(key, packedKey.toTrits());
+        assertArrayEquals(signing.address(signing.digests(key)), signing.address(signing.digests(packedKey)).toTrits());
+
+        int[] normalized = signing.normalizedBundle(TEST_SEED);
+        assertArrayEquals(signing.signatureFragment(normalized, key),
+                signing.signatureFragment(normalized, packedKey).toTrits());
+    }
+}